@@ -0,0 +1,73 @@
+package Benchmarks;
+
+import Security.Authentication;
+import UserManagement.Admin;
+import UserManagement.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AddUserBenchmark
+ * ---------------------------------------------------------
+ * {@link Admin#addUser} as the caller sees it: permission check, the list
+ * insert under the write lock, handing the password to the hashing pool and
+ * the audit record, into a list that already holds {@code existing} users.
+ *
+ * Password hashing finishes in the background, so the fork lowers the PBKDF2
+ * iteration count to stop the hashing queue from growing without bound; it
+ * is not part of what is measured. Each call also builds its Student, which
+ * the setter validation benchmark measures separately.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Ducms.pbkdf2.iterations=1")
+@State(Scope.Thread)
+public class AddUserBenchmark {
+
+    @Param({"0", "10000"})
+    int existing;
+
+    private Admin admin;
+    private ArrayList<Student> students;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        admin = Fixtures.bindAdmin();
+        students = new ArrayList<>();
+        for (int i = 0; i < existing; i++) {
+            students.add(Fixtures.student(i));
+        }
+        next = existing;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        for (int i = existing; i < students.size(); i++) {
+            Authentication.unregister(students.get(i));
+        }
+        Fixtures.clear();
+    }
+
+    @Benchmark
+    public int addStudent() {
+        admin.addUser(Fixtures.student(next++), students);
+        return students.size();
+    }
+}
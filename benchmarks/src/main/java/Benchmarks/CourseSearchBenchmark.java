@@ -0,0 +1,76 @@
+package Benchmarks;
+
+import CourseManagement.Course;
+import CourseManagement.CourseManagementModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CourseSearchBenchmark
+ * ---------------------------------------------------------
+ * Course lookup by code through {@link CourseManagementModule#searchCourse(String)}
+ * for the first, middle and last course, and a miss, which has to look at
+ * every course. The miss goes through findCourse so nothing is printed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CourseSearchBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int courses;
+
+    private String firstCode;
+    private String middleCode;
+    private String lastCode;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Fixtures.bindAdmin();
+        Fixtures.populate(0, 0, courses);
+        firstCode = "C0";
+        middleCode = "c" + courses / 2;     // lookups ignore case
+        lastCode = "C" + (courses - 1);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        Fixtures.clear();
+    }
+
+    @Benchmark
+    public Course searchFirst() {
+        return CourseManagementModule.searchCourse(firstCode);
+    }
+
+    @Benchmark
+    public Course searchMiddle() {
+        return CourseManagementModule.searchCourse(middleCode);
+    }
+
+    @Benchmark
+    public Course searchLast() {
+        return CourseManagementModule.searchCourse(lastCode);
+    }
+
+    @Benchmark
+    public Course findMissing() {
+        return CourseManagementModule.findCourse("NONE");
+    }
+}
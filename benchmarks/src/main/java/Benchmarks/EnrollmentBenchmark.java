@@ -0,0 +1,79 @@
+package Benchmarks;
+
+import CourseManagement.Course;
+import CourseManagement.CourseManagementModule;
+import UserManagement.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EnrollmentBenchmark
+ * ---------------------------------------------------------
+ * {@link Course#enrollStudent(Student)} on its own, and the full enrollment
+ * through {@link CourseManagementModule#enrollStudent(Student, Course)},
+ * which also drops the previous course, takes the write lock and publishes
+ * the events.
+ *
+ * The full path moves one student back and forth between two courses whose
+ * rosters hold {@code roster} students, so every call drops from one roster
+ * and joins the other at a constant size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EnrollmentBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    int roster;
+
+    private Course course;
+    private Course otherCourse;
+    private Student student;
+    private boolean toOther;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Fixtures.bindAdmin();
+        Fixtures.populate(2 * roster, 0, 2);
+        course = CourseManagementModule.courseList.get(0);
+        otherCourse = CourseManagementModule.courseList.get(1);
+        student = Fixtures.student(2 * roster);
+        CourseManagementModule.enrollStudent(student, course);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        Fixtures.clear();
+    }
+
+    @Benchmark
+    public int courseEnrollStudent() {
+        course.enrollStudent(student);
+        int size = course.getStudents().size();
+        course.getStudents().remove(size - 1);
+        return size;
+    }
+
+    @Benchmark
+    public Course moveBetweenCourses() {
+        toOther = !toOther;
+        CourseManagementModule.enrollStudent(student, toOther ? otherCourse : course);
+        return student.getCourse();
+    }
+}
@@ -0,0 +1,114 @@
+package Benchmarks;
+
+import CourseManagement.Course;
+import CourseManagement.CourseManagementModule;
+import Security.AccessControl;
+import UserManagement.Admin;
+import UserManagement.Lecturer;
+import UserManagement.LecturerManagementModule;
+import UserManagement.Student;
+import UserManagement.StudentManagementModule;
+import Utilities.NotificationSink;
+import Utilities.Notifications;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+/**
+ * Fixtures
+ * ---------------------------------------------------------
+ * Shared set-up for the benchmarks: an acting admin, silenced output and
+ * in-memory datasets of a given size.
+ *
+ * The UCMS containers are static, so every benchmark clears them in its
+ * tear-down and datasets never leak from one benchmark into the next.
+ *
+ * Responsibilities:
+ *  - Bind an admin so permission checks pass
+ *  - Keep notifications and the audit log out of the measurements' way
+ *  - Build students, lecturers and courses without hashing passwords
+ */
+final class Fixtures {
+
+    /** Discards everything written to it */
+    static final PrintStream NULL_OUT = new PrintStream(OutputStream.nullOutputStream());
+
+    static {
+        try {
+            System.setProperty("ucms.audit.dir", Files.createTempDirectory("ucms-bench-audit").toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Notifications.setDefault(NotificationSink.NONE);
+    }
+
+    private Fixtures() { }
+
+    /**
+     * Creates an admin and makes it the acting user of the calling thread.
+     */
+    static Admin bindAdmin() {
+        Admin admin = new Admin("Bench", "Admin", "bench.admin@ucms.test", "benchmark", "Dublin", "0851234567");
+        AccessControl.bind(admin);
+        return admin;
+    }
+
+    /**
+     * @return a student whose names are valid for the User setters
+     */
+    static Student student(int i) {
+        String name = letters(i);
+        return new Student(name, name, "s" + i + "@ucms.test", "benchmark", "Dublin", "0851234567",
+                "S" + i, "2000-01-31");
+    }
+
+    /**
+     * Fills the system containers directly, bypassing addUser so no passwords
+     * are hashed, and enrolls the students round-robin in the courses.
+     */
+    static void populate(int students, int lecturers, int courses) {
+        for (int i = 0; i < courses; i++) {
+            CourseManagementModule.courseList.add(new Course("C" + i, "Course " + letters(i)));
+        }
+        for (int i = 0; i < lecturers; i++) {
+            String name = letters(i);
+            LecturerManagementModule.lecturersList.add(new Lecturer(name, name, "l" + i + "@ucms.test",
+                    "benchmark", "Dublin", "0851234567", "L" + i, "Computing"));
+        }
+        for (int i = 0; i < students; i++) {
+            Student student = student(i);
+            StudentManagementModule.studentsContainer.add(student);
+            if (courses > 0) {
+                Course course = CourseManagementModule.courseList.get(i % courses);
+                student.setCourse(course);
+                course.getStudents().add(student);
+            }
+        }
+    }
+
+    /**
+     * Empties the system containers and unbinds the acting user.
+     */
+    static void clear() {
+        CourseManagementModule.courseList.clear();
+        LecturerManagementModule.lecturersList.clear();
+        StudentManagementModule.studentsContainer.clear();
+        AccessControl.unbind();
+    }
+
+    /**
+     * @return a letters-only name for an index: 0 = "Aa", 1 = "Ab", ...
+     */
+    static String letters(int i) {
+        StringBuilder name = new StringBuilder();
+        do {
+            name.append((char) ('a' + i % 26));
+            i /= 26;
+        } while (i > 0);
+        name.append('A');
+        return name.reverse().toString();
+    }
+}
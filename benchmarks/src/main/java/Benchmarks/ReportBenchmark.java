@@ -0,0 +1,100 @@
+package Benchmarks;
+
+import CourseManagement.CourseManagementModule;
+import Reporting.DataExporter;
+import Reporting.ExportFormat;
+import UserManagement.Admin;
+import UserManagement.LecturerManagementModule;
+import UserManagement.StudentManagementModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReportBenchmark
+ * ---------------------------------------------------------
+ * Report generation and data export at several dataset sizes: the console
+ * system report (printed to a discarding stream), the report file, and the
+ * export of every entity type to CSV.
+ *
+ * Each dataset has {@code students} students, a tenth as many lecturers and
+ * a hundredth as many courses, with every student enrolled.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReportBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int students;
+
+    private Admin admin;
+    private Path directory;
+    private PrintStream console;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        admin = Fixtures.bindAdmin();
+        Fixtures.populate(students, Math.max(1, students / 10), Math.max(1, students / 100));
+        directory = Files.createTempDirectory("ucms-bench-export");
+        console = System.out;
+        System.setOut(Fixtures.NULL_OUT);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        System.setOut(console);
+        Fixtures.clear();
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    /** Same layout as the Reports menu builds for Admin.generateReport */
+    private String[] reportParameters() {
+        return new String[]{
+                String.valueOf(CourseManagementModule.courseList.size()),
+                String.valueOf(StudentManagementModule.studentsContainer.size()),
+                String.valueOf(LecturerManagementModule.lecturersList.size()),
+                admin.getFirstname() + " " + admin.getLastname()
+        };
+    }
+
+    @Benchmark
+    public void generateReport() {
+        admin.generateReport(reportParameters());
+    }
+
+    @Benchmark
+    public void exportReport() throws IOException {
+        admin.exportReport(reportParameters(), directory.resolve("report.csv"), ExportFormat.CSV);
+    }
+
+    @Benchmark
+    public Map<String, Long> exportAll() throws IOException {
+        return DataExporter.exportAll(directory, ExportFormat.CSV);
+    }
+}
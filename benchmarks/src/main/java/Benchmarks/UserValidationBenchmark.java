@@ -0,0 +1,92 @@
+package Benchmarks;
+
+import UserManagement.Student;
+import UserManagement.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserValidationBenchmark
+ * ---------------------------------------------------------
+ * The validating {@link User} setters, with valid and invalid input.
+ *
+ * {@link User#setDateOfBirth(String)} tries its accepted formats in order,
+ * so it is measured with a date in the first format, one in the last
+ * format, and one that matches none of them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UserValidationBenchmark {
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+        user = Fixtures.student(0);
+    }
+
+    @Benchmark
+    public String setFirstname() {
+        user.setFirstname("Margaret");
+        return user.getFirstname();
+    }
+
+    @Benchmark
+    public String setFirstnameInvalid() {
+        try {
+            user.setFirstname("Marg4ret");
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    @Benchmark
+    public String setEmail() {
+        user.setEmail("margaret@ucms.test");
+        return user.getEmail();
+    }
+
+    @Benchmark
+    public String setPhone() {
+        user.setPhone("0851234567");
+        return user.getPhone();
+    }
+
+    @Benchmark
+    public LocalDate setDateOfBirthFirstFormat() {
+        user.setDateOfBirth("2000-01-31");
+        return user.getDateOfBirth();
+    }
+
+    @Benchmark
+    public LocalDate setDateOfBirthLastFormat() {
+        user.setDateOfBirth("31-01-2000");
+        return user.getDateOfBirth();
+    }
+
+    @Benchmark
+    public String setDateOfBirthInvalid() {
+        try {
+            user.setDateOfBirth("31.01.2000");
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+}
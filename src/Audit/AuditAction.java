@@ -0,0 +1,37 @@
+package Audit;
+
+/**
+ * AuditAction
+ * ---------------------------------------------------------
+ * Kinds of administrative change recorded in the {@link AuditLog}.
+ */
+public enum AuditAction {
+    USER_ADDED,
+    USER_UPDATED,
+    USER_ARCHIVED,
+    USER_REMOVED,
+    ROLE_DEFINED,
+    ROLE_ASSIGNED,
+    COURSE_ADDED,
+    COURSE_UPDATED,
+    COURSE_ARCHIVED,
+    MODULE_ADDED,
+    MODULE_UPDATED,
+    MODULE_ARCHIVED,
+    PREREQUISITE_ADDED,
+    PREREQUISITE_REMOVED,
+    WORKLOAD_PLANNED;
+
+    /**
+     * Looks an action up by name, ignoring case and accepting '-' for '_'.
+     *
+     * @throws IllegalArgumentException if there is no such action
+     */
+    public static AuditAction fromName(String name) {
+        try {
+            return valueOf(name.trim().replace('-', '_').toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown audit action: " + name);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package Audit;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * AuditFiles
+ * ---------------------------------------------------------
+ * Layout of the audit log directory, shared by the writer and the query tool.
+ *
+ * The log is a series of files audit-000001.log.gz, audit-000002.log.gz, ...
+ * Each file is a sequence of independent gzip members ("blocks"), one per
+ * batch written. Next to each log file, audit-NNNNNN.idx holds one line per
+ * block: its time range, byte offset, length and record count. This sparse
+ * index lets a query decompress only the blocks that overlap its time range.
+ * A block is indexed only after it has been written in full, so readers never
+ * see half a block.
+ */
+final class AuditFiles {
+
+    static final String PREFIX = "audit-";
+    static final String LOG_SUFFIX = ".log.gz";
+    static final String INDEX_SUFFIX = ".idx";
+
+    private AuditFiles() { }
+
+    /** @return the log directory named by ucms.audit.dir (default "audit") */
+    static Path defaultDirectory() {
+        return Paths.get(System.getProperty("ucms.audit.dir", "audit"));
+    }
+
+    /**
+     * Index entry of one block.
+     *
+     * @param first  earliest record timestamp in the block
+     * @param last   latest record timestamp in the block
+     * @param offset position of the block in the log file
+     * @param length compressed size of the block
+     * @param count  number of records in the block
+     */
+    record Block(long first, long last, long offset, int length, int count) {
+
+        boolean overlaps(long from, long to) {
+            return last >= from && first <= to;
+        }
+
+        String toLine() {
+            return first + " " + last + " " + offset + " " + length + " " + count;
+        }
+
+        static Block parse(String line) {
+            String[] fields = line.trim().split(" ");
+            return new Block(Long.parseLong(fields[0]), Long.parseLong(fields[1]),
+                    Long.parseLong(fields[2]), Integer.parseInt(fields[3]), Integer.parseInt(fields[4]));
+        }
+    }
+
+    // ---------------------- NAMING ----------------------
+
+    static Path logFile(Path directory, int sequence) {
+        return directory.resolve(PREFIX + String.format("%06d", sequence) + LOG_SUFFIX);
+    }
+
+    static Path indexFile(Path logFile) {
+        String name = logFile.getFileName().toString();
+        return logFile.resolveSibling(name.substring(0, name.length() - LOG_SUFFIX.length()) + INDEX_SUFFIX);
+    }
+
+    /** @return the sequence number in a log file name, or -1 if it is not a log file */
+    static int sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(PREFIX) || !name.endsWith(LOG_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(name.substring(PREFIX.length(), name.length() - LOG_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // ---------------------- READING ----------------------
+
+    /** @return the log files in the directory, oldest first */
+    static List<Path> logFiles(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (Stream<Path> entries = Files.list(directory)) {
+            entries.filter(file -> sequenceOf(file) >= 0).forEach(files::add);
+        }
+        files.sort((a, b) -> Integer.compare(sequenceOf(a), sequenceOf(b)));
+        return files;
+    }
+
+    /** @return the indexed blocks of a log file, in file order */
+    static List<Block> readIndex(Path logFile) throws IOException {
+        Path index = indexFile(logFile);
+        List<Block> blocks = new ArrayList<>();
+        if (!Files.exists(index)) {
+            return blocks;
+        }
+        for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+            // A line cut short by a crash is ignored along with its block
+            try {
+                blocks.add(Block.parse(line));
+            } catch (RuntimeException e) {
+                break;
+            }
+        }
+        return blocks;
+    }
+}
@@ -0,0 +1,156 @@
+package Audit;
+
+import Events.DomainEvent;
+import Events.EventBus;
+import Security.AccessControl;
+import UserManagement.Lecturer;
+import UserManagement.Student;
+import UserManagement.User;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AuditLog
+ * ---------------------------------------------------------
+ * Trail of administrative changes: who added, changed, archived or removed
+ * which user, course, module or role, and when.
+ *
+ * Recording a change publishes the record on the {@link EventBus}, so the
+ * calling operation never touches the disk. The acting user is captured on
+ * the calling thread, before the record is published. The audit log is a
+ * bus listener: each batch the bus delivers is appended as one compressed
+ * block to the current log file (see {@link AuditFiles} for the layout).
+ * {@link AuditQuery} reads the files back.
+ *
+ * Configuration (system properties):
+ *  - ucms.audit.dir           log directory (default "audit")
+ *  - ucms.audit.maxFileBytes  compressed size of one file (default 8 MB)
+ *  - ucms.audit.maxFiles      number of files kept (default 20)
+ *
+ * Records still buffered are written when the JVM shuts down normally.
+ */
+public final class AuditLog {
+
+    private static final Path DIRECTORY = AuditFiles.defaultDirectory();
+    private static final long MAX_FILE_BYTES = Long.getLong("ucms.audit.maxFileBytes", 8L << 20);
+    private static final int MAX_FILES = Integer.getInteger("ucms.audit.maxFiles", 20);
+
+    private static final LongAdder recorded = new LongAdder();
+    private static final LongAdder lost = new LongAdder();
+
+    /** Opened on the first write; guarded by the class lock */
+    private static AuditWriter writer;
+    private static boolean closed;
+
+    static {
+        EventBus.subscribe(AuditLog::write);
+        Runtime.getRuntime().addShutdownHook(new Thread(AuditLog::close, "ucms-audit-shutdown"));
+    }
+
+    private AuditLog() { }
+
+    // ---------------------- RECORDING ----------------------
+
+    /**
+     * Records a change made by the acting user of the current thread.
+     *
+     * @param action what was done
+     * @param target the changed object, e.g. a course code or user ID
+     * @param detail free text, e.g. the changed field; may be null
+     */
+    public static void record(AuditAction action, String target, String detail) {
+        recorded.increment();
+        EventBus.publish(new DomainEvent.Audited(new AuditRecord(System.currentTimeMillis(),
+                nameOf(AccessControl.current()), action, target, detail == null ? "" : detail)));
+    }
+
+    /**
+     * @return the name a user is recorded under: their student or lecturer ID,
+     *         otherwise their email, or "system" when nobody is logged in or the
+     *         acting user is the built-in administrator of a script or server
+     */
+    public static String nameOf(User user) {
+        if (user instanceof Student student) {
+            return student.getStudentId();
+        }
+        if (user instanceof Lecturer lecturer) {
+            return lecturer.getLecturerId();
+        }
+        String email = user == null ? null : user.getEmail();
+        return email == null || email.isEmpty() ? "system" : email;
+    }
+
+    /**
+     * Waits until every record made before the call has been written.
+     *
+     * @return false if the timeout passed first
+     */
+    public static boolean flush(long timeout, TimeUnit unit) {
+        return EventBus.flush(timeout, unit);
+    }
+
+    // ---------------------- STATISTICS ----------------------
+
+    /** @return where the log files are written */
+    public static Path getDirectory() { return DIRECTORY; }
+
+    /** @return the number of records made since start */
+    public static long getRecordedCount() { return recorded.sum(); }
+
+    /** @return the number of records that could not be written */
+    public static long getLostCount() { return lost.sum(); }
+
+    // ---------------------- WRITER ----------------------
+
+    /**
+     * Writes the audit records of one batch from the bus as one block.
+     */
+    private static void write(List<DomainEvent> events) {
+        List<AuditRecord> batch = new ArrayList<>();
+        for (DomainEvent event : events) {
+            if (event instanceof DomainEvent.Audited audited) {
+                batch.add(audited.record());
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        synchronized (AuditLog.class) {
+            if (closed) {
+                lost.add(batch.size());
+                return;
+            }
+            try {
+                if (writer == null) {
+                    writer = new AuditWriter(DIRECTORY, MAX_FILE_BYTES, MAX_FILES);
+                }
+                writer.write(batch);
+            } catch (IOException | RuntimeException e) {
+                lost.add(batch.size());
+                System.err.println("✗ Audit log write failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes out the remaining records and closes the current file.
+     */
+    private static void close() {
+        EventBus.flush(5, TimeUnit.SECONDS);
+        synchronized (AuditLog.class) {
+            closed = true;
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    System.err.println("✗ Audit log close failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+}
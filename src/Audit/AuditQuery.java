@@ -0,0 +1,207 @@
+package Audit;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * AuditQuery
+ * ---------------------------------------------------------
+ * Finds audit records by user, action and time range.
+ *
+ * Each log file's sparse index gives the time range of every compressed
+ * block, so only blocks overlapping the requested range are read and
+ * decompressed; whole files outside the range are skipped unopened.
+ *
+ * Command line:
+ * <pre>
+ *   audit [--user ID|email] [--action ACTION] [--from TIME] [--to TIME] [--dir DIR]
+ * </pre>
+ * TIME is a local date (2025-01-31) or date-time (2025-01-31T14:30).
+ */
+public final class AuditQuery {
+
+    private final Path directory;
+    private String actor;
+    private AuditAction action;
+    private long from = Long.MIN_VALUE;
+    private long to = Long.MAX_VALUE;
+
+    private int blocksRead;
+    private int blocksTotal;
+
+    /**
+     * @param directory the audit log directory
+     */
+    public AuditQuery(Path directory) {
+        this.directory = directory;
+    }
+
+    // ---------------------- CRITERIA ----------------------
+
+    /** Keeps only records made by this user (ID or email, any case) */
+    public AuditQuery byActor(String actor) {
+        this.actor = actor;
+        return this;
+    }
+
+    /** Keeps only records of this action */
+    public AuditQuery byAction(AuditAction action) {
+        this.action = action;
+        return this;
+    }
+
+    /** Keeps only records made between the two times, inclusive, in epoch milliseconds */
+    public AuditQuery between(long from, long to) {
+        this.from = from;
+        this.to = to;
+        return this;
+    }
+
+    // ---------------------- SCANNING ----------------------
+
+    /**
+     * Passes every matching record to the consumer, oldest file first.
+     *
+     * @throws IOException if a log file cannot be read
+     */
+    public void forEach(Consumer<AuditRecord> consumer) throws IOException {
+        blocksRead = 0;
+        blocksTotal = 0;
+        for (Path file : AuditFiles.logFiles(directory)) {
+            List<AuditFiles.Block> blocks = AuditFiles.readIndex(file);
+            blocksTotal += blocks.size();
+            if (blocks.stream().noneMatch(block -> block.overlaps(from, to))) {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                for (AuditFiles.Block block : blocks) {
+                    if (block.overlaps(from, to)) {
+                        blocksRead++;
+                        scan(channel, block, consumer);
+                    }
+                }
+            }
+        }
+    }
+
+    /** @return every matching record */
+    public List<AuditRecord> find() throws IOException {
+        List<AuditRecord> records = new ArrayList<>();
+        forEach(records::add);
+        return records;
+    }
+
+    /** @return blocks decompressed by the last scan */
+    public int getBlocksRead() { return blocksRead; }
+
+    /** @return blocks indexed in all files at the last scan */
+    public int getBlocksTotal() { return blocksTotal; }
+
+    private void scan(FileChannel channel, AuditFiles.Block block, Consumer<AuditRecord> consumer) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(block.length());
+        while (bytes.hasRemaining()) {
+            if (channel.read(bytes, block.offset() + bytes.position()) < 0) {
+                throw new IOException("Audit block past end of file at offset " + block.offset());
+            }
+        }
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(bytes.array())), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                AuditRecord record = AuditRecord.parse(line);
+                if (matches(record)) {
+                    consumer.accept(record);
+                }
+            }
+        }
+    }
+
+    private boolean matches(AuditRecord record) {
+        return record.timestamp() >= from && record.timestamp() <= to
+                && (action == null || record.action() == action)
+                && (actor == null || record.actor().equalsIgnoreCase(actor));
+    }
+
+    // ---------------------- COMMAND LINE ----------------------
+
+    /**
+     * Runs {@code audit [options]} from the command line.
+     *
+     * @param args command line arguments; args[0] is "audit"
+     * @return process exit code: 0 on success, 1 on bad arguments or unreadable logs
+     */
+    public static int run(String[] args) {
+        try {
+            Path directory = AuditFiles.defaultDirectory();
+            String actor = null;
+            AuditAction action = null;
+            long from = Long.MIN_VALUE;
+            long to = Long.MAX_VALUE;
+            for (int i = 1; i < args.length; i += 2) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--user":   actor = value; break;
+                    case "--action": action = AuditAction.fromName(value); break;
+                    case "--from":   from = parseTime(value, false); break;
+                    case "--to":     to = parseTime(value, true); break;
+                    case "--dir":    directory = Paths.get(value); break;
+                    default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+
+            AuditQuery query = new AuditQuery(directory).byActor(actor).byAction(action).between(from, to);
+            long[] count = {0};
+            query.forEach(record -> {
+                System.out.println(record);
+                count[0]++;
+            });
+            System.out.println(count[0] + " record(s); read " + query.getBlocksRead()
+                    + " of " + query.getBlocksTotal() + " block(s) in " + directory);
+            return 0;
+        } catch (IllegalArgumentException e) {
+            System.out.println("✗ " + e.getMessage());
+            System.out.println("Usage: audit [--user ID|email] [--action ACTION] [--from TIME] [--to TIME] [--dir DIR]");
+        } catch (IOException e) {
+            System.out.println("✗ Could not read the audit log: " + e.getMessage());
+        }
+        return 1;
+    }
+
+    /**
+     * Parses a local date or date-time. A bare date used as an upper bound
+     * means the end of that day.
+     */
+    private static long parseTime(String value, boolean endOfDay) {
+        ZoneId zone = ZoneId.systemDefault();
+        try {
+            if (value.length() <= 10) {
+                LocalDate date = LocalDate.parse(value);
+                return endOfDay
+                        ? date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli() - 1
+                        : date.atStartOfDay(zone).toInstant().toEpochMilli();
+            }
+            return LocalDateTime.parse(value).atZone(zone).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid time: " + value + " (expected 2025-01-31 or 2025-01-31T14:30)");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package Audit;
+
+import java.time.Instant;
+
+/**
+ * AuditRecord
+ * ---------------------------------------------------------
+ * One entry of the audit trail: who did what to which object, and when.
+ *
+ * Stored as one tab-separated line per record. Tabs, newlines and
+ * backslashes inside fields are escaped, so every line parses back
+ * to the same record.
+ *
+ * @param timestamp milliseconds since the epoch
+ * @param actor     the acting user (student/lecturer ID or email), or "system"
+ * @param action    what was done
+ * @param target    the changed object, e.g. a course code or user ID
+ * @param detail    free text, e.g. the changed field; may be empty
+ */
+public record AuditRecord(long timestamp, String actor, AuditAction action, String target, String detail) {
+
+    // ---------------------- ENCODING ----------------------
+
+    /** @return the record as one log line, without the line terminator */
+    public String toLine() {
+        StringBuilder line = new StringBuilder(64);
+        line.append(timestamp).append('\t');
+        escape(line, actor).append('\t');
+        line.append(action.name()).append('\t');
+        escape(line, target).append('\t');
+        escape(line, detail);
+        return line.toString();
+    }
+
+    /**
+     * Parses a line written by {@link #toLine()}.
+     *
+     * @throws IllegalArgumentException if the line is not an audit record
+     */
+    public static AuditRecord parse(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Malformed audit record: " + line);
+        }
+        try {
+            return new AuditRecord(Long.parseLong(fields[0]), unescape(fields[1]),
+                    AuditAction.valueOf(fields[2]), unescape(fields[3]), unescape(fields[4]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed audit record: " + line);
+        }
+    }
+
+    private static StringBuilder escape(StringBuilder line, String value) {
+        if (value == null) {
+            return line;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\': line.append("\\\\"); break;
+                case '\t': line.append("\\t"); break;
+                case '\n': line.append("\\n"); break;
+                case '\r': line.append("\\r"); break;
+                default:   line.append(c);
+            }
+        }
+        return line;
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                result.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    // ---------------------- TO STRING ----------------------
+
+    @Override
+    public String toString() {
+        return Instant.ofEpochMilli(timestamp) + "  " + actor + "  " + action + "  " + target
+                + (detail == null || detail.isEmpty() ? "" : "  (" + detail + ")");
+    }
+}
@@ -0,0 +1,121 @@
+package Audit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * AuditWriter
+ * ---------------------------------------------------------
+ * Appends batches of audit records to the current log file as compressed
+ * blocks and rotates to a new file when it grows too large.
+ *
+ * Responsibilities:
+ *  - Compress each batch into one gzip block and index it
+ *  - Start a new file once the current one reaches its size limit
+ *  - Delete the oldest files beyond the retention limit
+ *
+ * Used only by {@link AuditLog}, under its lock; not thread-safe.
+ */
+final class AuditWriter implements AutoCloseable {
+
+    private final Path directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+
+    private int sequence;
+    private FileChannel log;
+    private Writer index;
+    private final ByteArrayOutputStream block = new ByteArrayOutputStream(1 << 16);
+
+    /**
+     * @param directory    where the log files live; created if missing
+     * @param maxFileBytes compressed size after which a new file is started
+     * @param maxFiles     number of files kept; older ones are deleted
+     */
+    AuditWriter(Path directory, long maxFileBytes, int maxFiles) throws IOException {
+        if (maxFileBytes <= 0 || maxFiles <= 0) {
+            throw new IllegalArgumentException("Audit file size and count limits must be positive");
+        }
+        this.directory = directory;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        Files.createDirectories(directory);
+        List<Path> existing = AuditFiles.logFiles(directory);
+        // Never append to a file left by an earlier run: it may end in a partial block
+        this.sequence = existing.isEmpty() ? 0 : AuditFiles.sequenceOf(existing.get(existing.size() - 1));
+        openNextFile();
+    }
+
+    /**
+     * Writes a batch as one compressed block.
+     */
+    void write(List<AuditRecord> batch) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        block.reset();
+        try (Writer lines = new OutputStreamWriter(new GZIPOutputStream(block, 1 << 16), StandardCharsets.UTF_8)) {
+            for (AuditRecord record : batch) {
+                lines.write(record.toLine());
+                lines.write('\n');
+                first = Math.min(first, record.timestamp());
+                last = Math.max(last, record.timestamp());
+            }
+        }
+
+        long offset = log.size();
+        ByteBuffer bytes = ByteBuffer.wrap(block.toByteArray());
+        while (bytes.hasRemaining()) {
+            log.write(bytes);
+        }
+        // The index line goes out only after the block is complete
+        index.write(new AuditFiles.Block(first, last, offset, block.size(), batch.size()).toLine());
+        index.write('\n');
+        index.flush();
+
+        if (log.size() >= maxFileBytes) {
+            rotate();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            log.close();
+        } finally {
+            index.close();
+        }
+    }
+
+    // ---------------------- ROTATION ----------------------
+
+    private void rotate() throws IOException {
+        close();
+        openNextFile();
+        List<Path> files = AuditFiles.logFiles(directory);
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            Files.deleteIfExists(AuditFiles.indexFile(files.get(i)));
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    private void openNextFile() throws IOException {
+        sequence++;
+        Path file = AuditFiles.logFile(directory, sequence);
+        log = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        index = Files.newBufferedWriter(AuditFiles.indexFile(file), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+}
@@ -1,6 +1,7 @@
 package CourseManagement;
 
 import UserManagement.Student;
+import Utilities.Notifications;
 import java.io.File;
 import java.util.ArrayList;
 
@@ -23,6 +24,9 @@ public class Course {
     /** Name of the course (e.g., Computer Science) */
     private String courseName;
 
+    /** Department whose lecturers teach the course's modules, or null for any */
+    private String department;
+
     /** List of modules in this course */
     private ArrayList<Module> modules;
 
@@ -55,6 +59,9 @@ public class Course {
     public String getCourseName() { return courseName; }
     public void setCourseName(String courseName) { this.courseName = courseName; }
 
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
     public ArrayList<Module> getModules() { return modules; }
     public ArrayList<Student> getStudents() { return students; }
 
@@ -70,7 +77,7 @@ public class Course {
      */
     public void addModule(Module module) {
         modules.add(module);
-        System.out.println(module.getModuleName() + " has been added to " + courseName);
+        Notifications.send(module.getModuleName() + " has been added to " + courseName);
     }
 
     /**
@@ -80,7 +87,7 @@ public class Course {
      */
     public void enrollStudent(Student student) {
         students.add(student);
-        System.out.println(student.getFirstname() + " " + student.getLastname() +
+        Notifications.send(student.getFirstname() + " " + student.getLastname() +
                 " has been enrolled in " + courseName);
     }
 
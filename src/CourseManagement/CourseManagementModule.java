@@ -2,7 +2,22 @@ package CourseManagement;
 
 import java.util.ArrayList;
 import java.util.Scanner;
+import Audit.AuditAction;
+import Audit.AuditLog;
+import Events.DomainEvent;
+import Events.EventBus;
+import Metrics.Histogram;
+import Metrics.MetricsRegistry;
+import Profiling.CourseSearchEvent;
+import Profiling.EnrollmentEvent;
+import Security.AccessControl;
+import Security.Permission;
 import UserManagement.Admin;
+import UserManagement.Student;
+import Utilities.Navigator.Transition;
+import Utilities.Pager;
+import Utilities.SharedState;
+import Utilities.TableLayout;
 import Utilities.Utility;
 
 /**
@@ -24,35 +39,59 @@ public class CourseManagementModule {
     /** Container to hold all courses in the system. */
     public static ArrayList<Course> courseList = new ArrayList<>();
 
+    private static final Histogram SEARCH_TIME = MetricsRegistry.histogram("course.search");
+    private static final Histogram ENROLL_TIME = MetricsRegistry.histogram("enrollment.enroll");
+    private static final Histogram DROP_TIME = MetricsRegistry.histogram("enrollment.drop");
+
+    /** Table layout for the course list view, computed once. */
+    private static final TableLayout COURSE_TABLE = new TableLayout("  ",
+            new String[]{"Code", "Course Name", "Modules", "Students"},
+            new int[]{10, 36, 10, 10});
+
     /**
      * Displays the course management menu and routes the admin
      * to the selected operation.
      *
      * @param admin the Admin object performing course management
+     * @return the next navigation step
      */
-    public static void courseManagement(Admin admin) {
+    public static Transition courseManagement(Admin admin) {
         String[] menuOptions = {"Add Course", "Update Course", "Archive Course", "Back"};
         int choice = Utility.printMenu("Course Management Menu", menuOptions);
 
         switch (choice) {
             case 1:
                 addNewCourse(admin);      // Add a new course
-                break;
+                return Transition.STAY;
             case 2:
-                updateCourse(admin);      // Update an existing course
-                break;
+                return Transition.push(() -> updateCourse(admin));  // Update an existing course
             case 3:
                 archiveCourse();          // Archive a course
-                break;
+                return Transition.STAY;
             case 4:
-                // Optionally return to previous menu
-                break;
+                return Transition.BACK;   // Return to previous menu
             default:
                 System.out.println("Invalid selection. Try again.");
-                courseManagement(admin);
+                return Transition.STAY;
         }
     }
 
+    /**
+     * Displays all courses one page at a time.
+     *
+     * @param scanner input source for paging commands
+     */
+    public static void showCourses(Scanner scanner) {
+        AccessControl.require(Permission.VIEW_COURSES);
+        Pager.page("Courses", courseList, COURSE_TABLE,
+                (course, layout, renderer) -> layout.renderRow(renderer,
+                        course.getCourseCode(),
+                        course.getCourseName(),
+                        Integer.toString(course.getModules().size()),
+                        Integer.toString(course.getStudents().size())),
+                scanner);
+    }
+
     /**
      * Checks if there are any courses currently stored in the system.
      *
@@ -79,7 +118,7 @@ public class CourseManagementModule {
      * @param admin the Admin object responsible for adding courses
      */
     public static void addNewCourse(Admin admin) {
-        Scanner input = new Scanner(System.in);
+        Scanner input = Utility.input();
         boolean addAnotherCourse = true;
         String title = "ADD COURSE";
         int menuWidth = 60;
@@ -107,9 +146,6 @@ public class CourseManagementModule {
 
             System.out.println(); // Add spacing between iterations
         } while (addAnotherCourse);
-
-        // Return to the course management menu
-        courseManagement(admin);
     }
 
     /**
@@ -137,60 +173,68 @@ public class CourseManagementModule {
 
     /**
      * Updates information for an existing course.
-     * Prompts admin to search for a course and choose which details to update.
+     * Prompts admin to search for a course, then opens the update menu for it.
      *
      * @param admin the Admin object performing the update
+     * @return the next navigation step
      */
-    public static void updateCourse(Admin admin) {
+    public static Transition updateCourse(Admin admin) {
         String title = "UPDATE COURSE";
         int menuWidth = 60;
 
         Utility.printInputPromptMenu(title, menuWidth);
-        Scanner input = new Scanner(System.in);
+        Scanner input = Utility.input();
 
         System.out.print("Enter course Code: ");
         String courseCode = input.nextLine();
 
         Course searchedCourse = searchCourse(courseCode);
 
-        if (searchedCourse != null) {
-            // Display course details before updating
-            displayCourseInfo(searchedCourse);
-
-            // Provide update options
-            String[] menuOptions = {"Update Course Name", "Update Course Code", "Manage Modules", "Back"};
-            int choice = Utility.printMenu("Course Update Menu", menuOptions);
-
-            switch (choice) {
-                case 1:
-                    // Update course name
-                    System.out.print("Enter new course name: ");
-                    String newCourseName = input.nextLine();
-                    searchedCourse.setCourseName(newCourseName);
-                    System.out.println("✓ Course name updated successfully!");
-                    updateCourse(admin);
-                    break;
-                case 2:
-                    // Update course code
-                    System.out.print("Enter new course code: ");
-                    String newCourseCode = input.nextLine();
-                    searchedCourse.setCourseCode(newCourseCode);
-                    System.out.println("✓ Course code updated successfully!");
-                    updateCourse(admin);
-                    break;
-                case 3:
-                    ModuleManagement.manageModules(admin, searchedCourse);
-                    break;
-                case 4:
-                    courseManagement(admin); // Return to main course menu
-                    break;
-                default:
-                    System.out.println("Invalid selection. Try again.");
-                    updateCourse(admin);
-            }
-        } else {
-            // Retry if course not found
-            updateCourse(admin);
+        if (searchedCourse == null) {
+            // Return to the course menu so the admin can retry
+            return Transition.BACK;
+        }
+        return Transition.replace(() -> updateCourse(admin, searchedCourse));
+    }
+
+    /**
+     * Displays the update menu for a course and applies one change.
+     *
+     * @param admin          the Admin object performing the update
+     * @param searchedCourse the course being updated
+     * @return the next navigation step
+     */
+    public static Transition updateCourse(Admin admin, Course searchedCourse) {
+        Scanner input = Utility.input();
+
+        // Display course details before updating
+        displayCourseInfo(searchedCourse);
+
+        // Provide update options
+        String[] menuOptions = {"Update Course Name", "Update Course Code", "Manage Modules", "Back"};
+        int choice = Utility.printMenu("Course Update Menu", menuOptions);
+
+        switch (choice) {
+            case 1:
+            case 2:
+                // Update course name or code
+                String field = choice == 1 ? "name" : "code";
+                System.out.print("Enter new course " + field + ": ");
+                String value = input.nextLine();
+                try {
+                    updateCourse(searchedCourse, field, value);
+                    System.out.println("✓ Course " + field + " updated successfully!");
+                } catch (IllegalArgumentException e) {
+                    System.out.println("✗ " + e.getMessage());
+                }
+                return Transition.STAY;
+            case 3:
+                return Transition.push(() -> ModuleManagement.manageModules(admin, searchedCourse));
+            case 4:
+                return Transition.BACK; // Return to main course menu
+            default:
+                System.out.println("Invalid selection. Try again.");
+                return Transition.STAY;
         }
     }
 
@@ -201,14 +245,7 @@ public class CourseManagementModule {
      * @return the Course object if found; null otherwise
      */
     public static Course searchCourse(String courseCode) {
-        Course courseFound = null;
-
-        for (Course currentCourse : courseList) {
-            if (courseCode.equalsIgnoreCase(currentCourse.getCourseCode())) {
-                courseFound = currentCourse;
-                break;
-            }
-        }
+        Course courseFound = findCourse(courseCode);
 
         if (courseFound == null) {
             System.out.println("Course " + courseCode + " not found. Try again!");
@@ -217,12 +254,156 @@ public class CourseManagementModule {
         return courseFound;
     }
 
+    /**
+     * Finds a course by its code without printing anything.
+     *
+     * @param courseCode the code of the course (case-insensitive)
+     * @return the Course object if found; null otherwise
+     */
+    public static Course findCourse(String courseCode) {
+        long start = System.nanoTime();
+        CourseSearchEvent event = new CourseSearchEvent();
+        event.begin();
+        Course found = null;
+        try {
+            found = SharedState.read(() -> {
+                for (Course currentCourse : courseList) {
+                    if (courseCode.equalsIgnoreCase(currentCourse.getCourseCode())) {
+                        return currentCourse;
+                    }
+                }
+                return null;
+            });
+            return found;
+        } finally {
+            SEARCH_TIME.recordSince(start);
+            event.complete(courseCode, found != null, courseList.size());
+        }
+    }
+
+    /**
+     * Changes one detail of a course: its "name", "code" or "department".
+     * A new code is also given to the course's modules.
+     *
+     * @param course the course to change
+     * @param field  the detail to change
+     * @param value  its new value
+     * @throws IllegalArgumentException if the field is unknown or another course already has the new code
+     * @throws SecurityException        if the acting user may not manage courses
+     */
+    public static void updateCourse(Course course, String field, String value) {
+        AccessControl.require(Permission.MANAGE_COURSES);
+        String originalCode = course.getCourseCode();
+        SharedState.update(() -> {
+            switch (field) {
+                case "name":       course.setCourseName(value); break;
+                case "department": course.setDepartment(value); break;
+                case "code":
+                    Course existing = findCourse(value);
+                    if (existing != null && existing != course) {
+                        throw new IllegalArgumentException("Course " + value + " already exists");
+                    }
+                    course.setCourseCode(value);
+                    for (Module module : course.getModules()) {
+                        module.setCourseCode(value);
+                    }
+                    break;
+                default: throw new IllegalArgumentException("Unknown course field: " + field);
+            }
+        });
+        AuditLog.record(AuditAction.COURSE_UPDATED, originalCode, field.equals("code") ? "code to " + value : field);
+    }
+
+    /**
+     * Removes a course from the active course list and drops every student
+     * enrolled in it, so none is left enrolled in an archived course.
+     *
+     * @param course the course to archive
+     */
+    public static void archiveCourse(Course course) {
+        AccessControl.require(Permission.MANAGE_COURSES);
+        SharedState.update(() -> {
+            if (!courseList.remove(course)) {
+                return;
+            }
+            for (Student student : course.getStudents()) {
+                if (student.getCourse() == course) {
+                    student.setCourse(null);
+                    EventBus.publish(new DomainEvent.Dropped(student, course));
+                }
+            }
+            course.getStudents().clear();
+            EventBus.publish(new DomainEvent.CourseArchived(course));
+        });
+        AuditLog.record(AuditAction.COURSE_ARCHIVED, course.getCourseCode(), course.getCourseName());
+    }
+
+    /**
+     * Enrolls a student in a course, leaving any course they were enrolled in before.
+     * Students may enroll themselves; enrolling others needs MANAGE_ENROLLMENTS.
+     *
+     * @param student the student to enroll
+     * @param course  the course to enroll in
+     */
+    public static void enrollStudent(Student student, Course course) {
+        AccessControl.requireSelfOr(student, Permission.ENROLL_SELF, Permission.MANAGE_ENROLLMENTS);
+        long start = System.nanoTime();
+        EnrollmentEvent event = new EnrollmentEvent();
+        event.begin();
+        try {
+            SharedState.update(() -> {
+                if (student.getCourse() == course) {
+                    return;
+                }
+                dropCourse(student);
+                student.setCourse(course);
+                course.enrollStudent(student);
+                EventBus.publish(new DomainEvent.Enrolled(student, course));
+            });
+        } finally {
+            ENROLL_TIME.recordSince(start);
+            event.complete("enroll", student.getStudentId(), course.getCourseCode(), course.getStudents().size());
+        }
+    }
+
+    /**
+     * Removes a student from the roster of the course they are enrolled in.
+     *
+     * @param student the student dropping their course
+     * @return true if the student was enrolled in a course
+     */
+    public static boolean dropCourse(Student student) {
+        AccessControl.requireSelfOr(student, Permission.ENROLL_SELF, Permission.MANAGE_ENROLLMENTS);
+        long start = System.nanoTime();
+        EnrollmentEvent event = new EnrollmentEvent();
+        event.begin();
+        Course[] left = new Course[1];
+        try {
+            return SharedState.write(() -> {
+                Course course = student.getCourse();
+                if (course == null) {
+                    return false;
+                }
+                course.getStudents().remove(student);
+                student.setCourse(null);
+                EventBus.publish(new DomainEvent.Dropped(student, course));
+                left[0] = course;
+                return true;
+            });
+        } finally {
+            DROP_TIME.recordSince(start);
+            event.complete("drop", student.getStudentId(),
+                    left[0] != null ? left[0].getCourseCode() : null,
+                    left[0] != null ? left[0].getStudents().size() : 0);
+        }
+    }
+
     /**
      * Archives a course in the system.
      * Removes the course from the active course list.
      */
     public static void archiveCourse() {
-        Scanner input = new Scanner(System.in);
+        Scanner input = Utility.input();
         String title = "ARCHIVE COURSE";
         int menuWidth = 60;
         
@@ -238,7 +419,7 @@ public class CourseManagementModule {
             String confirmation = input.nextLine();
             
             if (confirmation.equalsIgnoreCase("Y")) {
-                courseList.remove(courseToArchive);
+                archiveCourse(courseToArchive);
                 System.out.println("✓ Course archived successfully!");
             } else {
                 System.out.println("Archive cancelled.");
@@ -1,9 +1,20 @@
 package CourseManagement;
 
+import Events.DomainEvent;
+import Events.EventBus;
+import Security.AccessControl;
+import Security.Permission;
 import UserManagement.Lecturer;
 import Interfaces.Assignable;
+import Utilities.AssignmentGraph;
+import Utilities.Notifications;
+import Utilities.SharedState;
 
 import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Module
@@ -12,7 +23,9 @@ import java.io.File;
  * Responsibilities include:
  *  - Storing module details: code, name, level, semester, credits
  *  - Managing module outline files
- *  - Assigning the module to a Lecturer (or other User via Assignable interface)
+ *  - Assigning the module to a Lecturer (or other User via Assignable interface),
+ *    recorded in the {@link #TEACHING} graph
+ *  - Knowing its prerequisites, recorded in the {@link #PREREQUISITES} graph
  *  - Tracking marks scored by students (future use)
  *
  * Implements the Assignable interface to allow flexible assignment to a User.
@@ -45,8 +58,11 @@ public class Module implements Assignable<Lecturer> {
     /** Marks scored by a student in this module */
     private double marksScored;
 
-    /** Lecturer assigned to teach this module */
-    private Lecturer lecturer;
+    /** Which lecturer teaches which module, indexed both ways by object reference */
+    public static final AssignmentGraph<Module, Lecturer> TEACHING = new AssignmentGraph<>();
+
+    /** Which modules must be completed before which */
+    public static final PrerequisiteGraph PREREQUISITES = new PrerequisiteGraph();
 
     // ---------------------- CONSTRUCTOR ----------------------
 
@@ -93,8 +109,24 @@ public class Module implements Assignable<Lecturer> {
     public double getMarksScored() { return marksScored; }
     public void setMarksScored(double marksScored) { this.marksScored = marksScored; }
 
-    public Lecturer getLecturer() { return lecturer; }
-    public void setLecturer(Lecturer lecturer) { this.lecturer = lecturer; }
+    public Lecturer getLecturer() { return TEACHING.assigneeOf(this); }
+
+    /**
+     * Records the lecturer of this module without publishing events;
+     * {@link #assignTo} is the normal way to assign one.
+     *
+     * @param lecturer the lecturer, or null for none
+     */
+    public void setLecturer(Lecturer lecturer) {
+        if (lecturer != null) {
+            TEACHING.assign(this, lecturer);
+        } else {
+            TEACHING.unassign(this);
+        }
+    }
+
+    /** @return the modules to complete directly before this one */
+    public List<Module> getPrerequisites() { return PREREQUISITES.prerequisitesOf(this); }
 
     public File getModuleOutline() { return moduleOutline; }
 
@@ -107,7 +139,7 @@ public class Module implements Assignable<Lecturer> {
     public void setModuleOutline(String moduleOutlinePath) {
         File moduleFile = new File(moduleOutlinePath);
         if (!moduleFile.exists()) {
-            System.out.println("Module Outline does not exist at: " + moduleOutlinePath);
+            Notifications.send("Module Outline does not exist at: " + moduleOutlinePath);
         } else {
             this.moduleOutline = moduleFile;
         }
@@ -119,6 +151,7 @@ public class Module implements Assignable<Lecturer> {
 
     @Override
     public String toString() {
+        Lecturer lecturer = getLecturer();
         String lecturerInfo = (lecturer != null)
                 ? lecturer.getFirstname() + " " + lecturer.getLastname()
                 : "Unassigned";
@@ -128,19 +161,19 @@ public class Module implements Assignable<Lecturer> {
     // ---------------------- ASSIGNABLE INTERFACE METHODS ----------------------
 
     /**
-     * Assigns this module to a Lecturer.
-     * Also updates the lecturer's modulesTaught list.
+     * Assigns this module to a Lecturer, taking it from the lecturer who
+     * taught it before.
      *
      * @param lecturer the lecturer to assign this module to
+     * @throws SecurityException if the acting user may not manage modules
      */
     @Override
     public void assignTo(Lecturer lecturer) {
+        AccessControl.require(Permission.MANAGE_MODULES);
         if (lecturer != null) {
-            this.lecturer = lecturer;
-            // Update the lecturer's modulesTaught list
-            lecturer.getModulesTaught().add(this.moduleName);
+            SharedState.update(() -> moved(this, TEACHING.assign(this, lecturer), lecturer));
         } else {
-            System.out.println("Cannot assign null lecturer to module.");
+            Notifications.send("Cannot assign null lecturer to module.");
         }
     }
 
@@ -151,7 +184,7 @@ public class Module implements Assignable<Lecturer> {
      */
     @Override
     public Lecturer getAssignee() {
-        return lecturer;
+        return getLecturer();
     }
 
     /**
@@ -161,21 +194,93 @@ public class Module implements Assignable<Lecturer> {
      */
     @Override
     public boolean isAssigned() {
-        return lecturer != null;
+        return TEACHING.isAssigned(this);
     }
 
     /**
      * Removes the current assignment of this module.
      * Checks if the module is assigned before unassigning.
+     *
+     * @throws SecurityException if the acting user may not manage modules
      */
     @Override
     public void unassign() {
-        if (isAssigned()) {
-            // Remove the module from the lecturer's modulesTaught list
-            lecturer.getModulesTaught().remove(this.moduleName);
-            this.lecturer = null;
-        } else {
-            System.out.println("Module is not currently assigned to any lecturer.");
+        AccessControl.require(Permission.MANAGE_MODULES);
+        Lecturer previous = SharedState.write(() -> {
+            Lecturer removed = TEACHING.unassign(this);
+            moved(this, removed, null);
+            return removed;
+        });
+        if (previous == null) {
+            Notifications.send("Module is not currently assigned to any lecturer.");
+        }
+    }
+
+    // ---------------------- BATCH ASSIGNMENT ----------------------
+
+    /**
+     * Assigns several modules to one lecturer under a single write lock.
+     *
+     * @param modules  the modules to assign
+     * @param lecturer the lecturer to teach them
+     * @throws SecurityException if the acting user may not manage modules
+     */
+    public static void assignAll(Collection<Module> modules, Lecturer lecturer) {
+        AccessControl.require(Permission.MANAGE_MODULES);
+        if (lecturer == null) {
+            throw new IllegalArgumentException("Cannot assign modules to a null lecturer");
+        }
+        SharedState.update(() -> {
+            for (Map.Entry<Module, Lecturer> change : TEACHING.assignAll(modules, lecturer).entrySet()) {
+                moved(change.getKey(), change.getValue(), lecturer);
+            }
+        });
+    }
+
+    /**
+     * Unassigns several modules under a single write lock. Modules that
+     * are not assigned are skipped.
+     *
+     * @param modules the modules to unassign
+     * @throws SecurityException if the acting user may not manage modules
+     */
+    public static void unassignAll(Collection<Module> modules) {
+        AccessControl.require(Permission.MANAGE_MODULES);
+        SharedState.update(() -> {
+            for (Map.Entry<Module, Lecturer> change : TEACHING.unassignAll(modules).entrySet()) {
+                moved(change.getKey(), change.getValue(), null);
+            }
+        });
+    }
+
+    /**
+     * Unassigns every module a lecturer teaches, e.g. when they leave.
+     *
+     * @param lecturer the lecturer
+     * @return the modules that were assigned to them
+     * @throws SecurityException if the acting user may not manage lecturers
+     */
+    public static Set<Module> unassignAllFrom(Lecturer lecturer) {
+        AccessControl.require(Permission.MANAGE_LECTURERS);
+        return SharedState.write(() -> {
+            Set<Module> modules = TEACHING.unassignAllFrom(lecturer);
+            for (Module module : modules) {
+                moved(module, lecturer, null);
+            }
+            return modules;
+        });
+    }
+
+    /** Publishes the events for a module moving from one lecturer (or none) to another (or none) */
+    private static void moved(Module module, Lecturer from, Lecturer to) {
+        if (from == to) {
+            return;
+        }
+        if (from != null) {
+            EventBus.publish(new DomainEvent.ModuleUnassigned(module, from));
+        }
+        if (to != null) {
+            EventBus.publish(new DomainEvent.ModuleAssigned(module, to));
         }
     }
 }
@@ -1,11 +1,25 @@
 package CourseManagement;
 
+import Audit.AuditAction;
+import Audit.AuditLog;
+import Events.DomainEvent;
+import Events.EventBus;
+import Profiling.ModuleChangeEvent;
+import Security.AccessControl;
+import Security.Permission;
 import UserManagement.Admin;
+import UserManagement.Lecturer;
 import UserManagement.User;
+import Utilities.Navigator.Transition;
+import Utilities.Pager;
+import Utilities.SharedState;
+import Utilities.TableLayout;
 import Utilities.Utility;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -15,8 +29,9 @@ import java.util.Scanner;
  * Responsibilities include:
  *  - Adding new modules
  *  - Displaying module information
- *  - Updating modules (placeholder for future implementation)
+ *  - Updating a module's details
  *  - Archiving modules (future implementation)
+ *  - Adding and removing prerequisites
  *
  * Modules are stored in a dynamic ArrayList and linked to their parent Course.
  */
@@ -25,14 +40,171 @@ public class ModuleManagement {
     /** Container to store all modules dynamically */
     private static ArrayList<Module> moduleList = new ArrayList<>();
 
+    /** Table layout for module list views, computed once. */
+    private static final TableLayout MODULE_TABLE = new TableLayout("  ",
+            new String[]{"Code", "Module Name", "Lecturer", "Module Spec"},
+            new int[]{10, 30, 20, 30});
+
+    /**
+     * Returns a read-only view of all modules in the system.
+     *
+     * @return unmodifiable list of modules
+     */
+    public static List<Module> getModuleList() {
+        return Collections.unmodifiableList(moduleList);
+    }
+
+    /**
+     * Finds a module by its code.
+     *
+     * @param moduleCode the module code (case-insensitive)
+     * @return the Module if found; null otherwise
+     */
+    public static Module findModule(String moduleCode) {
+        return SharedState.read(() -> {
+            for (Module module : moduleList) {
+                if (module.getModuleCode().equalsIgnoreCase(moduleCode)) {
+                    return module;
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Adds a module to the system-wide module list and to its course.
+     * The acting user needs the MANAGE_MODULES permission.
+     *
+     * @param admin  the user adding the module
+     * @param module the new module
+     * @param course the course the module belongs to
+     * @throws SecurityException if the acting user may not manage modules
+     */
+    public static void registerModule(User admin, Module module, Course course) {
+        AccessControl.require(Permission.MANAGE_MODULES);
+        ModuleChangeEvent event = new ModuleChangeEvent();
+        event.begin();
+        SharedState.update(() -> {
+            moduleList.add(module);
+            course.addModule(module);
+            EventBus.publish(new DomainEvent.ModuleAdded(module, course));
+        });
+        event.complete("register", module.getModuleCode(), course.getCourseCode(), moduleList.size());
+        AuditLog.record(AuditAction.MODULE_ADDED, module.getModuleCode(), course.getCourseCode());
+    }
+
+    /**
+     * Changes one detail of a module: its "name", "code", "level",
+     * "semester" or "credits". The acting user needs the MANAGE_MODULES permission.
+     *
+     * @param module the module to change
+     * @param field  the detail to change
+     * @param value  its new value; a number for level, semester and credits
+     * @throws IllegalArgumentException if the field is unknown, the value is not a number,
+     *                                  or another module already has the new code
+     * @throws SecurityException        if the acting user may not manage modules
+     */
+    public static void updateModule(Module module, String field, String value) {
+        AccessControl.require(Permission.MANAGE_MODULES);
+        boolean numeric = field.equals("level") || field.equals("semester") || field.equals("credits");
+        int number = numeric ? number(field, value) : 0;
+        String originalCode = module.getModuleCode();
+        ModuleChangeEvent event = new ModuleChangeEvent();
+        event.begin();
+        SharedState.update(() -> {
+            switch (field) {
+                case "name":     module.setModuleName(value); break;
+                case "code":
+                    Module existing = findModule(value);
+                    if (existing != null && existing != module) {
+                        throw new IllegalArgumentException("Module " + value + " already exists");
+                    }
+                    module.setModuleCode(value);
+                    break;
+                case "level":    module.setLevel(number); break;
+                case "semester": module.setSemester(number); break;
+                case "credits":  module.setCredits(number); break;
+                default: throw new IllegalArgumentException("Unknown module field: " + field);
+            }
+        });
+        event.complete("update", module.getModuleCode(), module.getCourseCode(), moduleList.size());
+        AuditLog.record(AuditAction.MODULE_UPDATED, originalCode, field);
+    }
+
+    private static int number(String field, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Module " + field + " must be a number: " + value);
+        }
+    }
+
+    /**
+     * Makes one module a prerequisite of another.
+     *
+     * @param module       the module that needs it
+     * @param prerequisite the module to complete first
+     * @throws IllegalArgumentException if the prerequisite would make a cycle
+     * @throws SecurityException        if the acting user may not manage modules
+     */
+    public static void addPrerequisite(Module module, Module prerequisite) {
+        AccessControl.require(Permission.MANAGE_MODULES);
+        if (SharedState.write(() -> Module.PREREQUISITES.addPrerequisite(module, prerequisite))) {
+            AuditLog.record(AuditAction.PREREQUISITE_ADDED, module.getModuleCode(), prerequisite.getModuleCode());
+        }
+    }
+
+    /**
+     * Stops one module being a direct prerequisite of another.
+     *
+     * @throws IllegalArgumentException if it was not a direct prerequisite
+     * @throws SecurityException        if the acting user may not manage modules
+     */
+    public static void removePrerequisite(Module module, Module prerequisite) {
+        AccessControl.require(Permission.MANAGE_MODULES);
+        if (!SharedState.write(() -> Module.PREREQUISITES.removePrerequisite(module, prerequisite))) {
+            throw new IllegalArgumentException(prerequisite.getModuleCode() + " is not a prerequisite of "
+                    + module.getModuleCode());
+        }
+        AuditLog.record(AuditAction.PREREQUISITE_REMOVED, module.getModuleCode(), prerequisite.getModuleCode());
+    }
+
+    /**
+     * Removes a module from the module list and from its course,
+     * and takes it off its lecturer's modules. Modules that needed it
+     * as a prerequisite now need its own prerequisites instead.
+     *
+     * @param module the module to archive
+     * @param course the course the module belongs to, or null if it no longer exists
+     */
+    public static void archiveModule(Module module, Course course) {
+        AccessControl.require(Permission.MANAGE_MODULES);
+        ModuleChangeEvent event = new ModuleChangeEvent();
+        event.begin();
+        SharedState.update(() -> {
+            moduleList.remove(module);
+            if (course != null) {
+                course.getModules().remove(module);
+            }
+            if (module.isAssigned()) {
+                module.unassign();
+            }
+            Module.PREREQUISITES.remove(module);
+            EventBus.publish(new DomainEvent.ModuleArchived(module, course));
+        });
+        event.complete("archive", module.getModuleCode(), course != null ? course.getCourseCode() : null, moduleList.size());
+        AuditLog.record(AuditAction.MODULE_ARCHIVED, module.getModuleCode(), course != null ? course.getCourseCode() : null);
+    }
+
     /**
      * Displays the module management menu and routes the admin
      * to the selected operation for the specified course.
      *
      * @param admin              the Admin or User object managing modules
      * @param courseTobeManaged  the Course object whose modules are being managed
+     * @return the next navigation step
      */
-    public static void manageModules(User admin, Course courseTobeManaged) {
+    public static Transition manageModules(User admin, Course courseTobeManaged) {
         String[] menuOptions = {"Add Module", "Show Modules", "Update Module", "Archive Module", "Back to Course Management"};
 
         int choice = Utility.printMenu("Module Management Menu", menuOptions);
@@ -40,24 +212,21 @@ public class ModuleManagement {
         switch (choice) {
             case 1:
                 addModule(admin, courseTobeManaged);  // Add new module
-                break;
+                return Transition.STAY;
             case 2:
                 showModules(admin, courseTobeManaged); // Display all modules
-                break;
+                return Transition.STAY;
             case 3:
                 updateModule(admin, courseTobeManaged); // Update module
-                break;
+                return Transition.STAY;
             case 4:
                 archiveModule(admin, courseTobeManaged); // Archive module
-                break;
+                return Transition.STAY;
             case 5:
-                if (admin instanceof Admin) {
-                    CourseManagementModule.courseManagement((Admin) admin); // Navigate back to course management
-                }
-                break;
+                return Transition.BACK; // Navigate back to course management
             default:
                 System.out.println("Invalid selection. Try again.");
-                manageModules(admin, courseTobeManaged);
+                return Transition.STAY;
         }
     }
 
@@ -69,30 +238,33 @@ public class ModuleManagement {
      * @param course the Course object whose modules are displayed
      */
     public static void showModules(User admin, Course course) {
-        String title = "MODULES INFORMATION";
-        int menuWidth = 60;
-        Utility.printInputPromptMenu(title, menuWidth);
-
-        for (Module module : moduleList) {
-            System.out.println("Module Name: " + module.getModuleName());
-            System.out.println("Module Code: " + module.getModuleCode());
-
-            // Check if module outline file exists
-            File outlineFile = module.getModuleOutline();
-            if (outlineFile != null && outlineFile.exists()) {
-                System.out.println("Module Spec: " + outlineFile.getPath());
-            } else {
-                System.out.println("Module File Not Found");
-            }
-        }
+        Scanner scanner = Utility.input();
+        listModules("Modules Information", moduleList, scanner);
 
         // Wait for user to press Enter before returning to menu
         System.out.println("Press any key to continue...");
-        Scanner scanner = new Scanner(System.in);
         scanner.nextLine();
+    }
 
-        // Return to module management menu
-        manageModules(admin, course);
+    /**
+     * Displays a list of modules one page at a time, including the
+     * assigned lecturer and the module outline path when the file exists.
+     *
+     * @param title   screen title
+     * @param modules modules to list
+     * @param scanner input source for paging commands
+     */
+    public static void listModules(String title, List<Module> modules, Scanner scanner) {
+        AccessControl.require(Permission.VIEW_MODULES);
+        Pager.page(title, modules, MODULE_TABLE, (module, layout, renderer) -> {
+            Lecturer lecturer = module.getLecturer();
+            File outlineFile = module.getModuleOutline();
+            layout.renderRow(renderer,
+                    module.getModuleCode(),
+                    module.getModuleName(),
+                    lecturer != null ? lecturer.getFirstname() + " " + lecturer.getLastname() : "Unassigned",
+                    outlineFile != null && outlineFile.exists() ? outlineFile.getPath() : "File Not Found");
+        }, scanner);
     }
 
     /**
@@ -103,7 +275,7 @@ public class ModuleManagement {
      * @param course the Course object to which modules are being added
      */
     public static void addModule(User admin, Course course) {
-        Scanner input = new Scanner(System.in);
+        Scanner input = Utility.input();
         boolean hasModuleToAdd = true;
         String title = "ADD MODULE";
         int menuWidth = 60;
@@ -119,18 +291,16 @@ public class ModuleManagement {
             String moduleTitle = input.nextLine();
 
             System.out.print("Enter module level: ");
-            int moduleLevel = input.nextInt();
+            int moduleLevel = Utility.nextInt(input);
 
             System.out.print("Enter module semester: ");
-            int moduleSemester = input.nextInt();
-            input.nextLine(); // Consume leftover newline
+            int moduleSemester = Utility.nextInt(input);
 
             System.out.print("Enter path to Module outline file: ");
             String moduleOutline = input.nextLine();
 
             System.out.print("Enter credits: ");
-            int moduleCredits = input.nextInt();
-            input.nextLine(); // Consume leftover newline
+            int moduleCredits = Utility.nextInt(input);
 
             // Create new Module object
             Module module = new Module(moduleCode, moduleTitle, course.getCourseCode(),
@@ -139,12 +309,7 @@ public class ModuleManagement {
             module.setModuleOutline(moduleOutline);
 
             // Add module to data structure via Admin
-            if (admin instanceof Admin) {
-                ((Admin) admin).addModule(module, course, moduleList);
-            } else {
-                moduleList.add(module);
-                course.addModule(module);
-            }
+            registerModule(admin, module, course);
 
             // Prompt if admin wants to add another module
             System.out.print("Do you want to add another module? Y/N: ");
@@ -155,8 +320,6 @@ public class ModuleManagement {
 
         } while (hasModuleToAdd);
 
-        // Return to module management menu
-        manageModules(admin, course);
     }
 
     /**
@@ -167,7 +330,7 @@ public class ModuleManagement {
      * @param course the Course object whose module is being updated
      */
     public static void updateModule(User admin, Course course) {
-        Scanner input = new Scanner(System.in);
+        Scanner input = Utility.input();
         String title = "UPDATE MODULE";
         int menuWidth = 60;
         
@@ -176,60 +339,30 @@ public class ModuleManagement {
         System.out.print("Enter module code to update: ");
         String moduleCode = input.nextLine();
         
-        Module moduleToUpdate = null;
-        for (Module module : moduleList) {
-            if (module.getModuleCode().equalsIgnoreCase(moduleCode)) {
-                moduleToUpdate = module;
-                break;
-            }
-        }
+        Module moduleToUpdate = findModule(moduleCode);
         
         if (moduleToUpdate != null) {
             System.out.println("Current Module: " + moduleToUpdate.getModuleName());
             
             String[] updateOptions = {"Update Module Name", "Update Module Code", "Update Level", 
                                      "Update Semester", "Update Credits", "Back"};
+            String[] fields = {"name", "code", "level", "semester", "credits"};
             int choice = Utility.printMenu("Update Module Menu", updateOptions);
-            
-            switch (choice) {
-                case 1:
-                    System.out.print("Enter new module name: ");
-                    String newName = input.nextLine();
-                    moduleToUpdate.setModuleName(newName);
-                    System.out.println("✓ Module name updated successfully!");
-                    break;
-                case 2:
-                    System.out.print("Enter new module code: ");
-                    String newCode = input.nextLine();
-                    moduleToUpdate.setModuleCode(newCode);
-                    System.out.println("✓ Module code updated successfully!");
-                    break;
-                case 3:
-                    System.out.print("Enter new level: ");
-                    int newLevel = input.nextInt();
-                    moduleToUpdate.setLevel(newLevel);
-                    System.out.println("✓ Module level updated successfully!");
-                    break;
-                case 4:
-                    System.out.print("Enter new semester: ");
-                    int newSemester = input.nextInt();
-                    moduleToUpdate.setSemester(newSemester);
-                    System.out.println("✓ Module semester updated successfully!");
-                    break;
-                case 5:
-                    System.out.print("Enter new credits: ");
-                    int newCredits = input.nextInt();
-                    moduleToUpdate.setCredits(newCredits);
-                    System.out.println("✓ Module credits updated successfully!");
-                    break;
-                case 6:
-                    break;
+            if (choice < 1 || choice > fields.length) {
+                return;
+            }
+
+            System.out.print("Enter new module " + fields[choice - 1] + ": ");
+            String value = input.nextLine();
+            try {
+                updateModule(moduleToUpdate, fields[choice - 1], value);
+                System.out.println("✓ Module " + fields[choice - 1] + " updated successfully!");
+            } catch (IllegalArgumentException e) {
+                System.out.println("✗ " + e.getMessage());
             }
         } else {
             System.out.println("Module not found!");
         }
-        
-        manageModules(admin, course);
     }
     
     /**
@@ -239,7 +372,7 @@ public class ModuleManagement {
      * @param course the Course object from which the module is being archived
      */
     public static void archiveModule(User admin, Course course) {
-        Scanner input = new Scanner(System.in);
+        Scanner input = Utility.input();
         String title = "ARCHIVE MODULE";
         int menuWidth = 60;
         
@@ -248,21 +381,14 @@ public class ModuleManagement {
         System.out.print("Enter module code to archive: ");
         String moduleCode = input.nextLine();
         
-        Module moduleToArchive = null;
-        for (Module module : moduleList) {
-            if (module.getModuleCode().equalsIgnoreCase(moduleCode)) {
-                moduleToArchive = module;
-                break;
-            }
-        }
+        Module moduleToArchive = findModule(moduleCode);
         
         if (moduleToArchive != null) {
             System.out.print("Are you sure you want to archive module " + moduleToArchive.getModuleName() + "? (Y/N): ");
             String confirmation = input.nextLine();
             
             if (confirmation.equalsIgnoreCase("Y")) {
-                moduleList.remove(moduleToArchive);
-                course.getModules().remove(moduleToArchive);
+                archiveModule(moduleToArchive, course);
                 System.out.println("✓ Module archived successfully!");
             } else {
                 System.out.println("Archive cancelled.");
@@ -270,7 +396,5 @@ public class ModuleManagement {
         } else {
             System.out.println("Module not found!");
         }
-        
-        manageModules(admin, course);
     }
 }
@@ -0,0 +1,342 @@
+package CourseManagement;
+
+import UserManagement.Student;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PrerequisiteGraph
+ * ---------------------------------------------------------
+ * Which modules must be completed before which, kept acyclic, with its
+ * transitive closure cached so that "does Y need X", "can this student take
+ * Y" and "what does Y unlock" need no graph walk.
+ *
+ * Each module in the graph gets a small index. Its direct prerequisites,
+ * the modules that directly need it, all its prerequisites and everything
+ * it unlocks are bitset rows over those indexes, one bit per module. A
+ * prerequisite that would close a cycle is a single bit test and is
+ * refused. Adding one ORs the new prerequisites into the rows below it and
+ * the new dependents into the rows above it. Removing one recomputes only
+ * the rows it can change, in an order where every row is rebuilt after
+ * those it is built from. Removing a module, when it is archived, passes
+ * its prerequisites on to the modules that needed it, so every other
+ * requirement stays as it was and only its own bit is cleared.
+ *
+ * Modules are held by object reference, like {@link Module#TEACHING}.
+ * Every method is synchronized, so a query never sees half a change.
+ *
+ * Responsibilities:
+ *  - Add and remove prerequisites, refusing cycles
+ *  - Keep all prerequisites and all dependents of every module
+ *  - Tell whether a student has what a module needs
+ *  - Drop an archived module, keeping the requirements through it
+ */
+public final class PrerequisiteGraph {
+
+    private final Map<Module, Integer> index = new IdentityHashMap<>();
+    private final Deque<Integer> freeIndexes = new ArrayDeque<>();
+    private Module[] modules = new Module[64];
+    private int size;
+    private int words = 1;
+
+    /** Direct prerequisites and direct dependents of each module */
+    private long[][] requires = new long[64][];
+    private long[][] requiredBy = new long[64][];
+
+    /** Every prerequisite, direct or not, and every module unlocked, direct or not */
+    private long[][] ancestors = new long[64][];
+    private long[][] descendants = new long[64][];
+
+    private int edges;
+
+    // ---------------------- CHANGES ----------------------
+
+    /**
+     * Makes one module a prerequisite of another.
+     *
+     * @param module       the module that needs it
+     * @param prerequisite the module to complete first
+     * @return false if it already was a direct prerequisite
+     * @throws IllegalArgumentException if the prerequisite needs the module, directly or not, or is the module itself
+     */
+    public synchronized boolean addPrerequisite(Module module, Module prerequisite) {
+        if (module == prerequisite) {
+            throw new IllegalArgumentException(module.getModuleCode() + " cannot be its own prerequisite");
+        }
+        Integer known = index.get(module);
+        Integer knownPrerequisite = index.get(prerequisite);
+        if (known != null && knownPrerequisite != null && has(ancestors[knownPrerequisite], known)) {
+            throw new IllegalArgumentException(prerequisite.getModuleCode() + " already needs "
+                    + module.getModuleCode() + "; the prerequisite would make a cycle");
+        }
+        int m = indexOf(module);
+        int p = indexOf(prerequisite);
+        if (has(requires[m], p)) {
+            return false;
+        }
+        set(requires[m], p);
+        set(requiredBy[p], m);
+        edges++;
+
+        // The module and all it unlocks now need the prerequisite and all it needs
+        long[] gained = ancestors[p].clone();
+        set(gained, p);
+        or(ancestors[m], gained);
+        for (int d : bits(descendants[m])) {
+            or(ancestors[d], gained);
+        }
+        long[] unlocked = descendants[m].clone();
+        set(unlocked, m);
+        or(descendants[p], unlocked);
+        for (int a : bits(ancestors[p])) {
+            or(descendants[a], unlocked);
+        }
+        return true;
+    }
+
+    /**
+     * Stops one module being a direct prerequisite of another. It may still
+     * be needed through other prerequisites.
+     *
+     * @return false if it was not a direct prerequisite
+     */
+    public synchronized boolean removePrerequisite(Module module, Module prerequisite) {
+        Integer m = index.get(module);
+        Integer p = index.get(prerequisite);
+        if (m == null || p == null || !has(requires[m], p)) {
+            return false;
+        }
+        clear(requires[m], p);
+        clear(requiredBy[p], m);
+        edges--;
+
+        // A module's rows hold more bits than those of anything it needs or
+        // unlocks, so counting bits before the change gives a safe order
+        rebuild(withBits(m, descendants[m]), ancestors, requires);
+        rebuild(withBits(p, ancestors[p]), descendants, requiredBy);
+        return true;
+    }
+
+    /**
+     * Takes a module out of the graph, e.g. when it is archived. Modules
+     * that needed it now need its prerequisites directly.
+     */
+    public synchronized void remove(Module module) {
+        Integer found = index.remove(module);
+        if (found == null) {
+            return;
+        }
+        int x = found;
+        int[] before = bits(requires[x]);
+        int[] after = bits(requiredBy[x]);
+        for (int d : after) {
+            clear(requires[d], x);
+            edges--;
+            for (int p : before) {
+                if (!has(requires[d], p)) {
+                    set(requires[d], p);
+                    set(requiredBy[p], d);
+                    edges++;
+                }
+            }
+        }
+        for (int p : before) {
+            clear(requiredBy[p], x);
+            edges--;
+        }
+        for (int d : bits(descendants[x])) {
+            clear(ancestors[d], x);
+        }
+        for (int a : bits(ancestors[x])) {
+            clear(descendants[a], x);
+        }
+        Arrays.fill(requires[x], 0);
+        Arrays.fill(requiredBy[x], 0);
+        Arrays.fill(ancestors[x], 0);
+        Arrays.fill(descendants[x], 0);
+        modules[x] = null;
+        freeIndexes.push(x);
+    }
+
+    // ---------------------- QUERIES ----------------------
+
+    /** @return true if a module needs another first, directly or through other prerequisites */
+    public synchronized boolean requires(Module module, Module prerequisite) {
+        Integer m = index.get(module);
+        Integer p = index.get(prerequisite);
+        return m != null && p != null && has(ancestors[m], p);
+    }
+
+    /** @return the modules to complete directly before a module */
+    public synchronized List<Module> prerequisitesOf(Module module) {
+        Integer m = index.get(module);
+        return m == null ? new ArrayList<>() : modulesIn(requires[m]);
+    }
+
+    /** @return every module to complete before a module, directly or not */
+    public synchronized List<Module> allPrerequisitesOf(Module module) {
+        Integer m = index.get(module);
+        return m == null ? new ArrayList<>() : modulesIn(ancestors[m]);
+    }
+
+    /** @return every module that needs this one, directly or not */
+    public synchronized List<Module> unlockedBy(Module module) {
+        Integer m = index.get(module);
+        return m == null ? new ArrayList<>() : modulesIn(descendants[m]);
+    }
+
+    /** @return how many modules need this one, directly or not */
+    public synchronized int countUnlockedBy(Module module) {
+        Integer m = index.get(module);
+        return m == null ? 0 : count(descendants[m]);
+    }
+
+    /** @return true if a student has completed every prerequisite of a module, direct or not */
+    public synchronized boolean canTake(Student student, Module module) {
+        Integer m = index.get(module);
+        if (m == null) {
+            return true;
+        }
+        long[] row = ancestors[m];
+        for (int w = 0; w < row.length; w++) {
+            for (long bits = row[w]; bits != 0; bits &= bits - 1) {
+                if (!student.hasCompleted(modules[(w << 6) + Long.numberOfTrailingZeros(bits)])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /** @return the prerequisites of a module, direct or not, that a student has still to complete */
+    public synchronized List<Module> missingFor(Student student, Module module) {
+        List<Module> missing = allPrerequisitesOf(module);
+        missing.removeIf(student::hasCompleted);
+        return missing;
+    }
+
+    /** @return how many direct prerequisites there are */
+    public synchronized int getEdgeCount() {
+        return edges;
+    }
+
+    // ---------------------- INDEXES ----------------------
+
+    private int indexOf(Module module) {
+        Integer known = index.get(module);
+        if (known != null) {
+            return known;
+        }
+        int m;
+        if (!freeIndexes.isEmpty()) {
+            m = freeIndexes.pop();
+        } else {
+            m = size++;
+            if (m == modules.length) {
+                int capacity = modules.length * 2;
+                modules = Arrays.copyOf(modules, capacity);
+                requires = Arrays.copyOf(requires, capacity);
+                requiredBy = Arrays.copyOf(requiredBy, capacity);
+                ancestors = Arrays.copyOf(ancestors, capacity);
+                descendants = Arrays.copyOf(descendants, capacity);
+            }
+            if (m >>> 6 == words) {
+                words *= 2;
+                for (long[][] rows : new long[][][] {requires, requiredBy, ancestors, descendants}) {
+                    for (int i = 0; i < m; i++) {
+                        rows[i] = Arrays.copyOf(rows[i], words);
+                    }
+                }
+            }
+            requires[m] = new long[words];
+            requiredBy[m] = new long[words];
+            ancestors[m] = new long[words];
+            descendants[m] = new long[words];
+        }
+        modules[m] = module;
+        index.put(module, m);
+        return m;
+    }
+
+    /**
+     * Rebuilds the closure rows of some modules from their direct links:
+     * each row is the union of its linked modules' rows and bits. Rows are
+     * rebuilt fewest bits first, so every linked row is already rebuilt.
+     */
+    private static void rebuild(int[] affected, long[][] closure, long[][] links) {
+        long[] order = new long[affected.length];
+        for (int i = 0; i < affected.length; i++) {
+            order[i] = (long) count(closure[affected[i]]) << 32 | affected[i];
+        }
+        Arrays.sort(order);
+        for (long entry : order) {
+            int m = (int) entry;
+            long[] row = closure[m];
+            Arrays.fill(row, 0);
+            for (int linked : bits(links[m])) {
+                or(row, closure[linked]);
+                set(row, linked);
+            }
+        }
+    }
+
+    private List<Module> modulesIn(long[] row) {
+        List<Module> found = new ArrayList<>();
+        for (int m : bits(row)) {
+            found.add(modules[m]);
+        }
+        return found;
+    }
+
+    // ---------------------- BITSETS ----------------------
+
+    private static boolean has(long[] row, int bit) {
+        return (row[bit >>> 6] & 1L << bit) != 0;
+    }
+
+    private static void set(long[] row, int bit) {
+        row[bit >>> 6] |= 1L << bit;
+    }
+
+    private static void clear(long[] row, int bit) {
+        row[bit >>> 6] &= ~(1L << bit);
+    }
+
+    private static void or(long[] row, long[] other) {
+        for (int w = 0; w < row.length; w++) {
+            row[w] |= other[w];
+        }
+    }
+
+    private static int count(long[] row) {
+        int count = 0;
+        for (long word : row) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private static int[] bits(long[] row) {
+        int[] found = new int[count(row)];
+        int n = 0;
+        for (int w = 0; w < row.length; w++) {
+            for (long bits = row[w]; bits != 0; bits &= bits - 1) {
+                found[n++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return found;
+    }
+
+    private static int[] withBits(int first, long[] row) {
+        int[] rest = bits(row);
+        int[] all = Arrays.copyOf(rest, rest.length + 1);
+        all[rest.length] = first;
+        return all;
+    }
+}
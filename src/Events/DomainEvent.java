@@ -0,0 +1,94 @@
+package Events;
+
+import Audit.AuditRecord;
+import CourseManagement.Course;
+import CourseManagement.Module;
+import UserManagement.Lecturer;
+import UserManagement.Student;
+
+/**
+ * DomainEvent
+ * ---------------------------------------------------------
+ * A change to the UCMS data, published on the {@link EventBus} after the
+ * change has been made.
+ *
+ * Events carry the changed objects themselves, not copies. By the time a
+ * subscriber sees an event the objects may have changed again, so
+ * subscribers that need exact values should read them from the event's
+ * own fields or take {@code SharedState.readLock()}.
+ */
+public sealed interface DomainEvent {
+
+    /** @return when the change was made, in milliseconds since the epoch */
+    long timestamp();
+
+    // ---------------------- STUDENTS ----------------------
+
+    record StudentAdded(Student student, long timestamp) implements DomainEvent {
+        public StudentAdded(Student student) { this(student, System.currentTimeMillis()); }
+    }
+
+    record StudentRemoved(Student student, long timestamp) implements DomainEvent {
+        public StudentRemoved(Student student) { this(student, System.currentTimeMillis()); }
+    }
+
+    record Enrolled(Student student, Course course, long timestamp) implements DomainEvent {
+        public Enrolled(Student student, Course course) { this(student, course, System.currentTimeMillis()); }
+    }
+
+    record Dropped(Student student, Course course, long timestamp) implements DomainEvent {
+        public Dropped(Student student, Course course) { this(student, course, System.currentTimeMillis()); }
+    }
+
+    // ---------------------- LECTURERS ----------------------
+
+    record LecturerAdded(Lecturer lecturer, long timestamp) implements DomainEvent {
+        public LecturerAdded(Lecturer lecturer) { this(lecturer, System.currentTimeMillis()); }
+    }
+
+    record LecturerRemoved(Lecturer lecturer, long timestamp) implements DomainEvent {
+        public LecturerRemoved(Lecturer lecturer) { this(lecturer, System.currentTimeMillis()); }
+    }
+
+    record LecturerAssigned(Lecturer lecturer, Course course, long timestamp) implements DomainEvent {
+        public LecturerAssigned(Lecturer lecturer, Course course) { this(lecturer, course, System.currentTimeMillis()); }
+    }
+
+    record LecturerUnassigned(Lecturer lecturer, Course course, long timestamp) implements DomainEvent {
+        public LecturerUnassigned(Lecturer lecturer, Course course) { this(lecturer, course, System.currentTimeMillis()); }
+    }
+
+    // ---------------------- COURSES & MODULES ----------------------
+
+    record CourseAdded(Course course, long timestamp) implements DomainEvent {
+        public CourseAdded(Course course) { this(course, System.currentTimeMillis()); }
+    }
+
+    record CourseArchived(Course course, long timestamp) implements DomainEvent {
+        public CourseArchived(Course course) { this(course, System.currentTimeMillis()); }
+    }
+
+    record ModuleAdded(Module module, Course course, long timestamp) implements DomainEvent {
+        public ModuleAdded(Module module, Course course) { this(module, course, System.currentTimeMillis()); }
+    }
+
+    record ModuleArchived(Module module, Course course, long timestamp) implements DomainEvent {
+        public ModuleArchived(Module module, Course course) { this(module, course, System.currentTimeMillis()); }
+    }
+
+    record ModuleAssigned(Module module, Lecturer lecturer, long timestamp) implements DomainEvent {
+        public ModuleAssigned(Module module, Lecturer lecturer) { this(module, lecturer, System.currentTimeMillis()); }
+    }
+
+    record ModuleUnassigned(Module module, Lecturer lecturer, long timestamp) implements DomainEvent {
+        public ModuleUnassigned(Module module, Lecturer lecturer) { this(module, lecturer, System.currentTimeMillis()); }
+    }
+
+    // ---------------------- AUDIT ----------------------
+
+    /** A change recorded for the audit trail by {@code AuditLog}, with the acting user already resolved */
+    record Audited(AuditRecord record) implements DomainEvent {
+        @Override
+        public long timestamp() { return record.timestamp(); }
+    }
+}
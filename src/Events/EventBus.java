@@ -0,0 +1,185 @@
+package Events;
+
+import Utilities.RingBuffer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * EventBus
+ * ---------------------------------------------------------
+ * In-process publish/subscribe channel for {@link DomainEvent}s.
+ *
+ * Repository operations publish an event after each change. Publishing only
+ * puts the event into a lock-free {@link RingBuffer}; one background thread
+ * takes events out in batches and hands each batch to every listener, so
+ * indexes, statistics and audit logs can follow changes without slowing
+ * down the code making them.
+ *
+ * Responsibilities:
+ *  - Accept events from any thread without locking
+ *  - Deliver events to listeners in publication order, in batches
+ *  - Keep a failing listener from affecting the others
+ *
+ * Events are published while the change's {@code SharedState} write lock
+ * is held, so they arrive in the order the changes were made. Listeners run
+ * on the dispatch thread and must not take {@code SharedState} locks: a
+ * writer waiting for room in a full buffer would never release its lock.
+ * Events published by a listener are delivered after the current batch.
+ */
+public final class EventBus {
+
+    /** Events buffered between publishers and the dispatch thread */
+    private static final int CAPACITY = Integer.getInteger("ucms.events.capacity", 1 << 16);
+
+    /** Most events handed to listeners in one call */
+    private static final int MAX_BATCH = 256;
+
+    private static final RingBuffer<DomainEvent> BUFFER = new RingBuffer<>(CAPACITY);
+    private static final List<EventListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    /** Events published by listeners, only touched by the dispatch thread */
+    private static final ArrayDeque<DomainEvent> NESTED = new ArrayDeque<>();
+
+    private static final LongAdder published = new LongAdder();
+    private static final LongAdder failures = new LongAdder();
+
+    /** Sequence number below which every buffered event has been delivered */
+    private static volatile long delivered;
+
+    private static final Thread DISPATCHER = new Thread(EventBus::dispatchLoop, "ucms-event-dispatch");
+
+    static {
+        DISPATCHER.setDaemon(true);
+        DISPATCHER.start();
+    }
+
+    private EventBus() { }
+
+    // ---------------------- PUBLISHING ----------------------
+
+    /**
+     * Publishes an event to every listener.
+     * Returns once the event is buffered; waits only while the buffer is full.
+     */
+    public static void publish(DomainEvent event) {
+        if (LISTENERS.isEmpty()) {
+            return;
+        }
+        published.increment();
+        if (Thread.currentThread() == DISPATCHER) {
+            NESTED.add(event);
+        } else {
+            BUFFER.put(event);
+        }
+    }
+
+    /**
+     * Waits until every event published before the call has been delivered.
+     *
+     * @return false if the timeout passed first
+     */
+    public static boolean flush(long timeout, TimeUnit unit) {
+        if (Thread.currentThread() == DISPATCHER) {
+            return true;
+        }
+        long target = BUFFER.claimedSequence();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (delivered < target) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---------------------- SUBSCRIBING ----------------------
+
+    /**
+     * Adds a listener for all events published from now on.
+     */
+    public static void subscribe(EventListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * Adds a listener for one type of event.
+     *
+     * @return the listener, for {@link #unsubscribe(EventListener)}
+     */
+    public static <T extends DomainEvent> EventListener subscribe(Class<T> type, Consumer<? super T> handler) {
+        EventListener listener = batch -> {
+            for (DomainEvent event : batch) {
+                if (type.isInstance(event)) {
+                    handler.accept(type.cast(event));
+                }
+            }
+        };
+        subscribe(listener);
+        return listener;
+    }
+
+    /**
+     * Removes a listener. Events already buffered may still reach it.
+     */
+    public static void unsubscribe(EventListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    // ---------------------- STATISTICS ----------------------
+
+    /** @return the number of events published since start */
+    public static long getPublishedCount() { return published.sum(); }
+
+    /** @return the number of listener calls that threw */
+    public static long getFailureCount() { return failures.sum(); }
+
+    /** @return the number of events waiting to be delivered */
+    public static long getPendingCount() { return BUFFER.size(); }
+
+    // ---------------------- DISPATCH ----------------------
+
+    private static void dispatchLoop() {
+        List<DomainEvent> batch = new ArrayList<>(MAX_BATCH);
+        List<DomainEvent> view = Collections.unmodifiableList(batch);
+        while (true) {
+            if (BUFFER.drainTo(batch, MAX_BATCH) == 0) {
+                BUFFER.awaitElements(TimeUnit.MILLISECONDS.toNanos(100));
+                continue;
+            }
+            deliver(view);
+            batch.clear();
+            while (!NESTED.isEmpty()) {
+                while (batch.size() < MAX_BATCH && !NESTED.isEmpty()) {
+                    batch.add(NESTED.poll());
+                }
+                deliver(view);
+                batch.clear();
+            }
+            delivered = BUFFER.consumedSequence();
+        }
+    }
+
+    private static void deliver(List<DomainEvent> batch) {
+        for (EventListener listener : LISTENERS) {
+            try {
+                listener.onEvents(batch);
+            } catch (RuntimeException e) {
+                failures.increment();
+                System.err.println("✗ Event listener failed: " + e);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package Events;
+
+import java.util.List;
+
+/**
+ * EventListener
+ * ---------------------------------------------------------
+ * Receives domain events from the {@link EventBus}, in publication order,
+ * in batches on the bus's dispatch thread.
+ */
+@FunctionalInterface
+public interface EventListener {
+
+    /**
+     * Handles a batch of events. The list is only valid during the call.
+     *
+     * Runs on the dispatch thread: a slow listener delays every other
+     * listener, but never the code that published the events.
+     */
+    void onEvents(List<DomainEvent> batch);
+}
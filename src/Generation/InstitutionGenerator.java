@@ -0,0 +1,693 @@
+package Generation;
+
+import CourseManagement.Course;
+import CourseManagement.CourseManagementModule;
+import CourseManagement.Module;
+import CourseManagement.ModuleManagement;
+import Events.DomainEvent;
+import Events.EventBus;
+import Reporting.DataExporter;
+import Reporting.ExportFormat;
+import Reporting.RecordEncoder;
+import Reporting.Utf8Output;
+import Security.AccessControl;
+import Security.Permission;
+import UserManagement.Admin;
+import UserManagement.Lecturer;
+import UserManagement.LecturerManagementModule;
+import UserManagement.Student;
+import UserManagement.StudentManagementModule;
+import Utilities.SharedState;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * InstitutionGenerator
+ * ---------------------------------------------------------
+ * Builds a synthetic university for load and performance testing:
+ * courses, modules, lecturers, students, enrollments and GPAs.
+ *
+ * The data looks like a real institution rather than a uniform grid: course
+ * popularity and how common each first and last name is follow Zipf
+ * distributions, GPAs come from a bell curve of marks, and every lecturer
+ * belongs to the department of the first module they teach.
+ *
+ * Generation is deterministic. Courses, modules and lecturers are planned
+ * up front from the seed. Students are drawn in fixed chunks of 65536, and
+ * each chunk has its own random stream derived from the seed and the chunk
+ * number. Chunks are built in parallel but always consumed in order, so the
+ * same {@link InstitutionSpec} gives byte-identical output on any machine
+ * and with any number of threads.
+ *
+ * Output goes either straight into the UCMS repositories
+ * ({@link #populate(Admin)}) or into a snapshot directory with the same files
+ * and columns as {@link DataExporter#exportAll} ({@link #writeSnapshot}).
+ * Snapshots stream chunk by chunk, so their size is not limited by the heap.
+ *
+ * Responsibilities:
+ *  - Plan courses, modules and lecturers from the seed
+ *  - Draw students in parallel, reproducibly
+ *  - Insert into the repositories under the SharedState lock, or stream to files
+ */
+public final class InstitutionGenerator {
+
+    /**
+     * Students per chunk. Each chunk has its own random stream, so changing
+     * this changes the generated data.
+     */
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    /** Birth dates are drawn uniformly from 1985 to 2007, one shared LocalDate per day */
+    private static final LocalDate[] BIRTH_DATES = birthDates(LocalDate.of(1985, 1, 1), LocalDate.of(2008, 1, 1));
+
+    private static final String[] FIRST_NAMES_LOWER = lowerCase(NamePool.FIRST_NAMES);
+    private static final String[] LAST_NAMES_LOWER = lowerCase(NamePool.LAST_NAMES);
+
+    private final InstitutionSpec spec;
+    private final int threads;
+
+    private final ZipfDistribution firstNames;
+    private final ZipfDistribution lastNames;
+    private final ZipfDistribution coursePopularity;
+
+    // ---------------------- PLAN ----------------------
+
+    private final String[] courseCodes;
+    private final String[] courseNames;
+    private final int[] courseSubject;
+    /** Course index by popularity rank */
+    private final int[] coursesByPopularity;
+
+    private final String[] moduleCodes;
+    private final String[] moduleNames;
+    /** Lecturer index of each module, or -1 */
+    private final int[] moduleLecturer;
+
+    private final String[] lecturerFirstNames;
+    private final String[] lecturerLastNames;
+    private final String[] lecturerEmails;
+    private final String[] lecturerPhones;
+    /** Course of each lecturer's first module, or -1 */
+    private final int[] lecturerCourse;
+    private final int[] lecturerSubject;
+    private final int[] lecturerModules;
+
+    /**
+     * Plans an institution, generating with one thread per processor.
+     */
+    public InstitutionGenerator(InstitutionSpec spec) {
+        this(spec, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Plans an institution.
+     *
+     * @param spec    size and shape of the institution
+     * @param threads threads drawing students; does not change the output
+     */
+    public InstitutionGenerator(InstitutionSpec spec, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        this.spec = spec;
+        this.threads = threads;
+        this.firstNames = new ZipfDistribution(NamePool.FIRST_NAMES.length, 1.0);
+        this.lastNames = new ZipfDistribution(NamePool.LAST_NAMES.length, 1.0);
+        this.coursePopularity = new ZipfDistribution(spec.courses(), spec.popularitySkew());
+
+        SplittableRandom random = new SplittableRandom(~spec.seed());
+
+        // Courses: subjects in turn, numbered 101, 102, ... within each subject
+        int courses = spec.courses();
+        courseCodes = new String[courses];
+        courseNames = new String[courses];
+        courseSubject = new int[courses];
+        for (int c = 0; c < courses; c++) {
+            int subject = c % NamePool.SUBJECTS.length;
+            int round = c / NamePool.SUBJECTS.length;
+            courseSubject[c] = subject;
+            courseCodes[c] = NamePool.SUBJECTS[subject][1] + (101 + round);
+            courseNames[c] = String.format(NamePool.COURSE_TITLES[round % NamePool.COURSE_TITLES.length],
+                    NamePool.SUBJECTS[subject][0]);
+        }
+        coursesByPopularity = new int[courses];
+        for (int c = 0; c < courses; c++) {
+            coursesByPopularity[c] = c;
+        }
+        for (int c = courses - 1; c > 0; c--) {
+            int other = random.nextInt(c + 1);
+            int swap = coursesByPopularity[c];
+            coursesByPopularity[c] = coursesByPopularity[other];
+            coursesByPopularity[other] = swap;
+        }
+
+        // Modules, each taught by a randomly chosen lecturer
+        int perCourse = spec.modulesPerCourse();
+        int modules = courses * perCourse;
+        moduleCodes = new String[modules];
+        moduleNames = new String[modules];
+        moduleLecturer = new int[modules];
+        lecturerCourse = new int[spec.lecturers()];
+        lecturerModules = new int[spec.lecturers()];
+        Arrays.fill(lecturerCourse, -1);
+        for (int m = 0; m < modules; m++) {
+            int course = m / perCourse;
+            int number = m % perCourse;
+            String title = String.format(NamePool.MODULE_TITLES[number % NamePool.MODULE_TITLES.length],
+                    NamePool.SUBJECTS[courseSubject[course]][0]);
+            moduleCodes[m] = courseCodes[course] + "M" + (number + 1);
+            moduleNames[m] = number < NamePool.MODULE_TITLES.length
+                    ? title : title + " " + (number / NamePool.MODULE_TITLES.length + 1);
+            int lecturer = spec.lecturers() == 0 ? -1 : random.nextInt(spec.lecturers());
+            moduleLecturer[m] = lecturer;
+            if (lecturer >= 0) {
+                if (lecturerCourse[lecturer] < 0) {
+                    lecturerCourse[lecturer] = course;
+                }
+                lecturerModules[lecturer]++;
+            }
+        }
+
+        // Lecturers
+        int lecturers = spec.lecturers();
+        lecturerFirstNames = new String[lecturers];
+        lecturerLastNames = new String[lecturers];
+        lecturerEmails = new String[lecturers];
+        lecturerPhones = new String[lecturers];
+        lecturerSubject = new int[lecturers];
+        StringBuilder phone = new StringBuilder(10);
+        for (int l = 0; l < lecturers; l++) {
+            int first = firstNames.sample(random);
+            int last = lastNames.sample(random);
+            lecturerFirstNames[l] = NamePool.FIRST_NAMES[first];
+            lecturerLastNames[l] = NamePool.LAST_NAMES[last];
+            lecturerEmails[l] = FIRST_NAMES_LOWER[first] + "." + LAST_NAMES_LOWER[last] + "." + l + "@ucms.ie";
+            phone.setLength(0);
+            lecturerPhones[l] = appendPhone(phone, random).toString();
+            lecturerSubject[l] = lecturerCourse[l] >= 0
+                    ? courseSubject[lecturerCourse[l]] : random.nextInt(NamePool.SUBJECTS.length);
+        }
+    }
+
+    public InstitutionSpec getSpec() { return spec; }
+
+    // ---------------------- REPOSITORIES ----------------------
+
+    /**
+     * Adds the institution to the running system. Courses and modules go
+     * through the normal Admin operations; lecturers and students are added
+     * in batches (see {@code StudentManagementModule.addAll}) with the default
+     * password, so every generated user can log in.
+     *
+     * Student and lecturer IDs are reserved from the ID allocators in one
+     * range each, so they follow any IDs already handed out. Course
+     * codes are fixed by the spec, so generating twice into one system fails.
+     *
+     * @param admin the admin adding the data; must also be the acting user
+     * @return number of courses, modules, lecturers, students and enrollments added
+     * @throws IllegalArgumentException if a generated course code already exists
+     * @throws SecurityException        if the acting user may not manage all of them
+     */
+    public Map<String, Long> populate(Admin admin) {
+        AccessControl.require(Permission.MANAGE_COURSES);
+        AccessControl.require(Permission.MANAGE_MODULES);
+        AccessControl.require(Permission.MANAGE_LECTURERS);
+        AccessControl.require(Permission.MANAGE_STUDENTS);
+        for (String code : courseCodes) {
+            if (CourseManagementModule.findCourse(code) != null) {
+                throw new IllegalArgumentException("Course " + code + " already exists; generate into an empty system");
+            }
+        }
+
+        Course[] courses = new Course[courseCodes.length];
+        for (int c = 0; c < courses.length; c++) {
+            courses[c] = new Course(courseCodes[c], courseNames[c]);
+            courses[c].setDepartment(NamePool.SUBJECTS[courseSubject[c]][0]);
+            admin.addCourse(courses[c], CourseManagementModule.courseList);
+        }
+
+        Module[] modules = new Module[moduleCodes.length];
+        for (int m = 0; m < modules.length; m++) {
+            Course course = courses[m / spec.modulesPerCourse()];
+            int number = m % spec.modulesPerCourse();
+            modules[m] = new Module(moduleCodes[m], moduleNames[m], course.getCourseCode(),
+                    level(number), semester(number), credits(number));
+            ModuleManagement.registerModule(admin, modules[m], course);
+        }
+
+        long lecturerBase = LecturerManagementModule.LECTURER_IDS.reserve(spec.lecturers());
+        List<Lecturer> lecturers = new ArrayList<>(spec.lecturers());
+        for (int l = 0; l < spec.lecturers(); l++) {
+            Lecturer lecturer = new Lecturer();
+            lecturer.setFirstname(lecturerFirstNames[l]);
+            lecturer.setLastname(lecturerLastNames[l]);
+            lecturer.setEmail(lecturerEmails[l]);
+            lecturer.setPhone(lecturerPhones[l]);
+            lecturer.setAddress(NamePool.TOWNS[l % NamePool.TOWNS.length]);
+            lecturer.setLecturerId(lecturerId(lecturerBase + l));
+            lecturer.setDepartment(NamePool.SUBJECTS[lecturerSubject[l]][0]);
+            lecturers.add(lecturer);
+        }
+        LecturerManagementModule.addAll(lecturers);
+        SharedState.update(() -> {
+            for (int m = 0; m < modules.length; m++) {
+                if (moduleLecturer[m] >= 0) {
+                    modules[m].assignTo(lecturers.get(moduleLecturer[m]));
+                }
+            }
+            for (int l = 0; l < lecturers.size(); l++) {
+                if (lecturerCourse[l] >= 0) {
+                    lecturers.get(l).assignTo(courses[lecturerCourse[l]]);
+                }
+            }
+        });
+
+        long studentBase = StudentManagementModule.STUDENT_IDS.reserve(spec.students());
+        long[] enrollments = {0};
+        inChunks(chunk -> buildStudents(chunk, studentBase, courses), (chunk, students) ->
+                SharedState.update(() -> {
+                    StudentManagementModule.addAll(students);
+                    for (Student student : students) {
+                        Course course = student.getCourse();
+                        if (course != null) {
+                            course.getStudents().add(student);
+                            EventBus.publish(new DomainEvent.Enrolled(student, course));
+                            enrollments[0]++;
+                        }
+                    }
+                }));
+
+        Map<String, Long> added = new LinkedHashMap<>();
+        added.put("courses", (long) courses.length);
+        added.put("modules", (long) modules.length);
+        added.put("lecturers", (long) lecturers.size());
+        added.put("students", (long) spec.students());
+        added.put("enrollments", enrollments[0]);
+        return added;
+    }
+
+    private List<Student> buildStudents(int chunk, long idBase, Course[] courses) {
+        StudentDraw draw = new StudentDraw();
+        SplittableRandom random = chunkRandom(chunk);
+        int from = chunk * CHUNK_SIZE;
+        int to = Math.min(spec.students(), from + CHUNK_SIZE);
+        List<Student> students = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            draw.draw(i, idBase, random);
+            Student student = new Student();
+            student.setFirstname(draw.firstname);
+            student.setLastname(draw.lastname);
+            student.setEmail(draw.email.toString());
+            student.setPhone(draw.phone.toString());
+            student.setAddress(draw.address);
+            student.setDateOfBirth(draw.dateOfBirth);
+            student.setStudentId(draw.id.toString());
+            student.setGpa(draw.gpa);
+            student.setCourse(draw.course >= 0 ? courses[draw.course] : null);
+            students.add(student);
+        }
+        return students;
+    }
+
+    // ---------------------- SNAPSHOT ----------------------
+
+    /**
+     * Writes the institution as the files {@link DataExporter#exportAll} would
+     * produce after {@link #populate} into an empty system: students,
+     * lecturers, courses, modules and enrollments, one file each.
+     *
+     * @param directory destination directory (created if missing)
+     * @param format    CSV or JSONL
+     * @return rows written per file name, in export order
+     * @throws IOException if any file cannot be written
+     */
+    public Map<String, Long> writeSnapshot(Path directory, ExportFormat format) throws IOException {
+        Files.createDirectories(directory);
+        Map<String, Long> rows = new LinkedHashMap<>();
+
+        // Students, encoded in parallel and appended in order; remember each one's course
+        int[] courseOf = new int[spec.students()];
+        try (FileChannel channel = create(directory.resolve(fileName("students", format)))) {
+            try {
+                inChunks(chunk -> encodeStudents(chunk, format, courseOf), (chunk, bytes) -> {
+                    try {
+                        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                        while (buffer.hasRemaining()) {
+                            channel.write(buffer);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        rows.put(fileName("students", format), (long) spec.students());
+
+        long[] enrolled = new long[spec.courses()];
+        for (int course : courseOf) {
+            if (course >= 0) {
+                enrolled[course]++;
+            }
+        }
+
+        try (RecordEncoder encoder = open(directory, "lecturers", format, DataExporter.LECTURER_COLUMNS)) {
+            for (int l = 0; l < spec.lecturers(); l++) {
+                encoder.field(lecturerId(1 + l))
+                        .field(lecturerFirstNames[l])
+                        .field(lecturerLastNames[l])
+                        .field(lecturerEmails[l])
+                        .field(lecturerPhones[l])
+                        .field(NamePool.SUBJECTS[lecturerSubject[l]][0])
+                        .field(lecturerCourse[l] >= 0 ? courseCodes[lecturerCourse[l]] : null)
+                        .field(lecturerModules[l])
+                        .endRecord();
+            }
+            rows.put(fileName("lecturers", format), encoder.getRecordCount());
+        }
+
+        try (RecordEncoder encoder = open(directory, "courses", format, DataExporter.COURSE_COLUMNS)) {
+            for (int c = 0; c < spec.courses(); c++) {
+                encoder.field(courseCodes[c])
+                        .field(courseNames[c])
+                        .field(spec.modulesPerCourse())
+                        .field(enrolled[c])
+                        .endRecord();
+            }
+            rows.put(fileName("courses", format), encoder.getRecordCount());
+        }
+
+        try (RecordEncoder encoder = open(directory, "modules", format, DataExporter.MODULE_COLUMNS)) {
+            for (int m = 0; m < moduleCodes.length; m++) {
+                int number = m % spec.modulesPerCourse();
+                encoder.field(moduleCodes[m])
+                        .field(moduleNames[m])
+                        .field(courseCodes[m / spec.modulesPerCourse()])
+                        .field(level(number))
+                        .field(semester(number))
+                        .field(credits(number))
+                        .field(moduleLecturer[m] >= 0 ? lecturerId(1 + moduleLecturer[m]) : null)
+                        .endRecord();
+            }
+            rows.put(fileName("modules", format), encoder.getRecordCount());
+        }
+
+        // Enrollments grouped by course, students in ID order (counting sort)
+        int[] start = new int[spec.courses() + 1];
+        for (int c = 0; c < spec.courses(); c++) {
+            start[c + 1] = start[c] + (int) enrolled[c];
+        }
+        int[] next = Arrays.copyOf(start, spec.courses());
+        int[] byCourse = new int[start[spec.courses()]];
+        for (int i = 0; i < courseOf.length; i++) {
+            if (courseOf[i] >= 0) {
+                byCourse[next[courseOf[i]]++] = i;
+            }
+        }
+        try (RecordEncoder encoder = open(directory, "enrollments", format, DataExporter.ENROLLMENT_COLUMNS)) {
+            StringBuilder id = new StringBuilder(16);
+            for (int c = 0; c < spec.courses(); c++) {
+                for (int k = start[c]; k < start[c + 1]; k++) {
+                    encoder.field(courseCodes[c])
+                            .field(studentId(id, 1 + byCourse[k]))
+                            .endRecord();
+                }
+            }
+            rows.put(fileName("enrollments", format), encoder.getRecordCount());
+        }
+        return rows;
+    }
+
+    private byte[] encodeStudents(int chunk, ExportFormat format, int[] courseOf) {
+        StudentDraw draw = new StudentDraw();
+        SplittableRandom random = chunkRandom(chunk);
+        int from = chunk * CHUNK_SIZE;
+        int to = Math.min(spec.students(), from + CHUNK_SIZE);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((to - from) * 128 + 256);
+        Utf8Output out = new Utf8Output(Channels.newChannel(bytes), ByteBuffer.allocate(1 << 16));
+        try (RecordEncoder encoder = new RecordEncoder(format, DataExporter.STUDENT_COLUMNS, out, chunk == 0)) {
+            // Same columns, in the same order, as DataExporter.exportStudents
+            for (int i = from; i < to; i++) {
+                draw.draw(i, 1, random);
+                courseOf[i] = draw.course;
+                encoder.field(draw.id)
+                        .field(draw.firstname)
+                        .field(draw.lastname)
+                        .field(draw.email)
+                        .field(draw.phone)
+                        .field(draw.address)
+                        .field(draw.dateOfBirth)
+                        .field(draw.course >= 0 ? courseCodes[draw.course] : null)
+                        .field(draw.gpa)
+                        .endRecord();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // ---------------------- STUDENTS ----------------------
+
+    /**
+     * One student's values, drawn into reusable buffers so snapshots
+     * can encode millions of students without building Strings for them.
+     */
+    private final class StudentDraw {
+        final StringBuilder id = new StringBuilder(16);
+        final StringBuilder email = new StringBuilder(48);
+        final StringBuilder phone = new StringBuilder(10);
+        String firstname;
+        String lastname;
+        String address;
+        LocalDate dateOfBirth;
+        /** Course index, or -1 if not enrolled */
+        int course;
+        int gpa;
+
+        void draw(int index, long idBase, SplittableRandom random) {
+            int first = firstNames.sample(random);
+            int last = lastNames.sample(random);
+            firstname = NamePool.FIRST_NAMES[first];
+            lastname = NamePool.LAST_NAMES[last];
+            studentId(id, idBase + index);
+            email.setLength(0);
+            email.append(FIRST_NAMES_LOWER[first]).append('.').append(LAST_NAMES_LOWER[last])
+                    .append('.').append(index).append("@student.ucms.ie");
+            phone.setLength(0);
+            appendPhone(phone, random);
+            address = NamePool.TOWNS[random.nextInt(NamePool.TOWNS.length)];
+            dateOfBirth = BIRTH_DATES[random.nextInt(BIRTH_DATES.length)];
+            course = random.nextDouble() < spec.enrolledShare()
+                    ? coursesByPopularity[coursePopularity.sample(random)] : -1;
+            gpa = gpa(62 + 13 * random.nextGaussian());
+        }
+    }
+
+    /** @return the GPA band of an average mark out of 100 */
+    private static int gpa(double mark) {
+        if (mark >= 70) return 4;
+        if (mark >= 60) return 3;
+        if (mark >= 50) return 2;
+        if (mark >= 40) return 1;
+        return 0;
+    }
+
+    private SplittableRandom chunkRandom(int chunk) {
+        return new SplittableRandom(spec.seed() ^ (chunk * 0x9E3779B97F4A7C15L));
+    }
+
+    // ---------------------- PARALLEL CHUNKS ----------------------
+
+    /** Consumes chunks in order */
+    @FunctionalInterface
+    private interface ChunkConsumer<T> {
+        void accept(int chunk, T value);
+    }
+
+    /**
+     * Builds every chunk of students on the generator threads, at most two
+     * per thread ahead of the consumer, and hands them to the consumer in
+     * chunk order on the calling thread.
+     */
+    private <T> void inChunks(IntFunction<T> build, ChunkConsumer<T> consumer) {
+        int chunks = (spec.students() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "ucms-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            ArrayDeque<Future<T>> pending = new ArrayDeque<>();
+            int submitted = 0;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                while (submitted < chunks && pending.size() < 2 * threads) {
+                    int next = submitted++;
+                    pending.add(pool.submit(() -> build.apply(next)));
+                }
+                consumer.accept(chunk, await(pending.poll()));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Generation interrupted"));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    // ---------------------- HELPERS ----------------------
+
+    /** Student ID with the given number, as StudentManagementModule.nextStudentId makes them */
+    private static StringBuilder studentId(StringBuilder id, long number) {
+        id.setLength(0);
+        return StudentManagementModule.STUDENT_IDS.append(id, number);
+    }
+
+    /** Lecturer ID with the given number, as LecturerManagementModule.nextLecturerId makes them */
+    private static String lecturerId(long number) {
+        return LecturerManagementModule.LECTURER_IDS.format(number);
+    }
+
+    /** Irish mobile number: 083 to 089 followed by seven digits */
+    private static StringBuilder appendPhone(StringBuilder phone, SplittableRandom random) {
+        phone.append("08").append(3 + random.nextInt(7));
+        int digits = random.nextInt(10_000_000);
+        for (int divisor = 1_000_000; divisor > 0; divisor /= 10) {
+            phone.append((char) ('0' + digits / divisor % 10));
+        }
+        return phone;
+    }
+
+    /** Levels 1 to 4 spread evenly over a course's modules */
+    private int level(int number) {
+        return 1 + number * 4 / Math.max(1, spec.modulesPerCourse());
+    }
+
+    private static int semester(int number) {
+        return 1 + number % 2;
+    }
+
+    private static int credits(int number) {
+        return number % 3 == 2 ? 10 : 5;
+    }
+
+    private static String fileName(String entity, ExportFormat format) {
+        return entity + "." + format.getExtension();
+    }
+
+    private static FileChannel create(Path file) throws IOException {
+        return FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    private static RecordEncoder open(Path directory, String entity, ExportFormat format, String[] columns) throws IOException {
+        FileChannel channel = create(directory.resolve(fileName(entity, format)));
+        try {
+            return new RecordEncoder(format, columns, new Utf8Output(channel));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static LocalDate[] birthDates(LocalDate from, LocalDate until) {
+        LocalDate[] dates = new LocalDate[(int) (until.toEpochDay() - from.toEpochDay())];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = from.plusDays(i);
+        }
+        return dates;
+    }
+
+    private static String[] lowerCase(String[] names) {
+        String[] lower = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            lower[i] = names[i].toLowerCase(Locale.ROOT);
+        }
+        return lower;
+    }
+
+    // ---------------------- COMMAND LINE ----------------------
+
+    /**
+     * Command line entry point:
+     * {@code generate DIRECTORY [csv|jsonl] [threads=N] [students=N courses=N ...]}
+     *
+     * @return process exit code
+     */
+    public static int run(String[] args) {
+        try {
+            if (args.length < 2) {
+                throw new IllegalArgumentException("Missing output directory");
+            }
+            Path directory = Paths.get(args[1]);
+            ExportFormat format = ExportFormat.CSV;
+            int threads = Runtime.getRuntime().availableProcessors();
+            List<String> options = new ArrayList<>();
+            for (int i = 2; i < args.length; i++) {
+                if (args[i].equalsIgnoreCase("csv") || args[i].equalsIgnoreCase("jsonl")) {
+                    format = ExportFormat.fromName(args[i]);
+                } else if (args[i].startsWith("threads=")) {
+                    threads = Integer.parseInt(args[i].substring("threads=".length()));
+                } else {
+                    options.add(args[i]);
+                }
+            }
+
+            InstitutionSpec spec = InstitutionSpec.parse(options);
+            long start = System.nanoTime();
+            Map<String, Long> rows = new InstitutionGenerator(spec, threads).writeSnapshot(directory, format);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            rows.forEach((file, count) -> System.out.printf("  %-18s %,d rows%n", file, count));
+            System.out.printf("✓ Generated %,d students in %.1f s (%,.0f students/s) into %s%n",
+                    spec.students(), seconds, spec.students() / seconds, directory.toAbsolutePath());
+            return 0;
+        } catch (IllegalArgumentException e) {
+            System.out.println("✗ " + e.getMessage());
+            System.out.println("Usage: generate DIRECTORY [csv|jsonl] [threads=N] [" + InstitutionSpec.OPTIONS + "]");
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("✗ Could not write the snapshot: " + e.getMessage());
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,116 @@
+package Generation;
+
+import java.util.List;
+
+/**
+ * InstitutionSpec
+ * ---------------------------------------------------------
+ * Size and shape of a generated institution.
+ *
+ * Options are given as key=value words, e.g.
+ * {@code students=1000000 courses=400 modules=8 lecturers=40000 seed=7 enrolled=0.9 skew=1.1}.
+ * Anything left out is derived from the number of students, so
+ * {@code students=N} alone describes a plausible university.
+ *
+ * @param seed             seed of every random choice; the same spec always gives the same data
+ * @param courses          number of courses
+ * @param modulesPerCourse modules registered for each course
+ * @param lecturers        number of lecturers
+ * @param students         number of students
+ * @param enrolledShare    share of students enrolled in a course, between 0 and 1
+ * @param popularitySkew   Zipf exponent of course popularity; 0 spreads students evenly
+ */
+public record InstitutionSpec(long seed, int courses, int modulesPerCourse, int lecturers,
+                              int students, double enrolledShare, double popularitySkew) {
+
+    public static final String OPTIONS = "students=N courses=N modules=N lecturers=N seed=N enrolled=0..1 skew=S";
+
+    public InstitutionSpec {
+        if (courses < 1) {
+            throw new IllegalArgumentException("courses must be at least 1");
+        }
+        if (modulesPerCourse < 0 || lecturers < 0 || students < 0) {
+            throw new IllegalArgumentException("modules, lecturers and students cannot be negative");
+        }
+        if ((long) courses * modulesPerCourse > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many modules: " + courses + " x " + modulesPerCourse);
+        }
+        if (!(enrolledShare >= 0 && enrolledShare <= 1)) {
+            throw new IllegalArgumentException("enrolled must be between 0 and 1");
+        }
+        if (!(popularitySkew >= 0)) {
+            throw new IllegalArgumentException("skew cannot be negative");
+        }
+    }
+
+    /**
+     * @return a university of the given size: one course per 250 students
+     *         (between 5 and 5000), 8 modules per course, one lecturer per
+     *         25 students, 90% enrolled and popularity skew 1.0
+     */
+    public static InstitutionSpec forStudents(int students) {
+        int courses = Math.max(5, Math.min(5000, students / 250));
+        return new InstitutionSpec(42, courses, 8, Math.max(5, students / 25), students, 0.9, 1.0);
+    }
+
+    /**
+     * Parses key=value options on top of {@link #forStudents(int)}.
+     *
+     * @throws IllegalArgumentException for unknown keys or invalid values
+     */
+    public static InstitutionSpec parse(List<String> options) {
+        int students = 1000;
+        for (String option : options) {
+            if (option.startsWith("students=")) {
+                students = integer(option);
+            }
+        }
+        InstitutionSpec defaults = forStudents(students);
+        long seed = defaults.seed;
+        int courses = defaults.courses;
+        int modules = defaults.modulesPerCourse;
+        int lecturers = defaults.lecturers;
+        double enrolled = defaults.enrolledShare;
+        double skew = defaults.popularitySkew;
+
+        for (String option : options) {
+            int equals = option.indexOf('=');
+            String key = equals < 0 ? option : option.substring(0, equals);
+            switch (key) {
+                case "students":  break;
+                case "seed":      seed = Long.parseLong(value(option)); break;
+                case "courses":   courses = integer(option); break;
+                case "modules":   modules = integer(option); break;
+                case "lecturers": lecturers = integer(option); break;
+                case "enrolled":  enrolled = decimal(option); break;
+                case "skew":      skew = decimal(option); break;
+                default: throw new IllegalArgumentException("Unknown option: " + option + " (expected " + OPTIONS + ")");
+            }
+        }
+        return new InstitutionSpec(seed, courses, modules, lecturers, students, enrolled, skew);
+    }
+
+    private static String value(String option) {
+        int equals = option.indexOf('=');
+        if (equals < 0 || equals == option.length() - 1) {
+            throw new IllegalArgumentException("Missing value: " + option);
+        }
+        return option.substring(equals + 1);
+    }
+
+    private static int integer(String option) {
+        try {
+            return Integer.parseInt(value(option).replace("_", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a whole number: " + option);
+        }
+    }
+
+    private static double decimal(String option) {
+        try {
+            return Double.parseDouble(value(option));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + option);
+        }
+    }
+}
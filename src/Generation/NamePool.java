@@ -0,0 +1,70 @@
+package Generation;
+
+/**
+ * NamePool
+ * ---------------------------------------------------------
+ * Word lists for generated people, places and courses.
+ *
+ * Names are listed from most to least common, so drawing their index from a
+ * {@link ZipfDistribution} gives the usual skew: a few names are very common,
+ * most are rare. All names are letters only, as the User setters require.
+ */
+final class NamePool {
+
+    static final String[] FIRST_NAMES = {
+            "Jack", "Emily", "James", "Grace", "Noah", "Sophie", "Conor", "Emma", "Sean", "Ava",
+            "Daniel", "Lucy", "Adam", "Chloe", "Luke", "Aoife", "Michael", "Sarah", "Cian", "Ella",
+            "Ryan", "Hannah", "Liam", "Anna", "Harry", "Mia", "Charlie", "Amelia", "Oisin", "Ciara",
+            "Darragh", "Kate", "Thomas", "Olivia", "Patrick", "Ruby", "Jamie", "Caoimhe", "Fionn", "Laura",
+            "Matthew", "Isabelle", "David", "Niamh", "Aaron", "Rachel", "Dylan", "Zoe", "Eoin", "Leah",
+            "John", "Amy", "Mark", "Sophia", "Jake", "Isla", "Alex", "Kayla", "Ben", "Roisin",
+            "Tadhg", "Megan", "Oliver", "Freya", "Rian", "Eva", "Cillian", "Molly", "Shane", "Ellie",
+            "Kevin", "Clodagh", "Evan", "Lily", "Max", "Saoirse", "Nathan", "Holly", "Samuel", "Orla",
+            "Mohammed", "Fatima", "Wei", "Mei", "Arjun", "Priya", "Lukas", "Zofia", "Mateo", "Lucia",
+            "Jakub", "Julia", "Andrei", "Elena", "Kenji", "Yuki", "Omar", "Aisha", "Diego", "Sofia"
+    };
+
+    static final String[] LAST_NAMES = {
+            "Murphy", "Kelly", "Byrne", "Ryan", "Walsh", "Smith", "Doyle", "Brennan", "Lynch", "Murray",
+            "Quinn", "Moore", "McCarthy", "Dunne", "Kennedy", "Nolan", "Gallagher", "Connolly", "Daly", "Doherty",
+            "Reilly", "Carroll", "Higgins", "Kavanagh", "Fitzgerald", "Keane", "Power", "Burke", "Collins", "Clarke",
+            "Farrell", "Hughes", "Kearney", "Flynn", "Duffy", "Whelan", "Sweeney", "Maguire", "Kenny", "Brady",
+            "Cunningham", "Foley", "Hayes", "Healy", "Egan", "Ward", "Casey", "Mahon", "Regan", "Fox",
+            "Barry", "Nugent", "Kinsella", "Coleman", "Lawlor", "Hogan", "Moran", "Martin", "Wilson", "Johnston",
+            "Campbell", "Stewart", "Thompson", "Robinson", "Graham", "Hamilton", "Bell", "Taylor", "Brown", "Walker",
+            "Nowak", "Kowalski", "Wisniewski", "Popescu", "Ionescu", "Silva", "Santos", "Garcia", "Fernandez", "Rossi",
+            "Muller", "Schmidt", "Dubois", "Martins", "Khan", "Ahmed", "Ali", "Patel", "Singh", "Sharma",
+            "Wang", "Li", "Zhang", "Chen", "Liu", "Nguyen", "Tanaka", "Sato", "Kim", "Park"
+    };
+
+    static final String[] TOWNS = {
+            "Dublin", "Cork", "Galway", "Limerick", "Waterford", "Kilkenny", "Sligo", "Athlone", "Drogheda", "Dundalk",
+            "Swords", "Bray", "Navan", "Ennis", "Tralee", "Carlow", "Naas", "Letterkenny", "Wexford", "Mullingar",
+            "Portlaoise", "Balbriggan", "Greystones", "Clonmel", "Castlebar", "Tullamore", "Killarney", "Cavan",
+            "Longford", "Monaghan"
+    };
+
+    /** Subject name, course code prefix */
+    static final String[][] SUBJECTS = {
+            {"Computer Science", "CS"}, {"Business", "BUS"}, {"Nursing", "NUR"}, {"Law", "LAW"},
+            {"Psychology", "PSY"}, {"Engineering", "ENG"}, {"Medicine", "MED"}, {"Accounting", "ACC"},
+            {"Data Science", "DS"}, {"Marketing", "MKT"}, {"Architecture", "ARC"}, {"Biology", "BIO"},
+            {"Chemistry", "CHE"}, {"Physics", "PHY"}, {"Mathematics", "MTH"}, {"Economics", "ECO"},
+            {"History", "HIS"}, {"English", "ENL"}, {"Education", "EDU"}, {"Music", "MUS"},
+            {"Pharmacy", "PHA"}, {"Journalism", "JOU"}, {"Philosophy", "PHI"}, {"Sociology", "SOC"}
+    };
+
+    /** Course titles; %s is the subject */
+    static final String[] COURSE_TITLES = {
+            "%s", "Applied %s", "%s with Business", "%s and Society", "International %s", "%s Studies"
+    };
+
+    /** Module titles; %s is the subject, listed from first year to final year */
+    static final String[] MODULE_TITLES = {
+            "Introduction to %s", "Foundations of %s", "%s Skills", "%s Methods",
+            "Applied %s", "Topics in %s", "Advanced %s", "%s Project",
+            "Research in %s", "Professional Practice in %s"
+    };
+
+    private NamePool() { }
+}
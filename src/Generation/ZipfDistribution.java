@@ -0,0 +1,45 @@
+package Generation;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * ZipfDistribution
+ * ---------------------------------------------------------
+ * Draws ranks 0..size-1 where rank k has weight 1 / (k + 1)^exponent,
+ * the shape of course popularity and of how common names are.
+ *
+ * The cumulative weights are computed once; each draw is one uniform
+ * random number and a binary search, and the table is read-only, so any
+ * number of threads can share it.
+ */
+final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    ZipfDistribution(int size, double exponent) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Zipf distribution needs at least one rank");
+        }
+        cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= total;
+        }
+        cumulative[size - 1] = 1;
+    }
+
+    /** @return a rank, 0 being the most likely */
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return index >= 0 ? index : -index - 1;
+    }
+
+    int size() {
+        return cumulative.length;
+    }
+}
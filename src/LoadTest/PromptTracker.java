@@ -0,0 +1,119 @@
+package LoadTest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * PromptTracker
+ * ---------------------------------------------------------
+ * Output stream of a recorded or replayed session that remembers what the
+ * user was last asked: the text after the last line break ("Enter Password: "),
+ * or the last non-blank line when the prompt ended with one
+ * ("Press Enter to continue...").
+ *
+ * Responsibilities:
+ *  - Forward output to the real destination, if there is one
+ *  - Keep the current prompt without buffering the whole screen
+ *  - Count the bytes the session wrote
+ */
+final class PromptTracker extends OutputStream {
+
+    /** Prompts longer than this are cut; they only need to be recognisable */
+    private static final int MAX_PROMPT = 160;
+
+    private static final Pattern ANSI_ESCAPE = Pattern.compile("\u001B\\[[0-9;?]*[A-Za-z]");
+
+    private final OutputStream out;
+    private byte[] line = new byte[MAX_PROMPT];
+    private int lineLength;
+    private byte[] lastLine = new byte[MAX_PROMPT];
+    private int lastLineLength;
+    private long bytes;
+
+    /**
+     * @param out where the output goes, or null to discard it
+     */
+    PromptTracker(OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (out != null) {
+            out.write(b);
+        }
+        bytes++;
+        track((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (out != null) {
+            out.write(b, off, len);
+        }
+        bytes += len;
+        for (int i = off; i < off + len; i++) {
+            track(b[i]);
+        }
+    }
+
+    private void track(byte b) {
+        if (b == '\n') {
+            endLine();
+        } else if (b != '\r' && lineLength < line.length) {
+            line[lineLength++] = b;
+        }
+    }
+
+    /**
+     * Ends the current line. Called when the user presses Enter, which moves
+     * the cursor on without anything being written to this stream.
+     */
+    void endLine() {
+        if (!isBlank(line, lineLength)) {
+            byte[] swap = lastLine;
+            lastLine = line;
+            lastLineLength = lineLength;
+            line = swap;
+        }
+        lineLength = 0;
+    }
+
+    private static boolean isBlank(byte[] text, int length) {
+        for (int i = 0; i < length; i++) {
+            if (text[i] != ' ' && text[i] != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return the prompt the user is looking at, trimmed and without colour codes */
+    String prompt() {
+        String text = isBlank(line, lineLength)
+                ? new String(lastLine, 0, lastLineLength, StandardCharsets.UTF_8)
+                : new String(line, 0, lineLength, StandardCharsets.UTF_8);
+        return ANSI_ESCAPE.matcher(text).replaceAll("").trim();
+    }
+
+    /** @return bytes written so far */
+    long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,478 @@
+package LoadTest;
+
+import Generation.InstitutionGenerator;
+import Generation.InstitutionSpec;
+import Metrics.Histogram;
+import Metrics.MetricsRegistry;
+import Security.AccessControl;
+import Security.Authentication;
+import UserManagement.Admin;
+import UserManagement.Lecturer;
+import UserManagement.LecturerManagementModule;
+import UserManagement.Student;
+import UserManagement.StudentManagementModule;
+import UserManagement.User;
+import Utilities.ConsoleRenderer;
+import Utilities.NotificationSink;
+import Utilities.Notifications;
+import Utilities.Session;
+import Utilities.TableLayout;
+import Utilities.Utility;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ReplayHarness
+ * ---------------------------------------------------------
+ * Replays recorded sessions (see {@link TraceRecorder}) from many simulated
+ * users at once against this process, and reports how the system held up.
+ *
+ * Every simulated user runs the real interactive application in its own
+ * {@link Session} on a virtual thread, exactly like a terminal server
+ * connection, and types the lines of its trace after the recorded think
+ * time divided by the speed-up. Each user logs in with an account of its
+ * own: student, lecturer or admin according to the login screen in the
+ * trace. The accounts come from an institution generated up front.
+ *
+ * A step's latency runs from the moment its line is typed until the session
+ * asks for the next one, so it covers all the work and screen output the
+ * line caused. Steps are grouped by the operation they perform, e.g.
+ * "Student Management > Remove Students" or "Student Login: Enter Password".
+ *
+ * Responsibilities:
+ *  - Provision the data set and one account per simulated user
+ *  - Run the simulated users concurrently, at the chosen speed
+ *  - Report throughput, p50/p99/p99.9 latency per operation and allocation rate
+ *  - Count steps whose live screen or prompt differs from the recording
+ */
+public final class ReplayHarness {
+
+    /** Password of the replay admin account and of every account after its first login */
+    static final String REPLAY_PASSWORD = "Replay-Password-1";
+
+    static final String ADMIN_EMAIL = "replay.admin@ucms.ie";
+
+    private static final String OPTIONS =
+            "[users=N] [speed=X|max] [loops=N] [ramp=SECONDS] [" + InstitutionSpec.OPTIONS + "]";
+
+    private static final TableLayout OPERATION_TABLE = new TableLayout("  ",
+            new String[]{"Operation", "Count", "p50", "p99", "p99.9", "Max"},
+            new int[]{52, 8, 9, 9, 9, 9});
+
+    private final List<SessionTrace> traces;
+    private final int users;
+    private final double speed;
+    private final int loops;
+    private final long rampMillis;
+    private final Runnable application;
+
+    /** Latency per operation name, sorted for the report */
+    private final Map<String, Histogram> operations = new ConcurrentSkipListMap<>();
+
+    /** Current password per login name; accounts start on the default password */
+    private final Map<String, String> passwords = new ConcurrentHashMap<>();
+
+    private final LongAdder steps = new LongAdder();
+    private final LongAdder diverged = new LongAdder();
+    private final LongAdder sessions = new LongAdder();
+    private final LongAdder failedSessions = new LongAdder();
+    private final LongAdder outputBytes = new LongAdder();
+
+    private List<Student> students = List.of();
+    private List<Lecturer> lecturers = List.of();
+
+    /**
+     * Creates a harness.
+     *
+     * @param traces      recorded sessions; user i replays trace i modulo their number
+     * @param users       number of simulated users
+     * @param speed       think time divisor; infinity for no think time at all
+     * @param loops       sessions each user runs, one after another
+     * @param rampMillis  time over which the users start, evenly spread
+     * @param application runs one interactive session
+     */
+    public ReplayHarness(List<SessionTrace> traces, int users, double speed, int loops, long rampMillis,
+                         Runnable application) {
+        if (traces.isEmpty()) {
+            throw new IllegalArgumentException("No traces to replay");
+        }
+        if (users < 1 || loops < 1 || !(speed > 0) || rampMillis < 0) {
+            throw new IllegalArgumentException("users and loops must be at least 1, speed above 0 and ramp at least 0");
+        }
+        this.traces = traces;
+        this.users = users;
+        this.speed = speed;
+        this.loops = loops;
+        this.rampMillis = rampMillis;
+        this.application = application;
+    }
+
+    // ---------------------- SET UP ----------------------
+
+    /**
+     * Creates the replay admin account, generates the institution and picks
+     * the accounts the simulated users will log in with.
+     *
+     * @param spec the institution to generate
+     */
+    public void provision(InstitutionSpec spec) {
+        createInstitution(spec);
+        passwords.put(ADMIN_EMAIL, REPLAY_PASSWORD);
+        students = List.copyOf(StudentManagementModule.studentsContainer);
+        lecturers = List.copyOf(LecturerManagementModule.lecturersList);
+    }
+
+    /**
+     * Creates the replay admin account ({@value #ADMIN_EMAIL}) and generates an
+     * institution with it. Sessions are recorded and replayed against the same
+     * kind of data, so recorded traces find the screens they expect.
+     *
+     * @param spec the institution to generate
+     */
+    static void createInstitution(InstitutionSpec spec) {
+        Admin admin = new Admin("Replay", "Admin", ADMIN_EMAIL, REPLAY_PASSWORD, "", "0800000000");
+        Authentication.register(admin, REPLAY_PASSWORD).join();
+        admin.discardPassword();
+        Notifications.runWith(NotificationSink.NONE,
+                () -> AccessControl.runAs(admin, () -> new InstitutionGenerator(spec).populate(admin)));
+    }
+
+    // ---------------------- RUNNING ----------------------
+
+    /**
+     * Runs every simulated user to the end of its sessions.
+     *
+     * @return what happened
+     * @throws InterruptedException if interrupted while waiting for the users
+     */
+    public Result run() throws InterruptedException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getTotalThreadAllocatedBytes();
+        long[] gcBefore = gcTotals();
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < users; user++) {
+                int id = user;
+                long delay = rampMillis * user / users;
+                executor.submit(() -> {
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(delay);
+                        for (int loop = 0; loop < loops; loop++) {
+                            runSession(id, traces.get(id % traces.size()));
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        long allocatedAfter = threads.getTotalThreadAllocatedBytes();
+        long[] gcAfter = gcTotals();
+        return new Result(elapsed, steps.sum(), diverged.sum(), sessions.sum(), failedSessions.sum(),
+                outputBytes.sum(), allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore,
+                gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1]);
+    }
+
+    private void runSession(int user, SessionTrace trace) {
+        ReplayInput input = new ReplayInput(user, trace);
+        PromptTracker output = new PromptTracker(null);
+        input.output = output;
+        Session session = new Session("replay-" + user, input, output);
+        try {
+            session.run(application);
+        } catch (RuntimeException e) {
+            failedSessions.increment();
+        } finally {
+            input.finishStep(System.nanoTime());
+            sessions.increment();
+            outputBytes.add(output.getBytes());
+        }
+    }
+
+    private static long[] gcTotals() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return new long[]{count, millis};
+    }
+
+    private Histogram operation(String name) {
+        return operations.computeIfAbsent(name, key -> MetricsRegistry.histogram("replay." + key));
+    }
+
+    /**
+     * Input of one replayed session. The session reads only when it has
+     * handled everything typed so far, so each read ends the step in flight
+     * and, after the think time, types the next line of the trace.
+     */
+    private final class ReplayInput extends InputStream {
+        private final int user;
+        private final List<SessionTrace.Step> trace;
+        private PromptTracker output;
+        private int next;
+        private String login = "";
+
+        private byte[] pending = new byte[0];
+        private int pendingOffset;
+
+        private Histogram inFlight;
+        private long typedAt;
+
+        ReplayInput(int user, SessionTrace trace) {
+            this.user = user;
+            this.trace = trace.getSteps();
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (pendingOffset == pending.length && !typeNextLine()) {
+                return -1;
+            }
+            int count = Math.min(len, pending.length - pendingOffset);
+            System.arraycopy(pending, pendingOffset, b, off, count);
+            pendingOffset += count;
+            return count;
+        }
+
+        /** @return false at the end of the trace */
+        private boolean typeNextLine() throws IOException {
+            finishStep(System.nanoTime());
+
+            Session session = Session.current();
+            String screen = session.getScreen();
+            String prompt = output.prompt();
+            output.endLine();
+            String input;
+            if (prompt.startsWith("Enter New Password")) {
+                // First login of a generated account; not part of any trace
+                input = REPLAY_PASSWORD;
+                passwords.put(login, REPLAY_PASSWORD);
+            } else {
+                if (next == trace.size()) {
+                    return false;
+                }
+                SessionTrace.Step step = trace.get(next++);
+                if (!step.screen().equals(SessionTrace.screenName(screen))
+                        || !SessionTrace.promptKey(step.prompt()).equals(SessionTrace.promptKey(prompt))) {
+                    diverged.increment();
+                }
+                think(step.thinkMillis());
+                input = fillIn(step.input(), SessionTrace.screenName(screen));
+            }
+
+            inFlight = operation(SessionTrace.operation(screen, session.getScreenOptions(), prompt, input));
+            pending = (input + "\n").getBytes(StandardCharsets.UTF_8);
+            pendingOffset = 0;
+            typedAt = System.nanoTime();
+            return true;
+        }
+
+        private void think(long millis) throws IOException {
+            if (Double.isInfinite(speed) || millis == 0) {
+                return;
+            }
+            try {
+                TimeUnit.MICROSECONDS.sleep((long) (millis * 1000 / speed));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Replay interrupted");
+            }
+        }
+
+        /** Replaces trace placeholders with this user's account */
+        private String fillIn(String input, String screen) {
+            if (input.equals(SessionTrace.LOGIN)) {
+                login = loginName(screen);
+                return login;
+            }
+            if (input.equals(SessionTrace.PASSWORD)) {
+                return passwords.getOrDefault(login, User.DEFAULT_PASSWORD);
+            }
+            return input;
+        }
+
+        private String loginName(String screen) {
+            if (screen.startsWith("Student") && !students.isEmpty()) {
+                return students.get(user % students.size()).getStudentId();
+            }
+            if (screen.startsWith("Lecturer") && !lecturers.isEmpty()) {
+                return lecturers.get(user % lecturers.size()).getLecturerId();
+            }
+            return ADMIN_EMAIL;
+        }
+
+        void finishStep(long now) {
+            if (inFlight != null) {
+                inFlight.record(now - typedAt);
+                steps.increment();
+                inFlight = null;
+            }
+        }
+    }
+
+    // ---------------------- RESULTS ----------------------
+
+    /**
+     * Totals of a replay run.
+     *
+     * @param elapsedNanos     wall-clock time of the run
+     * @param steps            lines typed and handled
+     * @param diverged         steps whose screen or prompt differed from the recording
+     * @param sessions         sessions run
+     * @param failedSessions   sessions that ended with an unexpected exception
+     * @param outputBytes      screen output written by all sessions
+     * @param allocatedBytes   heap allocated during the run, or -1 if the JVM cannot tell
+     * @param gcCount          garbage collections during the run
+     * @param gcMillis         time spent collecting garbage
+     */
+    public record Result(long elapsedNanos, long steps, long diverged, long sessions, long failedSessions,
+                         long outputBytes, long allocatedBytes, long gcCount, long gcMillis) {
+
+        public double stepsPerSecond() { return steps / (elapsedNanos / 1e9); }
+        public double sessionsPerSecond() { return sessions / (elapsedNanos / 1e9); }
+        public double allocatedMegabytesPerSecond() { return allocatedBytes / 1e6 / (elapsedNanos / 1e9); }
+    }
+
+    /**
+     * Prints the latency table and the totals of a run.
+     */
+    public void print(Result result, ConsoleRenderer renderer) {
+        OPERATION_TABLE.renderHeader(renderer);
+        for (Histogram histogram : operations.values()) {
+            Histogram.Snapshot snapshot = histogram.snapshot();
+            if (snapshot.getCount() == 0) {
+                continue;
+            }
+            OPERATION_TABLE.renderRow(renderer,
+                    histogram.getName().substring("replay.".length()),
+                    String.valueOf(snapshot.getCount()),
+                    Utility.formatNanos(snapshot.getPercentile(50)),
+                    Utility.formatNanos(snapshot.getPercentile(99)),
+                    Utility.formatNanos(snapshot.getPercentile(99.9)),
+                    Utility.formatNanos(snapshot.getMax()));
+        }
+        OPERATION_TABLE.renderSeparator(renderer);
+
+        renderer.append(String.format("Users       : %d x %d session(s), speed %s, %d trace(s)",
+                users, loops, Double.isInfinite(speed) ? "max" : speed + "x", traces.size())).line();
+        renderer.append(String.format("Elapsed     : %.2f s", result.elapsedNanos() / 1e9)).line();
+        renderer.append(String.format("Throughput  : %,.0f steps/s, %,.1f sessions/s",
+                result.stepsPerSecond(), result.sessionsPerSecond())).line();
+        renderer.append(String.format("Steps       : %,d (%,d diverged from the recording)",
+                result.steps(), result.diverged())).line();
+        renderer.append(String.format("Sessions    : %,d (%,d failed)", result.sessions(), result.failedSessions())).line();
+        renderer.append(String.format("Output      : %,.1f MB", result.outputBytes() / 1e6)).line();
+        if (result.allocatedBytes() >= 0) {
+            renderer.append(String.format("Allocation  : %,.1f MB/s, %,d bytes per step",
+                    result.allocatedMegabytesPerSecond(),
+                    result.steps() == 0 ? 0 : result.allocatedBytes() / result.steps())).line();
+        }
+        renderer.append(String.format("GC          : %d collections, %d ms", result.gcCount(), result.gcMillis())).line();
+        renderer.flush();
+    }
+
+    // ---------------------- COMMAND LINE ----------------------
+
+    /**
+     * Command line entry point:
+     * {@code replay TRACE|DIRECTORY... [users=N] [speed=X|max] [loops=N] [ramp=SECONDS] [students=N ...]}
+     *
+     * @param args        command line arguments
+     * @param application runs one interactive session
+     * @return process exit code
+     */
+    public static int run(String[] args, Runnable application) {
+        try {
+            List<SessionTrace> traces = new ArrayList<>();
+            List<String> generatorOptions = new ArrayList<>();
+            int users = 10;
+            double speed = 1;
+            int loops = 1;
+            long rampMillis = 0;
+            boolean studentsGiven = false;
+            for (int i = 1; i < args.length; i++) {
+                String arg = args[i];
+                if (arg.startsWith("users=")) {
+                    users = Integer.parseInt(arg.substring("users=".length()));
+                } else if (arg.startsWith("speed=")) {
+                    String value = arg.substring("speed=".length());
+                    speed = value.equals("max") ? Double.POSITIVE_INFINITY : Double.parseDouble(value);
+                } else if (arg.startsWith("loops=")) {
+                    loops = Integer.parseInt(arg.substring("loops=".length()));
+                } else if (arg.startsWith("ramp=")) {
+                    rampMillis = Math.round(Double.parseDouble(arg.substring("ramp=".length())) * 1000);
+                } else if (arg.contains("=")) {
+                    studentsGiven |= arg.startsWith("students=");
+                    generatorOptions.add(arg);
+                } else {
+                    addTraces(Paths.get(arg), traces);
+                }
+            }
+            if (!studentsGiven) {
+                generatorOptions.add("students=" + Math.max(1000, users));
+            }
+
+            ReplayHarness harness = new ReplayHarness(traces, users, speed, loops, rampMillis, application);
+            System.out.println("Generating the institution...");
+            harness.provision(InstitutionSpec.parse(generatorOptions));
+            System.out.println("Replaying " + traces.size() + " trace(s) as " + users + " users...");
+            Result result = harness.run();
+            harness.print(result, ConsoleRenderer.get());
+            return result.failedSessions() == 0 ? 0 : 1;
+        } catch (IllegalArgumentException e) {
+            System.out.println("✗ " + e.getMessage());
+            System.out.println("Usage: replay TRACE|DIRECTORY... " + OPTIONS);
+        } catch (IOException e) {
+            System.out.println("✗ Could not read the traces: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("✗ Replay interrupted");
+        }
+        return 1;
+    }
+
+    private static void addTraces(Path path, List<SessionTrace> traces) throws IOException {
+        if (!Files.isDirectory(path)) {
+            traces.add(SessionTrace.read(path));
+            return;
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> directory = Files.newDirectoryStream(path, "*.trace")) {
+            directory.forEach(files::add);
+        }
+        files.sort(null);
+        for (Path file : files) {
+            traces.add(SessionTrace.read(file));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package LoadTest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SessionTrace
+ * ---------------------------------------------------------
+ * A recorded interactive session: every line the operator typed, with the
+ * screen and prompt it answered and how long they took to answer it.
+ *
+ * Traces are plain text, one step per line, tab separated:
+ * <pre>
+ *   # UCMS session trace v1
+ *   1840	Pick Your Role	Enter your choice:	3
+ *   5210	Student Login	Enter Student ID or Email:	${login}
+ *   3020	Student Login	Enter Password:	${password}
+ * </pre>
+ * Login names and passwords are never stored. They are written as
+ * {@code ${login}} and {@code ${password}} and filled in by the replay
+ * harness with the simulated user's own account.
+ *
+ * Responsibilities:
+ *  - Read and write trace files
+ *  - Name the operation a step performs ("Student Management > Remove Students")
+ */
+public final class SessionTrace {
+
+    public static final String HEADER = "# UCMS session trace v1";
+
+    /** Placeholder for the login name typed on a login screen */
+    public static final String LOGIN = "${login}";
+
+    /** Placeholder for any password */
+    public static final String PASSWORD = "${password}";
+
+    /** Prompts are compared and named by their start; the rest may hold data ("drop Physics?") */
+    private static final int PROMPT_KEY_LENGTH = 28;
+
+    /**
+     * One line typed by the operator.
+     *
+     * @param thinkMillis time between the prompt appearing and the line being sent
+     * @param screen      title of the menu or form, see {@link #screenName}
+     * @param prompt      the prompt answered, e.g. "Enter your choice:"
+     * @param input       the line typed, or a placeholder
+     */
+    public record Step(long thinkMillis, String screen, String prompt, String input) {}
+
+    private final String name;
+    private final List<Step> steps;
+
+    public SessionTrace(String name, List<Step> steps) {
+        this.name = name;
+        this.steps = Collections.unmodifiableList(new ArrayList<>(steps));
+    }
+
+    public String getName() { return name; }
+    public List<Step> getSteps() { return steps; }
+
+    /** @return the operator's total think time in milliseconds */
+    public long getThinkMillis() {
+        long total = 0;
+        for (Step step : steps) {
+            total += step.thinkMillis();
+        }
+        return total;
+    }
+
+    // ---------------------- FILES ----------------------
+
+    /**
+     * Reads a trace file.
+     *
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if it is not a session trace
+     */
+    public static SessionTrace read(Path file) throws IOException {
+        List<Step> steps = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (!HEADER.equals(header)) {
+                throw new IllegalArgumentException(file + " is not a UCMS session trace");
+            }
+            String line;
+            int number = 1;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\t", -1);
+                if (fields.length != 4) {
+                    throw new IllegalArgumentException(file + ":" + number + ": expected 4 tab-separated fields");
+                }
+                try {
+                    steps.add(new Step(Long.parseLong(fields[0]),
+                            unescape(fields[1]), unescape(fields[2]), unescape(fields[3])));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(file + ":" + number + ": invalid think time " + fields[0]);
+                }
+            }
+        }
+        return new SessionTrace(String.valueOf(file.getFileName()), steps);
+    }
+
+    /**
+     * Writes one step in trace format.
+     */
+    static void write(Writer writer, Step step) throws IOException {
+        writer.write(Long.toString(step.thinkMillis()));
+        writer.write('\t');
+        writer.write(escape(step.screen()));
+        writer.write('\t');
+        writer.write(escape(step.prompt()));
+        writer.write('\t');
+        writer.write(escape(step.input()));
+        writer.write('\n');
+    }
+
+    private static String escape(String field) {
+        return field.replace("\\", "\\\\").replace("\t", "\\t");
+    }
+
+    private static String unescape(String field) {
+        if (field.indexOf('\\') < 0) {
+            return field;
+        }
+        StringBuilder text = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '\\' && i + 1 < field.length()) {
+                char next = field.charAt(++i);
+                text.append(next == 't' ? '\t' : next);
+            } else {
+                text.append(c);
+            }
+        }
+        return text.toString();
+    }
+
+    // ---------------------- OPERATIONS ----------------------
+
+    /**
+     * @return the title of a screen without the greeting some menus add
+     *         ("UCMS Student Main Menu - Welcome Ann" becomes "UCMS Student Main Menu")
+     */
+    static String screenName(String title) {
+        if (title == null) {
+            return "-";
+        }
+        int greeting = title.indexOf(" - ");
+        return greeting < 0 ? title : title.substring(0, greeting);
+    }
+
+    /**
+     * Names the operation a line of input performs: the option chosen for
+     * a menu choice, the prompt answered otherwise.
+     *
+     * @param screen  screen title
+     * @param options options of the menu on screen, or null for a form
+     * @param prompt  the prompt being answered
+     * @param input   the line typed
+     */
+    static String operation(String screen, String[] options, String prompt, String input) {
+        String name = screenName(screen);
+        if (options != null && prompt.startsWith("Enter your choice")) {
+            try {
+                int choice = Integer.parseInt(input.trim());
+                if (choice >= 1 && choice <= options.length) {
+                    return name + " > " + options[choice - 1];
+                }
+            } catch (NumberFormatException e) {
+                // Invalid choice, reported as such below
+            }
+            return name + " > (invalid)";
+        }
+        return name + ": " + promptKey(prompt);
+    }
+
+    /**
+     * @return the part of a prompt that identifies it, without the trailing colon
+     */
+    static String promptKey(String prompt) {
+        String key = prompt.endsWith(":") ? prompt.substring(0, prompt.length() - 1) : prompt;
+        return key.length() <= PROMPT_KEY_LENGTH ? key : key.substring(0, PROMPT_KEY_LENGTH) + "...";
+    }
+}
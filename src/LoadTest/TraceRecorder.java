@@ -0,0 +1,183 @@
+package LoadTest;
+
+import Generation.InstitutionSpec;
+import Utilities.Session;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * TraceRecorder
+ * ---------------------------------------------------------
+ * Records an interactive session into a {@link SessionTrace} file while the
+ * operator uses the normal UCMS menus. Wrap the session's input and output
+ * streams before creating the {@link Session}; every line typed is then
+ * written with the screen and prompt it answered and the operator's think
+ * time.
+ *
+ * Login names and passwords are replaced by placeholders. The answer to a
+ * forced password change ("Enter New Password") is not recorded at all:
+ * it only happens on an account's first login, and the replay harness
+ * answers it itself when it comes up.
+ *
+ * Responsibilities:
+ *  - Tap a session's input and output streams
+ *  - Write one trace step per line of input, as it arrives
+ *  - Keep credentials out of the trace
+ */
+public final class TraceRecorder implements Closeable {
+
+    private final Writer writer;
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+    private PromptTracker output = new PromptTracker(null);
+
+    /** When the session last started waiting for input, in nanoseconds */
+    private long waitingSince = System.nanoTime();
+
+    /**
+     * Creates a recorder writing to a new trace file.
+     *
+     * @param file the trace file (created or truncated)
+     * @throws IOException if the file cannot be created
+     */
+    public TraceRecorder(Path file) throws IOException {
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        writer.write(SessionTrace.HEADER);
+        writer.write('\n');
+        writer.flush();
+    }
+
+    /**
+     * @return a stream writing to {@code out} and noting each prompt shown
+     */
+    public OutputStream recordOutput(OutputStream out) {
+        output = new PromptTracker(out);
+        return output;
+    }
+
+    /**
+     * @return a stream reading from {@code in} and recording each line read
+     */
+    public InputStream recordInput(InputStream in) {
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                startWaiting();
+                int b = in.read();
+                if (b >= 0) {
+                    received((byte) b);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                startWaiting();
+                int count = in.read(b, off, len);
+                for (int i = 0; i < count; i++) {
+                    received(b[off + i]);
+                }
+                return count;
+            }
+        };
+    }
+
+    private void startWaiting() {
+        // The session asks for more input only after handling the last line it
+        // read, so think time runs from here unless a line is half typed
+        if (line.size() == 0) {
+            waitingSince = System.nanoTime();
+        }
+    }
+
+    private void received(byte b) throws IOException {
+        if (b != '\n') {
+            line.write(b);
+            return;
+        }
+        String input = line.toString(StandardCharsets.UTF_8);
+        if (input.endsWith("\r")) {
+            input = input.substring(0, input.length() - 1);
+        }
+        line.reset();
+
+        long now = System.nanoTime();
+        long thinkMillis = (now - waitingSince) / 1_000_000;
+        waitingSince = now;
+
+        Session session = Session.current();
+        String screen = SessionTrace.screenName(session != null ? session.getScreen() : null);
+        String prompt = output.prompt();
+        output.endLine();
+        if (prompt.startsWith("Enter New Password")) {
+            return;
+        }
+        if (prompt.toLowerCase(Locale.ROOT).contains("password")) {
+            input = SessionTrace.PASSWORD;
+        } else if (screen.endsWith("Login")) {
+            input = SessionTrace.LOGIN;
+        }
+        SessionTrace.write(writer, new SessionTrace.Step(thinkMillis, screen, prompt, input));
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    // ---------------------- COMMAND LINE ----------------------
+
+    /**
+     * Command line entry point: {@code record FILE.trace [students=N ...]}.
+     * Generates an institution like the replay harness does, then runs an
+     * interactive session on this console and records it.
+     *
+     * @param args        command line arguments
+     * @param application runs one user session
+     * @return process exit code
+     */
+    public static int record(String[] args, Runnable application) {
+        if (args.length < 2) {
+            System.out.println("Usage: record FILE.trace [" + InstitutionSpec.OPTIONS + "]");
+            return 1;
+        }
+        Path file = Paths.get(args[1]);
+        try {
+            List<String> options = new ArrayList<>(Arrays.asList(args).subList(2, args.length));
+            if (options.stream().noneMatch(option -> option.startsWith("students="))) {
+                options.add("students=1000");
+            }
+            ReplayHarness.createInstitution(InstitutionSpec.parse(options));
+        } catch (IllegalArgumentException e) {
+            System.out.println("✗ " + e.getMessage());
+            return 1;
+        }
+        System.out.println("Log in as " + ReplayHarness.ADMIN_EMAIL + " (password " + ReplayHarness.REPLAY_PASSWORD
+                + "), or as any generated student or lecturer (S00000001, L000001, ...) with the default password.");
+
+        try (TraceRecorder recorder = new TraceRecorder(file)) {
+            Session session = new Session("console",
+                    recorder.recordInput(System.in), recorder.recordOutput(System.out));
+            session.run(application);
+        } catch (IOException e) {
+            System.out.println("✗ Could not write the trace: " + e.getMessage());
+            return 1;
+        }
+        System.out.println("✓ Session recorded to " + file.toAbsolutePath());
+        return 0;
+    }
+}
@@ -1,22 +1,128 @@
+import Audit.AuditQuery;
+import Generation.InstitutionGenerator;
+import LoadTest.ReplayHarness;
+import LoadTest.TraceRecorder;
+import Planning.ExamScheduler;
+import Planning.Timetabler;
+import Planning.WorkloadOptimizer;
+import Profiling.RecordingSummary;
+import Scripting.CommandInterpreter;
+import Server.ApiServer;
+import Server.TerminalServer;
+import StressTest.StressSuite;
+import Utilities.NotificationSink;
+import Utilities.Notifications;
+import Utilities.TerminalScreen;
+
 public class Main {
     public static void main(String[] args) {
+        // Headless batch mode: run commands without any menus
+        if (args.length > 0 && args[0].equals("exec")) {
+            System.exit(CommandInterpreter.exec(args));
+        }
+        
+        // Audit trail query: print matching records and exit
+        if (args.length > 0 && args[0].equals("audit")) {
+            System.exit(AuditQuery.run(args));
+        }
+        
+        // Flight recording summary: per-operation statistics from a .jfr file
+        if (args.length > 0 && args[0].equals("profile")) {
+            System.exit(RecordingSummary.run(args));
+        }
+        
+        // Synthetic institution snapshot for load testing, in export layout
+        if (args.length > 0 && args[0].equals("generate")) {
+            System.exit(InstitutionGenerator.run(args));
+        }
+        
+        // HTTP/JSON API mode: the server keeps running after main returns
+        if (args.length > 0 && args[0].equals("serve")) {
+            if (ApiServer.serve(args) != 0) {
+                System.exit(1);
+            }
+            return;
+        }
+        
+        // Record an interactive console session as a replayable trace
+        if (args.length > 0 && args[0].equals("record")) {
+            System.exit(TraceRecorder.record(args, Main::runSession));
+        }
+        
+        // Load test: replay recorded sessions from many simulated users
+        if (args.length > 0 && args[0].equals("replay")) {
+            System.exit(ReplayHarness.run(args, Main::runSession));
+        }
+        
+        // Concurrency stress tests of the shared containers
+        if (args.length > 0 && args[0].equals("stress")) {
+            System.exit(StressSuite.run(args));
+        }
+        
+        // Lecturer workload planning on a generated institution
+        if (args.length > 0 && args[0].equals("optimize")) {
+            System.exit(WorkloadOptimizer.run(args));
+        }
+        
+        // Timetable a generated institution, then repair it after late changes
+        if (args.length > 0 && args[0].equals("timetable")) {
+            System.exit(Timetabler.run(args));
+        }
+        
+        // Exam scheduling on a generated institution, with the students at risk of clashes
+        if (args.length > 0 && args[0].equals("exams")) {
+            System.exit(ExamScheduler.run(args));
+        }
+        
+        // Multi-user terminal server: every connection runs its own UCMS session
+        if (args.length > 0 && args[0].equals("terminal")) {
+            NotificationSink notifications = Notifications.configure("console");
+            Runtime.getRuntime().addShutdownHook(new Thread(notifications::flush));
+            if (TerminalServer.serve(args, Main::runSession) != 0) {
+                System.exit(1);
+            }
+            return;
+        }
+        
+        // Switch to differential full-screen mode if requested and on a TTY
+        TerminalScreen.enable(args);
+        
+        // Show the domain classes' messages, unless ucms.notifications says otherwise
+        NotificationSink notifications = Notifications.configure("console");
+        
+        // Only the local console may create the first administrator account
+        UCMS.createFirstAdmin();
+        
+        runSession();
+        notifications.flush();
+        
+        // Report how many bytes full-screen mode wrote compared to line mode
+        String screenStatistics = TerminalScreen.getStatistics();
+        if (screenStatistics != null) {
+            System.out.println(screenStatistics);
+        }
+    }
+
+    /**
+     * Runs one interactive UCMS session, from banner to goodbye.
+     */
+    private static void runSession() {
         // Clear screen for better presentation
         UIHelper.clearScreen();
-        
+
         // Display colorful banner
         UIHelper.printBanner();
-        
+
         // Welcome message
         UIHelper.printWelcomeMessage();
-        
+
         // Add some spacing
         System.out.println();
-        
+
         // Start the role determination
         UCMS.determineRole();
-        
+
         // Goodbye message when exiting
         UIHelper.printGoodbye();
     }
 }
-
@@ -0,0 +1,27 @@
+package Metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter
+ * ---------------------------------------------------------
+ * Monotonic event count that many threads can increment without contention.
+ */
+public final class Counter {
+
+    private final String name;
+    private final LongAdder count = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public String getName() { return name; }
+
+    public void increment() { count.increment(); }
+
+    public void add(long amount) { count.add(amount); }
+
+    /** @return the count so far */
+    public long get() { return count.sum(); }
+}
@@ -0,0 +1,15 @@
+package Metrics;
+
+/**
+ * Gauge
+ * ---------------------------------------------------------
+ * A value read on demand, e.g. the number of students in the system.
+ * Called whenever metrics are shown or exported, possibly from any thread,
+ * so it should be cheap and must not wait on locks.
+ */
+@FunctionalInterface
+public interface Gauge {
+
+    /** @return the current value */
+    long value();
+}
@@ -0,0 +1,152 @@
+package Metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram
+ * ---------------------------------------------------------
+ * Lock-free latency histogram with logarithmic buckets, in the style of
+ * HdrHistogram.
+ *
+ * Every power of two is split into 32 linear sub-buckets, so a recorded value
+ * lands in a bucket no wider than about 3% of the value, from nanoseconds up
+ * to centuries, in a fixed array of 1888 counters. Recording a value is one
+ * atomic increment plus two uncontended adders; nothing is allocated.
+ *
+ * Responsibilities:
+ *  - Record durations from any number of threads without locking
+ *  - Report count, mean, maximum and percentiles from a snapshot
+ */
+public final class Histogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    /** Buckets needed to cover every non-negative long */
+    static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_COUNT;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    Histogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() { return name; }
+
+    // ---------------------- RECORDING ----------------------
+
+    /**
+     * Records one value, normally a duration in nanoseconds.
+     * Negative values are recorded as zero.
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts.getAndIncrement(index(v));
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    /**
+     * Records the time elapsed since a {@link System#nanoTime()} reading.
+     * Typical use:
+     * <pre>
+     *   long start = System.nanoTime();
+     *   try { ... } finally { histogram.recordSince(start); }
+     * </pre>
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    // ---------------------- BUCKETS ----------------------
+
+    /** @return the bucket holding a non-negative value */
+    static int index(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BITS;
+        int subBucket = (int) (value >>> shift);    // between SUB_COUNT and 2 * SUB_COUNT - 1
+        return (shift + 1) * SUB_COUNT + subBucket - SUB_COUNT;
+    }
+
+    /** @return the largest value that lands in a bucket */
+    static long highestValue(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_COUNT - 1;
+        long subBucket = SUB_COUNT + index % SUB_COUNT;
+        long next = (subBucket + 1) << shift;
+        return next <= 0 ? Long.MAX_VALUE : next - 1;
+    }
+
+    // ---------------------- SNAPSHOT ----------------------
+
+    /**
+     * Copies the current counts. Values recorded while the copy is made may
+     * or may not be included, and count, sum and max may disagree by those values.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(name, count, sum.sum(), max.get(), copy);
+    }
+
+    /**
+     * Point-in-time view of a histogram.
+     */
+    public static final class Snapshot {
+        private final String name;
+        private final long count;
+        private final long sum;
+        private final long max;
+        private final long[] counts;
+
+        private Snapshot(String name, long count, long sum, long max, long[] counts) {
+            this.name = name;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+            this.counts = counts;
+        }
+
+        public String getName() { return name; }
+        public long getCount() { return count; }
+        public long getMax() { return max; }
+
+        /** @return the mean value, or 0 if nothing was recorded */
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * @param percentile between 0 and 100
+         * @return a value at least as large as the given share of the recorded values
+         *         (within one bucket), or 0 if nothing was recorded
+         */
+        public long getPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValue(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package Metrics;
+
+import CourseManagement.CourseManagementModule;
+import CourseManagement.ModuleManagement;
+import Events.EventBus;
+import Security.Authentication;
+import UserManagement.LecturerManagementModule;
+import UserManagement.StudentManagementModule;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MetricsRegistry
+ * ---------------------------------------------------------
+ * Named latency histograms, counters and gauges for the whole process.
+ *
+ * Instrumented code looks its metric up once, into a static field, and then
+ * records into it directly:
+ * <pre>
+ *   private static final Histogram SEARCH_TIME = MetricsRegistry.histogram("course.search");
+ * </pre>
+ * Names are dotted, area first ("enrollment.enroll", "user.add").
+ *
+ * Responsibilities:
+ *  - Create each metric once and hand out the same instance afterwards
+ *  - Provide gauges for the sizes of the in-memory containers
+ *  - List every metric, sorted by name, for display and export
+ */
+public final class MetricsRegistry {
+
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, Gauge> GAUGES = new ConcurrentHashMap<>();
+
+    static {
+        // Container sizes are read without the SharedState lock; a gauge may be one change behind.
+        // They read the containers rather than counting EventBus events: the stress tests fill
+        // the containers directly, without events, and a count kept by the dispatch thread
+        // would also trail by every event still waiting in the bus.
+        gauge("courses", () -> CourseManagementModule.courseList.size());
+        gauge("modules", () -> ModuleManagement.getModuleList().size());
+        gauge("students", () -> StudentManagementModule.studentsContainer.size());
+        gauge("lecturers", () -> LecturerManagementModule.lecturersList.size());
+        gauge("sessions", () -> Authentication.sessions().size());
+        gauge("events.pending", EventBus::getPendingCount);
+    }
+
+    private MetricsRegistry() { }
+
+    // ---------------------- REGISTRATION ----------------------
+
+    /** @return the histogram with this name, created on first use */
+    public static Histogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, Histogram::new);
+    }
+
+    /** @return the counter with this name, created on first use */
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, Counter::new);
+    }
+
+    /**
+     * Registers a gauge, replacing any gauge of the same name.
+     */
+    public static void gauge(String name, Gauge gauge) {
+        GAUGES.put(name, gauge);
+    }
+
+    // ---------------------- READING ----------------------
+
+    /** @return a snapshot of every histogram, sorted by name */
+    public static List<Histogram.Snapshot> histograms() {
+        List<Histogram.Snapshot> snapshots = new ArrayList<>();
+        for (Histogram histogram : HISTOGRAMS.values()) {
+            snapshots.add(histogram.snapshot());
+        }
+        snapshots.sort(Comparator.comparing(Histogram.Snapshot::getName));
+        return snapshots;
+    }
+
+    /** @return the value of every counter, sorted by name */
+    public static Map<String, Long> counters() {
+        Map<String, Long> values = new TreeMap<>();
+        COUNTERS.forEach((name, counter) -> values.put(name, counter.get()));
+        return values;
+    }
+
+    /** @return the current value of every gauge, sorted by name */
+    public static Map<String, Long> gauges() {
+        Map<String, Long> values = new TreeMap<>();
+        GAUGES.forEach((name, gauge) -> values.put(name, gauge.value()));
+        return values;
+    }
+}
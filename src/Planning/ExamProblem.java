@@ -0,0 +1,278 @@
+package Planning;
+
+import CourseManagement.Course;
+import CourseManagement.CourseManagementModule;
+import CourseManagement.Module;
+import UserManagement.Lecturer;
+import UserManagement.Student;
+import Utilities.SharedState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ExamProblem
+ * ---------------------------------------------------------
+ * The conflict graph of a term's exams, compiled into primitive arrays for
+ * the {@link ExamScheduler}.
+ *
+ * Every module has one exam, sat in its semester's exam period. Two exams
+ * conflict when they are in the same semester and some student sits both,
+ * because they are enrolled in a course that has both modules, or the same
+ * lecturer sets both. Each conflict is weighted by the people who would have
+ * two exams at once: the students sharing the modules, plus one for a
+ * shared lecturer.
+ *
+ * The graph is kept in compressed sparse rows: the neighbours of module m
+ * are {@code neighbours[offsets[m]]} to {@code neighbours[offsets[m + 1] - 1]},
+ * with the weights alongside. Students are grouped by the set of courses
+ * they are in, so a course of a thousand students adds its module pairs
+ * once, and the groups are kept to find the students at risk of a clash.
+ *
+ * Responsibilities:
+ *  - Group students by the modules they sit
+ *  - Build the weighted conflict graph from course rosters and module assignments
+ *  - Give a lower bound on the slots any schedule needs
+ */
+public final class ExamProblem {
+
+    /** Modules are ranked in 24 bits by the scheduler's DSATUR queue */
+    static final int MAX_MODULES = 1 << 24;
+
+    final Module[] modules;
+    /** Semester numbers in use, ascending */
+    final int[] semesters;
+    /** Index into {@code semesters} of each module */
+    final int[] semester;
+
+    final int[] offsets;
+    final int[] neighbours;
+    final int[] weights;
+
+    /** Modules sat by group g are {@code groupModules[groupFirst[g]]} to {@code groupModules[groupFirst[g + 1] - 1]} */
+    final int[] groupFirst;
+    final int[] groupModules;
+    final Student[][] groupStudents;
+
+    /** Modules set by lecturer l, laid out the same way */
+    final int[] lecturerFirst;
+    final int[] lecturerModules;
+
+    /**
+     * Compiles a problem.
+     *
+     * @param courses the courses whose modules have exams, with their students
+     * @throws IllegalArgumentException if there are more than 2^24 modules
+     */
+    public ExamProblem(List<Course> courses) {
+        Map<Module, Integer> moduleIndex = new IdentityHashMap<>();
+        List<Module> moduleList = new ArrayList<>();
+        int[][] courseModules = new int[courses.size()][];
+        for (int c = 0; c < courses.size(); c++) {
+            List<Module> owned = courses.get(c).getModules();
+            courseModules[c] = new int[owned.size()];
+            for (int i = 0; i < owned.size(); i++) {
+                Module module = owned.get(i);
+                Integer index = moduleIndex.putIfAbsent(module, moduleList.size());
+                if (index == null) {
+                    index = moduleList.size();
+                    moduleList.add(module);
+                }
+                courseModules[c][i] = index;
+            }
+        }
+        if (moduleList.size() > MAX_MODULES) {
+            throw new IllegalArgumentException("Too many modules to schedule: " + moduleList.size());
+        }
+        this.modules = moduleList.toArray(new Module[0]);
+        this.semesters = moduleList.stream().mapToInt(Module::getSemester).distinct().sorted().toArray();
+        this.semester = new int[modules.length];
+        for (int m = 0; m < modules.length; m++) {
+            semester[m] = Arrays.binarySearch(semesters, modules[m].getSemester());
+        }
+
+        // Students by the set of courses they are in; nearly always one course
+        Map<Student, int[]> coursesOf = new IdentityHashMap<>();
+        for (int c = 0; c < courses.size(); c++) {
+            for (Student student : courses.get(c).getStudents()) {
+                int[] before = coursesOf.get(student);
+                if (before == null) {
+                    coursesOf.put(student, new int[] {c});
+                } else if (before[before.length - 1] != c) {
+                    int[] after = Arrays.copyOf(before, before.length + 1);
+                    after[before.length] = c;
+                    coursesOf.put(student, after);
+                }
+            }
+        }
+        Map<String, Integer> groupOf = new HashMap<>();
+        List<int[]> groupCourses = new ArrayList<>();
+        List<List<Student>> members = new ArrayList<>();
+        for (Map.Entry<Student, int[]> entry : coursesOf.entrySet()) {
+            int[] in = entry.getValue();
+            int group = groupOf.computeIfAbsent(Arrays.toString(in), key -> {
+                groupCourses.add(in);
+                members.add(new ArrayList<>());
+                return groupCourses.size() - 1;
+            });
+            members.get(group).add(entry.getKey());
+        }
+        List<int[]> sat = new ArrayList<>();
+        this.groupStudents = new Student[groupCourses.size()][];
+        for (int g = 0; g < groupCourses.size(); g++) {
+            int[] union = Arrays.stream(groupCourses.get(g)).flatMap(c -> Arrays.stream(courseModules[c]))
+                    .distinct().toArray();
+            sat.add(union);
+            groupStudents[g] = members.get(g).toArray(new Student[0]);
+        }
+        this.groupFirst = new int[sat.size() + 1];
+        this.groupModules = flatten(sat, groupFirst);
+
+        Map<Lecturer, List<Integer>> byLecturer = new IdentityHashMap<>();
+        for (int m = 0; m < modules.length; m++) {
+            Lecturer lecturer = modules[m].getLecturer();
+            if (lecturer != null) {
+                byLecturer.computeIfAbsent(lecturer, key -> new ArrayList<>()).add(m);
+            }
+        }
+        List<int[]> set = new ArrayList<>();
+        byLecturer.values().forEach(list -> set.add(list.stream().mapToInt(Integer::intValue).toArray()));
+        this.lecturerFirst = new int[set.size() + 1];
+        this.lecturerModules = flatten(set, lecturerFirst);
+
+        // Every conflicting pair as (low << 32 | high), with the people it affects
+        Edges edges = new Edges();
+        for (int g = 0; g < groupStudents.length; g++) {
+            edges.clique(groupModules, groupFirst[g], groupFirst[g + 1], groupStudents[g].length);
+        }
+        for (int l = 0; l + 1 < lecturerFirst.length; l++) {
+            edges.clique(lecturerModules, lecturerFirst[l], lecturerFirst[l + 1], 1);
+        }
+        long[] pairs = Arrays.copyOf(edges.keys, edges.count);
+        Arrays.sort(pairs);
+        int distinct = 0;
+        for (int i = 0; i < pairs.length; i++) {
+            if (i == 0 || pairs[i] != pairs[i - 1]) {
+                pairs[distinct++] = pairs[i];
+            }
+        }
+        pairs = Arrays.copyOf(pairs, distinct);
+        int[] pairWeight = new int[distinct];
+        for (int i = 0; i < edges.count; i++) {
+            pairWeight[Arrays.binarySearch(pairs, edges.keys[i])] += edges.people[i];
+        }
+
+        this.offsets = new int[modules.length + 1];
+        for (long pair : pairs) {
+            offsets[(int) (pair >>> 32) + 1]++;
+            offsets[(int) pair + 1]++;
+        }
+        for (int m = 0; m < modules.length; m++) {
+            offsets[m + 1] += offsets[m];
+        }
+        this.neighbours = new int[offsets[modules.length]];
+        this.weights = new int[neighbours.length];
+        int[] next = Arrays.copyOf(offsets, modules.length);
+        for (int i = 0; i < pairs.length; i++) {
+            int low = (int) (pairs[i] >>> 32);
+            int high = (int) pairs[i];
+            neighbours[next[low]] = high;
+            weights[next[low]++] = pairWeight[i];
+            neighbours[next[high]] = low;
+            weights[next[high]++] = pairWeight[i];
+        }
+    }
+
+    /** Compiles the modules and students of every course, under the SharedState read lock */
+    public static ExamProblem fromSystem() {
+        return SharedState.read(() -> new ExamProblem(CourseManagementModule.courseList));
+    }
+
+    private static int[] flatten(List<int[]> lists, int[] first) {
+        for (int i = 0; i < lists.size(); i++) {
+            first[i + 1] = first[i] + lists.get(i).length;
+        }
+        int[] flat = new int[first[lists.size()]];
+        for (int i = 0; i < lists.size(); i++) {
+            System.arraycopy(lists.get(i), 0, flat, first[i], lists.get(i).length);
+        }
+        return flat;
+    }
+
+    /** Growable list of weighted pairs, with duplicates */
+    private final class Edges {
+        long[] keys = new long[1024];
+        int[] people = new int[1024];
+        int count;
+
+        /** Adds every pair of the listed modules that share a semester */
+        void clique(int[] list, int from, int to, int weight) {
+            for (int i = from; i < to; i++) {
+                for (int j = i + 1; j < to; j++) {
+                    int a = list[i];
+                    int b = list[j];
+                    if (semester[a] != semester[b]) {
+                        continue;
+                    }
+                    if (count == keys.length) {
+                        keys = Arrays.copyOf(keys, count * 2);
+                        people = Arrays.copyOf(people, count * 2);
+                    }
+                    keys[count] = (long) Math.min(a, b) << 32 | Math.max(a, b);
+                    people[count++] = weight;
+                }
+            }
+        }
+    }
+
+    // ---------------------- QUERIES ----------------------
+
+    public int getModuleCount() { return modules.length; }
+
+    /** @return conflicting pairs of modules */
+    public int getConflictCount() { return neighbours.length / 2; }
+
+    /** @return students sitting at least one exam */
+    public int getStudentCount() {
+        int students = 0;
+        for (Student[] group : groupStudents) {
+            students += group.length;
+        }
+        return students;
+    }
+
+    /** @return most conflicts of any module */
+    public int getMaxDegree() {
+        int most = 0;
+        for (int m = 0; m < modules.length; m++) {
+            most = Math.max(most, offsets[m + 1] - offsets[m]);
+        }
+        return most;
+    }
+
+    /**
+     * @return the most modules one group of students, or one lecturer, has in
+     *         a semester; they all conflict, so no schedule has fewer slots
+     */
+    public int getLowerBound() {
+        int bound = modules.length == 0 ? 0 : 1;
+        bound = Math.max(bound, largestClique(groupFirst, groupModules));
+        return Math.max(bound, largestClique(lecturerFirst, lecturerModules));
+    }
+
+    private int largestClique(int[] first, int[] list) {
+        int largest = 0;
+        int[] perSemester = new int[semesters.length];
+        for (int i = 0; i + 1 < first.length; i++) {
+            Arrays.fill(perSemester, 0);
+            for (int k = first[i]; k < first[i + 1]; k++) {
+                largest = Math.max(largest, ++perSemester[semester[list[k]]]);
+            }
+        }
+        return largest;
+    }
+}
@@ -0,0 +1,178 @@
+package Planning;
+
+import CourseManagement.Module;
+import UserManagement.Student;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ExamSchedule
+ * ---------------------------------------------------------
+ * An exam slot for each module of an {@link ExamProblem}, as found by the
+ * {@link ExamScheduler}, with the clashes left and the students at risk.
+ *
+ * Slots are numbered from 1 within each semester's exam period. A student
+ * is at risk when two of the exams they sit are in the same slot; the
+ * schedule keeps one such pair per student to say why.
+ *
+ * Responsibilities:
+ *  - Count slots, clashing pairs and the people they affect
+ *  - List the students at risk of a clash, and why
+ *  - Hold the published exam schedule
+ */
+public final class ExamSchedule {
+
+    /** Students listed by {@link #print}; the rest are counted */
+    private static final int LISTED = 10;
+
+    private static volatile ExamSchedule published;
+
+    private final ExamProblem problem;
+    private final int[] slotOf;
+    private final int dsaturSlots;
+    private final int tabuRounds;
+    private final long elapsedNanos;
+
+    private int slots;
+    private int clashingPairs;
+    private long peopleAffected;
+    private int lecturerClashes;
+    private final List<Student> atRisk = new ArrayList<>();
+    /** Two clashing modules of each student at risk */
+    private final Map<Student, int[]> reasons = new IdentityHashMap<>();
+
+    /** Index of each module in the problem, to look up its slot */
+    private final Map<Module, Integer> moduleIndex = new IdentityHashMap<>();
+
+    ExamSchedule(ExamProblem problem, int[] slotOf, int dsaturSlots, int tabuRounds, long elapsedNanos) {
+        this.problem = problem;
+        this.slotOf = slotOf;
+        this.dsaturSlots = dsaturSlots;
+        this.tabuRounds = tabuRounds;
+        this.elapsedNanos = elapsedNanos;
+        for (int m = 0; m < problem.modules.length; m++) {
+            moduleIndex.put(problem.modules[m], m);
+        }
+        measure();
+    }
+
+    private void measure() {
+        for (int m = 0; m < slotOf.length; m++) {
+            slots = Math.max(slots, slotOf[m] + 1);
+            for (int k = problem.offsets[m]; k < problem.offsets[m + 1]; k++) {
+                int other = problem.neighbours[k];
+                if (m < other && slotOf[m] == slotOf[other]) {
+                    clashingPairs++;
+                    peopleAffected += problem.weights[k];
+                }
+            }
+        }
+        for (int g = 0; g + 1 < problem.groupFirst.length; g++) {
+            int[] pair = clashIn(problem.groupFirst[g], problem.groupFirst[g + 1], problem.groupModules);
+            if (pair != null) {
+                for (Student student : problem.groupStudents[g]) {
+                    atRisk.add(student);
+                    reasons.put(student, pair);
+                }
+            }
+        }
+        for (int l = 0; l + 1 < problem.lecturerFirst.length; l++) {
+            if (clashIn(problem.lecturerFirst[l], problem.lecturerFirst[l + 1], problem.lecturerModules) != null) {
+                lecturerClashes++;
+            }
+        }
+        atRisk.sort((a, b) -> a.getStudentId().compareTo(b.getStudentId()));
+    }
+
+    /** @return two of the listed modules in the same semester and slot, or null */
+    private int[] clashIn(int from, int to, int[] list) {
+        for (int i = from; i < to; i++) {
+            for (int j = i + 1; j < to; j++) {
+                int a = list[i];
+                int b = list[j];
+                if (slotOf[a] == slotOf[b] && problem.semester[a] == problem.semester[b]) {
+                    return new int[] {a, b};
+                }
+            }
+        }
+        return null;
+    }
+
+    // ---------------------- FIGURES ----------------------
+
+    public int getSlotCount() { return slots; }
+    public int getDsaturSlotCount() { return dsaturSlots; }
+    public int getClashingPairs() { return clashingPairs; }
+    public long getPeopleAffected() { return peopleAffected; }
+    public int getLecturerClashes() { return lecturerClashes; }
+    public int getTabuRounds() { return tabuRounds; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public ExamProblem getProblem() { return problem; }
+
+    /** @return students with two exams in one slot, by ID */
+    public List<Student> getAtRiskStudents() {
+        return new ArrayList<>(atRisk);
+    }
+
+    /** @return true if nobody has two exams at once */
+    public boolean isClean() {
+        return clashingPairs == 0;
+    }
+
+    /** @return a module's exam slot, e.g. "S1 slot 3", or null if it is not in this schedule */
+    public String slotOf(Module module) {
+        Integer m = moduleIndex.get(module);
+        return m == null ? null : describe(m);
+    }
+
+    /** @return why a student is at risk, e.g. "CS101 and CS103 in S1 slot 3", or null if they are not */
+    public String reasonFor(Student student) {
+        int[] pair = reasons.get(student);
+        return pair == null ? null : problem.modules[pair[0]].getModuleCode() + " and "
+                + problem.modules[pair[1]].getModuleCode() + " in " + describe(pair[0]);
+    }
+
+    private String describe(int module) {
+        return "S" + problem.semesters[problem.semester[module]] + " slot " + (slotOf[module] + 1);
+    }
+
+    // ---------------------- PUBLISHING ----------------------
+
+    /** @return the exam schedule in use, or null if none has been made */
+    public static ExamSchedule published() {
+        return published;
+    }
+
+    /** Makes this the exam schedule in use */
+    public void publish() {
+        published = this;
+    }
+
+    // ---------------------- SUMMARY ----------------------
+
+    /** Prints the schedule's figures and the first students at risk */
+    public void print(PrintStream out) {
+        out.printf("  %-22s %,d (DSATUR %,d, at least %,d)%n", "Slots per semester",
+                slots, dsaturSlots, problem.getLowerBound());
+        out.printf("  %-22s %,d of %,d, affecting %,d people%n", "Clashing pairs",
+                clashingPairs, problem.getConflictCount(), peopleAffected);
+        out.printf("  %-22s %,d students, %,d lecturers%n", "At risk", atRisk.size(), lecturerClashes);
+        out.printf("  %-22s %,d in %.2f s%n", "Tabu rounds", tabuRounds, elapsedNanos / 1e9);
+        for (int i = 0; i < Math.min(LISTED, atRisk.size()); i++) {
+            Student student = atRisk.get(i);
+            out.println("    " + student.getStudentId() + "  " + reasonFor(student));
+        }
+        if (atRisk.size() > LISTED) {
+            out.printf("    ... and %,d more%n", atRisk.size() - LISTED);
+        }
+        if (isClean()) {
+            out.println("✓ No student or lecturer has two exams at once");
+        } else {
+            out.println("✗ " + atRisk.size() + " students and " + lecturerClashes + " lecturers have two exams at once");
+        }
+    }
+}
@@ -0,0 +1,599 @@
+package Planning;
+
+import Generation.InstitutionGenerator;
+import Generation.InstitutionSpec;
+import Security.AccessControl;
+import UserManagement.Admin;
+import Utilities.NotificationSink;
+import Utilities.Notifications;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ExamScheduler
+ * ---------------------------------------------------------
+ * Puts every exam of an {@link ExamProblem} in an exam slot so that no
+ * student or lecturer has two exams at once, using as few slots as it can:
+ * a colouring of the conflict graph, one colour per slot.
+ *
+ * The search starts with DSATUR: the module with the most differently
+ * slotted neighbours goes next, into the first slot none of them use.
+ * Every processor runs its own DSATUR with random tie-breaks, and the
+ * colouring with the fewest slots is kept. Tabu search then tries to do
+ * with one slot fewer: the exams of the last slot move to the slots where
+ * they clash least, and the clashes are moved away one exam at a time,
+ * never straight back, until none are left. Every processor runs its own
+ * tabu search, and the first to succeed sets the start for the next slot
+ * fewer. This stops at the lower bound, when a slot count cannot be
+ * reached or when the time budget is spent.
+ *
+ * Given a limit on slots that the exams do not fit, the same tabu search
+ * squeezes them in and minimises the people affected instead, and the
+ * {@link ExamSchedule} reports the students at risk.
+ *
+ * Responsibilities:
+ *  - Colour the conflict graph by parallel randomized DSATUR
+ *  - Remove slots one at a time by parallel tabu search
+ *  - Fit exams into a fixed number of slots with the fewest clashes
+ */
+public final class ExamScheduler {
+
+    public static final String OPTIONS = "[seconds=N] [threads=N] [slots=N] [" + InstitutionSpec.OPTIONS + "]";
+
+    // ---------------------- SCHEDULE ----------------------
+
+    /** DSATUR colourings each thread makes */
+    private static final int DSATUR_RUNS = 4;
+
+    /** Tabu moves per module without a better schedule before a search gives up */
+    private static final int TABU_MOVES = 20;
+
+    /** Least tabu moves without a better schedule, for small problems */
+    private static final int MIN_TABU_MOVES = 100_000;
+
+    /** Most clashing modules a tabu move looks at, starting at a random one */
+    private static final int CANDIDATES = 256;
+
+    /** Random part of how long a move stays tabu; conflicting modules add more */
+    private static final int TENURE = 10;
+
+    /** Moves between checks of the clock */
+    private static final int CLOCK_INTERVAL = 1 << 10;
+
+    private final int threads;
+    private final long budgetNanos;
+    private final long seed;
+
+    /**
+     * Creates a scheduler using every processor, with a fixed seed.
+     *
+     * @param budgetNanos longest a run may take
+     */
+    public ExamScheduler(long budgetNanos) {
+        this(Runtime.getRuntime().availableProcessors(), budgetNanos, 42);
+    }
+
+    /**
+     * @param threads     searches run side by side
+     * @param budgetNanos longest a run may take; the first DSATUR colouring always finishes
+     * @param seed        seed of the searches' random streams
+     */
+    public ExamScheduler(int threads, long budgetNanos, long seed) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        this.threads = threads;
+        this.budgetNanos = budgetNanos;
+        this.seed = seed;
+    }
+
+    /** Schedules the exams in as few slots as it can find */
+    public ExamSchedule schedule(ExamProblem problem) {
+        return schedule(problem, 0);
+    }
+
+    /**
+     * Schedules the exams in as few slots as it can find, but no more than a
+     * limit. If they do not fit, some exams clash, chosen to affect as few
+     * people as the search can find.
+     *
+     * @param maxSlots most slots to use, or 0 for no limit
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public ExamSchedule schedule(ExamProblem problem, int maxSlots) {
+        if (maxSlots < 0) {
+            throw new IllegalArgumentException("slots cannot be negative: " + maxSlots);
+        }
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        int count = problem.modules.length;
+        int[] slotOf = new int[count];
+        int slots = 0;
+        int dsaturSlots = 0;
+        int tabuRounds = 0;
+
+        if (count > 0) {
+            Search[] searches = new Search[threads];
+            for (int t = 0; t < threads; t++) {
+                searches[t] = new Search(problem);
+            }
+            ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "ucms-exams");
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                // Randomized DSATUR on every thread; run 0 always finishes
+                List<Callable<Void>> colourings = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    Search search = searches[t];
+                    int first = t;
+                    colourings.add(() -> {
+                        for (int run = first; run < DSATUR_RUNS * threads; run += threads) {
+                            if (run > 0 && System.nanoTime() - deadline >= 0) {
+                                break;
+                            }
+                            search.dsatur(new SplittableRandom(seed + run * 0x9E3779B97F4A7C15L), run);
+                        }
+                        return null;
+                    });
+                }
+                for (Future<Void> done : pool.invokeAll(colourings)) {
+                    done.get();
+                }
+                Search best = searches[0];
+                for (Search search : searches) {
+                    if (search.keptRun >= 0 && (best.keptRun < 0 || search.keptSlots < best.keptSlots
+                            || search.keptSlots == best.keptSlots && search.keptRun < best.keptRun)) {
+                        best = search;
+                    }
+                }
+                System.arraycopy(best.kept, 0, slotOf, 0, count);
+                slots = dsaturSlots = best.keptSlots;
+
+                // Tabu search for one slot fewer, until it fails
+                long moves = Math.max(MIN_TABU_MOVES, (long) TABU_MOVES * count);
+                int floor = problem.getLowerBound();
+                while (slots > floor && System.nanoTime() - deadline < 0) {
+                    int[] winner = tabu(pool, searches, slotOf, slots - 1, moves, deadline, tabuRounds++, true);
+                    if (winner == null) {
+                        break;
+                    }
+                    slotOf = winner;
+                    slots--;
+                }
+
+                // Squeeze into the limit, with the fewest people affected
+                if (maxSlots > 0 && slots > maxSlots) {
+                    slotOf = tabu(pool, searches, slotOf, maxSlots, moves, deadline, tabuRounds++, false);
+                    slots = maxSlots;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Exam search failed: " + e.getCause(), e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+        return new ExamSchedule(problem, slotOf, dsaturSlots, tabuRounds, System.nanoTime() - start);
+    }
+
+    /**
+     * Runs a tabu search in {@code slots} slots on every thread.
+     *
+     * @param clean true to stop at the first clash-free schedule and return
+     *              null if there is none; false to return the schedule
+     *              affecting the fewest people
+     */
+    private int[] tabu(ExecutorService pool, Search[] searches, int[] from, int slots, long moves, long deadline,
+                       int round, boolean clean) throws InterruptedException, ExecutionException {
+        AtomicBoolean solved = new AtomicBoolean();
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int t = 0; t < searches.length; t++) {
+            Search search = searches[t];
+            long searchSeed = (seed + round * 0x9E3779B97F4A7C15L) ^ (t + 1) * 0xBF58476D1CE4E5B9L;
+            tasks.add(() -> {
+                boolean found = search.tabu(from, slots, new SplittableRandom(searchSeed), moves, deadline,
+                        clean ? solved : new AtomicBoolean());
+                if (found) {
+                    solved.set(true);
+                }
+                return found;
+            });
+        }
+        List<Future<Boolean>> done = pool.invokeAll(tasks);
+        Search best = null;
+        for (int t = 0; t < searches.length; t++) {
+            boolean found = done.get(t).get();
+            if (clean ? found && best == null : best == null || searches[t].bestTotal < best.bestTotal) {
+                best = searches[t];
+            }
+        }
+        return best == null ? null : best.bestSlots.clone();
+    }
+
+    // ---------------------- SEARCH ----------------------
+
+    /**
+     * One thread's search: its best DSATUR colouring, and the slot of each
+     * module with, per module and slot, the people clashing with it there.
+     */
+    static final class Search {
+
+        private final ExamProblem problem;
+        private final int count;
+
+        // DSATUR
+        private final int words;
+        /** One row of {@code words} longs per module: slots its neighbours use */
+        private final long[] used;
+        private final int[] saturation;
+        private final int[] rank;
+        private final int[] byRank;
+        private final long[] heap;
+        private int heapSize;
+
+        /** Best DSATUR colouring of this thread, and its run, or -1 */
+        final int[] kept;
+        int keptSlots;
+        int keptRun = -1;
+
+        // Tabu search
+        private final int[] slotOf;
+        private int slots;
+        /** {@code clash[m * slots + s]}: people who would clash if module m were in slot s */
+        private int[] clash;
+        /** {@code tabu[m * slots + s]}: move at which module m may go back to slot s */
+        private int[] tabu;
+        private final int[] conflicting;
+        private final int[] position;
+        private int conflictCount;
+        private long total;
+
+        long bestTotal;
+        final int[] bestSlots;
+
+        Search(ExamProblem problem) {
+            this.problem = problem;
+            this.count = problem.modules.length;
+            this.words = (problem.getMaxDegree() + 1 + 63) >>> 6;
+            this.used = new long[count * words];
+            this.saturation = new int[count];
+            this.rank = new int[count];
+            this.byRank = new int[count];
+            this.heap = new long[count + problem.neighbours.length];
+            this.kept = new int[count];
+            this.slotOf = new int[count];
+            this.conflicting = new int[count];
+            this.position = new int[count];
+            this.bestSlots = new int[count];
+        }
+
+        // ---------------------- DSATUR ----------------------
+
+        /** Colours the graph once, and keeps the colouring if it uses fewer slots than this thread's best */
+        void dsatur(SplittableRandom random, int run) {
+            for (int m = 0; m < count; m++) {
+                rank[m] = m;
+            }
+            for (int i = count - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = rank[i];
+                rank[i] = rank[j];
+                rank[j] = swap;
+            }
+            for (int m = 0; m < count; m++) {
+                byRank[rank[m]] = m;
+            }
+            Arrays.fill(used, 0);
+            Arrays.fill(saturation, 0);
+            Arrays.fill(slotOf, -1);
+            heapSize = 0;
+            for (int m = 0; m < count; m++) {
+                push(key(m));
+            }
+
+            int colours = 0;
+            while (heapSize > 0) {
+                long top = pop();
+                int module = byRank[(int) (top & 0xFFFFFF)];
+                if (slotOf[module] >= 0 || (int) (top >>> 44) != Math.min(saturation[module], 0x7FFFF)) {
+                    continue; // Stale entry
+                }
+                int slot = 0;
+                int row = module * words;
+                while (slot >>> 6 < words && (used[row + (slot >>> 6)] & 1L << slot) != 0) {
+                    slot++;
+                }
+                slotOf[module] = slot;
+                colours = Math.max(colours, slot + 1);
+                for (int k = problem.offsets[module]; k < problem.offsets[module + 1]; k++) {
+                    int other = problem.neighbours[k];
+                    long bit = 1L << slot;
+                    int word = other * words + (slot >>> 6);
+                    if (slotOf[other] < 0 && (used[word] & bit) == 0) {
+                        used[word] |= bit;
+                        saturation[other]++;
+                        push(key(other));
+                    }
+                }
+            }
+            if (keptRun < 0 || colours < keptSlots) {
+                System.arraycopy(slotOf, 0, kept, 0, count);
+                keptSlots = colours;
+                keptRun = run;
+            }
+        }
+
+        /** @return the queue key of a module: saturation, then degree, then its random rank */
+        private long key(int module) {
+            long degree = Math.min(problem.offsets[module + 1] - problem.offsets[module], 0xFFFFF);
+            return (long) Math.min(saturation[module], 0x7FFFF) << 44 | degree << 24 | rank[module];
+        }
+
+        private void push(long key) {
+            int i = heapSize++;
+            while (i > 0 && heap[(i - 1) >>> 1] < key) {
+                heap[i] = heap[(i - 1) >>> 1];
+                i = (i - 1) >>> 1;
+            }
+            heap[i] = key;
+        }
+
+        private long pop() {
+            long top = heap[0];
+            long last = heap[--heapSize];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && heap[child + 1] > heap[child]) {
+                    child++;
+                }
+                if (heap[child] <= last) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            if (heapSize > 0) {
+                heap[i] = last;
+            }
+            return top;
+        }
+
+        // ---------------------- TABU SEARCH ----------------------
+
+        /**
+         * Starts from a schedule, moves the exams beyond the slot count to
+         * the slots where they clash least, then moves clashing exams until
+         * nothing clashes, {@code moves} moves pass without a better
+         * schedule, another search succeeds or the time is up. The best
+         * schedule found is left in {@link #bestSlots}.
+         *
+         * @return true if the best schedule has no clashes
+         */
+        boolean tabu(int[] from, int slots, SplittableRandom random, long moves, long deadline, AtomicBoolean stop) {
+            this.slots = slots;
+            if (clash == null || clash.length < count * slots) {
+                clash = new int[count * slots];
+                tabu = new int[count * slots];
+            }
+            Arrays.fill(clash, 0, count * slots, 0);
+            Arrays.fill(tabu, 0, count * slots, 0);
+            Arrays.fill(position, -1);
+            conflictCount = 0;
+            for (int m = 0; m < count; m++) {
+                slotOf[m] = from[m] < slots ? from[m] : -1;
+                if (slotOf[m] >= 0) {
+                    addClashes(m, slotOf[m], 1);
+                }
+            }
+            for (int m = 0; m < count; m++) {
+                if (slotOf[m] < 0) {
+                    slotOf[m] = leastClashing(m, random);
+                    addClashes(m, slotOf[m], 1);
+                }
+            }
+            total = 0;
+            for (int m = 0; m < count; m++) {
+                total += clash[m * slots + slotOf[m]];
+                updateConflicting(m);
+            }
+            total /= 2;
+            bestTotal = total;
+            boolean atBest = true;
+            int improved = 0;
+
+            for (int move = 0; move - improved < moves && total > 0 && slots > 1; move++) {
+                if ((move & (CLOCK_INTERVAL - 1)) == 0 && (stop.get() || System.nanoTime() - deadline >= 0)) {
+                    break;
+                }
+                int chosen = -1;
+                int target = -1;
+                long cheapest = Long.MAX_VALUE;
+                int ties = 0;
+                int first = random.nextInt(conflictCount);
+                for (int i = 0; i < Math.min(conflictCount, CANDIDATES); i++) {
+                    int module = conflicting[(first + i) % conflictCount];
+                    int row = module * slots;
+                    int here = clash[row + slotOf[module]];
+                    for (int slot = 0; slot < slots; slot++) {
+                        if (slot == slotOf[module]) {
+                            continue;
+                        }
+                        long delta = clash[row + slot] - here;
+                        // A tabu move is allowed only if it beats the best so far
+                        if (tabu[row + slot] > move && total + delta >= bestTotal) {
+                            continue;
+                        }
+                        if (delta < cheapest) {
+                            cheapest = delta;
+                            chosen = module;
+                            target = slot;
+                            ties = 1;
+                        } else if (delta == cheapest && random.nextInt(++ties) == 0) {
+                            chosen = module;
+                            target = slot;
+                        }
+                    }
+                }
+                if (chosen < 0) {
+                    // Every move is tabu: make a random one
+                    chosen = conflicting[random.nextInt(conflictCount)];
+                    target = (slotOf[chosen] + 1 + random.nextInt(slots - 1)) % slots;
+                    cheapest = clash[chosen * slots + target] - clash[chosen * slots + slotOf[chosen]];
+                }
+                if (atBest && cheapest >= 0) {
+                    // Leaving the best schedule: keep it
+                    System.arraycopy(slotOf, 0, bestSlots, 0, count);
+                    atBest = false;
+                }
+                int old = slotOf[chosen];
+                addClashes(chosen, old, -1);
+                slotOf[chosen] = target;
+                addClashes(chosen, target, 1);
+                updateConflicting(chosen);
+                total += cheapest;
+                tabu[chosen * slots + old] = move + 1 + random.nextInt(TENURE) + conflictCount * 6 / 10;
+                if (total < bestTotal) {
+                    bestTotal = total;
+                    atBest = true;
+                    improved = move;
+                }
+            }
+            if (atBest) {
+                System.arraycopy(slotOf, 0, bestSlots, 0, count);
+            }
+            return bestTotal == 0;
+        }
+
+        /** Adds (or with sign -1 takes away) a module in a slot to its neighbours' clashes, and updates which of them conflict */
+        private void addClashes(int module, int slot, int sign) {
+            for (int k = problem.offsets[module]; k < problem.offsets[module + 1]; k++) {
+                int other = problem.neighbours[k];
+                clash[other * slots + slot] += sign * problem.weights[k];
+                if (slotOf[other] == slot) {
+                    updateConflicting(other);
+                }
+            }
+        }
+
+        private void updateConflicting(int module) {
+            boolean now = slotOf[module] >= 0 && clash[module * slots + slotOf[module]] > 0;
+            if (now && position[module] < 0) {
+                position[module] = conflictCount;
+                conflicting[conflictCount++] = module;
+            } else if (!now && position[module] >= 0) {
+                int last = conflicting[--conflictCount];
+                conflicting[position[module]] = last;
+                position[last] = position[module];
+                position[module] = -1;
+            }
+        }
+
+        /** @return the slot where a module clashes with the fewest people; ties are broken at random */
+        private int leastClashing(int module, SplittableRandom random) {
+            int row = module * slots;
+            int choice = 0;
+            int ties = 0;
+            for (int slot = 0; slot < slots; slot++) {
+                if (clash[row + slot] < clash[row + choice]) {
+                    choice = slot;
+                    ties = 1;
+                } else if (clash[row + slot] == clash[row + choice] && random.nextInt(++ties) == 0) {
+                    choice = slot;
+                }
+            }
+            return choice;
+        }
+    }
+
+    // ---------------------- COMMAND LINE ----------------------
+
+    /**
+     * Command line entry point:
+     * {@code exams [seconds=N] [threads=N] [slots=N] [students=N courses=N ...]}.
+     *
+     * Generates an institution (by default 200,000 students and 1,250 courses
+     * of 8 modules, 10,000 exams) and schedules its exams in as few slots as
+     * it can. Then schedules them again in one slot fewer, or in
+     * {@code slots=N}, and reports the students at risk of a clash.
+     *
+     * @return process exit code, 1 if the first schedule has clashes
+     */
+    public static int run(String[] args) {
+        try {
+            double seconds = 30;
+            int threads = Runtime.getRuntime().availableProcessors();
+            int slots = 0;
+            List<String> options = new ArrayList<>(List.of("students=200000", "courses=1250", "modules=8", "lecturers=4000"));
+            for (int i = 1; i < args.length; i++) {
+                String arg = args[i];
+                String value = arg.substring(arg.indexOf('=') + 1);
+                if (arg.startsWith("seconds=")) {
+                    seconds = Double.parseDouble(value);
+                } else if (arg.startsWith("threads=")) {
+                    threads = Integer.parseInt(value);
+                } else if (arg.startsWith("slots=")) {
+                    slots = Integer.parseInt(value);
+                } else {
+                    options.add(arg);
+                }
+            }
+            InstitutionSpec spec = InstitutionSpec.parse(options);
+            int limit = slots;
+
+            // Keep the generated users out of the real audit trail and ID files, and off the console
+            if (System.getProperty("ucms.audit.dir") == null || System.getProperty("ucms.ids.dir") == null) {
+                String scratch = Files.createTempDirectory("ucms-exams").toString();
+                System.setProperty("ucms.audit.dir", System.getProperty("ucms.audit.dir", scratch));
+                System.setProperty("ucms.ids.dir", System.getProperty("ucms.ids.dir", scratch));
+            }
+            Notifications.setDefault(NotificationSink.NONE);
+            Admin admin = new Admin("Exams", "Admin", "exams.admin@ucms.ie",
+                    "Exams-Password-1", "", "0800000000");
+            ExamScheduler scheduler = new ExamScheduler(threads, Math.round(seconds * 1e9), spec.seed());
+            boolean[] clean = {true};
+
+            AccessControl.runAs(admin, () -> {
+                new InstitutionGenerator(spec).populate(admin);
+                long compiling = System.nanoTime();
+                ExamProblem problem = ExamProblem.fromSystem();
+                System.out.printf("Scheduling %,d exams of %,d students (%,d conflicts) with %d threads; graph built in %.2f s...%n",
+                        problem.getModuleCount(), problem.getStudentCount(), problem.getConflictCount(),
+                        scheduler.threads, (System.nanoTime() - compiling) / 1e9);
+                ExamSchedule schedule = scheduler.schedule(problem);
+                schedule.publish();
+                schedule.print(System.out);
+                clean[0] = schedule.isClean();
+
+                int fewer = limit > 0 ? limit : Math.max(1, schedule.getSlotCount() - 1);
+                System.out.println();
+                System.out.println("In " + fewer + " slots:");
+                scheduler.schedule(problem, fewer).print(System.out);
+            });
+            return clean[0] ? 0 : 1;
+        } catch (IllegalArgumentException e) {
+            System.out.println("✗ " + e.getMessage());
+            System.out.println("Usage: exams " + OPTIONS);
+        } catch (IOException e) {
+            System.out.println("✗ Could not create a scratch directory: " + e.getMessage());
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,83 @@
+package Planning;
+
+import Security.AccessControl;
+import Security.Permission;
+import Utilities.SharedState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Room
+ * ---------------------------------------------------------
+ * A teaching room the {@link Timetabler} can place module sessions in.
+ *
+ * The rooms of the running system are kept in {@link #roomList}, which is
+ * guarded by the SharedState lock like the other containers.
+ *
+ * Responsibilities:
+ *  - Store the room's name and how many students it seats
+ *  - Keep the system's rooms
+ */
+public final class Room {
+
+    /** Rooms of the running system; guarded by the SharedState lock */
+    public static final List<Room> roomList = new ArrayList<>();
+
+    private final String name;
+    private final int capacity;
+
+    /**
+     * @param name     unique name, e.g. "B1.04"
+     * @param capacity seats in the room
+     * @throws IllegalArgumentException if the name is blank or the capacity not positive
+     */
+    public Room(String name, int capacity) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Room name cannot be blank");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Room capacity must be at least 1: " + capacity);
+        }
+        this.name = name;
+        this.capacity = capacity;
+    }
+
+    public String getName() { return name; }
+    public int getCapacity() { return capacity; }
+
+    @Override
+    public String toString() {
+        return name + " (" + capacity + " seats)";
+    }
+
+    // ---------------------- REGISTRY ----------------------
+
+    /**
+     * Adds a room to the system.
+     *
+     * @throws IllegalArgumentException if a room of that name exists
+     * @throws SecurityException        if the acting user may not manage courses
+     */
+    public static void add(Room room) {
+        AccessControl.require(Permission.MANAGE_COURSES);
+        SharedState.update(() -> {
+            if (find(room.getName()) != null) {
+                throw new IllegalArgumentException("Room " + room.getName() + " already exists");
+            }
+            roomList.add(room);
+        });
+    }
+
+    /** @return the room of that name, ignoring case, or null */
+    public static Room find(String name) {
+        return SharedState.read(() -> {
+            for (Room room : roomList) {
+                if (room.getName().equalsIgnoreCase(name)) {
+                    return room;
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,213 @@
+package Planning;
+
+import CourseManagement.Module;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timetable
+ * ---------------------------------------------------------
+ * A time and a room for each session of a {@link TimetableProblem}, as
+ * found by the {@link Timetabler}, with figures on how good it is.
+ *
+ * The timetable in use is {@link #published()}. Later changes, such as a
+ * module given to another lecturer or students enrolling, are worked into
+ * it with {@link Timetabler#repair}, which moves as few sessions as it can.
+ *
+ * Responsibilities:
+ *  - Count clashes, unseated sessions and modules meeting twice in a day
+ *  - List a module's sessions
+ *  - Hold the published timetable
+ */
+public final class Timetable {
+
+    private static volatile Timetable published;
+
+    private final TimetableProblem problem;
+    private final int[] timeOf;
+    private final int[] roomOf;
+    private final int restarts;
+    private final long elapsedNanos;
+    private final int moved;
+
+    private int clashingSessions;
+    private int studentClashes;
+    private int lecturerClashes;
+    private int unseated;
+    private int sameDay;
+
+    /** Index of each module in the problem, to look up its sessions */
+    private final Map<Module, Integer> moduleIndex = new IdentityHashMap<>();
+
+    Timetable(TimetableProblem problem, int[] timeOf, int[] roomOf, int moved, int restarts, long elapsedNanos) {
+        this.problem = problem;
+        this.timeOf = timeOf;
+        this.roomOf = roomOf;
+        this.moved = moved;
+        this.restarts = restarts;
+        this.elapsedNanos = elapsedNanos;
+        for (int m = 0; m < problem.modules.length; m++) {
+            moduleIndex.put(problem.modules[m], m);
+        }
+        measure();
+    }
+
+    private void measure() {
+        // Sessions by time, to compare each session only with those at the same time
+        int[] first = new int[problem.getTimeCount() + 1];
+        for (int time : timeOf) {
+            first[time + 1]++;
+        }
+        for (int t = 0; t < problem.getTimeCount(); t++) {
+            first[t + 1] += first[t];
+        }
+        int[] next = first.clone();
+        int[] byTime = new int[timeOf.length];
+        for (int session = 0; session < timeOf.length; session++) {
+            byTime[next[timeOf[session]]++] = session;
+        }
+        boolean[] clashing = new boolean[timeOf.length];
+        for (int t = 0; t < problem.getTimeCount(); t++) {
+            for (int i = first[t]; i < first[t + 1]; i++) {
+                int a = byTime[i];
+                int moduleA = problem.sessionModule[a];
+                for (int j = i + 1; j < first[t + 1]; j++) {
+                    int b = byTime[j];
+                    int moduleB = problem.sessionModule[b];
+                    if (moduleA == moduleB || problem.clash(moduleA, moduleB)) {
+                        clashing[a] = true;
+                        clashing[b] = true;
+                        if (moduleA == moduleB || problem.course[moduleA] == problem.course[moduleB]
+                                && problem.course[moduleA] >= 0 && problem.size[moduleA] > 0) {
+                            studentClashes++;
+                        }
+                        if (moduleA != moduleB && problem.lecturer[moduleA] == problem.lecturer[moduleB]
+                                && problem.lecturer[moduleA] >= 0) {
+                            lecturerClashes++;
+                        }
+                    }
+                }
+            }
+        }
+        for (int session = 0; session < timeOf.length; session++) {
+            if (clashing[session]) {
+                clashingSessions++;
+            }
+            if (roomOf[session] < 0) {
+                unseated++;
+            }
+        }
+        for (int m = 0; m < problem.modules.length; m++) {
+            for (int a = problem.firstSession[m]; a < problem.firstSession[m + 1]; a++) {
+                for (int b = a + 1; b < problem.firstSession[m + 1]; b++) {
+                    if (problem.dayOf(timeOf[a]) == problem.dayOf(timeOf[b])) {
+                        sameDay++;
+                    }
+                }
+            }
+        }
+    }
+
+    // ---------------------- FIGURES ----------------------
+
+    public int getClashingSessions() { return clashingSessions; }
+    public int getStudentClashes() { return studentClashes; }
+    public int getLecturerClashes() { return lecturerClashes; }
+    public int getUnseatedSessions() { return unseated; }
+    public int getSameDayPairs() { return sameDay; }
+    public int getMovedSessions() { return moved; }
+    public int getRestarts() { return restarts; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public TimetableProblem getProblem() { return problem; }
+
+    /** @return true if nothing clashes and every session has a room */
+    public boolean isClean() {
+        return clashingSessions == 0 && unseated == 0;
+    }
+
+    /** @return a module's sessions, e.g. "S1 Tue 11:00 in B1.04"; empty if it is not in this timetable */
+    public List<String> sessionsOf(Module module) {
+        List<String> sessions = new ArrayList<>();
+        Integer m = moduleIndex.get(module);
+        if (m != null) {
+            for (int session = problem.firstSession[m]; session < problem.firstSession[m + 1]; session++) {
+                sessions.add(problem.describeTime(timeOf[session]) + " in "
+                        + (roomOf[session] < 0 ? "no room" : problem.rooms[roomOf[session]].getName()));
+            }
+        }
+        return sessions;
+    }
+
+    /**
+     * Where this timetable put each session of another problem's modules,
+     * for repairing it into that problem: -1 for sessions it does not have,
+     * or in a semester that has changed.
+     *
+     * @param times receives the time of each of the other problem's sessions
+     * @param rooms receives the room of each of the other problem's sessions, as its room index
+     */
+    void placeInto(TimetableProblem next, int[] times, int[] rooms) {
+        Map<Room, Integer> roomIndex = new IdentityHashMap<>();
+        for (int r = 0; r < next.rooms.length; r++) {
+            roomIndex.put(next.rooms[r], r);
+        }
+        for (int m = 0; m < next.modules.length; m++) {
+            Integer old = moduleIndex.get(next.modules[m]);
+            for (int k = 0; k < next.firstSession[m + 1] - next.firstSession[m]; k++) {
+                int session = next.firstSession[m] + k;
+                times[session] = -1;
+                rooms[session] = -1;
+                int before = old == null ? -1 : problem.firstSession[old] + k;
+                if (before < 0 || before >= problem.firstSession[old + 1]) {
+                    continue;
+                }
+                int slot = timeOf[before] % problem.week;
+                int semesterThen = problem.semesters[timeOf[before] / problem.week];
+                int semesterNow = next.semesters[next.semester[m]];
+                if (semesterThen != semesterNow || next.periods != problem.periods || slot >= next.week) {
+                    continue;
+                }
+                times[session] = next.semester[m] * next.week + slot;
+                Integer room = roomOf[before] < 0 ? null : roomIndex.get(problem.rooms[roomOf[before]]);
+                rooms[session] = room == null ? -1 : room;
+            }
+        }
+    }
+
+    // ---------------------- PUBLISHING ----------------------
+
+    /** @return the timetable in use, or null if none has been made */
+    public static Timetable published() {
+        return published;
+    }
+
+    /** Makes this the timetable in use */
+    public void publish() {
+        published = this;
+    }
+
+    // ---------------------- SUMMARY ----------------------
+
+    /** Prints the timetable's figures */
+    public void print(PrintStream out) {
+        out.printf("  %-22s %,d sessions of %,d modules in %,d rooms, %,d slots%n", "Placed",
+                timeOf.length, problem.modules.length, problem.rooms.length, problem.getTimeCount());
+        out.printf("  %-22s %,d (%,d student, %,d lecturer)%n", "Clashing sessions",
+                clashingSessions, studentClashes, lecturerClashes);
+        out.printf("  %-22s %,d%n", "Without a room", unseated);
+        out.printf("  %-22s %,d%n", "Twice in one day", sameDay);
+        out.printf("  %-22s %,d%n", "Moved", moved);
+        out.printf("  %-22s %,d in %.2f s%n", "Restarts", restarts, elapsedNanos / 1e9);
+        if (isClean()) {
+            out.println("✓ No clashes and every session has a room");
+        } else {
+            int unseatable = problem.getUnseatableCount();
+            out.println("✗ " + clashingSessions + " sessions clash, " + unseated + " without a room"
+                    + (unseatable > 0 ? " (" + unseatable + " too big for any room)" : ""));
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package Planning;
+
+import CourseManagement.Course;
+import CourseManagement.CourseManagementModule;
+import CourseManagement.Module;
+import UserManagement.Lecturer;
+import Utilities.SharedState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TimetableProblem
+ * ---------------------------------------------------------
+ * One year's module sessions to place in weekly time slots and rooms,
+ * compiled into arrays for the {@link Timetabler}.
+ *
+ * Each module meets once a week per 5 credits (at least once). A week has
+ * {@code days} days of {@code periods} one-hour periods from 09:00, and
+ * each semester has its own week, so a time is a semester and a slot.
+ *
+ * Two modules clash when they are taught in the same semester and either
+ * belong to the same course with students enrolled, whose students take
+ * all of the course's modules, or are taught by the same lecturer. Clashes
+ * are kept as a bitset matrix, one row of bits per module, so counting a
+ * module's clashes in a time slot is an AND and a bit count per 64 modules.
+ *
+ * A session needs a room with a seat for every student of the course.
+ * Rooms are sorted by capacity, so the smallest room that fits is found first.
+ *
+ * Responsibilities:
+ *  - Number the sessions and times
+ *  - Build the clash matrix from enrollments and module assignments
+ *  - Count the sessions no room can seat
+ */
+public final class TimetableProblem {
+
+    private static final String[] DAY_NAMES = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+
+    /** Hour of the first period of the day */
+    private static final int FIRST_HOUR = 9;
+
+    final Module[] modules;
+    final Room[] rooms;
+    final int days;
+    final int periods;
+    /** Slots in a week */
+    final int week;
+    /** Semester numbers in use, ascending; times of semester index s are {@code s * week} onwards */
+    final int[] semesters;
+
+    final int[] semester;
+    /** Students in each module's course */
+    final int[] size;
+    /** Course and lecturer of each module, by index, or -1 */
+    final int[] course;
+    final int[] lecturer;
+    /** First room that seats each module, or {@code rooms.length} */
+    final int[] firstRoom;
+
+    /** Sessions of module m are {@code firstSession[m]} to {@code firstSession[m + 1] - 1} */
+    final int[] firstSession;
+    final int[] sessionModule;
+
+    /** One row of {@code words} longs per module; bit n is set when modules m and n clash */
+    final long[] clashes;
+    final int words;
+
+    /**
+     * Compiles a problem.
+     *
+     * @param modules the modules to timetable
+     * @param courses course of each module; modules without one only clash through their lecturer
+     * @param rooms   the rooms available
+     * @param days    teaching days per week, 1 to 7
+     * @param periods one-hour periods per day, 1 to 15
+     * @throws IllegalArgumentException if days or periods are out of range
+     */
+    public TimetableProblem(List<Module> modules, Map<Module, Course> courses, List<Room> rooms,
+                            int days, int periods) {
+        if (days < 1 || days > DAY_NAMES.length || periods < 1 || periods > 24 - FIRST_HOUR) {
+            throw new IllegalArgumentException("Need 1 to 7 days and 1 to 15 periods: " + days + " x " + periods);
+        }
+        this.modules = modules.toArray(new Module[0]);
+        this.rooms = rooms.toArray(new Room[0]);
+        Arrays.sort(this.rooms, Comparator.comparingInt(Room::getCapacity));
+        this.days = days;
+        this.periods = periods;
+        this.week = days * periods;
+        this.semesters = modules.stream().mapToInt(Module::getSemester).distinct().sorted().toArray();
+
+        int count = this.modules.length;
+        this.words = (count + 63) >>> 6;
+        this.semester = new int[count];
+        this.size = new int[count];
+        this.course = new int[count];
+        this.lecturer = new int[count];
+        this.firstRoom = new int[count];
+        this.firstSession = new int[count + 1];
+        this.clashes = new long[count * words];
+
+        Map<Course, Integer> courseIndex = new IdentityHashMap<>();
+        Map<Lecturer, Integer> lecturerIndex = new IdentityHashMap<>();
+        Map<Course, List<Integer>> byCourse = new IdentityHashMap<>();
+        Map<Lecturer, List<Integer>> byLecturer = new IdentityHashMap<>();
+        for (int m = 0; m < count; m++) {
+            Module module = this.modules[m];
+            Course owner = courses.get(module);
+            Lecturer teacher = module.getLecturer();
+            semester[m] = Arrays.binarySearch(semesters, module.getSemester());
+            size[m] = owner == null ? 0 : owner.getStudents().size();
+            course[m] = owner == null ? -1 : courseIndex.computeIfAbsent(owner, key -> courseIndex.size());
+            lecturer[m] = teacher == null ? -1 : lecturerIndex.computeIfAbsent(teacher, key -> lecturerIndex.size());
+            firstRoom[m] = firstRoom(size[m]);
+            firstSession[m + 1] = firstSession[m] + sessionsOf(module);
+            if (owner != null && size[m] > 0) {
+                byCourse.computeIfAbsent(owner, key -> new ArrayList<>()).add(m);
+            }
+            if (teacher != null) {
+                byLecturer.computeIfAbsent(teacher, key -> new ArrayList<>()).add(m);
+            }
+        }
+        byCourse.values().forEach(this::clash);
+        byLecturer.values().forEach(this::clash);
+
+        this.sessionModule = new int[firstSession[count]];
+        for (int m = 0; m < count; m++) {
+            Arrays.fill(sessionModule, firstSession[m], firstSession[m + 1], m);
+        }
+    }
+
+    /**
+     * Compiles the modules of every course, the students enrolled and the
+     * lecturers assigned, and the system's rooms, under the SharedState read lock.
+     */
+    public static TimetableProblem fromSystem(int days, int periods) {
+        return SharedState.read(() -> {
+            List<Module> modules = new ArrayList<>();
+            Map<Module, Course> courses = new IdentityHashMap<>();
+            for (Course course : CourseManagementModule.courseList) {
+                for (Module module : course.getModules()) {
+                    modules.add(module);
+                    courses.put(module, course);
+                }
+            }
+            return new TimetableProblem(modules, courses, Room.roomList, days, periods);
+        });
+    }
+
+    /** @return weekly sessions of a module: one per 5 credits, at least one */
+    public static int sessionsOf(Module module) {
+        return Math.max(1, module.getCredits() / 5);
+    }
+
+    /** Marks every pair of modules in a group that share a semester as clashing */
+    private void clash(List<Integer> group) {
+        for (int i = 0; i < group.size(); i++) {
+            int a = group.get(i);
+            for (int j = i + 1; j < group.size(); j++) {
+                int b = group.get(j);
+                if (semester[a] == semester[b]) {
+                    clashes[a * words + (b >>> 6)] |= 1L << b;
+                    clashes[b * words + (a >>> 6)] |= 1L << a;
+                }
+            }
+        }
+    }
+
+    private int firstRoom(int students) {
+        int low = 0;
+        int high = rooms.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (rooms[middle].getCapacity() < students) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // ---------------------- QUERIES ----------------------
+
+    public int getModuleCount() { return modules.length; }
+    public int getSessionCount() { return sessionModule.length; }
+    public int getRoomCount() { return rooms.length; }
+    public int getDays() { return days; }
+    public int getPeriods() { return periods; }
+
+    /** @return time slots across all semesters */
+    public int getTimeCount() { return semesters.length * week; }
+
+    /** @return pairs of modules that clash */
+    public long getClashPairCount() {
+        long bits = 0;
+        for (long row : clashes) {
+            bits += Long.bitCount(row);
+        }
+        return bits / 2;
+    }
+
+    /** @return sessions too big for every room, which no timetable can seat */
+    public int getUnseatableCount() {
+        int unseatable = 0;
+        for (int session = 0; session < sessionModule.length; session++) {
+            if (firstRoom[sessionModule[session]] == rooms.length) {
+                unseatable++;
+            }
+        }
+        return unseatable;
+    }
+
+    boolean clash(int a, int b) {
+        return (clashes[a * words + (b >>> 6)] & 1L << b) != 0;
+    }
+
+    /** @return the day of a time, counted across semesters */
+    int dayOf(int time) {
+        return time / periods;
+    }
+
+    /** @return a time as text, e.g. "S1 Tue 11:00" */
+    public String describeTime(int time) {
+        int slot = time % week;
+        return "S" + semesters[time / week] + " " + DAY_NAMES[slot / periods] + " "
+                + String.format("%02d:00", FIRST_HOUR + slot % periods);
+    }
+}
@@ -0,0 +1,679 @@
+package Planning;
+
+import CourseManagement.Course;
+import CourseManagement.CourseManagementModule;
+import CourseManagement.Module;
+import CourseManagement.ModuleManagement;
+import Generation.InstitutionGenerator;
+import Generation.InstitutionSpec;
+import Security.AccessControl;
+import UserManagement.Admin;
+import UserManagement.Lecturer;
+import UserManagement.LecturerManagementModule;
+import Utilities.NotificationSink;
+import Utilities.Notifications;
+import Utilities.SharedState;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Timetabler
+ * ---------------------------------------------------------
+ * Places every session of a {@link TimetableProblem} in a time slot and a
+ * room so that no student or lecturer has two sessions at once, and no
+ * module meets twice in one day where that can be avoided.
+ *
+ * Each attempt places the sessions greedily, the modules with the most
+ * clashes first, each in its cheapest slot with the smallest free room
+ * that seats it. It then repairs by min-conflicts: every session still
+ * clashing or without a room moves to its cheapest slot, with a little
+ * random noise, round after round until none is left or the rounds stop
+ * helping. A final pass spreads modules over the week.
+ *
+ * Attempts run on every core and restart with a new random stream until
+ * one leaves nothing clashing or the time budget is spent. The best
+ * timetable of all attempts is kept.
+ *
+ * {@link #repair} works late changes, such as a module given to another
+ * lecturer, a new module or a room taken away, into an existing timetable.
+ * It starts from where each session was, and moving a session costs a
+ * little, so only clashing sessions and the few that make room for them move.
+ *
+ * Responsibilities:
+ *  - Place sessions greedily, most constrained first
+ *  - Repair clashes by min-conflicts, restarting in parallel
+ *  - Repair an existing timetable after changes
+ */
+public final class Timetabler {
+
+    public static final String OPTIONS = "[seconds=N] [threads=N] [days=N] [periods=N] [" + InstitutionSpec.OPTIONS + "]";
+
+    // ---------------------- SCORING ----------------------
+
+    /** Cost of each session clashing with a session in the same slot */
+    static final long CLASH = 1_000;
+
+    /** Cost of a session without a room */
+    static final long UNSEATED = 1_000;
+
+    /** Cost of each other session of the same module on the same day */
+    static final long SAME_DAY = 10;
+
+    /** Cost of moving a session from where it was, when repairing */
+    static final long MOVED = 3;
+
+    // ---------------------- SCHEDULE ----------------------
+
+    /** Chance that a clashing session moves to a random slot instead of the cheapest */
+    private static final double NOISE = 0.05;
+
+    /** Min-conflicts rounds without fewer violations before an attempt gives up */
+    private static final int STALL_ROUNDS = 40;
+
+    private static final int SPREAD_ROUNDS = 10;
+
+    private final int threads;
+    private final long budgetNanos;
+    private final long seed;
+
+    /**
+     * Creates a timetabler using every processor, with a fixed seed.
+     *
+     * @param budgetNanos longest a run may take
+     */
+    public Timetabler(long budgetNanos) {
+        this(Runtime.getRuntime().availableProcessors(), budgetNanos, 42);
+    }
+
+    /**
+     * @param threads     attempts run side by side
+     * @param budgetNanos longest a run may take; the first attempt always finishes
+     * @param seed        seed of the attempts' random streams
+     */
+    public Timetabler(int threads, long budgetNanos, long seed) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        this.threads = threads;
+        this.budgetNanos = budgetNanos;
+        this.seed = seed;
+    }
+
+    /** Makes a timetable from scratch */
+    public Timetable solve(TimetableProblem problem) {
+        return search(problem, null, null);
+    }
+
+    /**
+     * Works changes into an earlier timetable, moving as few sessions as it can.
+     *
+     * @param problem  the problem as it is now
+     * @param previous a timetable of the problem as it was
+     */
+    public Timetable repair(TimetableProblem problem, Timetable previous) {
+        int[] times = new int[problem.getSessionCount()];
+        int[] rooms = new int[problem.getSessionCount()];
+        previous.placeInto(problem, times, rooms);
+        return search(problem, times, rooms);
+    }
+
+    private Timetable search(TimetableProblem problem, int[] startTimes, int[] startRooms) {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        int unseatable = problem.getUnseatableCount();
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicBoolean solved = new AtomicBoolean();
+        Search[] searches = new Search[threads];
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Search search = new Search(problem, startTimes, startRooms);
+            searches[t] = search;
+            tasks.add(() -> {
+                while (true) {
+                    int attempt = next.getAndIncrement();
+                    if (attempt > 0 && (solved.get() || System.nanoTime() - deadline >= 0)) {
+                        return null;
+                    }
+                    search.attempt(new SplittableRandom(seed + attempt * 0x9E3779B97F4A7C15L), attempt, deadline);
+                    attempts.incrementAndGet();
+                    if (search.bestViolations <= unseatable) {
+                        solved.set(true);
+                    }
+                }
+            });
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "ucms-timetable");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (var done : pool.invokeAll(tasks)) {
+                done.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Timetable search failed: " + e.getCause(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Search best = null;
+        for (Search search : searches) {
+            if (search.hasKept && (best == null || search.isBetterThan(best))) {
+                best = search;
+            }
+        }
+        if (best == null) {
+            // Interrupted before any attempt finished
+            best = searches[0];
+            best.keep(-1);
+        }
+        int moved = 0;
+        if (startTimes != null) {
+            for (int session = 0; session < startTimes.length; session++) {
+                if (startTimes[session] >= 0 && best.keptTimes[session] != startTimes[session]) {
+                    moved++;
+                }
+            }
+        }
+        return new Timetable(problem, best.keptTimes, best.keptRooms, moved, attempts.get(), System.nanoTime() - start);
+    }
+
+    // ---------------------- SEARCH ----------------------
+
+    /**
+     * One thread's attempts: the slot and room of each session, a bitset per
+     * slot of the modules meeting in it and another of the rooms in use, and
+     * the best timetable the thread has found.
+     */
+    static final class Search {
+
+        private final TimetableProblem problem;
+        private final int[] startTimes;
+        private final int[] startRooms;
+        private final long moved;
+
+        private final int[] timeOf;
+        private final int[] roomOf;
+        /** One row of {@code problem.words} longs per time: modules with a session then */
+        private final long[] present;
+        /** One row of {@code roomWords} longs per time: rooms in use then */
+        private final long[] busy;
+        private final int roomWords;
+        private final int[] bad;
+
+        private SplittableRandom random;
+
+        /** Fewest violations in the current attempt, and where every session was then */
+        int bestViolations;
+        private final int[] bestTimes;
+        private final int[] bestRooms;
+
+        /** The best attempt so far, by violations, then cost, then attempt number */
+        boolean hasKept;
+        int keptViolations;
+        long keptCost;
+        int keptAttempt;
+        final int[] keptTimes;
+        final int[] keptRooms;
+
+        Search(TimetableProblem problem, int[] startTimes, int[] startRooms) {
+            this.problem = problem;
+            this.startTimes = startTimes;
+            this.startRooms = startRooms;
+            this.moved = startTimes == null ? 0 : MOVED;
+            int sessions = problem.getSessionCount();
+            timeOf = new int[sessions];
+            roomOf = new int[sessions];
+            present = new long[problem.getTimeCount() * problem.words];
+            roomWords = (problem.rooms.length + 63) >>> 6;
+            busy = new long[problem.getTimeCount() * roomWords];
+            bad = new int[sessions];
+            bestTimes = new int[sessions];
+            bestRooms = new int[sessions];
+            keptTimes = new int[sessions];
+            keptRooms = new int[sessions];
+        }
+
+        /** Runs one attempt and keeps it if it beats the thread's best */
+        void attempt(SplittableRandom random, int attempt, long deadline) {
+            this.random = random;
+            Arrays.fill(timeOf, -1);
+            Arrays.fill(roomOf, -1);
+            Arrays.fill(present, 0);
+            Arrays.fill(busy, 0);
+            place();
+            resolve(deadline);
+            spread();
+            int violationsNow = countViolations();
+            long costNow = cost();
+            if (!hasKept || violationsNow < keptViolations || violationsNow == keptViolations && costNow < keptCost) {
+                keep(attempt);
+            }
+        }
+
+        void keep(int attempt) {
+            System.arraycopy(timeOf, 0, keptTimes, 0, timeOf.length);
+            System.arraycopy(roomOf, 0, keptRooms, 0, roomOf.length);
+            keptViolations = countViolations();
+            keptCost = cost();
+            keptAttempt = attempt;
+            hasKept = true;
+        }
+
+        boolean isBetterThan(Search other) {
+            if (keptViolations != other.keptViolations) {
+                return keptViolations < other.keptViolations;
+            }
+            if (keptCost != other.keptCost) {
+                return keptCost < other.keptCost;
+            }
+            return keptAttempt < other.keptAttempt;
+        }
+
+        // ---------------------- PHASES ----------------------
+
+        /**
+         * Puts sessions back where they were, when repairing, and the rest in
+         * their cheapest slots, modules with the most clashes first.
+         */
+        private void place() {
+            int sessions = timeOf.length;
+            if (startTimes != null) {
+                for (int session = 0; session < sessions; session++) {
+                    if (startTimes[session] >= 0) {
+                        put(session, startTimes[session], startRooms[session]);
+                    }
+                }
+            }
+            Integer[] order = new Integer[sessions];
+            long[] rank = new long[sessions];
+            int open = 0;
+            for (int session = 0; session < sessions; session++) {
+                if (timeOf[session] < 0) {
+                    int module = problem.sessionModule[session];
+                    int degree = 0;
+                    for (int w = 0; w < problem.words; w++) {
+                        degree += Long.bitCount(problem.clashes[module * problem.words + w]);
+                    }
+                    // Most clashes first, then biggest, ties in random order
+                    rank[session] = -((long) degree << 40 | (long) problem.size[module] << 20 | random.nextInt(1 << 20));
+                    order[open++] = session;
+                }
+            }
+            Arrays.sort(order, 0, open, (a, b) -> Long.compare(rank[a], rank[b]));
+            for (int i = 0; i < open; i++) {
+                put(order[i], cheapestTime(order[i]), -1);
+            }
+        }
+
+        /**
+         * Moves clashing and unseated sessions to their cheapest slots until
+         * none are left, the rounds stop helping or the time is up, and goes
+         * back to the round with the fewest violations. Counting violations
+         * rather than bad sessions keeps three sessions piled into one slot
+         * from looking better than two clashing pairs in two slots.
+         */
+        private void resolve(long deadline) {
+            int unseatable = problem.getUnseatableCount();
+            bestViolations = Integer.MAX_VALUE;
+            int stall = 0;
+            while (true) {
+                int count = 0;
+                int violations = 0;
+                for (int session = 0; session < timeOf.length; session++) {
+                    int here = violationsOf(session);
+                    if (here > 0) {
+                        bad[count++] = session;
+                        violations += here;
+                    }
+                }
+                if (violations < bestViolations) {
+                    bestViolations = violations;
+                    System.arraycopy(timeOf, 0, bestTimes, 0, timeOf.length);
+                    System.arraycopy(roomOf, 0, bestRooms, 0, roomOf.length);
+                    stall = 0;
+                } else if (++stall >= STALL_ROUNDS) {
+                    break;
+                }
+                if (violations <= unseatable || System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+                for (int i = count - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    int swap = bad[i];
+                    bad[i] = bad[j];
+                    bad[j] = swap;
+                }
+                for (int i = 0; i < count; i++) {
+                    int session = bad[i];
+                    if (isBad(session)) {
+                        int time = random.nextDouble() < NOISE ? randomTime(session) : cheapestTime(session);
+                        move(session, time, -1);
+                    }
+                }
+            }
+            restore();
+        }
+
+        /** Moves sessions that share a day with their module, or have left their old slot, where that is cheaper */
+        private void spread() {
+            for (int round = 0; round < SPREAD_ROUNDS; round++) {
+                boolean improved = false;
+                for (int session = 0; session < timeOf.length; session++) {
+                    int time = timeOf[session];
+                    boolean displaced = startTimes != null && startTimes[session] >= 0 && time != startTimes[session];
+                    if (!displaced && sameDay(session, time) == 0) {
+                        continue;
+                    }
+                    int cheapest = cheapestTime(session);
+                    if (cheapest != time && cost(session, cheapest) < cost(session, time)) {
+                        move(session, cheapest, -1);
+                        improved = true;
+                    }
+                }
+                if (!improved) {
+                    break;
+                }
+            }
+        }
+
+        private void restore() {
+            for (int session = 0; session < timeOf.length; session++) {
+                remove(session);
+            }
+            for (int session = 0; session < timeOf.length; session++) {
+                put(session, bestTimes[session], bestRooms[session]);
+            }
+        }
+
+        // ---------------------- COSTS ----------------------
+
+        /** @return sessions of other modules clashing with the session's module at a time, plus its own other sessions then */
+        private int clashesAt(int session, int time) {
+            int module = problem.sessionModule[session];
+            int row = module * problem.words;
+            int column = time * problem.words;
+            int clashes = 0;
+            for (int w = 0; w < problem.words; w++) {
+                clashes += Long.bitCount(problem.clashes[row + w] & present[column + w]);
+            }
+            for (int other = problem.firstSession[module]; other < problem.firstSession[module + 1]; other++) {
+                if (other != session && timeOf[other] == time) {
+                    clashes++;
+                }
+            }
+            return clashes;
+        }
+
+        /** @return other sessions of the session's module on the same day as a time */
+        private int sameDay(int session, int time) {
+            int module = problem.sessionModule[session];
+            int day = problem.dayOf(time);
+            int count = 0;
+            for (int other = problem.firstSession[module]; other < problem.firstSession[module + 1]; other++) {
+                if (other != session && timeOf[other] >= 0 && problem.dayOf(timeOf[other]) == day) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /** @return the cost of the session at a time, with everything else where it is */
+        private long cost(int session, int time) {
+            boolean seated = time == timeOf[session] ? roomOf[session] >= 0
+                    : freeRoom(time, problem.firstRoom[problem.sessionModule[session]]) >= 0;
+            boolean displaced = startTimes != null && startTimes[session] >= 0 && time != startTimes[session];
+            return clashesAt(session, time) * CLASH
+                    + (seated ? 0 : UNSEATED)
+                    + sameDay(session, time) * SAME_DAY
+                    + (displaced ? moved : 0);
+        }
+
+        private boolean isBad(int session) {
+            return roomOf[session] < 0 || clashesAt(session, timeOf[session]) > 0;
+        }
+
+        /** @return the session's clashes, plus one if it has no room */
+        private int violationsOf(int session) {
+            return clashesAt(session, timeOf[session]) + (roomOf[session] < 0 ? 1 : 0);
+        }
+
+        /** @return clashes counted from both sides, plus sessions without a room */
+        private int countViolations() {
+            int total = 0;
+            for (int session = 0; session < timeOf.length; session++) {
+                total += violationsOf(session);
+            }
+            return total;
+        }
+
+        /** @return the soft cost of the whole timetable: modules meeting twice a day and moved sessions */
+        private long cost() {
+            long total = 0;
+            for (int session = 0; session < timeOf.length; session++) {
+                total += sameDay(session, timeOf[session]) * SAME_DAY;
+                if (startTimes != null && startTimes[session] >= 0 && timeOf[session] != startTimes[session]) {
+                    total += moved * 2;
+                }
+            }
+            return total / 2;
+        }
+
+        /** @return the cheapest time in the session's semester; ties are broken at random */
+        private int cheapestTime(int session) {
+            int first = problem.semester[problem.sessionModule[session]] * problem.week;
+            int choice = first;
+            long cheapest = Long.MAX_VALUE;
+            int ties = 0;
+            for (int time = first; time < first + problem.week; time++) {
+                long cost = cost(session, time);
+                if (cost < cheapest) {
+                    cheapest = cost;
+                    choice = time;
+                    ties = 1;
+                } else if (cost == cheapest && random.nextInt(++ties) == 0) {
+                    choice = time;
+                }
+            }
+            return choice;
+        }
+
+        private int randomTime(int session) {
+            return problem.semester[problem.sessionModule[session]] * problem.week + random.nextInt(problem.week);
+        }
+
+        // ---------------------- PLACING ----------------------
+
+        /** @return the first free room at a time from index {@code from}, or -1 */
+        private int freeRoom(int time, int from) {
+            int row = time * roomWords;
+            for (int w = from >>> 6; w < roomWords; w++) {
+                long free = ~busy[row + w];
+                if (w == from >>> 6) {
+                    free &= -1L << (from & 63);
+                }
+                if (free != 0) {
+                    int room = (w << 6) + Long.numberOfTrailingZeros(free);
+                    return room < problem.rooms.length ? room : -1;
+                }
+            }
+            return -1;
+        }
+
+        /** Places an unplaced session, in the given room if it is free and big enough */
+        private void put(int session, int time, int room) {
+            int module = problem.sessionModule[session];
+            timeOf[session] = time;
+            present[time * problem.words + (module >>> 6)] |= 1L << module;
+            if (room < problem.firstRoom[module] || (busy[time * roomWords + (room >>> 6)] & 1L << room) != 0) {
+                room = freeRoom(time, problem.firstRoom[module]);
+            }
+            roomOf[session] = room;
+            if (room >= 0) {
+                busy[time * roomWords + (room >>> 6)] |= 1L << room;
+            }
+        }
+
+        private void remove(int session) {
+            int time = timeOf[session];
+            if (time < 0) {
+                return;
+            }
+            int module = problem.sessionModule[session];
+            if (roomOf[session] >= 0) {
+                busy[time * roomWords + (roomOf[session] >>> 6)] &= ~(1L << roomOf[session]);
+            }
+            timeOf[session] = -1;
+            roomOf[session] = -1;
+            for (int other = problem.firstSession[module]; other < problem.firstSession[module + 1]; other++) {
+                if (timeOf[other] == time) {
+                    return;
+                }
+            }
+            present[time * problem.words + (module >>> 6)] &= ~(1L << module);
+        }
+
+        private void move(int session, int time, int room) {
+            if (time != timeOf[session]) {
+                remove(session);
+                put(session, time, room);
+            }
+        }
+    }
+
+    // ---------------------- COMMAND LINE ----------------------
+
+    /**
+     * Command line entry point:
+     * {@code timetable [seconds=N] [threads=N] [days=N] [periods=N] [students=N courses=N ...]}.
+     *
+     * Generates an institution (by default 375 courses of 8 modules, 600
+     * lecturers and 30,000 students) with rooms sized to its courses and
+     * timetables it. Then makes late changes - 30 modules given to other
+     * lecturers, a new module and a room closed - and repairs the timetable.
+     *
+     * @return process exit code, 1 if a timetable has clashes or unseated sessions
+     */
+    public static int run(String[] args) {
+        try {
+            double seconds = 60;
+            int threads = Runtime.getRuntime().availableProcessors();
+            int days = 5;
+            int periods = 8;
+            List<String> options = new ArrayList<>(List.of("students=30000", "courses=375", "modules=8", "lecturers=600"));
+            for (int i = 1; i < args.length; i++) {
+                String arg = args[i];
+                String value = arg.substring(arg.indexOf('=') + 1);
+                if (arg.startsWith("seconds=")) {
+                    seconds = Double.parseDouble(value);
+                } else if (arg.startsWith("threads=")) {
+                    threads = Integer.parseInt(value);
+                } else if (arg.startsWith("days=")) {
+                    days = Integer.parseInt(value);
+                } else if (arg.startsWith("periods=")) {
+                    periods = Integer.parseInt(value);
+                } else {
+                    options.add(arg);
+                }
+            }
+            InstitutionSpec spec = InstitutionSpec.parse(options);
+            int week = days;
+            int hours = periods;
+
+            // Keep the generated users out of the real audit trail and ID files, and off the console
+            if (System.getProperty("ucms.audit.dir") == null || System.getProperty("ucms.ids.dir") == null) {
+                String scratch = Files.createTempDirectory("ucms-timetable").toString();
+                System.setProperty("ucms.audit.dir", System.getProperty("ucms.audit.dir", scratch));
+                System.setProperty("ucms.ids.dir", System.getProperty("ucms.ids.dir", scratch));
+            }
+            Notifications.setDefault(NotificationSink.NONE);
+            Admin admin = new Admin("Timetable", "Admin", "timetable.admin@ucms.ie",
+                    "Timetable-Password-1", "", "0800000000");
+            Timetabler timetabler = new Timetabler(threads, Math.round(seconds * 1e9), spec.seed());
+            boolean[] clean = {true};
+
+            AccessControl.runAs(admin, () -> {
+                new InstitutionGenerator(spec).populate(admin);
+                addRooms(week * hours);
+                TimetableProblem problem = TimetableProblem.fromSystem(week, hours);
+                System.out.printf("Timetabling %,d sessions of %,d modules (%,d clashing pairs) with %d threads...%n",
+                        problem.getSessionCount(), problem.getModuleCount(), problem.getClashPairCount(), timetabler.threads);
+                Timetable timetable = timetabler.solve(problem);
+                timetable.publish();
+                timetable.print(System.out);
+                clean[0] &= timetable.isClean();
+
+                System.out.println();
+                System.out.println("Late changes: 30 modules change lecturer, 1 new module, 1 room closed; repairing...");
+                makeLateChanges(admin, new SplittableRandom(spec.seed()));
+                Timetable repaired = timetabler.repair(TimetableProblem.fromSystem(week, hours), timetable);
+                repaired.publish();
+                repaired.print(System.out);
+                clean[0] &= repaired.isClean();
+            });
+            return clean[0] ? 0 : 1;
+        } catch (IllegalArgumentException e) {
+            System.out.println("✗ " + e.getMessage());
+            System.out.println("Usage: timetable " + OPTIONS);
+        } catch (IOException e) {
+            System.out.println("✗ Could not create a scratch directory: " + e.getMessage());
+        }
+        return 1;
+    }
+
+    /**
+     * Adds rooms for the busiest semester with 10% to spare, sized so that
+     * the k-th largest room seats the (k * slots)-th largest session.
+     */
+    private static void addRooms(int slots) {
+        List<Integer> sizes = new ArrayList<>();
+        int[] perSemester = new int[16];
+        SharedState.read(() -> {
+            for (Course course : CourseManagementModule.courseList) {
+                for (Module module : course.getModules()) {
+                    for (int s = 0; s < TimetableProblem.sessionsOf(module); s++) {
+                        sizes.add(course.getStudents().size());
+                        perSemester[Math.floorMod(module.getSemester(), perSemester.length)]++;
+                    }
+                }
+            }
+            return null;
+        });
+        sizes.sort((a, b) -> Integer.compare(b, a));
+        int busiest = Arrays.stream(perSemester).max().orElse(0);
+        int rooms = Math.max(1, (int) Math.ceil(busiest * 1.1 / slots));
+        for (int r = 0; r < rooms; r++) {
+            int index = Math.min(sizes.size() - 1, r * slots);
+            int capacity = index < 0 ? 30 : Math.max(30, (sizes.get(index) + 9) / 10 * 10);
+            Room.add(new Room(String.format("R%03d", r + 1), capacity));
+        }
+    }
+
+    private static void makeLateChanges(Admin admin, SplittableRandom random) {
+        List<Module> modules = ModuleManagement.getModuleList();
+        List<Lecturer> lecturers = LecturerManagementModule.lecturersList;
+        for (int i = 0; i < 30 && !lecturers.isEmpty(); i++) {
+            modules.get(random.nextInt(modules.size())).assignTo(lecturers.get(random.nextInt(lecturers.size())));
+        }
+        Course course = CourseManagementModule.courseList.get(0);
+        ModuleManagement.registerModule(admin, new Module(course.getCourseCode() + "X1", "Late Addition",
+                course.getCourseCode(), 1, 1, 10), course);
+        SharedState.update(() -> Room.roomList.remove(Room.roomList.size() - 1));
+    }
+}
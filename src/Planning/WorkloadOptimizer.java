@@ -0,0 +1,556 @@
+package Planning;
+
+import CourseManagement.Course;
+import CourseManagement.CourseManagementModule;
+import CourseManagement.Module;
+import Generation.InstitutionGenerator;
+import Generation.InstitutionSpec;
+import Security.AccessControl;
+import UserManagement.Admin;
+import UserManagement.Lecturer;
+import UserManagement.LecturerManagementModule;
+import Utilities.NotificationSink;
+import Utilities.Notifications;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * WorkloadOptimizer
+ * ---------------------------------------------------------
+ * Shares a term's modules out among lecturers: every module to an eligible
+ * lecturer (see {@link WorkloadProblem}), nobody over the credit cap in any
+ * semester, loads as even as possible and as many preferences met as can be.
+ *
+ * The search is simulated annealing over a greedy start. A move gives one
+ * module to another eligible lecturer, or also passes one of that
+ * lecturer's modules on, which swaps two modules or makes room for a third
+ * lecturer. Loads are kept per lecturer and semester, so each move is
+ * scored in constant time. Going over the cap costs more than leaving a
+ * module unassigned, so when a department cannot cover its modules the
+ * plan shows the gap instead of overloading someone.
+ *
+ * Every processor runs its own search. The run is split into epochs: each
+ * epoch all searches start from the best plan found so far with their own
+ * random stream, at a temperature that falls from epoch to epoch, and the
+ * best plan any of them finds is kept. The result depends only on the
+ * seed and the thread count, unless the time budget cuts the run short. The
+ * run stops early once nothing has improved for several cool epochs.
+ *
+ * {@link #rebalance} re-optimizes after a change, such as a lecturer
+ * leaving: it starts from the current assignment, and every module taken
+ * from its current lecturer costs extra, so only the modules that must move
+ * do, plus the few that make room for them.
+ *
+ * Responsibilities:
+ *  - Build a greedy start, hardest modules first
+ *  - Anneal in parallel, epoch by epoch, keeping the best plan
+ *  - Re-optimize incrementally from the current assignment
+ */
+public final class WorkloadOptimizer {
+
+    public static final String OPTIONS = "[seconds=N] [threads=N] [cap=N] [seed=N] [" + InstitutionSpec.OPTIONS + "]";
+
+    // ---------------------- SCORING ----------------------
+
+    /** Cost of leaving a module without a lecturer */
+    static final long UNASSIGNED = 10_000;
+
+    /** Cost of each credit a lecturer teaches over the cap in a semester */
+    static final long OVERLOAD = 50_000;
+
+    /** Saving for each module given to a lecturer who prefers it */
+    static final long PREFERENCE = 150;
+
+    /** Cost of taking a module from its current lecturer when rebalancing */
+    static final long MOVED = 2_000;
+
+    // Loads also cost their square per lecturer and semester, which favours even loads
+
+    // ---------------------- SCHEDULE ----------------------
+
+    private static final int EPOCHS = 64;
+
+    /** Epochs without improvement, in the cooler half of the run, before stopping early */
+    private static final int PATIENCE = 6;
+
+    private static final double SOLVE_TEMPERATURE = 300;
+    private static final double REBALANCE_TEMPERATURE = 30;
+    private static final double FINAL_TEMPERATURE = 1;
+
+    /** Iterations between checks of the time budget */
+    private static final int CLOCK_INTERVAL = 1 << 14;
+
+    private final int threads;
+    private final long budgetNanos;
+    private final long seed;
+    private final int effort;
+
+    /**
+     * Creates an optimizer using every processor, with effort 100 and a
+     * fixed seed, so the same system gets the same plan on the same machine.
+     *
+     * @param budgetNanos longest a run may take
+     */
+    public WorkloadOptimizer(long budgetNanos) {
+        this(Runtime.getRuntime().availableProcessors(), budgetNanos, 42, 100);
+    }
+
+    /**
+     * @param threads     searches run side by side
+     * @param budgetNanos longest a run may take
+     * @param seed        seed of the random streams
+     * @param effort      iterations per module, per search and epoch
+     */
+    public WorkloadOptimizer(int threads, long budgetNanos, long seed, int effort) {
+        if (threads < 1 || effort < 1) {
+            throw new IllegalArgumentException("threads and effort must be at least 1");
+        }
+        this.threads = threads;
+        this.budgetNanos = budgetNanos;
+        this.seed = seed;
+        this.effort = effort;
+    }
+
+    /**
+     * Plans the whole term from scratch. The current assignment is ignored,
+     * except to report how many modules the plan moves.
+     */
+    public WorkloadPlan solve(WorkloadProblem problem) {
+        return optimize(problem, false);
+    }
+
+    /**
+     * Re-plans from the current assignment, moving as few modules as it can.
+     * Modules whose lecturer is no longer eligible, or has left, are re-planned.
+     */
+    public WorkloadPlan rebalance(WorkloadProblem problem) {
+        return optimize(problem, true);
+    }
+
+    private WorkloadPlan optimize(WorkloadProblem problem, boolean incremental) {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        Search best = new Search(problem, incremental ? MOVED : 0);
+        if (incremental) {
+            for (int m = 0; m < problem.modules.length; m++) {
+                int lecturer = problem.current[m];
+                if (lecturer >= 0 && problem.isEligible(m, lecturer)) {
+                    best.move(m, lecturer);
+                }
+            }
+        }
+        best.fill();
+        long iterations = 0;
+
+        if (problem.modules.length > 0 && problem.lecturers.length > 0) {
+            double hottest = incremental ? REBALANCE_TEMPERATURE : SOLVE_TEMPERATURE;
+            Search[] searches = new Search[threads];
+            for (int t = 0; t < threads; t++) {
+                searches[t] = new Search(problem, best.moved);
+            }
+            ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "ucms-workload");
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                int stale = 0;
+                for (int epoch = 0; epoch < EPOCHS && deadline - System.nanoTime() > 0; epoch++) {
+                    double temperature = hottest * Math.pow(FINAL_TEMPERATURE / hottest, epoch / (EPOCHS - 1.0));
+                    long epochSeed = seed + epoch * 0x9E3779B97F4A7C15L;
+                    List<Callable<Long>> tasks = new ArrayList<>();
+                    for (Search search : searches) {
+                        search.copyFrom(best);
+                        long searchSeed = epochSeed ^ (tasks.size() + 1) * 0xBF58476D1CE4E5B9L;
+                        tasks.add(() -> search.anneal(new SplittableRandom(searchSeed),
+                                (long) effort * problem.modules.length, temperature, deadline));
+                    }
+                    for (Future<Long> done : pool.invokeAll(tasks)) {
+                        iterations += done.get();
+                    }
+                    Search winner = best;
+                    for (Search search : searches) {
+                        if (search.bestCost < winner.bestCost) {
+                            winner = search;
+                        }
+                    }
+                    if (winner != best) {
+                        best.adopt(winner);
+                        stale = 0;
+                    } else if (++stale >= PATIENCE && epoch >= EPOCHS / 2) {
+                        break;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Workload search failed: " + e.getCause(), e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+        return new WorkloadPlan(problem, best.lecturerOf.clone(), iterations, System.nanoTime() - start);
+    }
+
+    // ---------------------- SEARCH ----------------------
+
+    /**
+     * One search's assignment, with the loads and lists that score a move in
+     * constant time, and the best assignment it has seen.
+     */
+    static final class Search {
+
+        private final WorkloadProblem problem;
+        private final int semesters;
+        private final long moved;
+
+        /** Lecturer of each module, or -1 */
+        final int[] lecturerOf;
+        /** Credits per lecturer and semester, at {@code lecturer * semesters + semester} */
+        private final int[] load;
+        /** Modules of each lecturer, unordered, with each module's place in its list */
+        private final int[][] taught;
+        private final int[] taughtCount;
+        private final int[] place;
+
+        long cost;
+        private final int[] best;
+        long bestCost;
+
+        Search(WorkloadProblem problem, long moved) {
+            this.problem = problem;
+            this.semesters = Math.max(1, problem.semesters.length);
+            this.moved = moved;
+            int modules = problem.modules.length;
+            int lecturers = problem.lecturers.length;
+            lecturerOf = new int[modules];
+            Arrays.fill(lecturerOf, -1);
+            load = new int[lecturers * semesters];
+            taught = new int[lecturers][4];
+            taughtCount = new int[lecturers];
+            place = new int[modules];
+            cost = modules * UNASSIGNED + movedCost();
+            best = lecturerOf.clone();
+            bestCost = cost;
+        }
+
+        /** Cost of the empty assignment's moves: every module with a current lecturer has left it */
+        private long movedCost() {
+            long total = 0;
+            for (int lecturer : problem.current) {
+                if (lecturer >= 0) {
+                    total += moved;
+                }
+            }
+            return total;
+        }
+
+        private long loadCost(int credits) {
+            long over = credits - problem.cap;
+            return (long) credits * credits + (over > 0 ? over * OVERLOAD : 0);
+        }
+
+        private long movedCost(int module, int lecturer) {
+            int current = problem.current[module];
+            return current >= 0 && lecturer != current ? moved : 0;
+        }
+
+        /** @return how much the cost would change if the module went to the lecturer (-1 for none) */
+        long delta(int module, int to) {
+            int from = lecturerOf[module];
+            if (from == to) {
+                return 0;
+            }
+            int credits = problem.credits[module];
+            int semester = problem.semester[module];
+            long delta = movedCost(module, to) - movedCost(module, from);
+            if (from >= 0) {
+                int slot = from * semesters + semester;
+                delta += loadCost(load[slot] - credits) - loadCost(load[slot]);
+                if (problem.prefers(module, from)) {
+                    delta += PREFERENCE;
+                }
+            } else {
+                delta -= UNASSIGNED;
+            }
+            if (to >= 0) {
+                int slot = to * semesters + semester;
+                delta += loadCost(load[slot] + credits) - loadCost(load[slot]);
+                if (problem.prefers(module, to)) {
+                    delta -= PREFERENCE;
+                }
+            } else {
+                delta += UNASSIGNED;
+            }
+            return delta;
+        }
+
+        /**
+         * Gives a module to a lecturer, or to nobody with -1.
+         *
+         * @return the change in cost
+         */
+        long move(int module, int to) {
+            long delta = delta(module, to);
+            int from = lecturerOf[module];
+            if (from == to) {
+                return 0;
+            }
+            int credits = problem.credits[module];
+            int semester = problem.semester[module];
+            if (from >= 0) {
+                load[from * semesters + semester] -= credits;
+                int last = taught[from][--taughtCount[from]];
+                taught[from][place[module]] = last;
+                place[last] = place[module];
+            }
+            if (to >= 0) {
+                load[to * semesters + semester] += credits;
+                if (taughtCount[to] == taught[to].length) {
+                    taught[to] = Arrays.copyOf(taught[to], taught[to].length * 2);
+                }
+                place[module] = taughtCount[to];
+                taught[to][taughtCount[to]++] = module;
+            }
+            lecturerOf[module] = to;
+            cost += delta;
+            return delta;
+        }
+
+        /**
+         * Gives each unassigned module to the eligible lecturer it costs least
+         * to add it to, starting with the modules fewest lecturers can teach
+         * and, among those, the heaviest.
+         */
+        void fill() {
+            List<Integer> open = new ArrayList<>();
+            for (int m = 0; m < lecturerOf.length; m++) {
+                if (lecturerOf[m] < 0 && problem.eligible[m].length > 0) {
+                    open.add(m);
+                }
+            }
+            open.sort((a, b) -> problem.eligible[a].length != problem.eligible[b].length
+                    ? Integer.compare(problem.eligible[a].length, problem.eligible[b].length)
+                    : Integer.compare(problem.credits[b], problem.credits[a]));
+            for (int module : open) {
+                // Left unassigned if every lecturer would go over the cap
+                int choice = -1;
+                long cheapest = 0;
+                for (int lecturer : problem.eligible[module]) {
+                    long delta = delta(module, lecturer);
+                    if (delta < cheapest) {
+                        cheapest = delta;
+                        choice = lecturer;
+                    }
+                }
+                move(module, choice);
+            }
+            keepBest();
+        }
+
+        /**
+         * Anneals at one temperature, keeping the best assignment seen.
+         *
+         * @return iterations run
+         */
+        long anneal(SplittableRandom random, long iterations, double temperature, long deadline) {
+            int modules = lecturerOf.length;
+            long i = 0;
+            for (; i < iterations; i++) {
+                if ((i & (CLOCK_INTERVAL - 1)) == 0 && System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+                int module = random.nextInt(modules);
+                int[] eligible = problem.eligible[module];
+                if (eligible.length == 0) {
+                    continue;
+                }
+                int from = lecturerOf[module];
+                // Now and then try dropping the module, which only pays off to relieve an overload
+                int to = random.nextInt(16) == 0 ? -1 : eligible[random.nextInt(eligible.length)];
+                if (to == from) {
+                    continue;
+                }
+                if (to < 0 || taughtCount[to] == 0 || random.nextInt(4) != 0) {
+                    // Give the module to another lecturer
+                    long delta = delta(module, to);
+                    if (accept(delta, temperature, random)) {
+                        move(module, to);
+                        keepBestIfBetter();
+                    }
+                } else {
+                    // ... who passes one of theirs back, or on to someone else
+                    int other = taught[to][random.nextInt(taughtCount[to])];
+                    int[] others = problem.eligible[other];
+                    int onward = from >= 0 && problem.isEligible(other, from) && random.nextBoolean()
+                            ? from : others[random.nextInt(others.length)];
+                    if (onward == to) {
+                        continue;
+                    }
+                    long delta = move(module, to) + move(other, onward);
+                    if (accept(delta, temperature, random)) {
+                        keepBestIfBetter();
+                    } else {
+                        move(other, to);
+                        move(module, from);
+                    }
+                }
+            }
+            return i;
+        }
+
+        private static boolean accept(long delta, double temperature, SplittableRandom random) {
+            return delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature);
+        }
+
+        private void keepBestIfBetter() {
+            if (cost < bestCost) {
+                keepBest();
+            }
+        }
+
+        private void keepBest() {
+            System.arraycopy(lecturerOf, 0, best, 0, best.length);
+            bestCost = cost;
+        }
+
+        /** Starts over from another search's current assignment */
+        void copyFrom(Search other) {
+            for (int m = 0; m < lecturerOf.length; m++) {
+                move(m, other.lecturerOf[m]);
+            }
+            keepBest();
+        }
+
+        /** Takes over another search's best assignment */
+        void adopt(Search other) {
+            for (int m = 0; m < lecturerOf.length; m++) {
+                move(m, other.best[m]);
+            }
+            keepBest();
+        }
+    }
+
+    // ---------------------- COMMAND LINE ----------------------
+
+    /**
+     * Command line entry point:
+     * {@code optimize [seconds=N] [threads=N] [cap=N] [seed=N] [students=N courses=N ...]}.
+     *
+     * Generates an institution (by default 375 courses of 8 modules and 600
+     * lecturers) in which each lecturer prefers two modules of their
+     * department and one in 20 is away for a semester. Plans its term, then
+     * removes the busiest lecturer and rebalances, printing both plans.
+     *
+     * @return process exit code, 1 if a plan leaves modules unassigned or lecturers overloaded
+     */
+    public static int run(String[] args) {
+        try {
+            double seconds = 60;
+            int threads = Runtime.getRuntime().availableProcessors();
+            int cap = 0;
+            List<String> options = new ArrayList<>(List.of("students=0", "courses=375", "modules=8", "lecturers=600"));
+            for (int i = 1; i < args.length; i++) {
+                String arg = args[i];
+                String value = arg.substring(arg.indexOf('=') + 1);
+                if (arg.startsWith("seconds=")) {
+                    seconds = Double.parseDouble(value);
+                } else if (arg.startsWith("threads=")) {
+                    threads = Integer.parseInt(value);
+                } else if (arg.startsWith("cap=")) {
+                    cap = Integer.parseInt(value);
+                } else {
+                    options.add(arg);
+                }
+            }
+            InstitutionSpec spec = InstitutionSpec.parse(options);
+            int searches = threads;
+            int limit = cap;
+
+            // Keep the generated users out of the real audit trail and ID files, and off the console
+            if (System.getProperty("ucms.audit.dir") == null || System.getProperty("ucms.ids.dir") == null) {
+                String scratch = Files.createTempDirectory("ucms-optimize").toString();
+                System.setProperty("ucms.audit.dir", System.getProperty("ucms.audit.dir", scratch));
+                System.setProperty("ucms.ids.dir", System.getProperty("ucms.ids.dir", scratch));
+            }
+            Notifications.setDefault(NotificationSink.NONE);
+            Admin admin = new Admin("Planning", "Admin", "planning.admin@ucms.ie",
+                    "Planning-Password-1", "", "0800000000");
+            WorkloadOptimizer optimizer = new WorkloadOptimizer(searches, Math.round(seconds * 1e9), spec.seed(), 100);
+            boolean[] clean = {true};
+
+            AccessControl.runAs(admin, () -> {
+                new InstitutionGenerator(spec).populate(admin);
+                addWishes(new SplittableRandom(spec.seed()));
+                WorkloadProblem problem = WorkloadProblem.fromSystem(limit);
+                System.out.printf("Planning %,d modules for %,d lecturers with %d threads, cap %d credits per semester...%n",
+                        problem.getModuleCount(), problem.getLecturerCount(), searches, problem.getCap());
+                WorkloadPlan plan = optimizer.solve(problem);
+                plan.apply();
+                plan.print(System.out);
+                clean[0] &= plan.isClean();
+
+                Lecturer leaving = busiest(problem.lecturers);
+                if (leaving != null) {
+                    System.out.println();
+                    System.out.println("Removing " + leaving.getLecturerId() + " (" + leaving.getModuleCount()
+                            + " modules) and rebalancing...");
+                    LecturerManagementModule.removeLecturer(leaving);
+                    WorkloadPlan rebalanced = optimizer.rebalance(WorkloadProblem.fromSystem(problem.getCap()));
+                    rebalanced.apply();
+                    rebalanced.print(System.out);
+                    clean[0] &= rebalanced.isClean();
+                }
+            });
+            return clean[0] ? 0 : 1;
+        } catch (IllegalArgumentException e) {
+            System.out.println("✗ " + e.getMessage());
+            System.out.println("Usage: optimize " + OPTIONS);
+        } catch (IOException e) {
+            System.out.println("✗ Could not create a scratch directory: " + e.getMessage());
+        }
+        return 1;
+    }
+
+    /** Gives each lecturer two preferred modules of their department, and one in 20 a semester away */
+    private static void addWishes(SplittableRandom random) {
+        Map<String, List<Module>> byDepartment = new HashMap<>();
+        for (Course course : CourseManagementModule.courseList) {
+            byDepartment.computeIfAbsent(course.getDepartment(), key -> new ArrayList<>()).addAll(course.getModules());
+        }
+        WorkloadPreferences.SYSTEM.clear();
+        List<Lecturer> lecturers = LecturerManagementModule.lecturersList;
+        for (int l = 0; l < lecturers.size(); l++) {
+            Lecturer lecturer = lecturers.get(l);
+            List<Module> modules = byDepartment.getOrDefault(lecturer.getDepartment(), List.of());
+            for (int wish = 0; wish < 2 && !modules.isEmpty(); wish++) {
+                WorkloadPreferences.SYSTEM.prefer(lecturer, modules.get(random.nextInt(modules.size())));
+            }
+            if (l % 20 == 19) {
+                WorkloadPreferences.SYSTEM.setUnavailable(lecturer, 1 + random.nextInt(2), true);
+            }
+        }
+    }
+
+    private static Lecturer busiest(Lecturer[] lecturers) {
+        Lecturer busiest = null;
+        for (Lecturer lecturer : lecturers) {
+            if (busiest == null || lecturer.getModuleCount() > busiest.getModuleCount()) {
+                busiest = lecturer;
+            }
+        }
+        return busiest;
+    }
+}
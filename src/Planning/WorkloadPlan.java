@@ -0,0 +1,172 @@
+package Planning;
+
+import Audit.AuditAction;
+import Audit.AuditLog;
+import CourseManagement.Module;
+import Security.AccessControl;
+import Security.Permission;
+import UserManagement.Lecturer;
+import Utilities.SharedState;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WorkloadPlan
+ * ---------------------------------------------------------
+ * A lecturer for each module of a {@link WorkloadProblem}, as found by the
+ * {@link WorkloadOptimizer}, with figures on how good it is.
+ *
+ * A plan is only a proposal until {@link #apply()} assigns the modules. It
+ * was made from the assignment at the time the problem was compiled, so it
+ * should be applied soon after, before anyone else changes the assignments.
+ *
+ * Responsibilities:
+ *  - Measure unassigned modules, overloads, preferences met and changes
+ *  - Assign the modules, all under one write lock
+ *  - Print a summary
+ */
+public final class WorkloadPlan {
+
+    private final WorkloadProblem problem;
+    private final int[] lecturerOf;
+    private final long iterations;
+    private final long elapsedNanos;
+
+    private int unassigned;
+    private int overloadedCredits;
+    private int preferencesMet;
+    private int preferences;
+    private int reassigned;
+    private int newlyAssigned;
+    private int heaviestLoad;
+    private double meanLoad;
+
+    WorkloadPlan(WorkloadProblem problem, int[] lecturerOf, long iterations, long elapsedNanos) {
+        this.problem = problem;
+        this.lecturerOf = lecturerOf;
+        this.iterations = iterations;
+        this.elapsedNanos = elapsedNanos;
+        measure();
+    }
+
+    private void measure() {
+        int semesters = Math.max(1, problem.semesters.length);
+        int[] load = new int[problem.lecturers.length * semesters];
+        for (int m = 0; m < lecturerOf.length; m++) {
+            int lecturer = lecturerOf[m];
+            int current = problem.current[m];
+            if (lecturer < 0) {
+                unassigned++;
+            } else {
+                load[lecturer * semesters + problem.semester[m]] += problem.credits[m];
+                if (problem.prefers(m, lecturer)) {
+                    preferencesMet++;
+                }
+            }
+            if (current >= 0 && lecturer != current) {
+                reassigned++;
+            } else if (current < 0 && lecturer >= 0) {
+                newlyAssigned++;
+            }
+        }
+        long total = 0;
+        for (int credits : load) {
+            overloadedCredits += Math.max(0, credits - problem.cap);
+            heaviestLoad = Math.max(heaviestLoad, credits);
+            total += credits;
+        }
+        meanLoad = load.length == 0 ? 0 : (double) total / load.length;
+        for (long bits : problem.preferredBits) {
+            preferences += Long.bitCount(bits);
+        }
+    }
+
+    // ---------------------- FIGURES ----------------------
+
+    public int getUnassignedCount() { return unassigned; }
+    public int getOverloadedCredits() { return overloadedCredits; }
+    public int getPreferencesMet() { return preferencesMet; }
+    public int getReassignedCount() { return reassigned; }
+    public int getNewlyAssignedCount() { return newlyAssigned; }
+    public int getHeaviestLoad() { return heaviestLoad; }
+    public long getIterations() { return iterations; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    /** @return true if every module has a lecturer and nobody is over the cap */
+    public boolean isClean() {
+        return unassigned == 0 && overloadedCredits == 0;
+    }
+
+    /** @return the planned lecturer of each module, or null for none */
+    public Map<Module, Lecturer> getAssignments() {
+        Map<Module, Lecturer> assignments = new LinkedHashMap<>();
+        for (int m = 0; m < lecturerOf.length; m++) {
+            assignments.put(problem.modules[m], lecturerOf[m] < 0 ? null : problem.lecturers[lecturerOf[m]]);
+        }
+        return assignments;
+    }
+
+    // ---------------------- APPLYING ----------------------
+
+    /**
+     * Assigns every module whose planned lecturer differs from its current
+     * one, in batches per lecturer, under a single write lock.
+     *
+     * @return modules whose lecturer changed
+     * @throws SecurityException if the acting user may not manage modules
+     */
+    public int apply() {
+        AccessControl.require(Permission.MANAGE_MODULES);
+        int changed = SharedState.write(() -> {
+            Map<Lecturer, List<Module>> batches = new IdentityHashMap<>();
+            List<Module> released = new ArrayList<>();
+            for (int m = 0; m < lecturerOf.length; m++) {
+                Module module = problem.modules[m];
+                Lecturer lecturer = lecturerOf[m] < 0 ? null : problem.lecturers[lecturerOf[m]];
+                if (module.getLecturer() == lecturer) {
+                    continue;
+                }
+                if (lecturer == null) {
+                    released.add(module);
+                } else {
+                    batches.computeIfAbsent(lecturer, key -> new ArrayList<>()).add(module);
+                }
+            }
+            Module.unassignAll(released);
+            int count = released.size();
+            for (Map.Entry<Lecturer, List<Module>> batch : batches.entrySet()) {
+                Module.assignAll(batch.getValue(), batch.getKey());
+                count += batch.getValue().size();
+            }
+            return count;
+        });
+        AuditLog.record(AuditAction.WORKLOAD_PLANNED, changed + " modules",
+                "cap " + problem.cap + ", " + unassigned + " unassigned");
+        return changed;
+    }
+
+    // ---------------------- SUMMARY ----------------------
+
+    /** Prints the plan's figures */
+    public void print(PrintStream out) {
+        out.printf("  %-22s %,d of %,d%n", "Modules assigned", lecturerOf.length - unassigned, lecturerOf.length);
+        out.printf("  %-22s %,d credits%n", "Over the cap", overloadedCredits);
+        out.printf("  %-22s %d / %.1f credits (cap %d)%n", "Heaviest / mean load", heaviestLoad, meanLoad, problem.cap);
+        out.printf("  %-22s %,d of %,d%n", "Preferences met", preferencesMet, preferences);
+        out.printf("  %-22s %,d reassigned, %,d newly assigned%n", "Changes", reassigned, newlyAssigned);
+        out.printf("  %-22s %,d in %.2f s%n", "Iterations", iterations, elapsedNanos / 1e9);
+        if (isClean()) {
+            out.println("✓ Every module has a lecturer within the cap");
+        } else {
+            int unteachable = problem.getUnteachableCount();
+            out.println("✗ " + unassigned + " modules unassigned" + (unteachable > 0
+                    ? " (" + unteachable + " with no eligible lecturer)" : "")
+                    + ", " + overloadedCredits + " credits over the cap");
+        }
+    }
+}
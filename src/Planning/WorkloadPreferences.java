@@ -0,0 +1,100 @@
+package Planning;
+
+import CourseManagement.Module;
+import Events.DomainEvent;
+import Events.EventBus;
+import UserManagement.Lecturer;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WorkloadPreferences
+ * ---------------------------------------------------------
+ * What lecturers would like to teach and when they cannot teach, as used by
+ * the {@link WorkloadOptimizer}. Preferences are wishes: the optimizer
+ * meets as many as it can. Unavailable semesters are constraints: a
+ * lecturer is never given a module in a semester they are unavailable.
+ *
+ * Lecturers and modules are held by object reference, like
+ * {@link Module#TEACHING}. The {@link #SYSTEM} preferences forget a
+ * lecturer when they are removed.
+ *
+ * Responsibilities:
+ *  - Record preferred modules per lecturer
+ *  - Record the semesters each lecturer is unavailable
+ */
+public final class WorkloadPreferences {
+
+    /** Preferences of the running system */
+    public static final WorkloadPreferences SYSTEM = new WorkloadPreferences();
+
+    static {
+        EventBus.subscribe(DomainEvent.LecturerRemoved.class, removed -> SYSTEM.forget(removed.lecturer()));
+    }
+
+    private final Map<Lecturer, Set<Module>> preferred = new ConcurrentHashMap<>();
+    private final Map<Lecturer, Set<Integer>> unavailable = new ConcurrentHashMap<>();
+
+    // ---------------------- PREFERENCES ----------------------
+
+    /** Records that a lecturer would like to teach a module */
+    public void prefer(Lecturer lecturer, Module module) {
+        preferred.computeIfAbsent(lecturer, key -> ConcurrentHashMap.newKeySet()).add(module);
+    }
+
+    /** Withdraws a lecturer's preference for a module */
+    public void withdraw(Lecturer lecturer, Module module) {
+        Set<Module> modules = preferred.get(lecturer);
+        if (modules != null) {
+            modules.remove(module);
+        }
+    }
+
+    /** @return the modules a lecturer would like to teach, read-only */
+    public Set<Module> preferredBy(Lecturer lecturer) {
+        Set<Module> modules = preferred.get(lecturer);
+        return modules == null ? Collections.emptySet() : Collections.unmodifiableSet(modules);
+    }
+
+    // ---------------------- AVAILABILITY ----------------------
+
+    /**
+     * Marks a lecturer as unavailable, or available again, for a semester.
+     *
+     * @throws IllegalArgumentException if the semester is not positive
+     */
+    public void setUnavailable(Lecturer lecturer, int semester, boolean unavailableThen) {
+        if (semester < 1) {
+            throw new IllegalArgumentException("Semester must be at least 1: " + semester);
+        }
+        if (unavailableThen) {
+            unavailable.computeIfAbsent(lecturer, key -> ConcurrentHashMap.newKeySet()).add(semester);
+        } else {
+            Set<Integer> semesters = unavailable.get(lecturer);
+            if (semesters != null) {
+                semesters.remove(semester);
+            }
+        }
+    }
+
+    /** @return true unless the lecturer is marked unavailable for the semester */
+    public boolean isAvailable(Lecturer lecturer, int semester) {
+        Set<Integer> semesters = unavailable.get(lecturer);
+        return semesters == null || !semesters.contains(semester);
+    }
+
+    /** Drops everything recorded for a lecturer, e.g. when they leave */
+    public void forget(Lecturer lecturer) {
+        preferred.remove(lecturer);
+        unavailable.remove(lecturer);
+    }
+
+    /** Drops everything recorded */
+    public void clear() {
+        preferred.clear();
+        unavailable.clear();
+    }
+}
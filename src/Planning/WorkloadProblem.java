@@ -0,0 +1,223 @@
+package Planning;
+
+import CourseManagement.Course;
+import CourseManagement.CourseManagementModule;
+import CourseManagement.Module;
+import UserManagement.Lecturer;
+import UserManagement.LecturerManagementModule;
+import Utilities.SharedState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * WorkloadProblem
+ * ---------------------------------------------------------
+ * One term's teaching to share out: the modules, the lecturers who may
+ * teach them, and the rules, compiled into arrays indexed by module and
+ * lecturer number so the {@link WorkloadOptimizer} never looks at an
+ * object or a map while it searches.
+ *
+ * A lecturer is eligible for a module when they belong to the department
+ * of the module's course (any lecturer, if the course has no department)
+ * and are available in the module's semester. Each lecturer may teach at
+ * most {@code cap} credits ({@link Module#getCredits()}) in each semester.
+ *
+ * A problem is a copy: changes to the system after it was compiled are not
+ * seen, and a {@link WorkloadPlan} for it only touches its own modules.
+ *
+ * Responsibilities:
+ *  - Compile modules, lecturers, departments and preferences into arrays
+ *  - Record the current assignment, for incremental re-optimization
+ *  - Suggest a workload cap the departments can meet
+ */
+public final class WorkloadProblem {
+
+    final Module[] modules;
+    final Lecturer[] lecturers;
+    final int cap;
+
+    /** Semester numbers in use, ascending; modules and loads use their index */
+    final int[] semesters;
+
+    final int[] credits;
+    final int[] semester;
+
+    /** Eligible lecturers of each module, ascending */
+    final int[][] eligible;
+
+    /** One row of {@code words} longs per module; bit l is set when lecturer l is eligible */
+    final long[] eligibleBits;
+    /** One row of {@code words} longs per module; bit l is set when lecturer l prefers it */
+    final long[] preferredBits;
+    final int words;
+
+    /** Lecturer of each module when the problem was compiled, or -1 */
+    final int[] current;
+
+    /**
+     * Compiles a problem.
+     *
+     * @param modules     the modules to assign
+     * @param departments department of each module, or null where any lecturer may teach it
+     * @param lecturers   the lecturers who may teach them
+     * @param cap         most credits a lecturer may teach in one semester
+     * @param preferences preferred modules and unavailable semesters
+     * @throws IllegalArgumentException if the cap is not positive
+     */
+    public WorkloadProblem(List<Module> modules, Map<Module, String> departments,
+                           List<Lecturer> lecturers, int cap, WorkloadPreferences preferences) {
+        if (cap < 1) {
+            throw new IllegalArgumentException("Workload cap must be at least 1 credit: " + cap);
+        }
+        this.modules = modules.toArray(new Module[0]);
+        this.lecturers = lecturers.toArray(new Lecturer[0]);
+        this.cap = cap;
+        this.words = (this.lecturers.length + 63) >>> 6;
+
+        int moduleCount = this.modules.length;
+        this.semesters = modules.stream().mapToInt(Module::getSemester).distinct().sorted().toArray();
+        this.credits = new int[moduleCount];
+        this.semester = new int[moduleCount];
+        this.current = new int[moduleCount];
+        this.eligible = new int[moduleCount][];
+        this.eligibleBits = new long[moduleCount * words];
+        this.preferredBits = new long[moduleCount * words];
+
+        Map<Lecturer, Integer> lecturerIndex = new IdentityHashMap<>();
+        Map<String, List<Integer>> byDepartment = new HashMap<>();
+        List<Integer> everyone = new ArrayList<>();
+        for (int l = 0; l < this.lecturers.length; l++) {
+            lecturerIndex.put(this.lecturers[l], l);
+            byDepartment.computeIfAbsent(key(this.lecturers[l].getDepartment()), k -> new ArrayList<>()).add(l);
+            everyone.add(l);
+        }
+
+        List<Integer> candidates = new ArrayList<>();
+        for (int m = 0; m < moduleCount; m++) {
+            Module module = this.modules[m];
+            credits[m] = Math.max(0, module.getCredits());
+            semester[m] = Arrays.binarySearch(semesters, module.getSemester());
+            Lecturer lecturer = module.getLecturer();
+            Integer assigned = lecturer == null ? null : lecturerIndex.get(lecturer);
+            current[m] = assigned == null ? -1 : assigned;
+
+            String department = departments.get(module);
+            List<Integer> pool = department == null
+                    ? everyone : byDepartment.getOrDefault(key(department), List.of());
+            candidates.clear();
+            for (int l : pool) {
+                if (preferences.isAvailable(this.lecturers[l], module.getSemester())) {
+                    candidates.add(l);
+                    eligibleBits[m * words + (l >>> 6)] |= 1L << l;
+                }
+            }
+            eligible[m] = candidates.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        Map<Module, Integer> moduleIndex = new IdentityHashMap<>();
+        for (int m = 0; m < moduleCount; m++) {
+            moduleIndex.put(this.modules[m], m);
+        }
+        for (int l = 0; l < this.lecturers.length; l++) {
+            for (Module module : preferences.preferredBy(this.lecturers[l])) {
+                Integer m = moduleIndex.get(module);
+                if (m != null) {
+                    preferredBits[m * words + (l >>> 6)] |= 1L << l;
+                }
+            }
+        }
+    }
+
+    /**
+     * Compiles the modules of every course and every lecturer in the system,
+     * under the SharedState read lock, with the system's preferences.
+     *
+     * @param cap most credits a lecturer may teach in one semester, or 0 for
+     *            {@link #suggestCap(List, Map, List, WorkloadPreferences)}
+     */
+    public static WorkloadProblem fromSystem(int cap) {
+        return SharedState.read(() -> {
+            List<Module> modules = new ArrayList<>();
+            Map<Module, String> departments = new IdentityHashMap<>();
+            for (Course course : CourseManagementModule.courseList) {
+                for (Module module : course.getModules()) {
+                    modules.add(module);
+                    departments.put(module, course.getDepartment());
+                }
+            }
+            List<Lecturer> lecturers = new ArrayList<>(LecturerManagementModule.lecturersList);
+            int limit = cap > 0 ? cap : suggestCap(modules, departments, lecturers, WorkloadPreferences.SYSTEM);
+            return new WorkloadProblem(modules, departments, lecturers, limit, WorkloadPreferences.SYSTEM);
+        });
+    }
+
+    /**
+     * Suggests a cap that leaves every department some room: the heaviest
+     * semester load per available lecturer in any department, plus 10%,
+     * rounded up to a multiple of 5 credits and at least the largest module.
+     */
+    public static int suggestCap(List<Module> modules, Map<Module, String> departments,
+                                 List<Lecturer> lecturers, WorkloadPreferences preferences) {
+        // Credits per department and semester; modules open to anyone count for everyone
+        Map<String, Map<Integer, Integer>> demand = new HashMap<>();
+        int largest = 1;
+        for (Module module : modules) {
+            String department = departments.get(module);
+            demand.computeIfAbsent(department == null ? null : key(department), k -> new TreeMap<>())
+                    .merge(module.getSemester(), module.getCredits(), Integer::sum);
+            largest = Math.max(largest, module.getCredits());
+        }
+        double heaviest = 0;
+        for (Map.Entry<String, Map<Integer, Integer>> entry : demand.entrySet()) {
+            for (Map.Entry<Integer, Integer> semester : entry.getValue().entrySet()) {
+                int people = 0;
+                for (Lecturer lecturer : lecturers) {
+                    if ((entry.getKey() == null || entry.getKey().equals(key(lecturer.getDepartment())))
+                            && preferences.isAvailable(lecturer, semester.getKey())) {
+                        people++;
+                    }
+                }
+                if (people > 0) {
+                    heaviest = Math.max(heaviest, (double) semester.getValue() / people);
+                }
+            }
+        }
+        int cap = (int) Math.ceil(heaviest * 1.1 / 5) * 5;
+        return Math.max(largest, cap);
+    }
+
+    private static String key(String department) {
+        return department == null ? "" : department.trim().toLowerCase();
+    }
+
+    // ---------------------- QUERIES ----------------------
+
+    public int getModuleCount() { return modules.length; }
+    public int getLecturerCount() { return lecturers.length; }
+    public int getCap() { return cap; }
+
+    /** @return modules no lecturer is eligible for */
+    public int getUnteachableCount() {
+        int unteachable = 0;
+        for (int[] lecturers : eligible) {
+            if (lecturers.length == 0) {
+                unteachable++;
+            }
+        }
+        return unteachable;
+    }
+
+    boolean isEligible(int module, int lecturer) {
+        return (eligibleBits[module * words + (lecturer >>> 6)] & 1L << lecturer) != 0;
+    }
+
+    boolean prefers(int module, int lecturer) {
+        return lecturer >= 0 && (preferredBits[module * words + (lecturer >>> 6)] & 1L << lecturer) != 0;
+    }
+}
@@ -0,0 +1,43 @@
+package Profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * CourseSearchEvent
+ * ---------------------------------------------------------
+ * Flight Recorder event for one course lookup by code.
+ */
+@Name("ucms.CourseSearch")
+@Label("Course Search")
+@Category({"UCMS", "Operations"})
+@Description("Lookup of a course by its code")
+@StackTrace(false)
+public final class CourseSearchEvent extends OperationEvent {
+
+    @Label("Course Code")
+    String courseCode;
+
+    @Label("Found")
+    boolean found;
+
+    @Label("Courses Searched")
+    int courseCount;
+
+    /**
+     * Ends the event and commits it if the recording wants it.
+     */
+    public void complete(String courseCode, boolean found, int courseCount) {
+        end();
+        if (shouldCommit()) {
+            this.action = "search";
+            this.courseCode = courseCode;
+            this.found = found;
+            this.courseCount = courseCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package Profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * EnrollmentEvent
+ * ---------------------------------------------------------
+ * Flight Recorder event for a student enrolling in or dropping a course.
+ */
+@Name("ucms.Enrollment")
+@Label("Enrollment")
+@Category({"UCMS", "Operations"})
+@Description("Student enrolling in or dropping a course")
+@StackTrace(false)
+public final class EnrollmentEvent extends OperationEvent {
+
+    @Label("Student ID")
+    String studentId;
+
+    @Label("Course Code")
+    String courseCode;
+
+    @Label("Roster Size")
+    int rosterSize;
+
+    /**
+     * Ends the event and commits it if the recording wants it.
+     *
+     * @param action "enroll" or "drop"
+     * @param courseCode the course joined or left, or null if there was none
+     */
+    public void complete(String action, String studentId, String courseCode, int rosterSize) {
+        end();
+        if (shouldCommit()) {
+            this.action = action;
+            this.studentId = studentId;
+            this.courseCode = courseCode;
+            this.rosterSize = rosterSize;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package Profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * ImportEvent
+ * ---------------------------------------------------------
+ * Flight Recorder event for a batch of records entering the system,
+ * either a command script or a bulk API request.
+ */
+@Name("ucms.Import")
+@Label("Import")
+@Category({"UCMS", "Operations"})
+@Description("Command script run or bulk API creation")
+@StackTrace(false)
+public final class ImportEvent extends OperationEvent {
+
+    @Label("Items")
+    long items;
+
+    @Label("Failed Items")
+    long failed;
+
+    /**
+     * Ends the event and commits it if the recording wants it.
+     *
+     * @param action "script" or "bulk"
+     */
+    public void complete(String action, long items, long failed) {
+        end();
+        if (shouldCommit()) {
+            this.action = action;
+            this.items = items;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package Profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * ModuleChangeEvent
+ * ---------------------------------------------------------
+ * Flight Recorder event for a module being registered, updated or archived.
+ */
+@Name("ucms.ModuleChange")
+@Label("Module Change")
+@Category({"UCMS", "Operations"})
+@Description("Module registered, updated or archived")
+@StackTrace(false)
+public final class ModuleChangeEvent extends OperationEvent {
+
+    @Label("Module Code")
+    String moduleCode;
+
+    @Label("Course Code")
+    String courseCode;
+
+    @Label("Modules")
+    int moduleCount;
+
+    /**
+     * Ends the event and commits it if the recording wants it.
+     *
+     * @param action      "register", "update" or "archive"
+     * @param moduleCount modules in the system after the change
+     */
+    public void complete(String action, String moduleCode, String courseCode, int moduleCount) {
+        end();
+        if (shouldCommit()) {
+            this.action = action;
+            this.moduleCode = moduleCode;
+            this.courseCode = courseCode;
+            this.moduleCount = moduleCount;
+            commit();
+        }
+    }
+}
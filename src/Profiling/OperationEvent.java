@@ -0,0 +1,30 @@
+package Profiling;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * OperationEvent
+ * ---------------------------------------------------------
+ * Base class of the Flight Recorder events emitted by UCMS operations.
+ *
+ * Each operation creates its event, calls {@link #begin()} before the work
+ * and the subclass's complete(...) method after it. The entity IDs and sizes
+ * are only copied into the event when the recording keeps it, so a disabled
+ * or filtered event costs little more than the allocation, which the JIT
+ * usually removes.
+ *
+ * Events are recorded with the JVM option
+ * <pre>
+ *   -XX:StartFlightRecording=settings=src/Profiling/ucms.jfc,disk=true,maxage=6h,filename=ucms.jfr
+ * </pre>
+ * and summarised with {@code java Main profile ucms.jfr}.
+ *
+ * Responsibilities:
+ *  - Carry the action common to every operation ("add", "remove", ...)
+ */
+public abstract class OperationEvent extends Event {
+
+    @Label("Action")
+    String action;
+}
@@ -0,0 +1,273 @@
+package Profiling;
+
+import Utilities.ConsoleRenderer;
+import Utilities.TableLayout;
+import Utilities.Utility;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * RecordingSummary
+ * ---------------------------------------------------------
+ * Summarises a Flight Recorder file into per-operation statistics.
+ *
+ * Every UCMS operation event is grouped by type and action
+ * ("Enrollment drop", "UserChange add", ...) and reported with its count,
+ * mean, p50, p99 and maximum duration, the mean entity size it carried, and
+ * how many of its events overlapped a garbage collection pause. The JVM
+ * context of the same recording (GC pauses, contended monitors, parked
+ * threads) is printed underneath.
+ *
+ * The file is read twice: once for the GC pauses, which are few, and once
+ * for the operations, so overlaps can be counted without holding every
+ * event in memory.
+ *
+ * Responsibilities:
+ *  - Read UCMS and JDK events from a .jfr file
+ *  - Compute duration percentiles per operation
+ *  - Relate slow operations to GC pauses and lock contention
+ */
+public final class RecordingSummary {
+
+    private static final String UCMS_PREFIX = "ucms.";
+
+    /** The field holding each operation's entity size */
+    private static final Map<String, String> SIZE_FIELDS = Map.of(
+            "ucms.CourseSearch", "courseCount",
+            "ucms.Enrollment", "rosterSize",
+            "ucms.UserChange", "userCount",
+            "ucms.ModuleChange", "moduleCount",
+            "ucms.Import", "items",
+            "ucms.Report", "rows");
+
+    private static final TableLayout SUMMARY_TABLE = new TableLayout("  ",
+            new String[]{"Operation", "Count", "Mean", "p50", "p99", "Max", "In GC", "Avg size"},
+            new int[]{22, 8, 9, 9, 9, 9, 7, 9});
+
+    /** Start and end of every GC pause, sorted by start, in epoch nanoseconds */
+    private long[] pauseStarts = new long[0];
+    private long[] pauseEnds = new long[0];
+    private long pauseTotal;
+    private long pauseLongest;
+
+    private final Map<String, Operation> operations = new TreeMap<>();
+    private long monitorEnters;
+    private long monitorEnterTime;
+    private long threadParks;
+    private long threadParkTime;
+    private Instant first;
+    private Instant last;
+
+    /**
+     * Reads a recording.
+     *
+     * @param recording the .jfr file
+     * @throws IOException if the file cannot be read or is not a recording
+     */
+    public RecordingSummary(Path recording) throws IOException {
+        readPauses(recording);
+        readOperations(recording);
+    }
+
+    // ---------------------- READING ----------------------
+
+    private void readPauses(Path recording) throws IOException {
+        List<long[]> pauses = new ArrayList<>();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                if (event.getEventType().getName().equals("jdk.GCPhasePause")) {
+                    pauses.add(new long[]{nanos(event.getStartTime()), nanos(event.getEndTime())});
+                }
+            }
+        }
+        pauses.sort((a, b) -> Long.compare(a[0], b[0]));
+        pauseStarts = new long[pauses.size()];
+        pauseEnds = new long[pauses.size()];
+        for (int i = 0; i < pauses.size(); i++) {
+            pauseStarts[i] = pauses.get(i)[0];
+            pauseEnds[i] = pauses.get(i)[1];
+            long length = pauseEnds[i] - pauseStarts[i];
+            pauseTotal += length;
+            pauseLongest = Math.max(pauseLongest, length);
+        }
+    }
+
+    private void readOperations(Path recording) throws IOException {
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                if (first == null || event.getStartTime().isBefore(first)) {
+                    first = event.getStartTime();
+                }
+                if (last == null || event.getEndTime().isAfter(last)) {
+                    last = event.getEndTime();
+                }
+
+                String type = event.getEventType().getName();
+                long duration = event.getDuration().toNanos();
+                switch (type) {
+                    case "jdk.JavaMonitorEnter":
+                        monitorEnters++;
+                        monitorEnterTime += duration;
+                        break;
+                    case "jdk.ThreadPark":
+                        threadParks++;
+                        threadParkTime += duration;
+                        break;
+                    default:
+                        if (type.startsWith(UCMS_PREFIX)) {
+                            addOperation(type, event, duration);
+                        }
+                }
+            }
+        }
+    }
+
+    private void addOperation(String type, RecordedEvent event, long duration) {
+        String action = event.hasField("action") ? event.getString("action") : null;
+        String name = type.substring(UCMS_PREFIX.length()) + (action == null ? "" : " " + action);
+        Operation operation = operations.computeIfAbsent(name, Operation::new);
+
+        String sizeField = SIZE_FIELDS.get(type);
+        long size = sizeField != null && event.hasField(sizeField) ? event.getLong(sizeField) : 0;
+        boolean inPause = overlapsPause(nanos(event.getStartTime()), nanos(event.getEndTime()));
+        operation.add(duration, size, inPause);
+    }
+
+    /**
+     * @return true if any GC pause overlaps the interval; pauses do not
+     *         overlap each other, so only the last one starting before the end can
+     */
+    private boolean overlapsPause(long start, long end) {
+        int i = Arrays.binarySearch(pauseStarts, end);
+        int candidate = i >= 0 ? i : -i - 2;
+        return candidate >= 0 && pauseEnds[candidate] >= start;
+    }
+
+    private static long nanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    // ---------------------- OUTPUT ----------------------
+
+    /**
+     * Prints the operation table and the JVM context.
+     */
+    public void print(ConsoleRenderer renderer) {
+        SUMMARY_TABLE.renderHeader(renderer);
+        for (Operation operation : operations.values()) {
+            long[] durations = operation.sortedDurations();
+            SUMMARY_TABLE.renderRow(renderer,
+                    operation.name,
+                    String.valueOf(durations.length),
+                    Utility.formatNanos(operation.totalDuration / durations.length),
+                    Utility.formatNanos(percentile(durations, 50)),
+                    Utility.formatNanos(percentile(durations, 99)),
+                    Utility.formatNanos(durations[durations.length - 1]),
+                    String.valueOf(operation.inPause),
+                    String.valueOf(operation.totalSize / durations.length));
+        }
+        SUMMARY_TABLE.renderSeparator(renderer);
+
+        if (first != null) {
+            renderer.append("Recording : ").append(first.toString()).append(" to ").append(last.toString()).line();
+        }
+        renderer.append("GC pauses : ").append(pauseStarts.length)
+                .append(", total ").append(Utility.formatNanos(pauseTotal))
+                .append(", longest ").append(Utility.formatNanos(pauseLongest)).line();
+        renderer.append("Contended monitors : ").append(monitorEnters)
+                .append(", total ").append(Utility.formatNanos(monitorEnterTime)).line();
+        renderer.append("Parked threads     : ").append(threadParks)
+                .append(", total ").append(Utility.formatNanos(threadParkTime)).line();
+        renderer.flush();
+    }
+
+    /** @return the operation groups found, by name */
+    public Map<String, Operation> getOperations() { return operations; }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Command line entry point: {@code profile FILE.jfr}
+     *
+     * @return process exit code
+     */
+    public static int run(String[] args) {
+        if (args.length != 2) {
+            System.out.println("Usage: profile FILE.jfr");
+            return 1;
+        }
+        Path recording = Paths.get(args[1]);
+        if (!Files.isRegularFile(recording)) {
+            System.out.println("✗ No such recording: " + recording);
+            return 1;
+        }
+        try {
+            RecordingSummary summary = new RecordingSummary(recording);
+            if (summary.operations.isEmpty()) {
+                System.out.println("✗ No UCMS events in " + recording
+                        + " (was it recorded with src/Profiling/ucms.jfc?)");
+            }
+            summary.print(ConsoleRenderer.get());
+            return 0;
+        } catch (IOException e) {
+            System.out.println("✗ Could not read the recording: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    // ---------------------- OPERATION ----------------------
+
+    /**
+     * Durations and sizes of one operation type and action.
+     */
+    public static final class Operation {
+        private final String name;
+        private long[] durations = new long[64];
+        private int count;
+        private long totalDuration;
+        private long totalSize;
+        private long inPause;
+
+        private Operation(String name) {
+            this.name = name;
+        }
+
+        private void add(long duration, long size, boolean duringPause) {
+            if (count == durations.length) {
+                durations = Arrays.copyOf(durations, count * 2);
+            }
+            durations[count++] = duration;
+            totalDuration += duration;
+            totalSize += size;
+            if (duringPause) {
+                inPause++;
+            }
+        }
+
+        private long[] sortedDurations() {
+            long[] sorted = Arrays.copyOf(durations, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        public String getName() { return name; }
+        public int getCount() { return count; }
+        public long getInPause() { return inPause; }
+    }
+}
@@ -0,0 +1,38 @@
+package Profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * ReportEvent
+ * ---------------------------------------------------------
+ * Flight Recorder event for a report being generated or data being exported.
+ */
+@Name("ucms.Report")
+@Label("Report")
+@Category({"UCMS", "Operations"})
+@Description("System report generated or data exported")
+@StackTrace(false)
+public final class ReportEvent extends OperationEvent {
+
+    @Label("Rows")
+    long rows;
+
+    /**
+     * Ends the event and commits it if the recording wants it.
+     *
+     * @param action "generate", "export" or "export-all"
+     * @param rows   rows written, or courses, students and lecturers counted for an on-screen report
+     */
+    public void complete(String action, long rows) {
+        end();
+        if (shouldCommit()) {
+            this.action = action;
+            this.rows = rows;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package Profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * UserChangeEvent
+ * ---------------------------------------------------------
+ * Flight Recorder event for a student or lecturer being added or removed.
+ */
+@Name("ucms.UserChange")
+@Label("User Change")
+@Category({"UCMS", "Operations"})
+@Description("Student or lecturer added to or removed from the system")
+@StackTrace(false)
+public final class UserChangeEvent extends OperationEvent {
+
+    @Label("User Type")
+    String userType;
+
+    @Label("User ID")
+    String userId;
+
+    @Label("Users Of Type")
+    int userCount;
+
+    /**
+     * Ends the event and commits it if the recording wants it.
+     *
+     * @param action    "add" or "remove"
+     * @param userType  "student" or "lecturer"
+     * @param userCount users of that type after the change
+     */
+    public void complete(String action, String userType, String userId, int userCount) {
+        end();
+        if (shouldCommit()) {
+            this.action = action;
+            this.userType = userType;
+            this.userId = userId;
+            this.userCount = userCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package Reporting;
+
+import CourseManagement.Course;
+import CourseManagement.CourseManagementModule;
+import CourseManagement.Module;
+import CourseManagement.ModuleManagement;
+import Metrics.Histogram;
+import Metrics.MetricsRegistry;
+import Profiling.ReportEvent;
+import Security.AccessControl;
+import Security.Permission;
+import UserManagement.Lecturer;
+import UserManagement.LecturerManagementModule;
+import UserManagement.Student;
+import UserManagement.StudentManagementModule;
+import Utilities.SharedState;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * DataExporter
+ * ---------------------------------------------------------
+ * Streams UCMS data and reports to CSV or JSON Lines files.
+ *
+ * Responsibilities:
+ *  - Export students, lecturers, courses, modules and enrollments
+ *  - Export the system summary report produced for Admin#generateReport
+ *  - Write through a FileChannel with a large direct buffer (see {@link Utf8Output})
+ *
+ * Every export walks its source once and writes each row field by field,
+ * so exporting a million students needs no more memory than exporting ten.
+ * Each file is written under the SharedState read lock, so a change made
+ * by another session lands wholly before or after it.
+ */
+public class DataExporter {
+
+    public static final String[] STUDENT_COLUMNS =
+            {"studentId", "firstname", "lastname", "email", "phone", "address", "dateOfBirth", "courseCode", "gpa"};
+    public static final String[] LECTURER_COLUMNS =
+            {"lecturerId", "firstname", "lastname", "email", "phone", "department", "assignedCourse", "modulesTaught"};
+    public static final String[] COURSE_COLUMNS =
+            {"courseCode", "courseName", "modules", "students"};
+    public static final String[] MODULE_COLUMNS =
+            {"moduleCode", "moduleName", "courseCode", "level", "semester", "credits", "lecturerId"};
+    public static final String[] ENROLLMENT_COLUMNS =
+            {"courseCode", "studentId"};
+    public static final String[] REPORT_COLUMNS =
+            {"date", "totalCourses", "totalStudents", "totalLecturers", "generatedBy"};
+    public static final String[] METRIC_COLUMNS =
+            {"metric", "type", "count", "meanNanos", "p50Nanos", "p90Nanos", "p99Nanos", "p999Nanos", "maxNanos", "value"};
+
+    private static final Histogram EXPORT_TIME = MetricsRegistry.histogram("data.export");
+
+    // ---------------------- ENTITY EXPORTS ----------------------
+
+    /**
+     * Exports students to a file.
+     *
+     * @param students the students to export
+     * @param file     destination file (created or truncated)
+     * @param format   CSV or JSONL
+     * @return number of rows written
+     * @throws IOException if the file cannot be written
+     */
+    public static long exportStudents(Iterable<Student> students, Path file, ExportFormat format) throws IOException {
+        AccessControl.require(Permission.EXPORT_DATA);
+        try (RecordEncoder encoder = open(file, format, STUDENT_COLUMNS)) {
+            Lock lock = SharedState.readLock();
+            lock.lock();
+            try {
+                for (Student student : students) {
+                    Course course = student.getCourse();
+                    encoder.field(student.getStudentId())
+                            .field(student.getFirstname())
+                            .field(student.getLastname())
+                            .field(student.getEmail())
+                            .field(student.getPhone())
+                            .field(student.getAddress())
+                            .field(student.getDateOfBirth())
+                            .field(course != null ? course.getCourseCode() : null)
+                            .field(student.getGpa())
+                            .endRecord();
+                }
+            } finally {
+                lock.unlock();
+            }
+            return encoder.getRecordCount();
+        }
+    }
+
+    /**
+     * Exports lecturers to a file.
+     *
+     * @return number of rows written
+     */
+    public static long exportLecturers(Iterable<Lecturer> lecturers, Path file, ExportFormat format) throws IOException {
+        AccessControl.require(Permission.EXPORT_DATA);
+        try (RecordEncoder encoder = open(file, format, LECTURER_COLUMNS)) {
+            Lock lock = SharedState.readLock();
+            lock.lock();
+            try {
+                for (Lecturer lecturer : lecturers) {
+                    Course course = lecturer.getAssignedCourse();
+                    encoder.field(lecturer.getLecturerId())
+                            .field(lecturer.getFirstname())
+                            .field(lecturer.getLastname())
+                            .field(lecturer.getEmail())
+                            .field(lecturer.getPhone())
+                            .field(lecturer.getDepartment())
+                            .field(course != null ? course.getCourseCode() : null)
+                            .field(lecturer.getModuleCount())
+                            .endRecord();
+                }
+            } finally {
+                lock.unlock();
+            }
+            return encoder.getRecordCount();
+        }
+    }
+
+    /**
+     * Exports courses with their module and enrollment counts.
+     *
+     * @return number of rows written
+     */
+    public static long exportCourses(Iterable<Course> courses, Path file, ExportFormat format) throws IOException {
+        AccessControl.require(Permission.EXPORT_DATA);
+        try (RecordEncoder encoder = open(file, format, COURSE_COLUMNS)) {
+            Lock lock = SharedState.readLock();
+            lock.lock();
+            try {
+                for (Course course : courses) {
+                    encoder.field(course.getCourseCode())
+                            .field(course.getCourseName())
+                            .field(course.getModules().size())
+                            .field(course.getStudents().size())
+                            .endRecord();
+                }
+            } finally {
+                lock.unlock();
+            }
+            return encoder.getRecordCount();
+        }
+    }
+
+    /**
+     * Exports modules to a file.
+     *
+     * @return number of rows written
+     */
+    public static long exportModules(Iterable<Module> modules, Path file, ExportFormat format) throws IOException {
+        AccessControl.require(Permission.EXPORT_DATA);
+        try (RecordEncoder encoder = open(file, format, MODULE_COLUMNS)) {
+            Lock lock = SharedState.readLock();
+            lock.lock();
+            try {
+                for (Module module : modules) {
+                    Lecturer lecturer = module.getLecturer();
+                    encoder.field(module.getModuleCode())
+                            .field(module.getModuleName())
+                            .field(module.getCourseCode())
+                            .field(module.getLevel())
+                            .field(module.getSemester())
+                            .field(module.getCredits())
+                            .field(lecturer != null ? lecturer.getLecturerId() : null)
+                            .endRecord();
+                }
+            } finally {
+                lock.unlock();
+            }
+            return encoder.getRecordCount();
+        }
+    }
+
+    /**
+     * Exports one row per (course, student) enrollment.
+     *
+     * @return number of rows written
+     */
+    public static long exportEnrollments(Iterable<Course> courses, Path file, ExportFormat format) throws IOException {
+        AccessControl.require(Permission.EXPORT_DATA);
+        try (RecordEncoder encoder = open(file, format, ENROLLMENT_COLUMNS)) {
+            Lock lock = SharedState.readLock();
+            lock.lock();
+            try {
+                for (Course course : courses) {
+                    for (Student student : course.getStudents()) {
+                        encoder.field(course.getCourseCode())
+                                .field(student.getStudentId())
+                                .endRecord();
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            return encoder.getRecordCount();
+        }
+    }
+
+    // ---------------------- SYSTEM EXPORTS ----------------------
+
+    /**
+     * Exports every entity type in the system into a directory,
+     * one file per type (students.csv, lecturers.csv, ...).
+     *
+     * @param directory destination directory (created if missing)
+     * @param format    CSV or JSONL
+     * @return rows written per file name, in export order
+     * @throws IOException if any file cannot be written
+     */
+    public static Map<String, Long> exportAll(Path directory, ExportFormat format) throws IOException {
+        AccessControl.require(Permission.EXPORT_DATA);
+        long start = System.nanoTime();
+        ReportEvent event = new ReportEvent();
+        event.begin();
+        Files.createDirectories(directory);
+        Map<String, Long> rows = new LinkedHashMap<>();
+
+        rows.put(fileName("students", format),
+                exportStudents(StudentManagementModule.studentsContainer, directory.resolve(fileName("students", format)), format));
+        rows.put(fileName("lecturers", format),
+                exportLecturers(LecturerManagementModule.lecturersList, directory.resolve(fileName("lecturers", format)), format));
+        rows.put(fileName("courses", format),
+                exportCourses(CourseManagementModule.courseList, directory.resolve(fileName("courses", format)), format));
+        rows.put(fileName("modules", format),
+                exportModules(ModuleManagement.getModuleList(), directory.resolve(fileName("modules", format)), format));
+        rows.put(fileName("enrollments", format),
+                exportEnrollments(CourseManagementModule.courseList, directory.resolve(fileName("enrollments", format)), format));
+        EXPORT_TIME.recordSince(start);
+        event.complete("export-all", rows.values().stream().mapToLong(Long::longValue).sum());
+        return rows;
+    }
+
+    /**
+     * Exports the system summary report.
+     *
+     * @param reportParameters same layout as {@code Admin#generateReport}:
+     *                         [0] total courses, [1] total students, [2] total lecturers, [3] generated by
+     * @param file             destination file
+     * @param format           CSV or JSONL
+     * @throws IOException if the file cannot be written
+     */
+    public static void exportReport(String[] reportParameters, Path file, ExportFormat format) throws IOException {
+        AccessControl.require(Permission.EXPORT_DATA);
+        ReportEvent event = new ReportEvent();
+        event.begin();
+        try (RecordEncoder encoder = open(file, format, REPORT_COLUMNS)) {
+            encoder.field(LocalDate.now())
+                    .field(reportParameters[0])
+                    .field(reportParameters[1])
+                    .field(reportParameters[2])
+                    .field(reportParameters[3])
+                    .endRecord();
+        }
+        event.complete("export", 1);
+    }
+
+    /**
+     * Exports every metric: one row per histogram (latencies in nanoseconds),
+     * counter and gauge.
+     *
+     * @param file   destination file
+     * @param format CSV or JSONL
+     * @return number of rows written
+     * @throws IOException if the file cannot be written
+     */
+    public static long exportMetrics(Path file, ExportFormat format) throws IOException {
+        AccessControl.require(Permission.EXPORT_DATA);
+        try (RecordEncoder encoder = open(file, format, METRIC_COLUMNS)) {
+            for (Histogram.Snapshot histogram : MetricsRegistry.histograms()) {
+                encoder.field(histogram.getName())
+                        .field("histogram")
+                        .field(histogram.getCount())
+                        .field(Math.round(histogram.getMean()))
+                        .field(histogram.getPercentile(50))
+                        .field(histogram.getPercentile(90))
+                        .field(histogram.getPercentile(99))
+                        .field(histogram.getPercentile(99.9))
+                        .field(histogram.getMax())
+                        .empty()
+                        .endRecord();
+            }
+            writeValues(encoder, "counter", MetricsRegistry.counters());
+            writeValues(encoder, "gauge", MetricsRegistry.gauges());
+            return encoder.getRecordCount();
+        }
+    }
+
+    // ---------------------- HELPERS ----------------------
+
+    private static void writeValues(RecordEncoder encoder, String type, Map<String, Long> values) throws IOException {
+        for (Map.Entry<String, Long> entry : values.entrySet()) {
+            encoder.field(entry.getKey()).field(type)
+                    .empty().empty().empty().empty().empty().empty().empty()
+                    .field(entry.getValue())
+                    .endRecord();
+        }
+    }
+
+
+    private static String fileName(String entity, ExportFormat format) {
+        return entity + "." + format.getExtension();
+    }
+
+    private static RecordEncoder open(Path file, ExportFormat format, String[] columns) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
+            return new RecordEncoder(format, columns, new Utf8Output(channel));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+}
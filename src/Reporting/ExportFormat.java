@@ -0,0 +1,43 @@
+package Reporting;
+
+/**
+ * ExportFormat
+ * ---------------------------------------------------------
+ * Supported file formats for report and data export.
+ *
+ *  - CSV   : one header line followed by comma separated rows (RFC 4180 quoting)
+ *  - JSONL : one JSON object per line (JSON Lines)
+ */
+public enum ExportFormat {
+    CSV("csv"),
+    JSONL("jsonl");
+
+    /** File extension used when exporting to a directory */
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() { return extension; }
+
+    /**
+     * Resolves a format from user input such as "csv", "CSV", "jsonl" or "json".
+     *
+     * @param name the format name typed by the user
+     * @return the matching ExportFormat
+     * @throws IllegalArgumentException if the name is not a supported format
+     */
+    public static ExportFormat fromName(String name) {
+        if (name != null) {
+            String trimmed = name.trim();
+            if (trimmed.equalsIgnoreCase("csv")) {
+                return CSV;
+            }
+            if (trimmed.equalsIgnoreCase("jsonl") || trimmed.equalsIgnoreCase("json")) {
+                return JSONL;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + name + " (use csv or jsonl)");
+    }
+}
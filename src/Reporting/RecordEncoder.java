@@ -0,0 +1,158 @@
+package Reporting;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * RecordEncoder
+ * ---------------------------------------------------------
+ * Hand-rolled CSV / JSON Lines encoder for flat records.
+ * Values are written field by field, in column order, straight into a {@link Utf8Output},
+ * so no String is ever built for a row.
+ *
+ * Usage:
+ * <pre>
+ *   encoder.field(code).field(name).field(count).endRecord();
+ * </pre>
+ *
+ * For CSV the column names are written once as a header line;
+ * for JSON Lines they become the keys of every object.
+ */
+public final class RecordEncoder implements Closeable {
+
+    private final ExportFormat format;
+    private final String[] columns;
+    private final Utf8Output out;
+
+    /** Index of the next field within the current record */
+    private int column;
+
+    /** Number of records completed so far */
+    private long records;
+
+    /**
+     * Creates an encoder and, for CSV, writes the header line.
+     *
+     * @param format  output format
+     * @param columns column names in the order fields will be written
+     * @param out     destination buffer
+     * @throws IOException if the header cannot be written
+     */
+    public RecordEncoder(ExportFormat format, String[] columns, Utf8Output out) throws IOException {
+        this(format, columns, out, true);
+    }
+
+    /**
+     * Creates an encoder, optionally without the CSV header line, for a
+     * part of a file whose header is written elsewhere.
+     *
+     * @param format  output format
+     * @param columns column names in the order fields will be written
+     * @param out     destination buffer
+     * @param header  false to leave out the CSV header line
+     * @throws IOException if the header cannot be written
+     */
+    public RecordEncoder(ExportFormat format, String[] columns, Utf8Output out, boolean header) throws IOException {
+        this.format = format;
+        this.columns = columns.clone();
+        this.out = out;
+
+        if (header && format == ExportFormat.CSV) {
+            for (int i = 0; i < this.columns.length; i++) {
+                if (i > 0) {
+                    out.putAscii(',');
+                }
+                out.putCsvField(this.columns[i]);
+            }
+            out.putAscii('\n');
+        }
+    }
+
+    // ---------------------- FIELDS ----------------------
+
+    /** Writes a text field; null is written as an empty CSV field or JSON null. */
+    public RecordEncoder field(CharSequence value) throws IOException {
+        separator();
+        if (format == ExportFormat.CSV) {
+            out.putCsvField(value);
+        } else {
+            out.putJsonString(value);
+        }
+        return this;
+    }
+
+    /** Writes a field with no value: an empty CSV field or JSON null. */
+    public RecordEncoder empty() throws IOException {
+        return field((CharSequence) null);
+    }
+
+    /** Writes a numeric field. */
+    public RecordEncoder field(long value) throws IOException {
+        separator();
+        out.put(value);
+        return this;
+    }
+
+    /** Writes a date field in ISO format; null is written as empty / JSON null. */
+    public RecordEncoder field(LocalDate value) throws IOException {
+        separator();
+        if (value == null) {
+            if (format == ExportFormat.JSONL) {
+                out.put("null");
+            }
+        } else if (format == ExportFormat.CSV) {
+            out.put(value);
+        } else {
+            out.putAscii('"').put(value).putAscii('"');
+        }
+        return this;
+    }
+
+    /**
+     * Terminates the current record.
+     *
+     * @throws IllegalStateException if fewer fields than columns were written
+     */
+    public void endRecord() throws IOException {
+        if (column != columns.length) {
+            throw new IllegalStateException("Record has " + column + " fields but " + columns.length + " columns");
+        }
+        if (format == ExportFormat.JSONL) {
+            out.putAscii('}');
+        }
+        out.putAscii('\n');
+        column = 0;
+        records++;
+    }
+
+    // ---------------------- STATE ----------------------
+
+    public long getRecordCount() { return records; }
+
+    public long getBytesWritten() { return out.getBytesWritten(); }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Writes whatever has to precede the next field: a comma for CSV,
+     * and the opening brace or comma plus key for JSON Lines.
+     */
+    private void separator() throws IOException {
+        if (column >= columns.length) {
+            throw new IllegalStateException("Too many fields for " + columns.length + " columns");
+        }
+        if (format == ExportFormat.CSV) {
+            if (column > 0) {
+                out.putAscii(',');
+            }
+        } else {
+            out.putAscii(column == 0 ? '{' : ',');
+            out.putJsonString(columns[column]).putAscii(':');
+        }
+        column++;
+    }
+}
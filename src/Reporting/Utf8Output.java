@@ -0,0 +1,276 @@
+package Reporting;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDate;
+
+/**
+ * Utf8Output
+ * ---------------------------------------------------------
+ * Low-level streaming writer that encodes characters and numbers straight into
+ * a reusable direct {@link ByteBuffer} and drains it to a channel whenever it fills up.
+ *
+ * Responsibilities:
+ *  - UTF-8 encode any CharSequence without creating intermediate Strings or byte arrays
+ *  - Write integers and dates digit by digit
+ *  - Escape values for CSV fields and JSON strings on the fly
+ *
+ * Memory use is bounded by the buffer size no matter how much data is written,
+ * which is what lets exports of millions of rows run in constant memory.
+ */
+public final class Utf8Output implements Closeable {
+
+    /** Default buffer size (1 MiB) - large enough to keep system calls rare */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+
+    /** Scratch space for writing long values (Long.MIN_VALUE has 20 characters) */
+    private final byte[] digits = new byte[20];
+
+    private final ByteBuffer buffer;
+    private final WritableByteChannel channel;
+
+    /** Total bytes handed to the channel so far */
+    private long bytesWritten;
+
+    public Utf8Output(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public Utf8Output(WritableByteChannel channel, int bufferSize) {
+        this(channel, ByteBuffer.allocateDirect(bufferSize));
+    }
+
+    /**
+     * Writes through a caller-supplied buffer, so short-lived outputs
+     * (one per HTTP response, for example) can share pooled buffers.
+     * The buffer is cleared before use and must not be used by anyone else until closed.
+     */
+    public Utf8Output(WritableByteChannel channel, ByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer.clear();
+    }
+
+    // ---------------------- RAW OUTPUT ----------------------
+
+    /**
+     * Writes a single ASCII character. Callers must only pass characters below 0x80.
+     */
+    public Utf8Output putAscii(char c) throws IOException {
+        ensure(1);
+        buffer.put((byte) c);
+        return this;
+    }
+
+    /**
+     * Writes a CharSequence encoded as UTF-8, without any escaping.
+     */
+    public Utf8Output put(CharSequence text) throws IOException {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                ensure(1);
+                buffer.put((byte) c);
+            } else {
+                i = putNonAscii(text, i, c);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes a long value in decimal.
+     */
+    public Utf8Output put(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            return put("-9223372036854775808");
+        }
+        ensure(20);
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        int pos = digits.length;
+        do {
+            digits[--pos] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        buffer.put(digits, pos, digits.length - pos);
+        return this;
+    }
+
+    /**
+     * Writes a date in ISO format (yyyy-MM-dd).
+     */
+    public Utf8Output put(LocalDate date) throws IOException {
+        ensure(10);
+        putPadded(date.getYear(), 4);
+        buffer.put((byte) '-');
+        putPadded(date.getMonthValue(), 2);
+        buffer.put((byte) '-');
+        putPadded(date.getDayOfMonth(), 2);
+        return this;
+    }
+
+    // ---------------------- ESCAPED OUTPUT ----------------------
+
+    /**
+     * Writes a value as a CSV field, quoting it only when it contains
+     * a comma, quote or line break (RFC 4180).
+     */
+    public Utf8Output putCsvField(CharSequence value) throws IOException {
+        if (value == null) {
+            return this;
+        }
+        if (!needsCsvQuoting(value)) {
+            return put(value);
+        }
+        putAscii('"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                ensure(2);
+                buffer.put((byte) '"').put((byte) '"');
+            } else if (c < 0x80) {
+                ensure(1);
+                buffer.put((byte) c);
+            } else {
+                i = putNonAscii(value, i, c);
+            }
+        }
+        return putAscii('"');
+    }
+
+    /**
+     * Writes a value as a quoted JSON string, or the literal null.
+     */
+    public Utf8Output putJsonString(CharSequence value) throws IOException {
+        if (value == null) {
+            return put("null");
+        }
+        putAscii('"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                ensure(2);
+                buffer.put((byte) '\\').put((byte) c);
+            } else if (c < 0x20) {
+                putJsonControl(c);
+            } else if (c < 0x80) {
+                ensure(1);
+                buffer.put((byte) c);
+            } else {
+                i = putNonAscii(value, i, c);
+            }
+        }
+        return putAscii('"');
+    }
+
+    // ---------------------- LIFECYCLE ----------------------
+
+    /** @return total number of bytes written, including any still buffered */
+    public long getBytesWritten() {
+        return bytesWritten + buffer.position();
+    }
+
+    /**
+     * Drains the buffer to the underlying channel.
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flushes remaining bytes and closes the underlying channel.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // ---------------------- HELPERS ----------------------
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void putPadded(int value, int width) {
+        int divisor = 1;
+        for (int i = 1; i < width; i++) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + (value / divisor) % 10));
+        }
+    }
+
+    private void putJsonControl(char c) throws IOException {
+        ensure(6);
+        buffer.put((byte) '\\');
+        switch (c) {
+            case '\n': buffer.put((byte) 'n'); break;
+            case '\r': buffer.put((byte) 'r'); break;
+            case '\t': buffer.put((byte) 't'); break;
+            case '\b': buffer.put((byte) 'b'); break;
+            case '\f': buffer.put((byte) 'f'); break;
+            default:
+                buffer.put((byte) 'u').put((byte) '0').put((byte) '0')
+                        .put(HEX[c >> 4]).put(HEX[c & 0xF]);
+        }
+    }
+
+    /**
+     * Encodes a non-ASCII character (and its low surrogate, if any).
+     *
+     * @return the index of the last char consumed
+     */
+    private int putNonAscii(CharSequence text, int index, char c) throws IOException {
+        ensure(4);
+        if (c < 0x800) {
+            buffer.put((byte) (0xC0 | (c >> 6)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        } else if (Character.isHighSurrogate(c) && index + 1 < text.length()
+                && Character.isLowSurrogate(text.charAt(index + 1))) {
+            int codePoint = Character.toCodePoint(c, text.charAt(index + 1));
+            buffer.put((byte) (0xF0 | (codePoint >> 18)));
+            buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+            buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            return index + 1;
+        } else if (Character.isSurrogate(c)) {
+            buffer.put((byte) '?'); // Unpaired surrogate cannot be encoded
+        } else {
+            buffer.put((byte) (0xE0 | (c >> 12)));
+            buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        }
+        return index;
+    }
+
+    private static boolean needsCsvQuoting(CharSequence value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,659 @@
+package Scripting;
+
+import Audit.AuditAction;
+import Audit.AuditLog;
+import CourseManagement.Course;
+import CourseManagement.CourseManagementModule;
+import CourseManagement.Module;
+import CourseManagement.ModuleManagement;
+import Generation.InstitutionGenerator;
+import Generation.InstitutionSpec;
+import Metrics.Histogram;
+import Metrics.MetricsRegistry;
+import Planning.ExamProblem;
+import Planning.ExamSchedule;
+import Planning.ExamScheduler;
+import Planning.Room;
+import Planning.Timetable;
+import Planning.TimetableProblem;
+import Planning.Timetabler;
+import Planning.WorkloadOptimizer;
+import Planning.WorkloadPlan;
+import Planning.WorkloadPreferences;
+import Planning.WorkloadProblem;
+import Profiling.ImportEvent;
+import Reporting.DataExporter;
+import Reporting.ExportFormat;
+import Security.AccessControl;
+import Security.Authentication;
+import Security.Permission;
+import Security.Role;
+import UserManagement.Admin;
+import UserManagement.Lecturer;
+import UserManagement.LecturerManagementModule;
+import UserManagement.Student;
+import UserManagement.StudentManagementModule;
+import UserManagement.User;
+import Utilities.NotificationSink;
+import Utilities.Notifications;
+import Utilities.SharedState;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CommandInterpreter
+ * ---------------------------------------------------------
+ * Headless command mode for batch administration.
+ * Reads one command per line from a single shared reader and calls the
+ * domain operations directly - no menus, no prompts, no per-call Scanner.
+ *
+ * Usage:
+ * <pre>
+ *   java -cp out Main exec script.ucms      (commands from a file)
+ *   java -cp out Main exec                  (commands from stdin)
+ * </pre>
+ *
+ * Syntax: words separated by spaces; use double quotes for values containing
+ * spaces ("Computer Science"). Lines starting with # are comments.
+ * Run the {@code help} command for the list of commands.
+ * Commands run with the permissions of the interpreter's admin.
+ */
+public class CommandInterpreter {
+
+    private static final String HELP =
+            "Commands:\n"
+          + "  add-course <code> <name> [department]     rename-course <code> <name>\n"
+          + "  set-department <course> <department>\n"
+          + "  recode-course <code> <newCode>            archive-course <code>\n"
+          + "  add-module <course> <code> <title> <level> <semester> <credits> [outline]\n"
+          + "  update-module <code> name|code|level|semester|credits <value>\n"
+          + "  archive-module <code>                     assign-module <module> <lecturerId>\n"
+          + "  unassign-module <code>\n"
+          + "  add-prerequisite <module> <prerequisite>  remove-prerequisite <module> <prerequisite>\n"
+          + "  prerequisites <module>                    unlocks <module>\n"
+          + "  complete-module <studentId> <module>      can-take <studentId> <module>\n"
+          + "  add-student <first> <last> <email> <phone> <dateOfBirth> [address]\n"
+          + "  update-student <id> firstname|lastname|email|phone|address|gpa <value>\n"
+          + "  remove-student <id>                       enroll <studentId> <course>\n"
+          + "  drop <studentId>\n"
+          + "  add-lecturer <first> <last> <email> <phone> <department> [address]\n"
+          + "  remove-lecturer <id>                      assign-lecturer <lecturerId> <course>\n"
+          + "  prefer-module <lecturerId> <module>       set-unavailable <lecturerId> <semester> true|false\n"
+          + "  optimize-workload [rebalance] [cap=N] [seconds=N]\n"
+          + "  add-room <name> <capacity>                list-rooms\n"
+          + "  timetable [days=N] [periods=N] [seconds=N]  repair-timetable [seconds=N]\n"
+          + "  show-timetable <module>\n"
+          + "  schedule-exams [slots=N] [seconds=N]      show-exam <module>\n"
+          + "  exam-risks\n"
+          + "  list-courses | list-students | list-lecturers | list-modules\n"
+          + "  report                                    export csv|jsonl <directory>\n"
+          + "  export-report csv|jsonl <file>            echo <text>\n"
+          + "  add-admin <first> <last> <email> <phone> <password>\n"
+          + "  define-role <name> <permission>...        assign-role <studentId|lecturerId> <role>\n"
+          + "  list-roles                                generate [students=N courses=N seed=N ...]\n"
+          + "  set stop-on-error true|false              help";
+
+    /** Admin on whose behalf commands are executed */
+    private final Admin admin;
+
+    /** Destination for command output and error messages */
+    private final PrintStream out;
+
+    /** Stop at the first failing command instead of reporting it and continuing */
+    private boolean stopOnError;
+
+    private long executed;
+    private long failed;
+
+    private static final Histogram SCRIPT_TIME = MetricsRegistry.histogram("import.script");
+
+    public CommandInterpreter(Admin admin, PrintStream out) {
+        this.admin = admin;
+        this.out = out;
+    }
+
+    public long getExecuted() { return executed; }
+    public long getFailed() { return failed; }
+
+    public void setStopOnError(boolean stopOnError) { this.stopOnError = stopOnError; }
+
+    // ---------------------- ENTRY POINTS ----------------------
+
+    /**
+     * Runs {@code exec [script]} from the command line.
+     * Console output is fully buffered and flushed once at the end; the domain
+     * classes' notifications are dropped unless {@code ucms.notifications} says otherwise.
+     *
+     * @param args command line arguments; args[1] is the script path, or "-"/absent for stdin
+     * @return process exit code: 0 if every command succeeded, 1 otherwise
+     */
+    public static int exec(String[] args) {
+        PrintStream console = System.out;
+        PrintStream buffered = new PrintStream(
+                new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16),
+                false, StandardCharsets.UTF_8);
+        System.setOut(buffered);
+        NotificationSink notifications = Notifications.configure("none");
+
+        CommandInterpreter interpreter = new CommandInterpreter(new Admin(), buffered);
+        try (BufferedReader reader = args.length > 1 && !args[1].equals("-")
+                ? Files.newBufferedReader(Paths.get(args[1]), StandardCharsets.UTF_8)
+                : new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), 1 << 16)) {
+            interpreter.run(reader);
+        } catch (IOException e) {
+            buffered.println("error: " + e.getMessage());
+            interpreter.failed++;
+        } finally {
+            notifications.flush();
+            buffered.flush();
+            System.setOut(console);
+        }
+        return interpreter.getFailed() == 0 ? 0 : 1;
+    }
+
+    /**
+     * Executes every command read from the reader.
+     * Failing commands are reported with their line number.
+     *
+     * @param reader source of commands, one per line
+     * @throws IOException if reading fails
+     */
+    public void run(BufferedReader reader) throws IOException {
+        long start = System.nanoTime();
+        ImportEvent event = new ImportEvent();
+        event.begin();
+        long failedBefore = failed;
+        long lineNumber = 0;
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                try {
+                    execute(line);
+                } catch (RuntimeException e) {
+                    failed++;
+                    out.println("line " + lineNumber + ": error: " + e.getMessage());
+                    if (stopOnError) {
+                        return;
+                    }
+                }
+            }
+        } finally {
+            SCRIPT_TIME.recordSince(start);
+            event.complete("script", lineNumber, failed - failedBefore);
+        }
+    }
+
+    /**
+     * Executes a single command line. Blank lines and comments are ignored.
+     *
+     * @param line the command line
+     * @throws IllegalArgumentException if the command is unknown or its arguments are invalid
+     */
+    public void execute(String line) {
+        List<String> words = tokenize(line);
+        if (words.isEmpty() || words.get(0).startsWith("#")) {
+            return;
+        }
+        AccessControl.runAs(admin, () -> dispatch(words.get(0), words.subList(1, words.size())));
+        executed++;
+    }
+
+    private void dispatch(String command, List<String> arguments) {
+        switch (command) {
+            case "help":            out.println(HELP); break;
+            case "echo":            out.println(String.join(" ", arguments)); break;
+            case "set":             set(arguments); break;
+            case "add-course":      addCourse(arguments); break;
+            case "rename-course":   updateCourse(arguments, "name"); break;
+            case "set-department":  updateCourse(arguments, "department"); break;
+            case "recode-course":   updateCourse(arguments, "code"); break;
+            case "archive-course":  expect(arguments, 1); CourseManagementModule.archiveCourse(course(arguments.get(0))); break;
+            case "add-module":      addModule(arguments); break;
+            case "update-module":   updateModule(arguments); break;
+            case "archive-module":  archiveModule(arguments); break;
+            case "assign-module":   expect(arguments, 2); module(arguments.get(0)).assignTo(lecturer(arguments.get(1))); break;
+            case "unassign-module": expect(arguments, 1); module(arguments.get(0)).unassign(); break;
+            case "add-prerequisite": expect(arguments, 2); ModuleManagement.addPrerequisite(module(arguments.get(0)), module(arguments.get(1))); break;
+            case "remove-prerequisite": expect(arguments, 2); ModuleManagement.removePrerequisite(module(arguments.get(0)), module(arguments.get(1))); break;
+            case "prerequisites":   expect(arguments, 1); printCodes(Module.PREREQUISITES.allPrerequisitesOf(module(arguments.get(0)))); break;
+            case "unlocks":         expect(arguments, 1); printCodes(Module.PREREQUISITES.unlockedBy(module(arguments.get(0)))); break;
+            case "complete-module": expect(arguments, 2); StudentManagementModule.recordCompletion(student(arguments.get(0)), module(arguments.get(1))); break;
+            case "can-take":        canTake(arguments); break;
+            case "add-student":     addStudent(arguments); break;
+            case "update-student":  updateStudent(arguments); break;
+            case "remove-student":  expect(arguments, 1); StudentManagementModule.removeStudent(student(arguments.get(0))); break;
+            case "enroll":          expect(arguments, 2); CourseManagementModule.enrollStudent(student(arguments.get(0)), course(arguments.get(1))); break;
+            case "drop":            expect(arguments, 1); CourseManagementModule.dropCourse(student(arguments.get(0))); break;
+            case "add-lecturer":    addLecturer(arguments); break;
+            case "remove-lecturer": expect(arguments, 1); LecturerManagementModule.removeLecturer(lecturer(arguments.get(0))); break;
+            case "assign-lecturer": expect(arguments, 2); lecturer(arguments.get(0)).assignTo(course(arguments.get(1))); break;
+            case "prefer-module":   expect(arguments, 2); WorkloadPreferences.SYSTEM.prefer(lecturer(arguments.get(0)), module(arguments.get(1))); break;
+            case "set-unavailable": setUnavailable(arguments); break;
+            case "optimize-workload": optimizeWorkload(arguments); break;
+            case "add-room":        addRoom(arguments); break;
+            case "list-rooms":      SharedState.read(() -> new ArrayList<>(Room.roomList)).forEach(out::println); break;
+            case "timetable":       timetable(arguments, false); break;
+            case "repair-timetable": timetable(arguments, true); break;
+            case "show-timetable":  showTimetable(arguments); break;
+            case "schedule-exams":  scheduleExams(arguments); break;
+            case "show-exam":       showExam(arguments); break;
+            case "exam-risks":      examRisks(); break;
+            case "list-courses":    SharedState.snapshot(CourseManagementModule.courseList).forEach(out::println); break;
+            case "list-students":   SharedState.snapshot(StudentManagementModule.studentsContainer).forEach(out::println); break;
+            case "list-lecturers":  SharedState.snapshot(LecturerManagementModule.lecturersList).forEach(out::println); break;
+            case "list-modules":    SharedState.snapshot(ModuleManagement.getModuleList()).forEach(out::println); break;
+            case "report":          admin.generateReport(reportParameters()); break;
+            case "export":          export(arguments); break;
+            case "export-report":   exportReport(arguments); break;
+            case "generate":        generate(arguments); break;
+            case "add-admin":       addAdmin(arguments); break;
+            case "define-role":     defineRole(arguments); break;
+            case "assign-role":     expect(arguments, 2); user(arguments.get(0)).setRole(Role.named(arguments.get(1))); break;
+            case "list-roles":      Role.all().forEach(out::println); break;
+            default:
+                throw new IllegalArgumentException("Unknown command '" + command + "' (try help)");
+        }
+    }
+
+    // ---------------------- COMMANDS ----------------------
+
+    private void set(List<String> arguments) {
+        expect(arguments, 2);
+        if (!arguments.get(0).equals("stop-on-error")) {
+            throw new IllegalArgumentException("Unknown setting: " + arguments.get(0));
+        }
+        stopOnError = Boolean.parseBoolean(arguments.get(1));
+    }
+
+    private void addCourse(List<String> arguments) {
+        expectBetween(arguments, 2, 3);
+        Course course = new Course(arguments.get(0), arguments.get(1));
+        if (arguments.size() == 3) {
+            course.setDepartment(arguments.get(2));
+        }
+        // Check and add under one write lock, so two scripts cannot both add the code
+        SharedState.update(() -> {
+            if (CourseManagementModule.findCourse(arguments.get(0)) != null) {
+                throw new IllegalArgumentException("Course " + arguments.get(0) + " already exists");
+            }
+            admin.addCourse(course, CourseManagementModule.courseList);
+        });
+    }
+
+    private void addModule(List<String> arguments) {
+        expectBetween(arguments, 6, 7);
+        Course course = course(arguments.get(0));
+        Module module = new Module(arguments.get(1), arguments.get(2), course.getCourseCode(),
+                number(arguments.get(3)), number(arguments.get(4)), number(arguments.get(5)));
+        if (arguments.size() == 7) {
+            module.setModuleOutline(arguments.get(6));
+        }
+        SharedState.update(() -> {
+            if (ModuleManagement.findModule(arguments.get(1)) != null) {
+                throw new IllegalArgumentException("Module " + arguments.get(1) + " already exists");
+            }
+            ModuleManagement.registerModule(admin, module, course);
+        });
+    }
+
+    private void updateCourse(List<String> arguments, String field) {
+        expect(arguments, 2);
+        CourseManagementModule.updateCourse(course(arguments.get(0)), field, arguments.get(1));
+    }
+
+    private void updateModule(List<String> arguments) {
+        expect(arguments, 3);
+        ModuleManagement.updateModule(module(arguments.get(0)), arguments.get(1), arguments.get(2));
+    }
+
+    private void archiveModule(List<String> arguments) {
+        expect(arguments, 1);
+        Module module = module(arguments.get(0));
+        Course course = CourseManagementModule.findCourse(module.getCourseCode());
+        ModuleManagement.archiveModule(module, course);
+    }
+
+    private void canTake(List<String> arguments) {
+        expect(arguments, 2);
+        Student student = student(arguments.get(0));
+        Module module = module(arguments.get(1));
+        if (Module.PREREQUISITES.canTake(student, module)) {
+            out.println("✓ " + student.getStudentId() + " can take " + module.getModuleCode());
+        } else {
+            List<String> missing = new ArrayList<>();
+            Module.PREREQUISITES.missingFor(student, module).forEach(needed -> missing.add(needed.getModuleCode()));
+            missing.sort(null);
+            out.println("✗ " + student.getStudentId() + " needs " + String.join(", ", missing) + " first");
+        }
+    }
+
+    private void printCodes(List<Module> modules) {
+        List<String> codes = new ArrayList<>();
+        modules.forEach(module -> codes.add(module.getModuleCode()));
+        codes.sort(null);
+        codes.forEach(out::println);
+    }
+
+    private void addStudent(List<String> arguments) {
+        expectBetween(arguments, 5, 6);
+        Student student = StudentManagementModule.createStudent(admin, arguments.get(0), arguments.get(1),
+                arguments.get(2), "", arguments.size() == 6 ? arguments.get(5) : "", arguments.get(3), arguments.get(4));
+        out.println(student.getStudentId());
+    }
+
+    private void updateStudent(List<String> arguments) {
+        expect(arguments, 3);
+        StudentManagementModule.updateStudent(student(arguments.get(0)), arguments.get(1), arguments.get(2));
+    }
+
+    private void addLecturer(List<String> arguments) {
+        expectBetween(arguments, 5, 6);
+        Lecturer lecturer = LecturerManagementModule.createLecturer(admin, arguments.get(0), arguments.get(1),
+                arguments.get(2), "", arguments.size() == 6 ? arguments.get(5) : "", arguments.get(3), arguments.get(4));
+        out.println(lecturer.getLecturerId());
+    }
+
+    private void addAdmin(List<String> arguments) {
+        expect(arguments, 5);
+        AccessControl.require(Permission.MANAGE_ROLES);
+        Admin account = new Admin(arguments.get(0), arguments.get(1), arguments.get(2), arguments.get(4), "", arguments.get(3));
+        Authentication.register(account, arguments.get(4));
+        account.discardPassword();
+        AuditLog.record(AuditAction.USER_ADDED, AuditLog.nameOf(account), account.getRole().getName());
+    }
+
+    private void defineRole(List<String> arguments) {
+        if (arguments.isEmpty()) {
+            throw new IllegalArgumentException("Expected a role name and its permissions");
+        }
+        List<Permission> permissions = new ArrayList<>();
+        for (String name : arguments.subList(1, arguments.size())) {
+            permissions.add(Permission.fromName(name));
+        }
+        out.println(Role.define(arguments.get(0), permissions));
+    }
+
+    private void export(List<String> arguments) {
+        expect(arguments, 2);
+        try {
+            Map<String, Long> rows = DataExporter.exportAll(Paths.get(arguments.get(1)),
+                    ExportFormat.fromName(arguments.get(0)));
+            rows.forEach((file, count) -> out.println(file + " " + count));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Export failed: " + e.getMessage(), e);
+        }
+    }
+
+    private void exportReport(List<String> arguments) {
+        expect(arguments, 2);
+        try {
+            admin.exportReport(reportParameters(), Paths.get(arguments.get(1)), ExportFormat.fromName(arguments.get(0)));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Export failed: " + e.getMessage(), e);
+        }
+    }
+
+    private void setUnavailable(List<String> arguments) {
+        expect(arguments, 3);
+        int semester;
+        try {
+            semester = Integer.parseInt(arguments.get(1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Semester must be a number: " + arguments.get(1));
+        }
+        WorkloadPreferences.SYSTEM.setUnavailable(lecturer(arguments.get(0)), semester,
+                Boolean.parseBoolean(arguments.get(2)));
+    }
+
+    private void optimizeWorkload(List<String> arguments) {
+        boolean rebalance = false;
+        int cap = 0;
+        double seconds = 60;
+        for (String argument : arguments) {
+            if (argument.equals("rebalance")) {
+                rebalance = true;
+            } else if (argument.startsWith("cap=")) {
+                cap = Integer.parseInt(argument.substring("cap=".length()));
+            } else if (argument.startsWith("seconds=")) {
+                seconds = Double.parseDouble(argument.substring("seconds=".length()));
+            } else {
+                throw new IllegalArgumentException("Unknown option " + argument + " (expected [rebalance] [cap=N] [seconds=N])");
+            }
+        }
+        WorkloadProblem problem = WorkloadProblem.fromSystem(cap);
+        WorkloadOptimizer optimizer = new WorkloadOptimizer(Math.round(seconds * 1e9));
+        WorkloadPlan plan = rebalance ? optimizer.rebalance(problem) : optimizer.solve(problem);
+        plan.apply();
+        plan.print(out);
+    }
+
+    private void addRoom(List<String> arguments) {
+        expect(arguments, 2);
+        try {
+            Room.add(new Room(arguments.get(0), Integer.parseInt(arguments.get(1))));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Capacity must be a number: " + arguments.get(1));
+        }
+    }
+
+    private void timetable(List<String> arguments, boolean repair) {
+        Timetable previous = Timetable.published();
+        if (repair && previous == null) {
+            throw new IllegalArgumentException("No timetable to repair; run timetable first");
+        }
+        int days = repair ? previous.getProblem().getDays() : 5;
+        int periods = repair ? previous.getProblem().getPeriods() : 8;
+        double seconds = 60;
+        for (String argument : arguments) {
+            String value = argument.substring(argument.indexOf('=') + 1);
+            if (argument.startsWith("days=") && !repair) {
+                days = Integer.parseInt(value);
+            } else if (argument.startsWith("periods=") && !repair) {
+                periods = Integer.parseInt(value);
+            } else if (argument.startsWith("seconds=")) {
+                seconds = Double.parseDouble(value);
+            } else {
+                throw new IllegalArgumentException("Unknown option " + argument
+                        + (repair ? " (expected [seconds=N])" : " (expected [days=N] [periods=N] [seconds=N])"));
+            }
+        }
+        TimetableProblem problem = TimetableProblem.fromSystem(days, periods);
+        Timetabler timetabler = new Timetabler(Math.round(seconds * 1e9));
+        Timetable timetable = repair ? timetabler.repair(problem, previous) : timetabler.solve(problem);
+        timetable.publish();
+        timetable.print(out);
+    }
+
+    private void showTimetable(List<String> arguments) {
+        expect(arguments, 1);
+        Timetable timetable = Timetable.published();
+        if (timetable == null) {
+            throw new IllegalArgumentException("No timetable yet; run timetable first");
+        }
+        List<String> sessions = timetable.sessionsOf(module(arguments.get(0)));
+        if (sessions.isEmpty()) {
+            throw new IllegalArgumentException("Module " + arguments.get(0) + " is not in the timetable; run repair-timetable");
+        }
+        sessions.forEach(out::println);
+    }
+
+    private void scheduleExams(List<String> arguments) {
+        int slots = 0;
+        double seconds = 60;
+        for (String argument : arguments) {
+            String value = argument.substring(argument.indexOf('=') + 1);
+            if (argument.startsWith("slots=")) {
+                slots = Integer.parseInt(value);
+            } else if (argument.startsWith("seconds=")) {
+                seconds = Double.parseDouble(value);
+            } else {
+                throw new IllegalArgumentException("Unknown option " + argument + " (expected [slots=N] [seconds=N])");
+            }
+        }
+        ExamSchedule schedule = new ExamScheduler(Math.round(seconds * 1e9)).schedule(ExamProblem.fromSystem(), slots);
+        schedule.publish();
+        schedule.print(out);
+    }
+
+    private void showExam(List<String> arguments) {
+        expect(arguments, 1);
+        String slot = publishedExams().slotOf(module(arguments.get(0)));
+        if (slot == null) {
+            throw new IllegalArgumentException("Module " + arguments.get(0) + " is not in the exam schedule; run schedule-exams");
+        }
+        out.println(slot);
+    }
+
+    private void examRisks() {
+        ExamSchedule schedule = publishedExams();
+        for (Student student : schedule.getAtRiskStudents()) {
+            out.println(student.getStudentId() + "  " + schedule.reasonFor(student));
+        }
+    }
+
+    private static ExamSchedule publishedExams() {
+        ExamSchedule schedule = ExamSchedule.published();
+        if (schedule == null) {
+            throw new IllegalArgumentException("No exam schedule yet; run schedule-exams first");
+        }
+        return schedule;
+    }
+
+    private void generate(List<String> arguments) {
+        Map<String, Long> added = new InstitutionGenerator(InstitutionSpec.parse(arguments)).populate(admin);
+        added.forEach((entity, count) -> out.println(entity + " " + count));
+    }
+
+    // ---------------------- LOOKUPS ----------------------
+
+    private static User user(String id) {
+        Student student = StudentManagementModule.findStudentById(id);
+        User user = student != null ? student : LecturerManagementModule.findLecturerById(id);
+        if (user == null) {
+            throw new IllegalArgumentException("No student or lecturer with ID " + id);
+        }
+        return user;
+    }
+
+    private static Course course(String code) {
+        Course course = CourseManagementModule.findCourse(code);
+        if (course == null) {
+            throw new IllegalArgumentException("Course " + code + " not found");
+        }
+        return course;
+    }
+
+    private static Module module(String code) {
+        Module module = ModuleManagement.findModule(code);
+        if (module == null) {
+            throw new IllegalArgumentException("Module " + code + " not found");
+        }
+        return module;
+    }
+
+    private static Student student(String id) {
+        Student student = StudentManagementModule.findStudentById(id);
+        if (student == null) {
+            throw new IllegalArgumentException("Student " + id + " not found");
+        }
+        return student;
+    }
+
+    private static Lecturer lecturer(String id) {
+        Lecturer lecturer = LecturerManagementModule.findLecturerById(id);
+        if (lecturer == null) {
+            throw new IllegalArgumentException("Lecturer " + id + " not found");
+        }
+        return lecturer;
+    }
+
+    private static String[] reportParameters() {
+        return new String[]{
+                String.valueOf(CourseManagementModule.courseList.size()),
+                String.valueOf(StudentManagementModule.studentsContainer.size()),
+                String.valueOf(LecturerManagementModule.lecturersList.size()),
+                "Batch Script"
+        };
+    }
+
+    // ---------------------- PARSING ----------------------
+
+    /**
+     * Splits a command line into words. Double quotes group words containing
+     * spaces; inside quotes a backslash escapes the next character.
+     *
+     * @param line the command line
+     * @return the words of the line
+     * @throws IllegalArgumentException if a quote is not closed
+     */
+    static List<String> tokenize(String line) {
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        boolean inWord = false;
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '\\' && i + 1 < line.length()) {
+                    word.append(line.charAt(++i));
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    word.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                inWord = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inWord) {
+                    words.add(word.toString());
+                    word.setLength(0);
+                    inWord = false;
+                }
+            } else {
+                word.append(c);
+                inWord = true;
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quote");
+        }
+        if (inWord) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    private static void expect(List<String> arguments, int count) {
+        expectBetween(arguments, count, count);
+    }
+
+    private static void expectBetween(List<String> arguments, int min, int max) {
+        if (arguments.size() < min || arguments.size() > max) {
+            throw new IllegalArgumentException("Expected " + (min == max ? String.valueOf(min) : min + "-" + max)
+                    + " arguments but got " + arguments.size());
+        }
+    }
+
+    private static int number(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + value);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package Security;
+
+import UserManagement.User;
+
+import java.util.function.Supplier;
+
+/**
+ * AccessControl
+ * ---------------------------------------------------------
+ * Checks that the user performing an operation holds the permission it needs.
+ *
+ * The acting user (the principal) is bound to the thread doing the work:
+ * the menus bind it at login, the API server for each request and the
+ * command interpreter for each script. Repository operations then call
+ * {@link #require(Permission)}, which costs one thread-local read and one AND.
+ *
+ * Responsibilities:
+ *  - Bind and unbind the acting user of the current thread
+ *  - Reject operations the acting user's role does not allow
+ *
+ * A denied operation throws {@link SecurityException}; nothing has been changed
+ * at that point. Threads with no bound user are denied everything.
+ */
+public final class AccessControl {
+
+    private static final ThreadLocal<User> PRINCIPAL = new ThreadLocal<>();
+
+    private AccessControl() { }
+
+    // ---------------------- PRINCIPAL ----------------------
+
+    /** @return the user acting on the current thread, or null */
+    public static User current() {
+        return PRINCIPAL.get();
+    }
+
+    /**
+     * Makes a user the acting user of the current thread until {@link #unbind()}.
+     */
+    public static void bind(User user) {
+        PRINCIPAL.set(user);
+    }
+
+    /**
+     * Clears the acting user of the current thread.
+     */
+    public static void unbind() {
+        PRINCIPAL.remove();
+    }
+
+    /**
+     * Runs an operation on behalf of a user, then restores the previous acting user.
+     *
+     * @return the operation's result
+     */
+    public static <T> T runAs(User user, Supplier<T> operation) {
+        User previous = PRINCIPAL.get();
+        PRINCIPAL.set(user);
+        try {
+            return operation.get();
+        } finally {
+            if (previous != null) {
+                PRINCIPAL.set(previous);
+            } else {
+                PRINCIPAL.remove();
+            }
+        }
+    }
+
+    /**
+     * Runs an operation that returns nothing on behalf of a user.
+     */
+    public static void runAs(User user, Runnable operation) {
+        runAs(user, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    // ---------------------- CHECKS ----------------------
+
+    /**
+     * @return true if the user's role allows the permission
+     */
+    public static boolean allows(User user, Permission permission) {
+        return user != null && user.getRole().allows(permission);
+    }
+
+    /**
+     * Checks the acting user of the current thread.
+     *
+     * @throws SecurityException if no user is bound or their role lacks the permission
+     */
+    public static void require(Permission permission) {
+        check(PRINCIPAL.get(), permission);
+    }
+
+    /**
+     * Checks an operation on a user's own record: the acting user needs
+     * {@code own} when acting on themselves and {@code any} otherwise.
+     *
+     * @throws SecurityException if the acting user may not perform the operation
+     */
+    public static void requireSelfOr(User subject, Permission own, Permission any) {
+        User principal = PRINCIPAL.get();
+        check(principal, principal == subject && allows(principal, own) ? own : any);
+    }
+
+    /**
+     * Checks a given user.
+     *
+     * @throws SecurityException if the user is null or their role lacks the permission
+     */
+    public static void check(User user, Permission permission) {
+        if (user == null) {
+            throw new SecurityException("Please log in to " + permission.getDescription());
+        }
+        Role role = user.getRole();
+        if (!role.allows(permission)) {
+            throw new SecurityException("The " + role.getName() + " role may not " + permission.getDescription());
+        }
+    }
+}
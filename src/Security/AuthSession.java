@@ -0,0 +1,58 @@
+package Security;
+
+import UserManagement.User;
+
+/**
+ * AuthSession
+ * ---------------------------------------------------------
+ * One logged-in user, identified by a signed session token.
+ *
+ * Responsibilities:
+ *  - Hold the token and the user it was issued to
+ *  - Track when the session was last used, for idle expiry
+ *
+ * Sessions are scheduled for expiry on the {@link SessionManager}'s timing wheel.
+ */
+public final class AuthSession extends TimingWheel.Entry {
+
+    private final String token;
+    private final User user;
+    private final long createdAt;
+    private volatile long lastUsed;
+    private volatile boolean defaultPassword;
+    private volatile boolean closed;
+
+    AuthSession(String token, User user, long now, boolean defaultPassword) {
+        this.token = token;
+        this.user = user;
+        this.createdAt = now;
+        this.lastUsed = now;
+        this.defaultPassword = defaultPassword;
+    }
+
+    public String getToken() { return token; }
+    public User getUser() { return user; }
+
+    /** @return creation time in milliseconds since the epoch */
+    public long getCreatedAt() { return createdAt; }
+
+    /** @return time of the last login or token check in milliseconds since the epoch */
+    public long getLastUsed() { return lastUsed; }
+
+    /** @return true if the user logged in with the default password and must choose a new one */
+    public boolean mustChangePassword() { return defaultPassword; }
+
+    /** @return true once the session has been logged out or has expired */
+    public boolean isClosed() { return closed; }
+
+    void touch(long now) { lastUsed = now; }
+
+    void close() { closed = true; }
+
+    void passwordChanged() { defaultPassword = false; }
+
+    @Override
+    public String toString() {
+        return "AuthSession: " + user.getFirstname() + " " + user.getLastname();
+    }
+}
@@ -0,0 +1,190 @@
+package Security;
+
+import Metrics.Counter;
+import Metrics.Histogram;
+import Metrics.MetricsRegistry;
+import UserManagement.Admin;
+import UserManagement.Lecturer;
+import UserManagement.Student;
+import UserManagement.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Authentication
+ * ---------------------------------------------------------
+ * Entry point for logging users in and out, shared by the console menus,
+ * the terminal server and the API server.
+ *
+ * Responsibilities:
+ *  - Store a password hash when a user is added, and drop it when they are removed
+ *  - Check a login name and password, and open a session on success
+ *  - Resolve session tokens and log sessions out
+ *
+ * Users log in with their ID (students and lecturers) or their email address.
+ * Password checks run on the {@link CredentialStore} hashing threads; callers
+ * get a future and decide whether to wait for it.
+ * Sessions expire after 30 idle minutes ({@code -Ducms.session.idleMinutes=N}).
+ */
+public final class Authentication {
+
+    /** Email given to users created without one; never used as a login name */
+    private static final String NO_EMAIL = "no-email@ucms.system";
+
+    private static final CredentialStore CREDENTIALS = new CredentialStore();
+    private static final SessionManager SESSIONS =
+            new SessionManager(Integer.getInteger("ucms.session.idleMinutes", 30) * 60_000L);
+
+    private static final Histogram LOGIN_TIME = MetricsRegistry.histogram("auth.login");
+    private static final Counter LOGIN_FAILURES = MetricsRegistry.counter("auth.login.failed");
+
+    /** Set once the first administrator account has a password */
+    private static volatile boolean adminRegistered;
+
+    /** Held while checking for and creating the first administrator account */
+    private static final Object FIRST_ADMIN = new Object();
+
+    private Authentication() { }
+
+    // ---------------------- CREDENTIALS ----------------------
+
+    /**
+     * Stores the user's password hash under each of their login names.
+     * Hashing runs in the background; a login before it is done waits for it.
+     *
+     * @param user     the user
+     * @param password the plain-text password
+     * @return completes once the hash is stored
+     */
+    public static CompletableFuture<?> register(User user, String password) {
+        String plain = password == null || password.trim().isEmpty() ? User.DEFAULT_PASSWORD : password;
+        CompletableFuture<?> stored = CREDENTIALS.register(user, loginNames(user), plain);
+        if (user instanceof Admin) {
+            adminRegistered = true;
+        }
+        return stored;
+    }
+
+    /**
+     * Removes the user's password and ends all of their sessions.
+     */
+    public static void unregister(User user) {
+        CREDENTIALS.remove(user, loginNames(user));
+        SESSIONS.closeAll(user);
+    }
+
+    /**
+     * Makes a change that may give a user new login names, such as a new
+     * email address or ID, and moves their password to the new names. Every
+     * change to a user's email or ID goes through here, or the user could
+     * only log in with the old one.
+     *
+     * @param user   the user
+     * @param change sets the user's new email or ID
+     */
+    public static void changeLoginNames(User user, Runnable change) {
+        List<String> before = loginNames(user);
+        change.run();
+        CREDENTIALS.rename(user, before, loginNames(user));
+    }
+
+    /**
+     * Replaces the user's password. Open sessions stay open.
+     *
+     * @throws IllegalArgumentException if the new password is empty or the default one
+     */
+    public static CompletableFuture<?> changePassword(AuthSession session, String newPassword) {
+        if (newPassword == null || newPassword.trim().isEmpty()) {
+            throw new IllegalArgumentException("Password cannot be empty");
+        }
+        if (newPassword.equals(User.DEFAULT_PASSWORD)) {
+            throw new IllegalArgumentException("Please choose a password other than the default one");
+        }
+        session.passwordChanged();
+        return register(session.getUser(), newPassword);
+    }
+
+    /**
+     * Stores the password of the first administrator account, unless one
+     * already exists. Checking and storing happen under one lock, so two
+     * callers cannot both create the first administrator.
+     *
+     * @return false if an administrator account already existed
+     */
+    public static boolean registerFirstAdmin(Admin admin, String password) {
+        synchronized (FIRST_ADMIN) {
+            if (adminRegistered) {
+                return false;
+            }
+            register(admin, password);
+            return true;
+        }
+    }
+
+    /** @return true once at least one administrator account exists */
+    public static boolean hasAdmin() {
+        return adminRegistered;
+    }
+
+    // ---------------------- SESSIONS ----------------------
+
+    /**
+     * Checks a login name and password on a hashing thread.
+     *
+     * @param loginName user ID or email address
+     * @param password  the plain-text password
+     * @return completes with the new session, or with null if the login failed
+     */
+    public static CompletableFuture<AuthSession> login(String loginName, String password) {
+        long start = System.nanoTime();
+        return CREDENTIALS.verify(loginName, password).thenApply(credential -> {
+            LOGIN_TIME.recordSince(start);
+            if (credential == null) {
+                LOGIN_FAILURES.increment();
+                return null;
+            }
+            return SESSIONS.open(credential.getUser(), credential.isDefaultPassword());
+        });
+    }
+
+    /**
+     * @param token a session token
+     * @return the live session for the token, or null
+     */
+    public static AuthSession resolve(String token) {
+        return SESSIONS.resolve(token);
+    }
+
+    /**
+     * Ends a session.
+     *
+     * @return true if the session was open
+     */
+    public static boolean logout(String token) {
+        return SESSIONS.close(token);
+    }
+
+    /** @return the table of open sessions */
+    public static SessionManager sessions() {
+        return SESSIONS;
+    }
+
+    // ---------------------- HELPERS ----------------------
+
+    private static List<String> loginNames(User user) {
+        List<String> names = new ArrayList<>(2);
+        if (user instanceof Student) {
+            names.add(((Student) user).getStudentId());
+        } else if (user instanceof Lecturer) {
+            names.add(((Lecturer) user).getLecturerId());
+        }
+        String email = user.getEmail();
+        if (email != null && !email.equals(NO_EMAIL)) {
+            names.add(email);
+        }
+        names.removeIf(name -> name == null || name.trim().isEmpty());
+        return names;
+    }
+}
@@ -0,0 +1,262 @@
+package Security;
+
+import UserManagement.User;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CredentialStore
+ * ---------------------------------------------------------
+ * Salted PBKDF2 (HMAC-SHA256) password hashes, keyed by every login name of a
+ * user (their ID and their email address).
+ *
+ * Responsibilities:
+ *  - Hash passwords with a per-user random salt on a dedicated thread pool
+ *  - Verify a login name and password in constant time
+ *  - Share one hash for users still on the default password
+ *
+ * Hashing is deliberately slow, so it never runs on the calling thread:
+ * registration returns at once and a login started before the hash is ready
+ * simply waits for it. The pool has one thread per core, which also caps how
+ * much CPU concurrent logins can take from the rest of the system.
+ */
+public final class CredentialStore {
+
+    /** PBKDF2 iterations for new hashes (-Ducms.pbkdf2.iterations) */
+    public static final int ITERATIONS = Integer.getInteger("ucms.pbkdf2.iterations", 210_000);
+
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    /**
+     * Stored hash of one password.
+     */
+    public static final class Credential {
+        private final User user;
+        private final byte[] salt;
+        private final byte[] hash;
+        private final int iterations;
+        private final boolean defaultPassword;
+
+        Credential(User user, byte[] salt, byte[] hash, int iterations, boolean defaultPassword) {
+            this.user = user;
+            this.salt = salt;
+            this.hash = hash;
+            this.iterations = iterations;
+            this.defaultPassword = defaultPassword;
+        }
+
+        public User getUser() { return user; }
+
+        /** @return true if the user has not chosen a password yet */
+        public boolean isDefaultPassword() { return defaultPassword; }
+    }
+
+    /**
+     * A user's credential, pending while its hash is computed.
+     */
+    private record Entry(User user, CompletableFuture<Credential> credential) { }
+
+    private final ExecutorService hashing;
+    private final SecureRandom random = new SecureRandom();
+
+    /** Credentials by login name (lower-case) */
+    private final ConcurrentHashMap<String, Entry> credentials = new ConcurrentHashMap<>();
+
+    /** Hash of User.DEFAULT_PASSWORD, computed once and shared by all users still using it */
+    private volatile CompletableFuture<byte[][]> defaultHash;
+
+    /** Hash compared against when a login name is unknown, so both cases take equally long */
+    private volatile CompletableFuture<byte[][]> decoyHash;
+
+    public CredentialStore() {
+        AtomicInteger threads = new AtomicInteger();
+        this.hashing = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors()), task -> {
+            Thread thread = new Thread(task, "ucms-password-hash-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // ---------------------- REGISTRATION ----------------------
+
+    /**
+     * Stores a password for a user under each of their login names.
+     * Login names already used by another user are skipped.
+     *
+     * @param user       the user
+     * @param loginNames the user's ID, email, ...
+     * @param password   the plain-text password
+     * @return completes once the hash is stored
+     */
+    public CompletableFuture<Credential> register(User user, List<String> loginNames, String password) {
+        Entry entry = new Entry(user, hash(user, password));
+        for (String loginName : loginNames) {
+            credentials.compute(normalize(loginName), (name, existing) ->
+                    existing == null || existing.user == user ? entry : existing);
+        }
+        return entry.credential;
+    }
+
+    /**
+     * Moves a user's credential from their old login names to their new ones,
+     * e.g. after their email address changed. New names already used by
+     * another user are skipped, as in {@link #register}.
+     *
+     * @param before the user's login names before the change
+     * @param after  the user's login names now
+     */
+    public void rename(User user, List<String> before, List<String> after) {
+        Entry entry = null;
+        for (String loginName : before) {
+            Entry existing = credentials.get(normalize(loginName));
+            if (existing != null && existing.user == user) {
+                entry = existing;
+                break;
+            }
+        }
+        if (entry == null) {
+            return;
+        }
+        Entry moved = entry;
+        Set<String> kept = new HashSet<>();
+        for (String loginName : after) {
+            kept.add(normalize(loginName));
+            credentials.compute(normalize(loginName), (name, existing) ->
+                    existing == null || existing.user == user ? moved : existing);
+        }
+        for (String loginName : before) {
+            if (!kept.contains(normalize(loginName))) {
+                credentials.computeIfPresent(normalize(loginName), (name, existing) ->
+                        existing.user == user ? null : existing);
+            }
+        }
+    }
+
+    /**
+     * Removes the given login names if they belong to the user.
+     */
+    public void remove(User user, List<String> loginNames) {
+        for (String loginName : loginNames) {
+            credentials.computeIfPresent(normalize(loginName), (name, existing) ->
+                    existing.user == user ? null : existing);
+        }
+    }
+
+    // ---------------------- VERIFICATION ----------------------
+
+    /**
+     * Checks a login name and password.
+     *
+     * @return the credential if the password matches; completes with null otherwise
+     */
+    public CompletableFuture<Credential> verify(String loginName, String password) {
+        Entry stored = loginName == null ? null : credentials.get(normalize(loginName));
+        if (stored == null) {
+            // Spend the same time as a real check before failing
+            return decoy().thenApplyAsync(decoy -> {
+                derive(password, decoy[0], ITERATIONS);
+                return null;
+            }, hashing);
+        }
+        return stored.credential.thenApplyAsync(credential -> {
+            byte[] actual = derive(password, credential.salt, credential.iterations);
+            return MessageDigest.isEqual(actual, credential.hash) ? credential : null;
+        }, hashing);
+    }
+
+    // ---------------------- HASHING ----------------------
+
+    private CompletableFuture<Credential> hash(User user, String password) {
+        if (User.DEFAULT_PASSWORD.equals(password)) {
+            return defaultHash().thenApply(hash -> new Credential(user, hash[0], hash[1], ITERATIONS, true));
+        }
+        char[] characters = password.toCharArray();
+        return CompletableFuture.supplyAsync(() -> {
+            byte[] salt = newSalt();
+            try {
+                return new Credential(user, salt, derive(characters, salt, ITERATIONS), ITERATIONS, false);
+            } finally {
+                Arrays.fill(characters, '\0');
+            }
+        }, hashing);
+    }
+
+    private CompletableFuture<byte[][]> defaultHash() {
+        CompletableFuture<byte[][]> hash = defaultHash;
+        if (hash == null) {
+            synchronized (this) {
+                if (defaultHash == null) {
+                    defaultHash = saltedHash(User.DEFAULT_PASSWORD);
+                }
+                hash = defaultHash;
+            }
+        }
+        return hash;
+    }
+
+    private CompletableFuture<byte[][]> decoy() {
+        CompletableFuture<byte[][]> hash = decoyHash;
+        if (hash == null) {
+            synchronized (this) {
+                if (decoyHash == null) {
+                    decoyHash = saltedHash("decoy");
+                }
+                hash = decoyHash;
+            }
+        }
+        return hash;
+    }
+
+    private CompletableFuture<byte[][]> saltedHash(String password) {
+        return CompletableFuture.supplyAsync(() -> {
+            byte[] salt = newSalt();
+            return new byte[][]{salt, derive(password, salt, ITERATIONS)};
+        }, hashing);
+    }
+
+    private byte[] newSalt() {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        return salt;
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        char[] characters = password == null ? new char[0] : password.toCharArray();
+        try {
+            return derive(characters, salt, iterations);
+        } finally {
+            Arrays.fill(characters, '\0');
+        }
+    }
+
+    private static byte[] derive(char[] password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2WithHmacSHA256 is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    // ---------------------- HELPERS ----------------------
+
+    static String normalize(String loginName) {
+        return loginName.trim().toLowerCase();
+    }
+}
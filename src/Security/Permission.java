@@ -0,0 +1,50 @@
+package Security;
+
+/**
+ * Permission
+ * ---------------------------------------------------------
+ * Operations a role may be allowed to perform.
+ * Each permission owns one bit of a {@link Role}'s permission mask.
+ */
+public enum Permission {
+    VIEW_COURSES("view courses"),
+    MANAGE_COURSES("add, change or archive courses"),
+    VIEW_MODULES("view modules"),
+    MANAGE_MODULES("add, change or archive modules"),
+    VIEW_STUDENTS("view students"),
+    MANAGE_STUDENTS("add, change or remove students"),
+    VIEW_LECTURERS("view lecturers"),
+    MANAGE_LECTURERS("add, change or remove lecturers"),
+    ENROLL_SELF("enroll in or drop their own course"),
+    MANAGE_ENROLLMENTS("enroll or drop any student"),
+    VIEW_REPORTS("view system reports"),
+    EXPORT_DATA("export reports and data"),
+    MANAGE_ROLES("define roles and administrator accounts");
+
+    /** Bit of this permission in a role's mask */
+    final long bit = 1L << ordinal();
+
+    private final String description;
+
+    Permission(String description) {
+        this.description = description;
+    }
+
+    /** @return what the permission allows, e.g. "view courses" */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Looks a permission up by name, ignoring case and accepting '-' for '_'.
+     *
+     * @throws IllegalArgumentException if there is no such permission
+     */
+    public static Permission fromName(String name) {
+        try {
+            return valueOf(name.trim().replace('-', '_').toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown permission: " + name);
+        }
+    }
+}
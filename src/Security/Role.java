@@ -0,0 +1,133 @@
+package Security;
+
+import Audit.AuditAction;
+import Audit.AuditLog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Role
+ * ---------------------------------------------------------
+ * A named set of {@link Permission}s, compiled to a bit mask so that a
+ * permission check is a single AND.
+ *
+ * Responsibilities:
+ *  - Provide the built-in Admin, Lecturer and Student roles
+ *  - Define and look up custom roles by name
+ *  - Answer "may this role do that?" in constant time
+ *
+ * Roles are immutable; redefining a custom role replaces it for users
+ * assigned to it afterwards.
+ */
+public final class Role {
+
+    public static final Role ADMIN = new Role("Admin", EnumSet.allOf(Permission.class));
+
+    public static final Role LECTURER = new Role("Lecturer", EnumSet.of(
+            Permission.VIEW_COURSES, Permission.VIEW_MODULES, Permission.VIEW_STUDENTS,
+            Permission.VIEW_LECTURERS));
+
+    public static final Role STUDENT = new Role("Student", EnumSet.of(
+            Permission.VIEW_COURSES, Permission.VIEW_MODULES, Permission.ENROLL_SELF));
+
+    /** All roles by lower-case name */
+    private static final Map<String, Role> ROLES = new ConcurrentHashMap<>();
+
+    static {
+        for (Role role : new Role[]{ADMIN, LECTURER, STUDENT}) {
+            ROLES.put(role.name.toLowerCase(), role);
+        }
+    }
+
+    private final String name;
+    private final long mask;
+
+    private Role(String name, Collection<Permission> permissions) {
+        this.name = name;
+        long bits = 0;
+        for (Permission permission : permissions) {
+            bits |= permission.bit;
+        }
+        this.mask = bits;
+    }
+
+    // ---------------------- REGISTRY ----------------------
+
+    /**
+     * Defines (or redefines) a custom role.
+     *
+     * @param name        role name
+     * @param permissions what the role may do
+     * @return the new role
+     * @throws IllegalArgumentException if the name is empty or belongs to a built-in role
+     * @throws SecurityException        if the acting user may not manage roles
+     */
+    public static Role define(String name, Collection<Permission> permissions) {
+        AccessControl.require(Permission.MANAGE_ROLES);
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Role name cannot be empty");
+        }
+        String key = name.trim().toLowerCase();
+        Role existing = ROLES.get(key);
+        if (existing != null && existing.isBuiltIn()) {
+            throw new IllegalArgumentException("Built-in role " + existing.name + " cannot be redefined");
+        }
+        Role role = new Role(name.trim(), permissions);
+        ROLES.put(key, role);
+        AuditLog.record(AuditAction.ROLE_DEFINED, role.name, role.getPermissions().toString());
+        return role;
+    }
+
+    /**
+     * @param name role name, any case
+     * @return the role
+     * @throws IllegalArgumentException if there is no such role
+     */
+    public static Role named(String name) {
+        Role role = name == null ? null : ROLES.get(name.trim().toLowerCase());
+        if (role == null) {
+            throw new IllegalArgumentException("Unknown role: " + name);
+        }
+        return role;
+    }
+
+    /** @return every defined role */
+    public static List<Role> all() {
+        return new ArrayList<>(ROLES.values());
+    }
+
+    // ---------------------- CHECKS ----------------------
+
+    /** @return true if the role grants the permission */
+    public boolean allows(Permission permission) {
+        return (mask & permission.bit) != 0;
+    }
+
+    /** @return the permissions granted by the role */
+    public EnumSet<Permission> getPermissions() {
+        EnumSet<Permission> permissions = EnumSet.noneOf(Permission.class);
+        for (Permission permission : Permission.values()) {
+            if (allows(permission)) {
+                permissions.add(permission);
+            }
+        }
+        return permissions;
+    }
+
+    public String getName() { return name; }
+
+    /** @return true for Admin, Lecturer and Student */
+    public boolean isBuiltIn() {
+        return this == ADMIN || this == LECTURER || this == STUDENT;
+    }
+
+    @Override
+    public String toString() {
+        return "Role: " + name + " " + getPermissions();
+    }
+}
@@ -0,0 +1,213 @@
+package Security;
+
+import UserManagement.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SessionManager
+ * ---------------------------------------------------------
+ * Table of live login sessions with idle expiry.
+ *
+ * Sessions are looked up by token in a concurrent map and expire on a
+ * hierarchical {@link TimingWheel} advanced by one background thread, so the
+ * cost of expiry does not grow with the number of live sessions.
+ *
+ * Responsibilities:
+ *  - Open, look up and close sessions in O(1)
+ *  - Expire sessions idle for longer than the timeout
+ *  - Close every session of a user when the user is removed
+ *
+ * Touching a session only records the time. When the wheel finds a session
+ * due, it checks the last use and reschedules sessions that were used in the
+ * meantime, so a busy session is rescheduled about once per timeout instead
+ * of on every request. Lookups also check the deadline, so a session never
+ * outlives its timeout by more than one tick.
+ */
+public final class SessionManager {
+
+    /** Resolution of the expiry wheel */
+    private static final long TICK_MILLIS = 1000;
+
+    private final SessionTokens tokens = new SessionTokens();
+    private final long idleTimeoutMillis;
+
+    /** Sessions by token */
+    private final ConcurrentHashMap<String, AuthSession> sessions = new ConcurrentHashMap<>();
+
+    /** Sessions by user, for logging a user out everywhere */
+    private final ConcurrentHashMap<User, Set<AuthSession>> sessionsByUser = new ConcurrentHashMap<>();
+
+    /** Guards the wheel; held only to link or unlink entries */
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    private final TimingWheel wheel;
+    private final ScheduledExecutorService ticker;
+
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    /**
+     * Creates a session table and starts its expiry thread.
+     *
+     * @param idleTimeoutMillis sessions not used for this long expire
+     */
+    public SessionManager(long idleTimeoutMillis) {
+        if (idleTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Idle timeout must be positive");
+        }
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.wheel = new TimingWheel(TICK_MILLIS, System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "ucms-session-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(() -> expireIdle(System.currentTimeMillis()),
+                TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /** @return the number of live sessions */
+    public int size() { return sessions.size(); }
+
+    /** @return the number of sessions opened since start */
+    public long getOpenedCount() { return opened.sum(); }
+
+    /** @return the number of sessions that timed out since start */
+    public long getExpiredCount() { return expired.sum(); }
+
+    // ---------------------- SESSIONS ----------------------
+
+    /**
+     * Opens a session for a user who has just proven their identity.
+     *
+     * @param user            the user
+     * @param defaultPassword whether they logged in with the default password
+     * @return the new session
+     */
+    public AuthSession open(User user, boolean defaultPassword) {
+        long now = System.currentTimeMillis();
+        AuthSession session = new AuthSession(tokens.issue(), user, now, defaultPassword);
+        sessions.put(session.getToken(), session);
+        sessionsByUser.compute(user, (key, userSessions) -> {
+            Set<AuthSession> updated = userSessions != null ? userSessions : ConcurrentHashMap.newKeySet();
+            updated.add(session);
+            return updated;
+        });
+        wheelLock.lock();
+        try {
+            wheel.schedule(session, now + idleTimeoutMillis);
+        } finally {
+            wheelLock.unlock();
+        }
+        opened.increment();
+        return session;
+    }
+
+    /**
+     * Looks up the session for a token and marks it as used.
+     *
+     * @param token a token issued by {@link #open}
+     * @return the session, or null if the token is forged, unknown or expired
+     */
+    public AuthSession resolve(String token) {
+        if (token == null || !tokens.verify(token)) {
+            return null;
+        }
+        AuthSession session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (now - session.getLastUsed() > idleTimeoutMillis) {
+            expire(session);
+            return null;
+        }
+        session.touch(now);
+        return session;
+    }
+
+    /**
+     * Ends a session.
+     *
+     * @return true if the session was open
+     */
+    public boolean close(String token) {
+        AuthSession session = token == null ? null : sessions.get(token);
+        return session != null && remove(session);
+    }
+
+    /**
+     * Ends every session of a user.
+     */
+    public void closeAll(User user) {
+        Set<AuthSession> userSessions = sessionsByUser.get(user);
+        if (userSessions != null) {
+            for (AuthSession session : new ArrayList<>(userSessions)) {
+                remove(session);
+            }
+        }
+    }
+
+    // ---------------------- EXPIRY ----------------------
+
+    /**
+     * Advances the wheel to the given time and ends the sessions that are due.
+     */
+    void expireIdle(long now) {
+        List<AuthSession> due = new ArrayList<>();
+        wheelLock.lock();
+        try {
+            wheel.advanceTo(now, entry -> {
+                AuthSession session = (AuthSession) entry;
+                long deadline = session.getLastUsed() + idleTimeoutMillis;
+                if (deadline > now) {
+                    wheel.schedule(session, deadline); // Used since it was scheduled
+                } else {
+                    due.add(session);
+                }
+            });
+        } finally {
+            wheelLock.unlock();
+        }
+        for (AuthSession session : due) {
+            expire(session);
+        }
+    }
+
+    private void expire(AuthSession session) {
+        if (remove(session)) {
+            expired.increment();
+        }
+    }
+
+    /**
+     * Removes a session from the table, the user index and the wheel.
+     *
+     * @return true if this call removed it
+     */
+    private boolean remove(AuthSession session) {
+        if (!sessions.remove(session.getToken(), session)) {
+            return false;
+        }
+        session.close();
+        sessionsByUser.computeIfPresent(session.getUser(), (user, userSessions) -> {
+            userSessions.remove(session);
+            return userSessions.isEmpty() ? null : userSessions;
+        });
+        wheelLock.lock();
+        try {
+            wheel.cancel(session);
+        } finally {
+            wheelLock.unlock();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,77 @@
+package Security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * SessionTokens
+ * ---------------------------------------------------------
+ * Issues and checks signed session tokens.
+ *
+ * A token is {@code payload.signature}: the payload holds a random session ID,
+ * the signature is an HMAC-SHA256 over it with a key that exists only in this
+ * process. A forged or mangled token is rejected with one HMAC, before any
+ * session lookup.
+ *
+ * Responsibilities:
+ *  - Create random, signed tokens
+ *  - Verify a token's signature in constant time
+ */
+final class SessionTokens {
+
+    private static final int SESSION_ID_BYTES = 18;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecureRandom random = new SecureRandom();
+
+    /** Initialised HMAC cloned for each signature (Mac instances are not thread-safe) */
+    private final Mac prototype;
+
+    SessionTokens() {
+        byte[] key = new byte[32];
+        random.nextBytes(key);
+        try {
+            prototype = Mac.getInstance("HmacSHA256");
+            prototype.init(new SecretKeySpec(key, "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    /** @return a new, unique token */
+    String issue() {
+        byte[] id = new byte[SESSION_ID_BYTES];
+        random.nextBytes(id);
+        String payload = ENCODER.encodeToString(id);
+        return payload + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    /** @return true if the token was issued by this process */
+    boolean verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return false;
+        }
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            return MessageDigest.isEqual(signature, sign(token.substring(0, dot)));
+        } catch (IllegalArgumentException e) {
+            return false; // Not Base64
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = (Mac) prototype.clone();
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HmacSHA256 cannot be cloned", e);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package Security;
+
+import java.util.function.Consumer;
+
+/**
+ * TimingWheel
+ * ---------------------------------------------------------
+ * Hierarchical timing wheel: schedules many deadlines with O(1) insert and
+ * cancel, and finds the due ones without looking at the others.
+ *
+ * Level 0 has one slot per tick; each higher level has slots 64 times as
+ * wide as the level below. An entry sits in the level that covers its
+ * distance to the deadline, and moves down one level (cascades) when the
+ * wheel reaches its slot, so every entry is moved at most once per level.
+ * With four levels and one-second ticks, deadlines up to 194 days ahead are
+ * exact; later ones wait in the last slot and are rescheduled when it fires.
+ *
+ * Responsibilities:
+ *  - Keep entries in intrusive doubly-linked slot lists (no allocation per schedule)
+ *  - Hand due entries to a callback as time advances
+ *
+ * Not thread-safe: callers guard the wheel with their own lock.
+ */
+final class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    /**
+     * Something that can be scheduled on a wheel. An entry is on at most one wheel at a time.
+     */
+    abstract static class Entry {
+        Entry previous;
+        Entry next;
+        Slot slot;
+        long deadlineTick;
+    }
+
+    /** Head of a circular list of entries */
+    private static final class Slot extends Entry {
+        Slot() {
+            previous = this;
+            next = this;
+        }
+    }
+
+    private final Slot[][] levels = new Slot[LEVELS][SLOTS];
+    private final long tickMillis;
+
+    /** The last tick processed */
+    private long currentTick;
+
+    private int size;
+
+    /**
+     * @param tickMillis  resolution of the wheel
+     * @param startMillis current time
+     */
+    TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        for (Slot[] level : levels) {
+            for (int i = 0; i < SLOTS; i++) {
+                level[i] = new Slot();
+            }
+        }
+    }
+
+    int size() { return size; }
+
+    /**
+     * Schedules an entry, moving it if it is already scheduled.
+     * Deadlines in the past fire on the next tick.
+     *
+     * @param entry          the entry
+     * @param deadlineMillis when the entry is due
+     */
+    void schedule(Entry entry, long deadlineMillis) {
+        cancel(entry);
+        entry.deadlineTick = Math.max(currentTick + 1, (deadlineMillis + tickMillis - 1) / tickMillis);
+        insert(entry);
+    }
+
+    /**
+     * Removes an entry from the wheel; does nothing if it is not scheduled.
+     */
+    void cancel(Entry entry) {
+        if (entry.slot == null) {
+            return;
+        }
+        entry.previous.next = entry.next;
+        entry.next.previous = entry.previous;
+        entry.previous = null;
+        entry.next = null;
+        entry.slot = null;
+        size--;
+    }
+
+    /**
+     * Processes every tick up to the given time, handing each due entry
+     * (already removed from the wheel) to the callback. The callback may
+     * schedule the entry again.
+     *
+     * @param nowMillis current time
+     * @param due       receives the due entries
+     */
+    void advanceTo(long nowMillis, Consumer<Entry> due) {
+        long target = nowMillis / tickMillis;
+        while (currentTick < target) {
+            long tick = ++currentTick;
+            // Cascade from the highest level whose slot starts at this tick
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((tick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(levels[level][(int) (tick >>> (SLOT_BITS * level)) & MASK]);
+                }
+            }
+            Slot slot = levels[0][(int) tick & MASK];
+            while (slot.next != slot) {
+                Entry entry = slot.next;
+                cancel(entry);
+                due.accept(entry);
+            }
+        }
+    }
+
+    // ---------------------- HELPERS ----------------------
+
+    private void cascade(Slot slot) {
+        while (slot.next != slot) {
+            Entry entry = slot.next;
+            cancel(entry);
+            insert(entry);
+        }
+    }
+
+    private void insert(Entry entry) {
+        long delta = entry.deadlineTick - currentTick;
+        Slot slot;
+        if (delta < SLOTS) {
+            slot = levels[0][(int) entry.deadlineTick & MASK];
+        } else {
+            int level = 1;
+            while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+                level++;
+            }
+            long tick = entry.deadlineTick;
+            if (delta >= 1L << (SLOT_BITS * LEVELS)) {
+                // Beyond the wheel: park in the farthest slot of the last level
+                tick = currentTick + (1L << (SLOT_BITS * LEVELS)) - 1;
+            }
+            slot = levels[level][(int) (tick >>> (SLOT_BITS * level)) & MASK];
+        }
+        entry.slot = slot;
+        entry.previous = slot.previous;
+        entry.next = slot;
+        slot.previous.next = entry;
+        slot.previous = entry;
+        size++;
+    }
+}
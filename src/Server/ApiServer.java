@@ -0,0 +1,1041 @@
+package Server;
+
+import CourseManagement.Course;
+import CourseManagement.CourseManagementModule;
+import CourseManagement.Module;
+import CourseManagement.ModuleManagement;
+import Metrics.Histogram;
+import Metrics.MetricsRegistry;
+import Profiling.ImportEvent;
+import Reporting.Utf8Output;
+import Scripting.CommandInterpreter;
+import Security.AccessControl;
+import Security.AuthSession;
+import Security.Authentication;
+import Security.Permission;
+import UserManagement.Admin;
+import UserManagement.Lecturer;
+import UserManagement.LecturerManagementModule;
+import UserManagement.Student;
+import UserManagement.StudentManagementModule;
+import UserManagement.User;
+import Utilities.NotificationSink;
+import Utilities.Notifications;
+import Utilities.SharedState;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * ApiServer
+ * ---------------------------------------------------------
+ * Embedded HTTP/JSON API over the in-memory UCMS data, built on the JDK
+ * {@code com.sun.net.httpserver} server. Every request runs on its own virtual thread.
+ *
+ * Responsibilities:
+ *  - Route /api requests to courses, modules, students, lecturers and enrollments
+ *  - Stream responses with {@link JsonWriter} through pooled buffers
+ *  - Apply bulk POST requests item by item, reporting a result for each item
+ *  - Take the shared read/write lock ({@link SharedState}) only while touching the containers
+ *  - Authorize every request as the user of its session token ({@link AccessControl})
+ *
+ * Endpoints (lists take {@code ?offset=&limit=}, default limit 100, max 1000):
+ * <pre>
+ *   GET    /api/stats
+ *   GET    /api/courses              GET /api/courses/{code}    GET /api/courses/{code}/students|modules
+ *   GET    /api/modules              GET /api/modules/{code}
+ *   GET    /api/students             GET /api/students/{id}
+ *   GET    /api/lecturers            GET /api/lecturers/{id}
+ *   GET    /api/enrollments
+ *   POST   /api/courses|modules|students|lecturers|enrollments   (one object, or an array for bulk)
+ *   POST   /api/login                {"login": id or email, "password": ...}  returns a session token
+ *   POST   /api/logout
+ *   POST   /api/password             {"password": current, "newPassword": ...}
+ *   DELETE /api/courses/{code}       /api/modules/{code}        /api/students/{id}
+ *          /api/lecturers/{id}       /api/enrollments/{studentId}
+ * </pre>
+ * Every request except login carries {@code Authorization: Bearer <token>};
+ * requests without a live session get 401, operations the user's role does
+ * not allow get 403. A session opened with the default password gets 403 on
+ * everything but /api/password and /api/logout until a new password is chosen.
+ *
+ * Start with {@code java -cp out Main serve [port] [seed-script]}; the optional
+ * script is run through the {@link CommandInterpreter} before the server starts.
+ */
+public class ApiServer {
+
+    public static final int DEFAULT_PORT = 8080;
+
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+
+    /** Largest request body accepted (bulk requests included) */
+    private static final int MAX_BODY_BYTES = 16 << 20;
+
+    /** Size of the pooled response buffers; smaller responses get a Content-Length */
+    private static final int BUFFER_SIZE = 16 << 10;
+
+    static {
+        // Send small responses immediately: without TCP_NODELAY each keep-alive
+        // response waits for the client's delayed ACK, capping a connection at ~25 req/s.
+        // Read once by the JDK server, so it must be set before the first server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /** Admin on whose behalf API changes are made */
+    private final Admin admin;
+
+    /** Response buffers returned after each request */
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder requests = new LongAdder();
+
+    private static final Histogram REQUEST_TIME = MetricsRegistry.histogram("api.request");
+    private static final Histogram BULK_TIME = MetricsRegistry.histogram("import.bulk");
+
+    /**
+     * Creates a server bound to the given address. Call {@link #start()} to accept requests.
+     *
+     * @param address local address; port 0 picks a free port
+     * @param admin   admin on whose behalf changes are made
+     * @throws IOException if the address cannot be bound
+     */
+    public ApiServer(InetSocketAddress address, Admin admin) throws IOException {
+        this.admin = admin;
+        this.server = HttpServer.create(address, 1024);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Routes /api to this server and starts accepting requests.
+     * The route is added here, not in the constructor, so no request can
+     * reach a half-constructed server.
+     */
+    public void start() {
+        server.createContext("/api/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests and waits up to {@code delaySeconds} for running ones.
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.close();
+    }
+
+    public int getPort() { return server.getAddress().getPort(); }
+    public long getRequestCount() { return requests.sum(); }
+
+    /**
+     * Runs {@code serve [port] [seed-script]} from the command line.
+     * The server keeps the process alive after this method returns. The domain
+     * classes' notifications are dropped unless {@code ucms.notifications} says otherwise.
+     *
+     * @param args command line arguments
+     * @return 0 if the server started, 1 otherwise
+     */
+    public static int serve(String[] args) {
+        Admin admin = new Admin();
+        NotificationSink notifications = Notifications.configure("none");
+        try {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+            if (args.length > 2) {
+                CommandInterpreter seed = new CommandInterpreter(admin, System.out);
+                try (BufferedReader reader = Files.newBufferedReader(Paths.get(args[2]), StandardCharsets.UTF_8)) {
+                    seed.run(reader);
+                }
+                System.out.println("Seed script: " + seed.getExecuted() + " commands, " + seed.getFailed() + " failed");
+            }
+
+            ApiServer apiServer = new ApiServer(new InetSocketAddress(port), admin);
+            apiServer.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                apiServer.stop(1);
+                notifications.flush();
+            }));
+            System.out.println("UCMS API listening on http://localhost:" + apiServer.getPort() + "/api");
+            return 0;
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid port: " + args[1]);
+        } catch (IOException e) {
+            System.out.println("Could not start the API server: " + e.getMessage());
+        }
+        return 1;
+    }
+
+    // ---------------------- ROUTING ----------------------
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        long start = System.nanoTime();
+        try {
+            List<String> path = pathSegments(exchange);
+            if (path.isEmpty()) {
+                error(exchange, 404, "Unknown resource");
+                return;
+            }
+            if (path.size() == 1 && path.get(0).equals("login") && exchange.getRequestMethod().equals("POST")) {
+                login(exchange);
+                return;
+            }
+            AuthSession session = Authentication.resolve(bearerToken(exchange));
+            if (session == null) {
+                error(exchange, 401, "Log in first (POST /api/login) and send Authorization: Bearer <token>");
+                return;
+            }
+            if (path.size() == 1 && path.get(0).equals("password") && exchange.getRequestMethod().equals("POST")) {
+                changePassword(exchange, session);
+                return;
+            }
+            if (session.mustChangePassword() && !path.get(0).equals("logout")) {
+                error(exchange, 403, "Choose a new password first (POST /api/password)");
+                return;
+            }
+            AccessControl.bind(session.getUser());
+            switch (exchange.getRequestMethod()) {
+                case "GET":    get(exchange, path); break;
+                case "POST":   post(exchange, path); break;
+                case "DELETE": delete(exchange, path); break;
+                default:       error(exchange, 405, "Method not allowed");
+            }
+        } catch (IllegalArgumentException e) {
+            error(exchange, 400, e.getMessage());
+        } catch (SecurityException e) {
+            error(exchange, 403, e.getMessage());
+        } catch (RuntimeException e) {
+            error(exchange, 500, "Internal error: " + e);
+        } finally {
+            AccessControl.unbind();
+            exchange.close();
+            REQUEST_TIME.recordSince(start);
+        }
+    }
+
+    private void get(HttpExchange exchange, List<String> path) throws IOException {
+        Map<String, String> query = queryParameters(exchange);
+        String resource = path.get(0);
+        String key = path.size() > 1 ? path.get(1) : null;
+
+        if (path.size() > 3 || (path.size() == 3 && !resource.equals("courses"))) {
+            error(exchange, 404, "Unknown resource");
+            return;
+        }
+
+        AccessControl.require(viewPermission(resource));
+        switch (resource) {
+            case "stats":
+                getStats(exchange);
+                break;
+            case "courses":
+                if (key == null) {
+                    respondPage(exchange, snapshot(CourseManagementModule.courseList, query), ApiServer::writeCourse);
+                } else if (path.size() == 2) {
+                    getCourse(exchange, key);
+                } else {
+                    getCourseMembers(exchange, key, path.get(2), query);
+                }
+                break;
+            case "modules":
+                if (key == null) {
+                    respondPage(exchange, snapshot(ModuleManagement.getModuleList(), query), ApiServer::writeModule);
+                } else {
+                    respondOne(exchange, "Module", key, () -> ModuleManagement.findModule(key), ApiServer::writeModule);
+                }
+                break;
+            case "students":
+                if (key == null) {
+                    respondPage(exchange, snapshot(StudentManagementModule.studentsContainer, query), ApiServer::writeStudent);
+                } else {
+                    respondOne(exchange, "Student", key, () -> StudentManagementModule.findStudentById(key), ApiServer::writeStudent);
+                }
+                break;
+            case "lecturers":
+                if (key == null) {
+                    respondPage(exchange, snapshot(LecturerManagementModule.lecturersList, query), ApiServer::writeLecturer);
+                } else {
+                    respondOne(exchange, "Lecturer", key, () -> LecturerManagementModule.findLecturerById(key), ApiServer::writeLecturer);
+                }
+                break;
+            case "enrollments":
+                if (key != null) {
+                    error(exchange, 404, "Unknown resource");
+                } else {
+                    respondPage(exchange, enrollments(query), ApiServer::writeEnrollment);
+                }
+                break;
+            default:
+                error(exchange, 404, "Unknown resource");
+        }
+    }
+
+    private void post(HttpExchange exchange, List<String> path) throws IOException {
+        if (path.size() != 1) {
+            error(exchange, 405, "Method not allowed");
+            return;
+        }
+        ItemHandler handler;
+        switch (path.get(0)) {
+            case "logout":
+                logout(exchange);
+                return;
+            case "courses":     handler = this::createCourse; break;
+            case "modules":     handler = this::createModule; break;
+            case "students":    handler = this::createStudent; break;
+            case "lecturers":   handler = this::createLecturer; break;
+            case "enrollments": handler = this::createEnrollment; break;
+            default:
+                error(exchange, 404, "Unknown resource");
+                return;
+        }
+        applyBulk(exchange, items(readBody(exchange)), handler);
+    }
+
+    private void delete(HttpExchange exchange, List<String> path) throws IOException {
+        if (path.size() != 2) {
+            error(exchange, 405, "Method not allowed");
+            return;
+        }
+        String key = path.get(1);
+        boolean found;
+        Lock lock = SharedState.writeLock();
+        lock.lock();
+        try {
+            switch (path.get(0)) {
+                case "courses":
+                    Course course = CourseManagementModule.findCourse(key);
+                    found = course != null;
+                    if (found) {
+                        CourseManagementModule.archiveCourse(course);
+                    }
+                    break;
+                case "modules":
+                    Module module = ModuleManagement.findModule(key);
+                    found = module != null;
+                    if (found) {
+                        ModuleManagement.archiveModule(module, CourseManagementModule.findCourse(module.getCourseCode()));
+                    }
+                    break;
+                case "students":
+                    Student student = StudentManagementModule.findStudentById(key);
+                    found = student != null;
+                    if (found) {
+                        StudentManagementModule.removeStudent(student);
+                    }
+                    break;
+                case "lecturers":
+                    Lecturer lecturer = LecturerManagementModule.findLecturerById(key);
+                    found = lecturer != null;
+                    if (found) {
+                        LecturerManagementModule.removeLecturer(lecturer);
+                    }
+                    break;
+                case "enrollments":
+                    Student enrolled = StudentManagementModule.findStudentById(key);
+                    found = enrolled != null && enrolled.getCourse() != null;
+                    if (found) {
+                        CourseManagementModule.dropCourse(enrolled);
+                    }
+                    break;
+                default:
+                    found = false;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (found) {
+            respond(exchange, 200, json -> json.beginObject().name("deleted").value(key).endObject());
+        } else {
+            error(exchange, 404, "Not found: " + key);
+        }
+    }
+
+    // ---------------------- SESSIONS ----------------------
+
+    private void login(HttpExchange exchange) throws IOException {
+        Object document = JsonReader.parse(readBody(exchange));
+        if (!(document instanceof Map)) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> credentials = (Map<String, Object>) document;
+        // Waits on a hashing thread; this virtual thread is parked meanwhile
+        AuthSession session = Authentication.login(string(credentials, "login", true),
+                string(credentials, "password", true)).join();
+        if (session == null) {
+            error(exchange, 401, "Invalid login or password");
+            return;
+        }
+        User user = session.getUser();
+        respond(exchange, 200, json -> json.beginObject()
+                .name("token").value(session.getToken())
+                .name("userId").value(userId(user))
+                .name("role").value(user.getRole().getName())
+                .name("mustChangePassword").value(session.mustChangePassword())
+                .endObject());
+    }
+
+    private void changePassword(HttpExchange exchange, AuthSession session) throws IOException {
+        Object document = JsonReader.parse(readBody(exchange));
+        if (!(document instanceof Map)) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> passwords = (Map<String, Object>) document;
+        // The current password is checked again, so a leaked token cannot lock the owner out
+        AuthSession checked = Authentication.login(userId(session.getUser()),
+                string(passwords, "password", true)).join();
+        if (checked == null) {
+            error(exchange, 401, "Invalid password");
+            return;
+        }
+        Authentication.logout(checked.getToken());
+        Authentication.changePassword(session, string(passwords, "newPassword", true)).join();
+        respond(exchange, 200, json -> json.beginObject().name("passwordChanged").value(true).endObject());
+    }
+
+    private void logout(HttpExchange exchange) throws IOException {
+        if (Authentication.logout(bearerToken(exchange))) {
+            respond(exchange, 200, json -> json.beginObject().name("loggedOut").value(true).endObject());
+        } else {
+            error(exchange, 401, "Not logged in");
+        }
+    }
+
+    /** @return the permission needed to read a resource */
+    private static Permission viewPermission(String resource) {
+        switch (resource) {
+            case "stats":       return Permission.VIEW_REPORTS;
+            case "modules":     return Permission.VIEW_MODULES;
+            case "students":    return Permission.VIEW_STUDENTS;
+            case "lecturers":   return Permission.VIEW_LECTURERS;
+            case "enrollments": return Permission.VIEW_STUDENTS;
+            default:            return Permission.VIEW_COURSES;
+        }
+    }
+
+    private static String userId(User user) {
+        if (user instanceof Student) {
+            return ((Student) user).getStudentId();
+        }
+        if (user instanceof Lecturer) {
+            return ((Lecturer) user).getLecturerId();
+        }
+        return user.getEmail();
+    }
+
+    // ---------------------- READS ----------------------
+
+    private void getStats(HttpExchange exchange) throws IOException {
+        long[] counts = new long[5];
+        Lock lock = SharedState.readLock();
+        lock.lock();
+        try {
+            counts[0] = CourseManagementModule.courseList.size();
+            counts[1] = ModuleManagement.getModuleList().size();
+            counts[2] = StudentManagementModule.studentsContainer.size();
+            counts[3] = LecturerManagementModule.lecturersList.size();
+            for (Course course : CourseManagementModule.courseList) {
+                counts[4] += course.getStudents().size();
+            }
+        } finally {
+            lock.unlock();
+        }
+        long served = getRequestCount();
+        respond(exchange, 200, json -> json.beginObject()
+                .name("courses").value(counts[0])
+                .name("modules").value(counts[1])
+                .name("students").value(counts[2])
+                .name("lecturers").value(counts[3])
+                .name("enrollments").value(counts[4])
+                .name("requests").value(served)
+                .endObject());
+    }
+
+    private void getCourse(HttpExchange exchange, String code) throws IOException {
+        Course course;
+        List<Module> modules;
+        int students;
+        Lock lock = SharedState.readLock();
+        lock.lock();
+        try {
+            course = CourseManagementModule.findCourse(code);
+            modules = course != null ? new ArrayList<>(course.getModules()) : null;
+            students = course != null ? course.getStudents().size() : 0;
+        } finally {
+            lock.unlock();
+        }
+
+        if (course == null) {
+            error(exchange, 404, "Course not found: " + code);
+            return;
+        }
+        respond(exchange, 200, json -> {
+            json.beginObject()
+                    .name("courseCode").value(course.getCourseCode())
+                    .name("courseName").value(course.getCourseName())
+                    .name("students").value(students)
+                    .name("modules").beginArray();
+            for (Module module : modules) {
+                writeModule(json, module);
+            }
+            json.endArray().endObject();
+        });
+    }
+
+    private void getCourseMembers(HttpExchange exchange, String code, String members,
+                                  Map<String, String> query) throws IOException {
+        if (!members.equals("students") && !members.equals("modules")) {
+            error(exchange, 404, "Unknown resource");
+            return;
+        }
+        AccessControl.require(members.equals("students") ? Permission.VIEW_STUDENTS : Permission.VIEW_MODULES);
+        Page<?> page = null;
+        Lock lock = SharedState.readLock();
+        lock.lock();
+        try {
+            Course course = CourseManagementModule.findCourse(code);
+            if (course != null) {
+                page = members.equals("students")
+                        ? snapshotLocked(course.getStudents(), query)
+                        : snapshotLocked(course.getModules(), query);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (page == null) {
+            error(exchange, 404, "Course not found: " + code);
+        } else if (members.equals("students")) {
+            @SuppressWarnings("unchecked")
+            Page<Student> students = (Page<Student>) page;
+            respondPage(exchange, students, ApiServer::writeStudent);
+        } else {
+            @SuppressWarnings("unchecked")
+            Page<Module> modules = (Page<Module>) page;
+            respondPage(exchange, modules, ApiServer::writeModule);
+        }
+    }
+
+    /**
+     * Pages through (course, student) pairs in course order.
+     */
+    private Page<Object[]> enrollments(Map<String, String> query) {
+        int offset = intParameter(query, "offset", 0, Integer.MAX_VALUE, 0);
+        int limit = intParameter(query, "limit", 0, MAX_LIMIT, DEFAULT_LIMIT);
+        List<Object[]> items = new ArrayList<>(Math.min(limit, 64));
+        long total = 0;
+
+        Lock lock = SharedState.readLock();
+        lock.lock();
+        try {
+            for (Course course : CourseManagementModule.courseList) {
+                List<Student> students = course.getStudents();
+                int size = students.size();
+                // Only the slice of this roster that falls inside the page is copied
+                long from = Math.max(offset - total, 0);
+                long to = Math.min((long) offset + limit - total, size);
+                for (long i = from; i < to; i++) {
+                    items.add(new Object[]{course.getCourseCode(), students.get((int) i).getStudentId()});
+                }
+                total += size;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return new Page<>(total, offset, items);
+    }
+
+    private <T> void respondOne(HttpExchange exchange, String type, String key,
+                                Lookup<T> lookup, EntityWriter<T> writer) throws IOException {
+        T entity;
+        Lock lock = SharedState.readLock();
+        lock.lock();
+        try {
+            entity = lookup.find();
+        } finally {
+            lock.unlock();
+        }
+        if (entity == null) {
+            error(exchange, 404, type + " not found: " + key);
+        } else {
+            respond(exchange, 200, json -> writer.write(json, entity));
+        }
+    }
+
+    private <T> void respondPage(HttpExchange exchange, Page<T> page, EntityWriter<T> writer) throws IOException {
+        respond(exchange, 200, json -> {
+            json.beginObject()
+                    .name("total").value(page.total)
+                    .name("offset").value(page.offset)
+                    .name("items").beginArray();
+            for (T item : page.items) {
+                writer.write(json, item);
+            }
+            json.endArray().endObject();
+        });
+    }
+
+    /**
+     * Copies the requested page of a container under the read lock, so
+     * the response can be written to the client without holding it.
+     */
+    private static <T> Page<T> snapshot(List<T> list, Map<String, String> query) {
+        Lock lock = SharedState.readLock();
+        lock.lock();
+        try {
+            return snapshotLocked(list, query);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static <T> Page<T> snapshotLocked(List<T> list, Map<String, String> query) {
+        int offset = intParameter(query, "offset", 0, Integer.MAX_VALUE, 0);
+        int limit = intParameter(query, "limit", 0, MAX_LIMIT, DEFAULT_LIMIT);
+        int size = list.size();
+        int from = Math.min(offset, size);
+        int to = (int) Math.min((long) from + limit, size);
+        return new Page<>(size, offset, new ArrayList<>(list.subList(from, to)));
+    }
+
+    // ---------------------- WRITES ----------------------
+
+    /**
+     * Applies each item under one write lock. Items that fail are reported
+     * with their error and do not stop the remaining items.
+     */
+    private void applyBulk(HttpExchange exchange, List<Map<String, Object>> items,
+                           ItemHandler handler) throws IOException {
+        String[] ids = new String[items.size()];
+        String[] errors = new String[items.size()];
+        int created = 0;
+
+        long start = System.nanoTime();
+        ImportEvent event = new ImportEvent();
+        event.begin();
+        Lock lock = SharedState.writeLock();
+        lock.lock();
+        try {
+            for (int i = 0; i < items.size(); i++) {
+                try {
+                    ids[i] = handler.apply(items.get(i));
+                    created++;
+                } catch (IllegalArgumentException | SecurityException e) {
+                    errors[i] = e.getMessage();
+                }
+            }
+        } finally {
+            lock.unlock();
+            BULK_TIME.recordSince(start);
+            event.complete("bulk", items.size(), items.size() - created);
+        }
+
+        int failed = items.size() - created;
+        int status = failed == 0 ? 201 : created == 0 ? 400 : 207;
+        int createdCount = created;
+        respond(exchange, status, json -> {
+            json.beginObject()
+                    .name("created").value(createdCount)
+                    .name("failed").value(failed)
+                    .name("results").beginArray();
+            for (int i = 0; i < ids.length; i++) {
+                json.beginObject().name("index").value(i);
+                if (errors[i] == null) {
+                    json.name("id").value(ids[i]);
+                } else {
+                    json.name("error").value(errors[i]);
+                }
+                json.endObject();
+            }
+            json.endArray().endObject();
+        });
+    }
+
+    private String createCourse(Map<String, Object> item) {
+        String code = string(item, "courseCode", true);
+        if (CourseManagementModule.findCourse(code) != null) {
+            throw new IllegalArgumentException("Course " + code + " already exists");
+        }
+        admin.addCourse(new Course(code, string(item, "courseName", true)), CourseManagementModule.courseList);
+        return code;
+    }
+
+    private String createModule(Map<String, Object> item) {
+        Course course = course(string(item, "courseCode", true));
+        String code = string(item, "moduleCode", true);
+        if (ModuleManagement.findModule(code) != null) {
+            throw new IllegalArgumentException("Module " + code + " already exists");
+        }
+        Module module = new Module(code, string(item, "moduleName", true), course.getCourseCode(),
+                integer(item, "level"), integer(item, "semester"), integer(item, "credits"));
+        String outline = string(item, "outline", false);
+        if (outline != null) {
+            module.setModuleOutline(outline);
+        }
+        String lecturerId = string(item, "lecturerId", false);
+        Lecturer lecturer = lecturerId != null ? lecturer(lecturerId) : null;
+
+        ModuleManagement.registerModule(admin, module, course);
+        if (lecturer != null) {
+            module.assignTo(lecturer);
+        }
+        return code;
+    }
+
+    private String createStudent(Map<String, Object> item) {
+        String courseCode = string(item, "courseCode", false);
+        Course course = courseCode != null ? course(courseCode) : null;
+        String address = string(item, "address", false);
+
+        Student student = StudentManagementModule.createStudent(admin, string(item, "firstname", true),
+                string(item, "lastname", true), string(item, "email", true), string(item, "password", false),
+                address != null ? address : "", string(item, "phone", true), string(item, "dateOfBirth", true));
+        if (course != null) {
+            CourseManagementModule.enrollStudent(student, course);
+        }
+        return student.getStudentId();
+    }
+
+    private String createLecturer(Map<String, Object> item) {
+        String address = string(item, "address", false);
+        Lecturer lecturer = LecturerManagementModule.createLecturer(admin, string(item, "firstname", true),
+                string(item, "lastname", true), string(item, "email", true), string(item, "password", false),
+                address != null ? address : "", string(item, "phone", true), string(item, "department", true));
+        return lecturer.getLecturerId();
+    }
+
+    private String createEnrollment(Map<String, Object> item) {
+        String studentId = string(item, "studentId", true);
+        Student student = StudentManagementModule.findStudentById(studentId);
+        if (student == null) {
+            throw new IllegalArgumentException("Student " + studentId + " not found");
+        }
+        CourseManagementModule.enrollStudent(student, course(string(item, "courseCode", true)));
+        return studentId;
+    }
+
+    // ---------------------- JSON ENTITIES ----------------------
+
+    private static void writeCourse(JsonWriter json, Course course) throws IOException {
+        json.beginObject()
+                .name("courseCode").value(course.getCourseCode())
+                .name("courseName").value(course.getCourseName())
+                .name("modules").value(course.getModules().size())
+                .name("students").value(course.getStudents().size())
+                .endObject();
+    }
+
+    private static void writeModule(JsonWriter json, Module module) throws IOException {
+        Lecturer lecturer = module.getLecturer();
+        json.beginObject()
+                .name("moduleCode").value(module.getModuleCode())
+                .name("moduleName").value(module.getModuleName())
+                .name("courseCode").value(module.getCourseCode())
+                .name("level").value(module.getLevel())
+                .name("semester").value(module.getSemester())
+                .name("credits").value(module.getCredits())
+                .name("lecturerId").value(lecturer != null ? lecturer.getLecturerId() : null)
+                .endObject();
+    }
+
+    private static void writeStudent(JsonWriter json, Student student) throws IOException {
+        Course course = student.getCourse();
+        json.beginObject()
+                .name("studentId").value(student.getStudentId())
+                .name("firstname").value(student.getFirstname())
+                .name("lastname").value(student.getLastname())
+                .name("email").value(student.getEmail())
+                .name("phone").value(student.getPhone())
+                .name("address").value(student.getAddress())
+                .name("dateOfBirth").value(student.getDateOfBirth())
+                .name("courseCode").value(course != null ? course.getCourseCode() : null)
+                .name("gpa").value(student.getGpa())
+                .endObject();
+    }
+
+    private static void writeLecturer(JsonWriter json, Lecturer lecturer) throws IOException {
+        Course course = lecturer.getAssignedCourse();
+        json.beginObject()
+                .name("lecturerId").value(lecturer.getLecturerId())
+                .name("firstname").value(lecturer.getFirstname())
+                .name("lastname").value(lecturer.getLastname())
+                .name("email").value(lecturer.getEmail())
+                .name("phone").value(lecturer.getPhone())
+                .name("department").value(lecturer.getDepartment())
+                .name("assignedCourse").value(course != null ? course.getCourseCode() : null)
+                .name("modulesTaught").beginArray();
+        for (Module module : lecturer.getModules()) {
+            json.value(module.getModuleName());
+        }
+        json.endArray().endObject();
+    }
+
+    private static void writeEnrollment(JsonWriter json, Object[] enrollment) throws IOException {
+        json.beginObject()
+                .name("courseCode").value((String) enrollment[0])
+                .name("studentId").value((String) enrollment[1])
+                .endObject();
+    }
+
+    // ---------------------- REQUEST PARSING ----------------------
+
+    private static List<String> pathSegments(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getRawPath().substring("/api/".length());
+        List<String> segments = new ArrayList<>(3);
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(URLDecoder.decode(segment, StandardCharsets.UTF_8));
+            }
+        }
+        return segments;
+    }
+
+    private static Map<String, String> queryParameters(HttpExchange exchange) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> parameters = new HashMap<>();
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private static int intParameter(Map<String, String> query, String name, int min, int max, int fallback) {
+        String value = query.get(name);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            int number = Integer.parseInt(value);
+            if (number < min || number > max) {
+                throw new IllegalArgumentException(name + " must be between " + min + " and " + max);
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a number: " + value);
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            byte[] bytes = body.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) {
+                throw new IllegalArgumentException("Request body larger than " + MAX_BODY_BYTES + " bytes");
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Accepts a single JSON object or an array of objects.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> items(String body) {
+        Object document = JsonReader.parse(body);
+        List<Object> elements = document instanceof List ? (List<Object>) document : Collections.singletonList(document);
+        List<Map<String, Object>> items = new ArrayList<>(elements.size());
+        for (Object element : elements) {
+            if (!(element instanceof Map)) {
+                throw new IllegalArgumentException("Expected a JSON object or an array of objects");
+            }
+            items.add((Map<String, Object>) element);
+        }
+        return items;
+    }
+
+    private static String string(Map<String, Object> item, String name, boolean required) {
+        Object value = item.get(name);
+        if (value == null) {
+            if (required) {
+                throw new IllegalArgumentException("Missing field: " + name);
+            }
+            return null;
+        }
+        if (!(value instanceof String)) {
+            throw new IllegalArgumentException("Field " + name + " must be a string");
+        }
+        return (String) value;
+    }
+
+    private static int integer(Map<String, Object> item, String name) {
+        Object value = item.get(name);
+        if (!(value instanceof Long) || (Long) value != ((Long) value).intValue()) {
+            throw new IllegalArgumentException("Field " + name + " must be an integer");
+        }
+        return ((Long) value).intValue();
+    }
+
+    /** @return the token of an {@code Authorization: Bearer} header, or null */
+    private static String bearerToken(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return null;
+        }
+        return authorization.substring(7).trim();
+    }
+
+    private static Course course(String code) {
+        Course course = CourseManagementModule.findCourse(code);
+        if (course == null) {
+            throw new IllegalArgumentException("Course " + code + " not found");
+        }
+        return course;
+    }
+
+    private static Lecturer lecturer(String id) {
+        Lecturer lecturer = LecturerManagementModule.findLecturerById(id);
+        if (lecturer == null) {
+            throw new IllegalArgumentException("Lecturer " + id + " not found");
+        }
+        return lecturer;
+    }
+
+    // ---------------------- RESPONSES ----------------------
+
+    private void error(HttpExchange exchange, int status, String message) throws IOException {
+        respond(exchange, status, json -> json.beginObject().name("error").value(message).endObject());
+    }
+
+    private void respond(HttpExchange exchange, int status, Body body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        }
+        try (JsonWriter json = new JsonWriter(new Utf8Output(new ResponseChannel(exchange, status), buffer))) {
+            body.write(json);
+        } finally {
+            buffers.offer(buffer);
+        }
+    }
+
+    /**
+     * Channel over the response body. The first buffer is held back so that
+     * a response that fits in one buffer is sent with a Content-Length;
+     * larger responses are streamed with chunked encoding.
+     */
+    private static final class ResponseChannel implements WritableByteChannel {
+        private final HttpExchange exchange;
+        private final int status;
+        private OutputStream body;
+        private byte[] pending;
+        private boolean open = true;
+
+        ResponseChannel(HttpExchange exchange, int status) {
+            this.exchange = exchange;
+            this.status = status;
+        }
+
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            int length = source.remaining();
+            if (body == null && pending == null) {
+                pending = new byte[length];
+                source.get(pending);
+                return length;
+            }
+            if (body == null) {
+                exchange.sendResponseHeaders(status, 0); // Chunked
+                body = exchange.getResponseBody();
+                body.write(pending);
+                pending = null;
+            }
+            body.write(source.array(), source.arrayOffset() + source.position(), length);
+            source.position(source.limit());
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!open) {
+                return;
+            }
+            open = false;
+            if (body == null) {
+                exchange.sendResponseHeaders(status, pending != null ? pending.length : -1);
+                body = exchange.getResponseBody();
+                if (pending != null) {
+                    body.write(pending);
+                }
+            }
+            body.close();
+        }
+    }
+
+    // ---------------------- TYPES ----------------------
+
+    /** A page of a list plus the size of the whole list. */
+    private static final class Page<T> {
+        final long total;
+        final int offset;
+        final List<T> items;
+
+        Page(long total, int offset, List<T> items) {
+            this.total = total;
+            this.offset = offset;
+            this.items = items;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        void write(JsonWriter json) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface EntityWriter<T> {
+        void write(JsonWriter json, T entity) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Lookup<T> {
+        T find();
+    }
+
+    /** Applies one bulk item and returns the ID of what it created. */
+    @FunctionalInterface
+    private interface ItemHandler {
+        String apply(Map<String, Object> item);
+    }
+}
@@ -0,0 +1,176 @@
+package Server;
+
+import Reporting.Utf8Output;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * JsonWriter
+ * ---------------------------------------------------------
+ * Streaming JSON writer on top of {@link Utf8Output}.
+ * Values are encoded straight into the output buffer as they are written;
+ * no document tree or intermediate Strings are built.
+ *
+ * Responsibilities:
+ *  - Write objects, arrays, names and values in document order
+ *  - Insert the commas between members and elements
+ *  - Reject names and values written in the wrong place
+ *
+ * Usage:
+ * <pre>
+ *   json.beginObject().name("total").value(42).name("items").beginArray() ... .endArray().endObject();
+ * </pre>
+ */
+public final class JsonWriter implements Closeable {
+
+    /** Maximum nesting depth (objects and arrays) */
+    private static final int MAX_DEPTH = 64;
+
+    private final Utf8Output out;
+
+    /** Per nesting level: true for an object, false for an array */
+    private final boolean[] isObject = new boolean[MAX_DEPTH];
+
+    /** Per nesting level: whether a member or element has been written */
+    private final boolean[] hasElement = new boolean[MAX_DEPTH];
+
+    private int depth;
+
+    /** Set after name() until the member value is written */
+    private boolean expectingValue;
+
+    public JsonWriter(Utf8Output out) {
+        this.out = out;
+    }
+
+    // ---------------------- STRUCTURE ----------------------
+
+    public JsonWriter beginObject() throws IOException {
+        return open(true, '{');
+    }
+
+    public JsonWriter endObject() throws IOException {
+        return close(true, '}');
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        return open(false, '[');
+    }
+
+    public JsonWriter endArray() throws IOException {
+        return close(false, ']');
+    }
+
+    /**
+     * Writes the name of the next object member.
+     *
+     * @throws IllegalStateException if not directly inside an object
+     */
+    public JsonWriter name(String name) throws IOException {
+        if (depth == 0 || !isObject[depth - 1] || expectingValue) {
+            throw new IllegalStateException("Member name outside of an object: " + name);
+        }
+        separate();
+        out.putJsonString(name).putAscii(':');
+        expectingValue = true;
+        return this;
+    }
+
+    // ---------------------- VALUES ----------------------
+
+    /** Writes a string value, or null. */
+    public JsonWriter value(CharSequence value) throws IOException {
+        beforeValue();
+        out.putJsonString(value);
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        beforeValue();
+        out.put(value);
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        out.put(value ? "true" : "false");
+        return this;
+    }
+
+    /** Writes a date as an ISO string (yyyy-MM-dd), or null. */
+    public JsonWriter value(LocalDate value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        out.putAscii('"').put(value).putAscii('"');
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        out.put("null");
+        return this;
+    }
+
+    // ---------------------- LIFECYCLE ----------------------
+
+    /** @return total bytes written so far */
+    public long getBytesWritten() {
+        return out.getBytesWritten();
+    }
+
+    /**
+     * Flushes and closes the underlying output.
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    // ---------------------- HELPERS ----------------------
+
+    private JsonWriter open(boolean object, char bracket) throws IOException {
+        if (depth == MAX_DEPTH) {
+            throw new IllegalStateException("JSON nested deeper than " + MAX_DEPTH + " levels");
+        }
+        beforeValue();
+        out.putAscii(bracket);
+        isObject[depth] = object;
+        hasElement[depth] = false;
+        depth++;
+        return this;
+    }
+
+    private JsonWriter close(boolean object, char bracket) throws IOException {
+        if (depth == 0 || isObject[depth - 1] != object || expectingValue) {
+            throw new IllegalStateException("Unexpected '" + bracket + "'");
+        }
+        depth--;
+        out.putAscii(bracket);
+        return this;
+    }
+
+    private void beforeValue() throws IOException {
+        if (depth == 0) {
+            return; // Top-level value
+        }
+        if (isObject[depth - 1]) {
+            if (!expectingValue) {
+                throw new IllegalStateException("Object member written without a name");
+            }
+            expectingValue = false;
+        } else {
+            separate();
+        }
+    }
+
+    private void separate() throws IOException {
+        if (hasElement[depth - 1]) {
+            out.putAscii(',');
+        }
+        hasElement[depth - 1] = true;
+    }
+}
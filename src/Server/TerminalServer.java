@@ -0,0 +1,189 @@
+package Server;
+
+import LoadTest.TraceRecorder;
+import Scripting.CommandInterpreter;
+import UserManagement.Admin;
+import Utilities.Session;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TerminalServer
+ * ---------------------------------------------------------
+ * Multi-user terminal server: every TCP connection gets its own interactive
+ * UCMS session running the same menus as the local console.
+ * Each session runs on its own virtual thread with its own input and output
+ * (see {@link Session}); all sessions share the one in-memory data set.
+ *
+ * Responsibilities:
+ *  - Accept connections and start one session per connection
+ *  - Close idle connections after a timeout
+ *  - Track how many sessions are open
+ *
+ * Start with {@code java -cp out Main terminal [port] [seed-script]} and connect
+ * with {@code nc localhost 2323} or {@code telnet localhost 2323}. Connections
+ * cannot create the first administrator account; give a seed script with
+ * {@code add-admin} for that.
+ * The idle timeout defaults to 30 minutes ({@code -Ducms.terminal.idleMinutes=N}).
+ * With {@code -Ducms.terminal.traceDir=DIR} every session is also recorded
+ * as a trace file in DIR, for replay by {@link LoadTest.ReplayHarness}.
+ */
+public class TerminalServer {
+
+    public static final int DEFAULT_PORT = 2323;
+
+    /** Closes connections with no input for this long */
+    private static final int IDLE_TIMEOUT_MILLIS =
+            Integer.getInteger("ucms.terminal.idleMinutes", 30) * 60_000;
+
+    private static final DateTimeFormatter TRACE_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    /** Directory receiving one session trace per connection, or null */
+    private static final String TRACE_DIR = System.getProperty("ucms.terminal.traceDir");
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** The interactive application run for every connection */
+    private final Runnable application;
+
+    private final AtomicInteger openSessions = new AtomicInteger();
+    private final AtomicLong totalSessions = new AtomicLong();
+
+    /**
+     * Creates a server bound to the given address. Call {@link #start()} to accept connections.
+     *
+     * @param address     local address; port 0 picks a free port
+     * @param application runs one user session (menus read {@code Utility.input()}
+     *                    and write System.out, which the server binds to the connection)
+     * @throws IOException if the address cannot be bound
+     */
+    public TerminalServer(InetSocketAddress address, Runnable application) throws IOException {
+        this.application = application;
+        this.serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(address, 256);
+    }
+
+    public int getPort() { return serverSocket.getLocalPort(); }
+    public int getOpenSessions() { return openSessions.get(); }
+    public long getTotalSessions() { return totalSessions.get(); }
+
+    /**
+     * Starts accepting connections on a background thread, which keeps the JVM
+     * running until the server is stopped.
+     */
+    public void start() {
+        Session.routeSystemOut();
+        new Thread(this::acceptLoop, "ucms-terminal-accept").start();
+    }
+
+    /**
+     * Stops accepting connections and disconnects open sessions.
+     */
+    public void stop() {
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+            // Closing anyway
+        }
+        sessions.shutdownNow();
+    }
+
+    /**
+     * Runs {@code terminal [port] [seed-script]} from the command line. The
+     * optional script is run through the {@link CommandInterpreter} before the
+     * server starts. The accept thread keeps the process alive after this method returns.
+     *
+     * @param args        command line arguments
+     * @param application runs one user session
+     * @return 0 if the server started, 1 otherwise
+     */
+    public static int serve(String[] args, Runnable application) {
+        try {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+            if (args.length > 2) {
+                CommandInterpreter seed = new CommandInterpreter(new Admin(), System.out);
+                try (BufferedReader reader = Files.newBufferedReader(Paths.get(args[2]), StandardCharsets.UTF_8)) {
+                    seed.run(reader);
+                }
+                System.out.println("Seed script: " + seed.getExecuted() + " commands, " + seed.getFailed() + " failed");
+            }
+            TerminalServer server = new TerminalServer(new InetSocketAddress(port), application);
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+            System.out.println("UCMS terminal server listening on port " + server.getPort());
+            return 0;
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid port: " + args[1]);
+        } catch (IOException e) {
+            System.out.println("Could not start the terminal server: " + e.getMessage());
+        }
+        return 1;
+    }
+
+    // ---------------------- CONNECTIONS ----------------------
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                sessions.submit(() -> runSession(socket));
+            } catch (SocketException e) {
+                return; // Server socket closed
+            } catch (IOException e) {
+                System.out.println("Terminal server: accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void runSession(Socket socket) {
+        openSessions.incrementAndGet();
+        long number = totalSessions.incrementAndGet();
+        String name = String.valueOf(socket.getRemoteSocketAddress());
+        TraceRecorder recorder = null;
+        try (socket) {
+            socket.setSoTimeout(IDLE_TIMEOUT_MILLIS);
+            socket.setTcpNoDelay(true);
+            InputStream in = socket.getInputStream();
+            OutputStream out = socket.getOutputStream();
+            if (TRACE_DIR != null) {
+                recorder = new TraceRecorder(Paths.get(TRACE_DIR).resolve(
+                        LocalDateTime.now().format(TRACE_NAME) + "-" + number + ".trace"));
+                in = recorder.recordInput(in);
+                out = recorder.recordOutput(out);
+            }
+            Session session = new Session(name, in, out);
+            session.run(application);
+        } catch (IOException e) {
+            // Connection failed or was dropped; nothing more to send
+        } catch (RuntimeException e) {
+            System.out.println("Terminal session " + name + " ended with an error: " + e);
+        } finally {
+            if (recorder != null) {
+                try {
+                    recorder.close();
+                } catch (IOException ignored) {
+                    // The trace is flushed after every line; nothing more to save
+                }
+            }
+            openSessions.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package StressTest;
+
+import CourseManagement.Course;
+import CourseManagement.Module;
+import UserManagement.Lecturer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * AssignmentStress
+ * ---------------------------------------------------------
+ * Many administrators assigning modules to lecturers, and lecturers to
+ * courses, and taking the assignments away again.
+ *
+ * Invariants:
+ *  - A lecturer's modules are exactly the modules whose lecturer they are
+ */
+final class AssignmentStress extends StressTest {
+
+    private static final int LECTURERS = 8;
+    private static final int MODULES = 16;
+    private static final int COURSES = 2;
+
+    private final List<Lecturer> lecturers = new ArrayList<>();
+    private final List<Module> modules = new ArrayList<>();
+    private final List<Course> courses = new ArrayList<>();
+
+    AssignmentStress() {
+        super("assignment");
+    }
+
+    @Override
+    protected void setUp(SplittableRandom random) {
+        lecturers.clear();
+        modules.clear();
+        courses.clear();
+        for (int i = 0; i < LECTURERS; i++) {
+            lecturers.add(addLecturer(i));
+        }
+        for (int c = 0; c < COURSES; c++) {
+            courses.add(new Course("ST" + (200 + c), "Stress Course " + letters(c)));
+        }
+        for (int m = 0; m < MODULES; m++) {
+            modules.add(new Module("SM" + (100 + m), "Stress Module " + letters(m),
+                    courses.get(m % COURSES).getCourseCode(), 1, 1, 5));
+        }
+    }
+
+    @Override
+    protected void act(int actor, SplittableRandom random) {
+        Lecturer lecturer = lecturers.get(random.nextInt(LECTURERS));
+        switch (random.nextInt(5)) {
+            case 0:
+            case 1:
+                modules.get(random.nextInt(MODULES)).assignTo(lecturer);
+                break;
+            case 2:
+                modules.get(random.nextInt(MODULES)).unassign();
+                break;
+            case 3:
+                int from = random.nextInt(MODULES);
+                List<Module> batch = modules.subList(from, Math.min(MODULES, from + 1 + random.nextInt(4)));
+                if (random.nextBoolean()) {
+                    Module.assignAll(batch, lecturer);
+                } else {
+                    Module.unassignAll(batch);
+                }
+                break;
+            default:
+                if (random.nextBoolean()) {
+                    lecturer.assignTo(courses.get(random.nextInt(COURSES)));
+                } else {
+                    lecturer.unassign();
+                }
+        }
+    }
+
+    @Override
+    protected List<String> check() {
+        List<String> violations = new ArrayList<>();
+        for (Lecturer lecturer : lecturers) {
+            Set<Module> taught = lecturer.getModules();
+            for (Module module : modules) {
+                boolean assigned = module.getLecturer() == lecturer;
+                if (taught.contains(module) != assigned) {
+                    violations.add(lecturer.getLecturerId() + (assigned ? " does not list " : " lists ")
+                            + module.getModuleCode() + " but " + (assigned ? "is" : "is not") + " its lecturer");
+                }
+            }
+        }
+        return violations;
+    }
+}
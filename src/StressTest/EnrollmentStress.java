@@ -0,0 +1,91 @@
+package StressTest;
+
+import CourseManagement.Course;
+import CourseManagement.CourseManagementModule;
+import UserManagement.Student;
+import Utilities.SharedState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * EnrollmentStress
+ * ---------------------------------------------------------
+ * Many administrators enrolling a small group of students in a handful of
+ * courses and dropping them again, so that most operations contend for
+ * the same students and rosters.
+ *
+ * Invariants:
+ *  - No student appears twice in a course roster
+ *  - Every student in a roster has that course as their course
+ *  - Every enrolled student is in their course's roster exactly once
+ */
+final class EnrollmentStress extends StressTest {
+
+    private static final int STUDENTS = 64;
+    private static final int COURSES = 4;
+
+    private final List<Student> students = new ArrayList<>();
+    private final List<Course> courses = new ArrayList<>();
+
+    EnrollmentStress() {
+        super("enrollment");
+    }
+
+    @Override
+    protected void setUp(SplittableRandom random) {
+        students.clear();
+        courses.clear();
+        for (int c = 0; c < COURSES; c++) {
+            courses.add(new Course("ST" + (100 + c), "Stress Course " + letters(c)));
+        }
+        SharedState.update(() -> CourseManagementModule.courseList.addAll(courses));
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(addStudent(i));
+        }
+    }
+
+    @Override
+    protected void act(int actor, SplittableRandom random) {
+        Student student = students.get(random.nextInt(STUDENTS));
+        if (random.nextInt(3) == 0) {
+            CourseManagementModule.dropCourse(student);
+        } else {
+            CourseManagementModule.enrollStudent(student, courses.get(random.nextInt(COURSES)));
+        }
+    }
+
+    @Override
+    protected List<String> check() {
+        List<String> violations = new ArrayList<>();
+        Map<Student, Integer> places = new IdentityHashMap<>();
+        for (Course course : courses) {
+            for (Student student : course.getStudents()) {
+                places.merge(student, 1, Integer::sum);
+                if (student.getCourse() != course) {
+                    violations.add(student.getStudentId() + " is in the " + course.getCourseCode()
+                            + " roster but enrolled in " + codeOf(student.getCourse()));
+                }
+            }
+        }
+        for (Student student : students) {
+            Course course = student.getCourse();
+            int count = places.getOrDefault(student, 0);
+            if (course != null && Collections.frequency(course.getStudents(), student) != 1) {
+                violations.add(student.getStudentId() + " is enrolled in " + course.getCourseCode()
+                        + " but in its roster " + Collections.frequency(course.getStudents(), student) + " times");
+            } else if (course == null && count > 0) {
+                violations.add(student.getStudentId() + " has no course but is in " + count + " roster(s)");
+            }
+        }
+        return violations;
+    }
+
+    private static String codeOf(Course course) {
+        return course == null ? "no course" : course.getCourseCode();
+    }
+}
@@ -0,0 +1,121 @@
+package StressTest;
+
+import CourseManagement.Course;
+import CourseManagement.CourseManagementModule;
+import UserManagement.Lecturer;
+import UserManagement.LecturerManagementModule;
+import UserManagement.Student;
+import UserManagement.StudentManagementModule;
+import Utilities.SharedState;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MembershipStress
+ * ---------------------------------------------------------
+ * Many administrators adding and removing students and lecturers while
+ * students are enrolled in courses.
+ *
+ * Invariants:
+ *  - No ID is handed out twice, even after the user holding it was removed
+ *  - Students and lecturers in the containers have distinct IDs
+ *  - Every student is found by their own ID
+ *  - Every student in a roster has that course as their course
+ */
+final class MembershipStress extends StressTest {
+
+    /** Actors only add users of a kind while there are fewer than this */
+    private static final int POPULATION = 48;
+    private static final int COURSES = 2;
+
+    private final List<Course> courses = new ArrayList<>();
+    private final Set<String> issued = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger names = new AtomicInteger();
+
+    MembershipStress() {
+        super("membership");
+    }
+
+    @Override
+    protected void setUp(SplittableRandom random) {
+        courses.clear();
+        issued.clear();
+        for (int c = 0; c < COURSES; c++) {
+            courses.add(new Course("ST" + (300 + c), "Stress Course " + letters(c)));
+        }
+        SharedState.update(() -> CourseManagementModule.courseList.addAll(courses));
+    }
+
+    @Override
+    protected void act(int actor, SplittableRandom random) {
+        switch (random.nextInt(5)) {
+            case 0:
+            case 1:
+                Student student = pick(StudentManagementModule.studentsContainer, random);
+                if (random.nextBoolean() && StudentManagementModule.studentsContainer.size() < POPULATION) {
+                    issue(addStudent(names.getAndIncrement()).getStudentId());
+                } else if (student != null) {
+                    StudentManagementModule.removeStudent(student);
+                }
+                break;
+            case 2:
+            case 3:
+                Lecturer lecturer = pick(LecturerManagementModule.lecturersList, random);
+                if (random.nextBoolean() && LecturerManagementModule.lecturersList.size() < POPULATION) {
+                    issue(addLecturer(names.getAndIncrement()).getLecturerId());
+                } else if (lecturer != null) {
+                    LecturerManagementModule.removeLecturer(lecturer);
+                }
+                break;
+            default:
+                Student enrolling = pick(StudentManagementModule.studentsContainer, random);
+                if (enrolling != null) {
+                    CourseManagementModule.enrollStudent(enrolling, courses.get(random.nextInt(COURSES)));
+                }
+        }
+    }
+
+    private void issue(String id) {
+        if (!issued.add(id)) {
+            fail(id + " was handed out twice");
+        }
+    }
+
+    private static <T> T pick(List<T> users, SplittableRandom random) {
+        return SharedState.read(() -> users.isEmpty() ? null : users.get(random.nextInt(users.size())));
+    }
+
+    @Override
+    protected List<String> check() {
+        List<String> violations = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
+        for (Student student : StudentManagementModule.studentsContainer) {
+            if (!ids.add(student.getStudentId())) {
+                violations.add("two students have the ID " + student.getStudentId());
+            }
+            if (StudentManagementModule.findStudentById(student.getStudentId()) != student) {
+                violations.add(student.getStudentId() + " is not found by their ID");
+            }
+        }
+        for (Lecturer lecturer : LecturerManagementModule.lecturersList) {
+            if (!ids.add(lecturer.getLecturerId())) {
+                violations.add("two lecturers have the ID " + lecturer.getLecturerId());
+            }
+        }
+        for (Course course : courses) {
+            for (Student student : course.getStudents()) {
+                if (student.getCourse() != course) {
+                    violations.add(student.getStudentId() + " is in the " + course.getCourseCode()
+                            + " roster but not enrolled in it");
+                }
+            }
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,343 @@
+package StressTest;
+
+import CourseManagement.CourseManagementModule;
+import Security.AccessControl;
+import UserManagement.Admin;
+import UserManagement.LecturerManagementModule;
+import UserManagement.StudentManagementModule;
+import Utilities.ConsoleRenderer;
+import Utilities.NotificationSink;
+import Utilities.Notifications;
+import Utilities.SharedState;
+import Utilities.TableLayout;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * StressSuite
+ * ---------------------------------------------------------
+ * Runs the {@link StressTest}s against the shared containers: many threads
+ * perform random operations at once while an observer checks the invariants,
+ * round after round until the time budget is spent.
+ *
+ * Each round has its own seed, and each actor thread draws its operations
+ * from a random source derived from it, so a failing round can be run again
+ * on its own with {@code seed=<round seed> rounds=1}. The operations are then
+ * the same; the interleaving is up to the scheduler, so a race may need a few
+ * runs to show up again.
+ *
+ * Responsibilities:
+ *  - Reset the containers and set up each round
+ *  - Release the actor threads together and observe them
+ *  - Collect violations with the seed of the round that found them
+ *  - Print a summary table
+ */
+public final class StressSuite {
+
+    public static final String OPTIONS = "[seconds=N] [threads=N] [seed=N] [test=NAME] [rounds=N] [ops=N]";
+
+    /** Violations kept per test for the report; the rest are only counted */
+    private static final int MAX_REPORTED = 10;
+
+    /** Pause between invariant checks while the actors run */
+    private static final long OBSERVER_PAUSE_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private static final TableLayout RESULT_TABLE = new TableLayout("  ",
+            new String[]{"Test", "Rounds", "Operations", "Ops/s", "Violations"},
+            new int[]{12, 8, 12, 12, 11});
+
+    /**
+     * A broken invariant.
+     *
+     * @param test    name of the test
+     * @param seed    seed of the round that found it
+     * @param message what was wrong
+     */
+    public record Violation(String test, long seed, String message) {}
+
+    /**
+     * What one test found over all of its rounds.
+     *
+     * @param violationCount all violations, of which {@code violations} holds the first few
+     */
+    public record Outcome(String test, int rounds, long operations, long elapsedNanos,
+                          long violationCount, List<Violation> violations) {
+        public double operationsPerSecond() { return operations / (elapsedNanos / 1e9); }
+    }
+
+    private final long budgetNanos;
+    private final int threads;
+    private final long seed;
+    private final int maxRounds;
+    private final int operationsPerActor;
+    private final Admin admin = new Admin("Stress", "Admin", "stress.admin@ucms.ie",
+            "Stress-Password-1", "", "0800000000");
+
+    /**
+     * @param budgetNanos        time budget of each test
+     * @param threads            actor threads per round
+     * @param seed               seed of the first round
+     * @param maxRounds          rounds per test at most
+     * @param operationsPerActor operations each actor performs per round
+     */
+    public StressSuite(long budgetNanos, int threads, long seed, int maxRounds, int operationsPerActor) {
+        if (threads < 1 || maxRounds < 1 || operationsPerActor < 1) {
+            throw new IllegalArgumentException("threads, rounds and ops must be at least 1");
+        }
+        this.budgetNanos = budgetNanos;
+        this.threads = threads;
+        this.seed = seed;
+        this.maxRounds = maxRounds;
+        this.operationsPerActor = operationsPerActor;
+    }
+
+    /** @return every test of the suite */
+    public static List<StressTest> tests() {
+        return Arrays.asList(new EnrollmentStress(), new AssignmentStress(), new MembershipStress());
+    }
+
+    // ---------------------- RUNNING ----------------------
+
+    /**
+     * Runs one test round after round until its time budget or round
+     * limit is reached. The first round always runs.
+     */
+    public Outcome run(StressTest test) throws InterruptedException {
+        List<Violation> violations = new ArrayList<>();
+        long[] violationCount = new long[1];
+        long operations = 0;
+        int rounds = 0;
+        long start = System.nanoTime();
+        do {
+            long roundSeed = seed + rounds * 0x9E3779B97F4A7C15L;
+            Set<String> seen = ConcurrentHashMap.newKeySet();
+            operations += round(test, roundSeed, message -> {
+                // The observer sees a lasting violation again and again; count it once
+                if (seen.add(message)) {
+                    synchronized (violations) {
+                        violationCount[0]++;
+                        if (violations.size() < MAX_REPORTED) {
+                            violations.add(new Violation(test.getName(), roundSeed, message));
+                        }
+                    }
+                }
+            });
+            rounds++;
+        } while (rounds < maxRounds && System.nanoTime() - start < budgetNanos);
+        return new Outcome(test.getName(), rounds, operations, System.nanoTime() - start,
+                violationCount[0], violations);
+    }
+
+    /**
+     * Runs one round: resets the containers, sets the test up, releases the
+     * actors together and checks the invariants until they finish and once more after.
+     *
+     * @return operations performed
+     */
+    private long round(StressTest test, long roundSeed, Consumer<String> reporter) throws InterruptedException {
+        SharedState.update(StressSuite::clearContainers);
+        AccessControl.runAs(admin, () -> test.setUp(new SplittableRandom(roundSeed)));
+
+        CountDownLatch start = new CountDownLatch(1);
+        LongAdder operations = new LongAdder();
+        Thread[] actors = new Thread[threads];
+        for (int a = 0; a < threads; a++) {
+            int actor = a;
+            actors[a] = new Thread(() -> {
+                AccessControl.bind(admin);
+                SplittableRandom random = new SplittableRandom(roundSeed ^ (actor + 1) * 0xBF58476D1CE4E5B9L);
+                try {
+                    start.await();
+                    for (int i = 0; i < operationsPerActor; i++) {
+                        try {
+                            test.act(actor, random);
+                        } catch (IllegalArgumentException e) {
+                            // Refused as invalid, which is a legitimate outcome
+                        } catch (RuntimeException e) {
+                            reporter.accept("actor " + actor + " failed: " + describe(e));
+                        }
+                        operations.increment();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    AccessControl.unbind();
+                }
+            }, "ucms-stress-" + test.getName() + "-" + a);
+            actors[a].start();
+        }
+
+        start.countDown();
+        while (isAlive(actors)) {
+            check(test, reporter);
+            LockSupport.parkNanos(OBSERVER_PAUSE_NANOS);
+        }
+        for (Thread actor : actors) {
+            actor.join();
+        }
+        check(test, reporter);
+        return operations.sum();
+    }
+
+    private static void check(StressTest test, Consumer<String> reporter) {
+        try {
+            for (String message : SharedState.read(test::check)) {
+                reporter.accept(message);
+            }
+        } catch (RuntimeException e) {
+            // A container changed while being walked under the read lock
+            reporter.accept("check failed: " + describe(e));
+        }
+        String failure;
+        while ((failure = test.nextFailure()) != null) {
+            reporter.accept(failure);
+        }
+    }
+
+    private static boolean isAlive(Thread[] threads) {
+        for (Thread thread : threads) {
+            if (thread.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String describe(RuntimeException e) {
+        StackTraceElement[] trace = e.getStackTrace();
+        return trace.length == 0 ? e.toString() : e + " at " + trace[0];
+    }
+
+    private static void clearContainers() {
+        StudentManagementModule.studentsContainer.clear();
+        LecturerManagementModule.lecturersList.clear();
+        CourseManagementModule.courseList.clear();
+    }
+
+    // ---------------------- REPORT ----------------------
+
+    /**
+     * Prints the result table and the violations found, with the seeds
+     * that reproduce them.
+     */
+    public void print(List<Outcome> outcomes, ConsoleRenderer renderer) {
+        RESULT_TABLE.renderHeader(renderer);
+        long total = 0;
+        for (Outcome outcome : outcomes) {
+            RESULT_TABLE.renderRow(renderer,
+                    outcome.test(),
+                    String.valueOf(outcome.rounds()),
+                    String.format("%,d", outcome.operations()),
+                    String.format("%,.0f", outcome.operationsPerSecond()),
+                    String.valueOf(outcome.violationCount()));
+            total += outcome.violationCount();
+        }
+        RESULT_TABLE.renderSeparator(renderer);
+
+        if (total == 0) {
+            renderer.append("✓ No violations (seed " + seed + ", " + threads + " threads)").line();
+            renderer.flush();
+            return;
+        }
+        for (Outcome outcome : outcomes) {
+            for (Violation violation : outcome.violations()) {
+                renderer.append("✗ " + violation.test() + " seed=" + violation.seed() + ": " + violation.message()).line();
+            }
+            long more = outcome.violationCount() - outcome.violations().size();
+            if (more > 0) {
+                renderer.append("  ... and " + more + " more in " + outcome.test()).line();
+            }
+        }
+        renderer.append("Run a round again with: stress test=NAME seed=SEED rounds=1 threads=" + threads).line();
+        renderer.flush();
+    }
+
+    // ---------------------- COMMAND LINE ----------------------
+
+    /**
+     * Command line entry point:
+     * {@code stress [seconds=N] [threads=N] [seed=N] [test=NAME] [rounds=N] [ops=N]}.
+     * The time budget is shared between the tests run.
+     *
+     * @param args command line arguments
+     * @return process exit code, 1 if any invariant was broken
+     */
+    public static int run(String[] args) {
+        try {
+            double seconds = 10;
+            int threads = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+            long seed = System.nanoTime();
+            String only = null;
+            int rounds = Integer.MAX_VALUE;
+            int operations = 2000;
+            for (int i = 1; i < args.length; i++) {
+                String arg = args[i];
+                int equals = arg.indexOf('=');
+                String value = arg.substring(equals + 1);
+                switch (equals < 0 ? arg : arg.substring(0, equals)) {
+                    case "seconds": seconds = Double.parseDouble(value); break;
+                    case "threads": threads = Integer.parseInt(value); break;
+                    case "seed":    seed = Long.parseLong(value); break;
+                    case "test":    only = value; break;
+                    case "rounds":  rounds = Integer.parseInt(value); break;
+                    case "ops":     operations = Integer.parseInt(value); break;
+                    default: throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            }
+
+            List<StressTest> tests = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            for (StressTest test : tests()) {
+                names.add(test.getName());
+                if (only == null || only.equals(test.getName())) {
+                    tests.add(test);
+                }
+            }
+            if (tests.isEmpty()) {
+                throw new IllegalArgumentException("Unknown test " + only + "; choose from " + String.join(", ", names));
+            }
+
+            // Keep the suite's users out of the real audit trail and ID files, and off the console
+            if (System.getProperty("ucms.audit.dir") == null || System.getProperty("ucms.ids.dir") == null) {
+                String scratch = Files.createTempDirectory("ucms-stress").toString();
+                System.setProperty("ucms.audit.dir", System.getProperty("ucms.audit.dir", scratch));
+                System.setProperty("ucms.ids.dir", System.getProperty("ucms.ids.dir", scratch));
+            }
+            Notifications.setDefault(NotificationSink.NONE);
+
+            StressSuite suite = new StressSuite(Math.round(seconds * 1e9 / tests.size()),
+                    threads, seed, rounds, operations);
+            System.out.println("Stress testing with " + threads + " threads, seed " + seed + "...");
+            List<Outcome> outcomes = new ArrayList<>();
+            long violations = 0;
+            for (StressTest test : tests) {
+                Outcome outcome = suite.run(test);
+                outcomes.add(outcome);
+                violations += outcome.violationCount();
+            }
+            suite.print(outcomes, ConsoleRenderer.get());
+            return violations == 0 ? 0 : 1;
+        } catch (IllegalArgumentException e) {
+            System.out.println("✗ " + e.getMessage());
+            System.out.println("Usage: stress " + OPTIONS);
+        } catch (IOException e) {
+            System.out.println("✗ Could not create a scratch directory: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("✗ Stress test interrupted");
+        }
+        return 1;
+    }
+}
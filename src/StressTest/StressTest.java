@@ -0,0 +1,116 @@
+package StressTest;
+
+import Security.AccessControl;
+import UserManagement.Admin;
+import UserManagement.Lecturer;
+import UserManagement.LecturerManagementModule;
+import UserManagement.Student;
+import UserManagement.StudentManagementModule;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * StressTest
+ * ---------------------------------------------------------
+ * One concurrency stress test run by {@link StressSuite}: a starting state,
+ * an operation that many threads perform at once, and the invariants that
+ * must hold however those operations interleave.
+ *
+ * Each round starts from empty containers. {@link #setUp} builds the state,
+ * then every actor thread calls {@link #act} in a loop while an observer
+ * thread calls {@link #check} under the read lock, and a final check runs
+ * once the actors are done.
+ *
+ * Responsibilities:
+ *  - Build a small, contended starting state
+ *  - Perform one random operation per call
+ *  - Report broken invariants as readable messages
+ */
+public abstract class StressTest {
+
+    private final String name;
+    private final Queue<String> failures = new ConcurrentLinkedQueue<>();
+
+    protected StressTest(String name) {
+        this.name = name;
+    }
+
+    public String getName() { return name; }
+
+    /**
+     * Builds the starting state of a round. The containers are empty and
+     * the acting user is an administrator.
+     *
+     * @param random the round's random source
+     */
+    protected abstract void setUp(SplittableRandom random);
+
+    /**
+     * Performs one random operation. IllegalArgumentExceptions are expected
+     * refusals and are ignored; any other exception is a violation.
+     *
+     * @param actor  number of the calling thread
+     * @param random the thread's own random source
+     */
+    protected abstract void act(int actor, SplittableRandom random);
+
+    /**
+     * Checks the invariants. Runs under the read lock, concurrently with the
+     * actors and once after they finish.
+     *
+     * @return one message per broken invariant, empty if all hold
+     */
+    protected abstract List<String> check();
+
+    /**
+     * Reports a violation an operation noticed itself, such as an ID
+     * being handed out twice.
+     */
+    protected void fail(String message) {
+        failures.add(message);
+    }
+
+    /** @return the next violation reported by {@link #fail}, or null */
+    String nextFailure() {
+        return failures.poll();
+    }
+
+    // ---------------------- HELPERS ----------------------
+
+    /**
+     * @return a name made of letters only, as names may not contain digits
+     *         (0 is "A", 25 is "Z", 26 is "BA")
+     */
+    protected static String letters(int i) {
+        StringBuilder text = new StringBuilder();
+        do {
+            text.insert(0, (char) ('A' + i % 26));
+            i /= 26;
+        } while (i > 0);
+        return text.toString();
+    }
+
+    /** @return the administrator acting on this thread */
+    protected static Admin admin() {
+        return (Admin) AccessControl.current();
+    }
+
+    /**
+     * Adds a student the way the admin screens do.
+     */
+    protected static Student addStudent(int i) {
+        return StudentManagementModule.createStudent(admin(), "Stress", letters(i),
+                "stress.student." + i + "@ucms.ie", "", "", "0800000000", "2000-01-01");
+    }
+
+    /**
+     * Adds a lecturer the way the admin screens do.
+     */
+    protected static Lecturer addLecturer(int i) {
+        return LecturerManagementModule.createLecturer(admin(), "Stress", letters(i),
+                "stress.lecturer." + i + "@ucms.ie", "", "", "0800000000", "Stress Testing");
+    }
+}
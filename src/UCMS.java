@@ -1,8 +1,27 @@
+import Audit.AuditAction;
+import Audit.AuditLog;
 import CourseManagement.Course;
 import CourseManagement.CourseManagementModule;
+import CourseManagement.ModuleManagement;
+import Metrics.Histogram;
+import Metrics.MetricsRegistry;
 import UserManagement.*;
+import Reporting.DataExporter;
+import Reporting.ExportFormat;
+import Security.AccessControl;
+import Security.AuthSession;
+import Security.Authentication;
+import Security.Permission;
+import Utilities.ConsoleRenderer;
+import Utilities.Navigator;
+import Utilities.Navigator.Transition;
+import Utilities.TableLayout;
 import Utilities.Utility;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
 import java.util.Scanner;
 
 /**
@@ -18,54 +37,130 @@ import java.util.Scanner;
  *  - Delegate management operations to respective modules
  *  - Generate simple system reports
  *
- * Note: For demonstration purposes, the login process is simulated
- * without password validation or persistent storage.
+ * Passwords are checked by {@link Authentication}. The first admin to log in
+ * creates the administrator account; students and lecturers log in with their
+ * ID or email and must replace the default password on first login.
  */
 public class UCMS {
 
-    /** Reference to the currently logged-in Admin object. */
-    private static Admin admin;
+    /** Column layout of the metrics screen */
+    private static final TableLayout METRICS_TABLE = new TableLayout("  ",
+            new String[]{"Metric", "Count", "Mean", "p50", "p99", "Max"},
+            new int[]{20, 9, 9, 9, 9, 9});
 
     /**
      * Determines the user role (Admin, Lecturer, or Student)
      * and directs them to the appropriate menu interface.
+     * Menus are run by a {@link Navigator}, so returning from a menu goes back
+     * to the previous one instead of calling it again.
      */
     public static void determineRole() {
+        new Navigator().run(UCMS::showRoleOptions);
+    }
+
+    /**
+     * Displays the role selection menu and logs the user in to the chosen role.
+     * The logged-in user becomes the acting user for permission checks.
+     *
+     * @return the next navigation step
+     */
+    private static Transition showRoleOptions() {
         String[] roles = {"Admin", "Lecturer", "Student", "Exit"};
-        boolean running = true;
-
-        while (running) {
-            int choice = Utility.printMenu("Pick Your Role", roles);
-            switch (choice) {
-                case 1:
-                    showAdminOptions();
-                    break;
-                case 2:
-                    showLecturerOptions();
-                    break;
-                case 3:
-                    showStudentOptions();
-                    break;
-                case 4:
-                    System.out.println("Exiting UCMS. Goodbye!");
-                    running = false;
-                    break;
-                default:
-                    System.out.println("Invalid selection. Try again.");
-                    break;
-            }
+        int choice = Utility.printMenu("Pick Your Role", roles);
+
+        switch (choice) {
+            case 1:
+                AuthSession adminSession = login();
+                return enter(adminSession, () -> showAdminOptions(adminSession));
+            case 2:
+                AuthSession lecturerSession = lecturerLogin();
+                return enter(lecturerSession, () -> showLecturerOptions(lecturerSession));
+            case 3:
+                AuthSession studentSession = studentLogin();
+                return enter(studentSession, () -> showStudentOptions(studentSession));
+            case 4:
+                System.out.println("Exiting UCMS. Goodbye!");
+                return Transition.EXIT;
+            default:
+                System.out.println("Invalid selection. Try again.");
+                return Transition.STAY;
+        }
+    }
+
+    /**
+     * Opens the main menu of a logged-in user.
+     *
+     * @param session the new session, or null if the login failed
+     * @param menu    the role's main menu
+     * @return the next navigation step
+     */
+    private static Transition enter(AuthSession session, Navigator.Screen menu) {
+        if (session == null) {
+            return Transition.STAY;
         }
+        AccessControl.bind(session.getUser());
+        return Transition.push(menu);
     }
 
     /**
-     * Simulates admin login by prompting for first and last name.
-     * In a real system, credentials would be validated against a database.
+     * Ends a session and clears the acting user.
      *
-     * @return true if login succeeds (always true in this demo)
+     * @param session the session to end
      */
-    public static boolean login() {
+    private static void logout(AuthSession session) {
+        Authentication.logout(session.getToken());
+        AccessControl.unbind();
+    }
+
+    /**
+     * Logs an admin in by email and password.
+     * The first administrator account is created from the local console
+     * ({@link #createFirstAdmin()}) or a script's {@code add-admin}, never here.
+     *
+     * @return the admin's session, or null if the login failed
+     */
+    public static AuthSession login() {
+        if (!Authentication.hasAdmin()) {
+            System.out.println("✗ No administrator account exists yet. Start UCMS on the server's console "
+                    + "to create one, or run a script with add-admin.");
+            return null;
+        }
         Utility.printInputPromptMenu("Admin Login", 60);
-        Scanner sc = new Scanner(System.in);
+        Scanner sc = Utility.input();
+
+        System.out.print("Enter Email Address: ");
+        String email = sc.nextLine();
+
+        System.out.print("Enter Password: ");
+        String password = sc.nextLine();
+
+        return authenticate(email, password, Admin.class);
+    }
+
+    /**
+     * Asks for the details of the first administrator account on the local
+     * console, until one is created. Does nothing once an administrator exists.
+     * Only called from {@code Main} before the console session starts, never
+     * from a terminal server session.
+     */
+    public static void createFirstAdmin() {
+        while (!Authentication.hasAdmin()) {
+            try {
+                createAdminAccount();
+            } catch (IllegalArgumentException e) {
+                System.out.println("✗ " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Creates the first administrator account.
+     *
+     * @throws IllegalArgumentException if a detail is missing or invalid
+     */
+    private static void createAdminAccount() {
+        Utility.printInputPromptMenu("Create Administrator Account", 60);
+        Scanner sc = Utility.input();
 
         System.out.print("Enter First Name: ");
         String adminFirstname = sc.nextLine();
@@ -82,76 +177,125 @@ public class UCMS {
         System.out.print("Enter Password: ");
         String adminPassword = sc.nextLine();
 
-        // Create a new Admin object for the current session
-        admin = new Admin(adminFirstname, adminLastname, adminEmail, adminPassword, "", adminPhoneNumber);
+        if (adminEmail.trim().isEmpty() || adminPassword.trim().isEmpty()) {
+            throw new IllegalArgumentException("The administrator account needs an email address and a password");
+        }
+        Admin admin = new Admin(adminFirstname, adminLastname, adminEmail, adminPassword, "", adminPhoneNumber);
+        if (!Authentication.registerFirstAdmin(admin, adminPassword)) {
+            System.out.println("✗ An administrator account already exists.");
+            return;
+        }
+        admin.discardPassword();
+        AuditLog.record(AuditAction.USER_ADDED, adminEmail, admin.getRole().getName());
+        System.out.println("✓ Administrator account created. Log in with " + adminEmail + ".");
+    }
 
-        return true;
+    /**
+     * Checks credentials and makes sure they belong to a user of the expected role.
+     * Asks for a new password if the user still has the default one.
+     *
+     * @param loginName user ID or email address
+     * @param password  plain-text password
+     * @param role      the role being logged in to
+     * @return the session, or null if the login failed
+     */
+    private static AuthSession authenticate(String loginName, String password, Class<? extends User> role) {
+        System.out.println("Checking credentials...");
+        AuthSession session = Authentication.login(loginName, password).join();
+        if (session != null && !role.isInstance(session.getUser())) {
+            Authentication.logout(session.getToken());
+            session = null;
+        }
+        if (session == null) {
+            System.out.println("✗ Invalid login or password.");
+            return null;
+        }
+        if (session.mustChangePassword()) {
+            changeDefaultPassword(session);
+        }
+        return session;
+    }
+
+    /**
+     * Makes a user on the default password choose a new one.
+     *
+     * @param session the user's session
+     */
+    private static void changeDefaultPassword(AuthSession session) {
+        Scanner sc = Utility.input();
+        System.out.println("You are using the default password. Please choose a new one.");
+        while (true) {
+            System.out.print("Enter New Password: ");
+            try {
+                Authentication.changePassword(session, sc.nextLine());
+                System.out.println("✓ Password changed successfully!");
+                return;
+            } catch (IllegalArgumentException e) {
+                System.out.println("✗ " + e.getMessage());
+            }
+        }
     }
 
     /**
      * Displays the Admin main menu and allows the user to perform
      * administrative operations such as managing courses, students,
      * lecturers, or generating reports.
+     *
+     * @param session the logged-in admin's session
+     * @return the next navigation step
      */
-    public static void showAdminOptions() {
+    public static Transition showAdminOptions(AuthSession session) {
+        Admin admin = (Admin) session.getUser();
         String[] menuOptions = {"Manage Courses", "Manage Students", "Manage Lecturers", "Reports", "Exit"};
-
-        // Perform simulated login (replace with actual authentication if implemented)
-        boolean loggedIn = false;
-        while (!loggedIn) {
-            loggedIn = login();
-        }
-
         int choice = Utility.printMenu("UCMS Admin Main Menu", menuOptions);
 
         switch (choice) {
             case 1:
-                CourseManagementModule.courseManagement(admin);
-                break;
+                return Transition.push(() -> CourseManagementModule.courseManagement(admin));
             case 2:
-                StudentManagementModule.manageStudents(admin);
-                break;
+                return Transition.push(() -> StudentManagementModule.manageStudents(admin));
             case 3:
-                LecturerManagementModule.manageLecturers(admin);
-                break;
+                return Transition.push(() -> LecturerManagementModule.manageLecturers(admin));
             case 4:
-                showReportOptions();
-                break;
+                return Transition.push(() -> showReportOptions(admin));
             case 5:
-                System.exit(0);
+                logout(session);
+                return Transition.EXIT;
+            default:
+                System.out.println("Invalid selection. Try again.");
+                return Transition.STAY;
         }
     }
 
     /**
-     * Displays the Student main menu options.
-     * Allows students to view enrolled courses, check grades, and manage profile.
+     * Prompts for student credentials and checks them.
+     *
+     * @return the student's session, or null if the login failed
      */
-    public static void showStudentOptions() {
-        String[] menuOptions = {"View Enrolled Courses", "View Grades", "Enroll in Course", "Drop Course", "Exit"};
-        
-        // Simple login simulation
-        Scanner sc = new Scanner(System.in);
+    private static AuthSession studentLogin() {
+        Scanner sc = Utility.input();
         Utility.printInputPromptMenu("Student Login", 60);
         
-        System.out.print("Enter Student ID: ");
+        System.out.print("Enter Student ID or Email: ");
         String studentId = sc.nextLine();
         
         System.out.print("Enter Password: ");
         String password = sc.nextLine();
         
-        // Find student (simplified - in real system would validate credentials)
-        Student currentStudent = null;
-        for (Student student : StudentManagementModule.studentsContainer) {
-            if (student.getStudentId().equals(studentId)) {
-                currentStudent = student;
-                break;
-            }
-        }
-        
-        if (currentStudent == null) {
-            System.out.println("Student not found!");
-            return;
-        }
+        return authenticate(studentId, password, Student.class);
+    }
+
+    /**
+     * Displays the Student main menu options.
+     * Allows students to view enrolled courses, check grades, and manage profile.
+     *
+     * @param session the logged-in student's session
+     * @return the next navigation step
+     */
+    public static Transition showStudentOptions(AuthSession session) {
+        Student currentStudent = (Student) session.getUser();
+        String[] menuOptions = {"View Enrolled Courses", "View Grades", "Enroll in Course", "Drop Course", "Exit"};
+        Scanner sc = Utility.input();
         
         int choice = Utility.printMenu("UCMS Student Main Menu - Welcome " + currentStudent.getFirstname(), menuOptions);
         
@@ -163,16 +307,10 @@ public class UCMS {
                 } else {
                     System.out.println("You are not enrolled in any course.");
                 }
-                System.out.println("\nPress Enter to continue...");
-                sc.nextLine();
-                showStudentOptions();
                 break;
             case 2:
                 // View grades
                 currentStudent.viewResults();
-                System.out.println("\nPress Enter to continue...");
-                sc.nextLine();
-                showStudentOptions();
                 break;
             case 3:
                 // Enroll in course
@@ -180,15 +318,11 @@ public class UCMS {
                 String courseCode = sc.nextLine();
                 Course course = CourseManagementModule.searchCourse(courseCode);
                 if (course != null) {
-                    currentStudent.setCourse(course);
-                    course.enrollStudent(currentStudent);
+                    CourseManagementModule.enrollStudent(currentStudent, course);
                     System.out.println("✓ Successfully enrolled in " + course.getCourseName());
                 } else {
                     System.out.println("Course not found!");
                 }
-                System.out.println("\nPress Enter to continue...");
-                sc.nextLine();
-                showStudentOptions();
                 break;
             case 4:
                 // Drop course
@@ -196,63 +330,65 @@ public class UCMS {
                     System.out.print("Are you sure you want to drop " + currentStudent.getCourse().getCourseName() + "? (Y/N): ");
                     String confirm = sc.nextLine();
                     if (confirm.equalsIgnoreCase("Y")) {
-                        currentStudent.getCourse().getStudents().remove(currentStudent);
-                        currentStudent.setCourse(null);
+                        CourseManagementModule.dropCourse(currentStudent);
                         System.out.println("✓ Course dropped successfully!");
                     }
                 } else {
                     System.out.println("You are not enrolled in any course.");
                 }
-                System.out.println("\nPress Enter to continue...");
-                sc.nextLine();
-                showStudentOptions();
                 break;
             case 5:
-                determineRole();
-                break;
+                logout(session);
+                return Transition.BACK;
             default:
                 System.out.println("Invalid selection. Try again.");
-                showStudentOptions();
+                return Transition.STAY;
         }
+        
+        System.out.println("\nPress Enter to continue...");
+        sc.nextLine();
+        return Transition.STAY;
     }
 
     /**
-     * Displays the Lecturer main menu options.
-     * Allows lecturers to view assigned courses, manage students, and view course modules.
+     * Prompts for lecturer credentials and checks them.
+     *
+     * @return the lecturer's session, or null if the login failed
      */
-    public static void showLecturerOptions() {
-        Scanner sc = new Scanner(System.in);
+    private static AuthSession lecturerLogin() {
+        Scanner sc = Utility.input();
         Utility.printInputPromptMenu("Lecturer Login", 60);
         
-        System.out.print("Enter First Name: ");
-        String firstname = sc.nextLine();
-        
-        System.out.print("Enter Last Name: ");
-        String lastname = sc.nextLine();
+        System.out.print("Enter Lecturer ID or Email: ");
+        String lecturerId = sc.nextLine();
         
         System.out.print("Enter Password: ");
         String password = sc.nextLine();
         
-        // Create lecturer object (simplified - in real system would validate credentials)
-        Lecturer lecturer = new Lecturer(firstname, lastname, "", password, "", "", "L001", "Computer Science");
-        
+        return authenticate(lecturerId, password, Lecturer.class);
+    }
+
+    /**
+     * Displays the Lecturer main menu options.
+     * Allows lecturers to view assigned courses, manage students, and view course modules.
+     *
+     * @param session the logged-in lecturer's session
+     * @return the next navigation step
+     */
+    public static Transition showLecturerOptions(AuthSession session) {
+        Lecturer lecturer = (Lecturer) session.getUser();
+        Scanner sc = Utility.input();
         String[] menuOptions = {"View Assigned Courses", "View Course Students", "View Course Modules", "Exit"};
-        int choice = Utility.printMenu("UCMS Lecturer Main Menu - Welcome " + firstname, menuOptions);
+        int choice = Utility.printMenu("UCMS Lecturer Main Menu - Welcome " + lecturer.getFirstname(), menuOptions);
         
         switch (choice) {
             case 1:
                 // View assigned courses
-                System.out.println("\n=== Assigned Courses ===");
                 if (CourseManagementModule.systemHasCourses()) {
-                    for (Course course : CourseManagementModule.courseList) {
-                        System.out.println(course);
-                    }
+                    CourseManagementModule.showCourses(sc);
                 } else {
                     System.out.println("No courses available.");
                 }
-                System.out.println("\nPress Enter to continue...");
-                sc.nextLine();
-                showLecturerOptions();
                 break;
                 
             case 2:
@@ -261,13 +397,11 @@ public class UCMS {
                 String courseCode = sc.nextLine();
                 Course course = CourseManagementModule.searchCourse(courseCode);
                 if (course != null) {
-                    course.viewStudents();
+                    StudentManagementModule.showStudents("Students enrolled in " + course.getCourseName(),
+                            course.getStudents(), sc);
                 } else {
                     System.out.println("Course not found!");
                 }
-                System.out.println("\nPress Enter to continue...");
-                sc.nextLine();
-                showLecturerOptions();
                 break;
                 
             case 3:
@@ -276,31 +410,36 @@ public class UCMS {
                 String courseCode2 = sc.nextLine();
                 Course course2 = CourseManagementModule.searchCourse(courseCode2);
                 if (course2 != null) {
-                    course2.viewModules();
+                    ModuleManagement.listModules("Modules for " + course2.getCourseName(),
+                            course2.getModules(), sc);
                 } else {
                     System.out.println("Course not found!");
                 }
-                System.out.println("\nPress Enter to continue...");
-                sc.nextLine();
-                showLecturerOptions();
                 break;
                 
             case 4:
-                determineRole();
-                break;
+                logout(session);
+                return Transition.BACK;
                 
             default:
                 System.out.println("Invalid selection. Try again.");
-                showLecturerOptions();
+                return Transition.STAY;
         }
+        
+        System.out.println("\nPress Enter to continue...");
+        sc.nextLine();
+        return Transition.STAY;
     }
 
     /**
      * Displays reporting options and generates a simple system summary.
-     * Currently uses static counts for demonstration purposes.
+     * Returns to the Admin menu after each report.
+     *
+     * @param admin the logged-in admin
+     * @return the next navigation step
      */
-    public static void showReportOptions() {
-        String[] menuOptions = {"Generate Report", "Exit"};
+    public static Transition showReportOptions(Admin admin) {
+        String[] menuOptions = {"Generate Report", "Export Report", "Export Data", "System Metrics", "Exit"};
         int choice = Utility.printMenu("Reports Menu", menuOptions);
 
         switch (choice) {
@@ -310,18 +449,140 @@ public class UCMS {
                 /* === Invoke Admin's report generation method ===
                  * getReportParameters() returns report data.
                  * */
-                admin.generateReport(getReportParameters());
+                admin.generateReport(getReportParameters(admin));
 
                 System.out.println("Press Enter to continue...");
-                new Scanner(System.in).nextLine();
+                Utility.input().nextLine();
 
                 // Return to Admin menu after generating report
-                showAdminOptions();
-                break;
+                return Transition.BACK;
 
             case 2:
-                System.exit(0);
+                exportReport(admin);
+                return Transition.BACK;
+
+            case 3:
+                exportData();
+                return Transition.BACK;
+
+            case 4:
+                showMetrics();
+                return Transition.BACK;
+
+            case 5:
+                return Transition.EXIT;
+
+            default:
+                System.out.println("Invalid selection. Try again.");
+                return Transition.STAY;
+        }
+    }
+
+    /**
+     * Prompts for a format and file name and writes the system report to disk.
+     *
+     * @param admin the logged-in admin
+     */
+    private static void exportReport(Admin admin) {
+        Utility.printInputPromptMenu("EXPORT REPORT", 60);
+        Scanner sc = Utility.input();
+
+        try {
+            System.out.print("Enter format (csv/jsonl): ");
+            ExportFormat format = ExportFormat.fromName(sc.nextLine());
+
+            System.out.print("Enter output file: ");
+            Path file = Paths.get(sc.nextLine().trim());
+
+            admin.exportReport(getReportParameters(admin), file, format);
+            System.out.println("✓ Report exported to " + file.toAbsolutePath());
+        } catch (IllegalArgumentException | IOException e) {
+            System.out.println("Export failed: " + e.getMessage());
+        }
+
+        System.out.println("Press Enter to continue...");
+        sc.nextLine();
+    }
+
+    /**
+     * Prompts for a format and directory and exports students, lecturers,
+     * courses, modules and enrollments, one file each.
+     */
+    private static void exportData() {
+        Utility.printInputPromptMenu("EXPORT DATA", 60);
+        Scanner sc = Utility.input();
+
+        try {
+            System.out.print("Enter format (csv/jsonl): ");
+            ExportFormat format = ExportFormat.fromName(sc.nextLine());
+
+            System.out.print("Enter output directory: ");
+            Path directory = Paths.get(sc.nextLine().trim());
+
+            Map<String, Long> rows = DataExporter.exportAll(directory, format);
+            for (Map.Entry<String, Long> entry : rows.entrySet()) {
+                System.out.printf("%-20s : %d rows%n", entry.getKey(), entry.getValue());
+            }
+            System.out.println("✓ Data exported to " + directory.toAbsolutePath());
+        } catch (IllegalArgumentException | IOException e) {
+            System.out.println("Export failed: " + e.getMessage());
         }
+
+        System.out.println("Press Enter to continue...");
+        sc.nextLine();
+    }
+
+    /**
+     * Shows operation latencies, counters and container sizes,
+     * then offers to export them to a file.
+     */
+    private static void showMetrics() {
+        AccessControl.require(Permission.VIEW_REPORTS);
+        Scanner sc = Utility.input();
+        ConsoleRenderer renderer = ConsoleRenderer.get();
+
+        Utility.printInputPromptMenu("SYSTEM METRICS", 60);
+        METRICS_TABLE.renderHeader(renderer);
+        for (Histogram.Snapshot histogram : MetricsRegistry.histograms()) {
+            if (histogram.getCount() == 0) {
+                continue;   // operation not used since start
+            }
+            METRICS_TABLE.renderRow(renderer,
+                    histogram.getName(),
+                    String.valueOf(histogram.getCount()),
+                    Utility.formatNanos(Math.round(histogram.getMean())),
+                    Utility.formatNanos(histogram.getPercentile(50)),
+                    Utility.formatNanos(histogram.getPercentile(99)),
+                    Utility.formatNanos(histogram.getMax()));
+        }
+        METRICS_TABLE.renderSeparator(renderer);
+        for (Map.Entry<String, Long> counter : MetricsRegistry.counters().entrySet()) {
+            METRICS_TABLE.renderRow(renderer, counter.getKey(), String.valueOf(counter.getValue()));
+        }
+        for (Map.Entry<String, Long> gauge : MetricsRegistry.gauges().entrySet()) {
+            METRICS_TABLE.renderRow(renderer, gauge.getKey(), String.valueOf(gauge.getValue()));
+        }
+        METRICS_TABLE.renderSeparator(renderer);
+        renderer.flush();
+
+        System.out.print("Export metrics to a file? (Y/N): ");
+        if (sc.nextLine().trim().equalsIgnoreCase("Y")) {
+            try {
+                System.out.print("Enter format (csv/jsonl): ");
+                ExportFormat format = ExportFormat.fromName(sc.nextLine());
+
+                System.out.print("Enter output file: ");
+                Path file = Paths.get(sc.nextLine().trim());
+
+                long rows = DataExporter.exportMetrics(file, format);
+                System.out.println("✓ " + rows + " metrics exported to " + file.toAbsolutePath());
+            } catch (IllegalArgumentException | IOException e) {
+                System.out.println("Export failed: " + e.getMessage());
+            }
+        }
+
+        System.out.println("Press Enter to continue...");
+        sc.nextLine();
     }
 
     /**
@@ -333,6 +594,7 @@ public class UCMS {
      * the {@link Admin#generateReport(String[])} method.
      * </p>
      *
+     * @param admin the logged-in admin
      * @return an array of strings containing, in order:
      *         <ol>
      *           <li>Number of courses</li>
@@ -341,7 +603,7 @@ public class UCMS {
      *           <li>Admin full name (first + last)</li>
      *         </ol>
      */
-    private static String[] getReportParameters() {
+    private static String[] getReportParameters(Admin admin) {
 
         // Static sample data for demonstration purposes
         int numStudents = StudentManagementModule.studentsContainer.size();
@@ -1,3 +1,5 @@
+import Utilities.ConsoleRenderer;
+
 import java.util.Scanner;
 
 public class UIHelper {
@@ -66,18 +68,22 @@ public class UIHelper {
     }
     
     public static void printMenu(String... options) {
-        System.out.println();
+        ConsoleRenderer renderer = ConsoleRenderer.get();
+        renderer.line();
         for (int i = 0; i < options.length; i++) {
-            String icon = getMenuIcon(i);
-            System.out.println(BRIGHT_WHITE + "  " + BRIGHT_CYAN + BOLD + "[" + (i + 1) + "]" + RESET + 
-                             BRIGHT_WHITE + " " + icon + " " + options[i] + RESET);
+            renderer.append(BRIGHT_WHITE).append("  ").append(BRIGHT_CYAN).append(BOLD)
+                    .append("[").append(i + 1).append("]").append(RESET)
+                    .append(BRIGHT_WHITE).append(" ").append(getMenuIcon(i)).append(" ")
+                    .append(options[i]).line(RESET);
         }
-        System.out.println(BRIGHT_BLACK + LINE + RESET);
+        renderer.append(BRIGHT_BLACK).append(LINE).line(RESET);
+        renderer.flush();
     }
     
+    private static final String[] MENU_ICONS = {"🎓", "👨‍🏫", "📖", "✏️", "📊", "🔍", "⚙️", "🚪", "💾", "🗑️", "📝", "👤"};
+    
     private static String getMenuIcon(int index) {
-        String[] icons = {"🎓", "👨‍🏫", "📖", "✏️", "📊", "🔍", "⚙️", "🚪", "💾", "🗑️", "📝", "👤"};
-        return index < icons.length ? icons[index] : "•";
+        return index < MENU_ICONS.length ? MENU_ICONS[index] : "•";
     }
     
     public static int getMenuChoice(Scanner scanner, int min, int max) {
@@ -441,21 +447,27 @@ public class UIHelper {
         System.out.println();
     }
     
+    private static final int TABLE_COLUMN_WIDTH = 20;
+    
     public static void printTableHeader(String... headers) {
-        System.out.println(BRIGHT_CYAN + "\n  " + DOUBLE_LINE + RESET);
-        System.out.print(BRIGHT_YELLOW + BOLD + "  ");
+        ConsoleRenderer renderer = ConsoleRenderer.get();
+        renderer.append(BRIGHT_CYAN).append("\n  ").append(DOUBLE_LINE).line(RESET);
+        renderer.append(BRIGHT_YELLOW).append(BOLD).append("  ");
         for (String header : headers) {
-            System.out.print(String.format("%-20s", header));
+            renderer.padRight(header, TABLE_COLUMN_WIDTH);
         }
-        System.out.println(RESET);
-        System.out.println(BRIGHT_CYAN + "  " + DOUBLE_LINE + RESET);
+        renderer.line(RESET);
+        renderer.append(BRIGHT_CYAN).append("  ").append(DOUBLE_LINE).line(RESET);
+        renderer.flush();
     }
     
     public static void printTableRow(String... columns) {
-        System.out.print(BRIGHT_WHITE + "  ");
+        ConsoleRenderer renderer = ConsoleRenderer.get();
+        renderer.append(BRIGHT_WHITE).append("  ");
         for (String column : columns) {
-            System.out.print(String.format("%-20s", column));
+            renderer.padRight(column, TABLE_COLUMN_WIDTH);
         }
-        System.out.println(RESET);
+        renderer.line(RESET);
+        renderer.flush();
     }
 }
@@ -1,9 +1,26 @@
 package UserManagement;
 
+import Audit.AuditAction;
+import Audit.AuditLog;
 import CourseManagement.Course;
+import CourseManagement.CourseManagementModule;
 import CourseManagement.Module;
+import Events.DomainEvent;
+import Events.EventBus;
+import Metrics.Histogram;
+import Metrics.MetricsRegistry;
+import Profiling.ReportEvent;
+import Reporting.DataExporter;
+import Reporting.ExportFormat;
+import Security.AccessControl;
+import Security.Authentication;
+import Security.Permission;
+import Security.Role;
+import Utilities.SharedState;
 import Utilities.Utility;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -20,6 +37,9 @@ import java.util.Scanner;
  */
 public class Admin extends User {
 
+    private static final Histogram ADD_USER_TIME = MetricsRegistry.histogram("user.add");
+    private static final Histogram REPORT_TIME = MetricsRegistry.histogram("report.generate");
+
     // ---------------------- CONSTRUCTORS ----------------------
 
     /** Default constructor */
@@ -46,18 +66,35 @@ public class Admin extends User {
         super(firstname, lastname, email, password, address, phone);
     }
 
+    @Override
+    protected Role defaultRole() {
+        return Role.ADMIN;
+    }
+
     // ---------------------- USER MANAGEMENT ----------------------
 
     /**
-     * Adds a user to a given user list.
+     * Adds a user to a given user list and stores their password hash,
+     * after which the plain-text password is discarded.
      * Demonstrates polymorphism using generics.
      *
      * @param user            the user to add
      * @param arrayListObject the list where the user should be added
      * @param <T>             type of user (Student, Lecturer, etc.)
+     * @throws SecurityException if the acting user may not manage users of that role
      */
     public <T extends User> void addUser(T user, ArrayList<T> arrayListObject) {
-        arrayListObject.add(user);
+        Role role = user.getRole();
+        AccessControl.require(managePermission(user));
+        long start = System.nanoTime();
+        try {
+            SharedState.update(() -> arrayListObject.add(user));
+            Authentication.register(user, user.getPassword());
+            user.discardPassword();
+        } finally {
+            ADD_USER_TIME.recordSince(start);
+        }
+        AuditLog.record(AuditAction.USER_ADDED, AuditLog.nameOf(user), role.getName());
     }
 
     /**
@@ -65,9 +102,12 @@ public class Admin extends User {
      * Demonstrates polymorphism using generics.
      *
      * @param user the user to archive
+     * @throws SecurityException if the acting user may not manage users of that role
      */
     public void archiveUser(User user) {
+        AccessControl.require(managePermission(user));
         System.out.println("User " + user.getFirstname() + " " + user.getLastname() + " has been archived.");
+        AuditLog.record(AuditAction.USER_ARCHIVED, AuditLog.nameOf(user), null);
         // In a real system, this would mark the user as inactive in a database
         // or move them to an archived users list
     }
@@ -77,9 +117,11 @@ public class Admin extends User {
      * Demonstrates polymorphism - can update any User subclass.
      *
      * @param user the user to update
+     * @throws SecurityException if the acting user may not manage users of that role
      */
     public void updateUser(User user) {
-        Scanner scanner = new Scanner(System.in);
+        AccessControl.require(managePermission(user));
+        Scanner scanner = Utility.input();
         System.out.println("Updating user: " + user.getFirstname() + " " + user.getLastname());
         
         String[] updateOptions = {"Update Email", "Update Phone", "Update Address", "Back"};
@@ -89,24 +131,33 @@ public class Admin extends User {
             case 1:
                 System.out.print("Enter new email: ");
                 String newEmail = scanner.nextLine();
-                user.setEmail(newEmail);
+                SharedState.update(() -> Authentication.changeLoginNames(user, () -> user.setEmail(newEmail)));
                 System.out.println("✓ Email updated successfully!");
                 break;
             case 2:
                 System.out.print("Enter new phone: ");
                 String newPhone = scanner.nextLine();
-                user.setPhone(newPhone);
+                SharedState.update(() -> user.setPhone(newPhone));
                 System.out.println("✓ Phone updated successfully!");
                 break;
             case 3:
                 System.out.print("Enter new address: ");
                 String newAddress = scanner.nextLine();
-                user.setAddress(newAddress);
+                SharedState.update(() -> user.setAddress(newAddress));
                 System.out.println("✓ Address updated successfully!");
                 break;
             case 4:
-                break;
+            default:
+                return;
         }
+        AuditLog.record(AuditAction.USER_UPDATED, AuditLog.nameOf(user), updateOptions[choice - 1]);
+    }
+
+    /** @return the permission needed to add, change or archive users of this user's role */
+    private static Permission managePermission(User user) {
+        Role role = user.getRole();
+        return role == Role.STUDENT ? Permission.MANAGE_STUDENTS
+                : role == Role.LECTURER ? Permission.MANAGE_LECTURERS : Permission.MANAGE_ROLES;
     }
 
     // ---------------------- COURSE MANAGEMENT ----------------------
@@ -118,7 +169,12 @@ public class Admin extends User {
      * @param courseList the list of courses
      */
     public void addCourse(Course course, ArrayList<Course> courseList) {
-        courseList.add(course);
+        AccessControl.require(Permission.MANAGE_COURSES);
+        SharedState.update(() -> {
+            courseList.add(course);
+            EventBus.publish(new DomainEvent.CourseAdded(course));
+        });
+        AuditLog.record(AuditAction.COURSE_ADDED, course.getCourseCode(), course.getCourseName());
     }
 
     /**
@@ -128,27 +184,24 @@ public class Admin extends User {
      * @param courseList the list of courses
      */
     public void updateCourse(Course course, ArrayList<Course> courseList) {
-        Scanner scanner = new Scanner(System.in);
+        AccessControl.require(Permission.MANAGE_COURSES);
+        Scanner scanner = Utility.input();
         System.out.println("Updating course: " + course.getCourseName());
         
         String[] updateOptions = {"Update Course Name", "Update Course Code", "Back"};
         int choice = Utility.printMenu("Update Course Menu", updateOptions);
-        
-        switch (choice) {
-            case 1:
-                System.out.print("Enter new course name: ");
-                String newName = scanner.nextLine();
-                course.setCourseName(newName);
-                System.out.println("✓ Course name updated successfully!");
-                break;
-            case 2:
-                System.out.print("Enter new course code: ");
-                String newCode = scanner.nextLine();
-                course.setCourseCode(newCode);
-                System.out.println("✓ Course code updated successfully!");
-                break;
-            case 3:
-                break;
+        if (choice != 1 && choice != 2) {
+            return;
+        }
+
+        String field = choice == 1 ? "name" : "code";
+        System.out.print("Enter new course " + field + ": ");
+        String value = scanner.nextLine();
+        try {
+            CourseManagementModule.updateCourse(course, field, value);
+            System.out.println("✓ Course " + field + " updated successfully!");
+        } catch (IllegalArgumentException e) {
+            System.out.println("✗ " + e.getMessage());
         }
     }
 
@@ -170,8 +223,13 @@ public class Admin extends User {
      * @param modulesList the list of all modules
      */
     public void addModule(Module module, Course course, ArrayList<Module> modulesList) {
-        modulesList.add(module);
-        course.addModule(module);
+        AccessControl.require(Permission.MANAGE_MODULES);
+        SharedState.update(() -> {
+            modulesList.add(module);
+            course.addModule(module);
+            EventBus.publish(new DomainEvent.ModuleAdded(module, course));
+        });
+        AuditLog.record(AuditAction.MODULE_ADDED, module.getModuleCode(), course.getCourseCode());
     }
 
     // ---------------------- REPORTS ----------------------
@@ -186,6 +244,10 @@ public class Admin extends User {
      */
     @Override
     public void generateReport(String[] reportParameters) {
+        AccessControl.require(Permission.VIEW_REPORTS);
+        long start = System.nanoTime();
+        ReportEvent event = new ReportEvent();
+        event.begin();
         // Print header
         System.out.println("=".repeat(60));
         System.out.println();
@@ -215,5 +277,32 @@ public class Admin extends User {
         System.out.println("=".repeat(60));
         System.out.println();
         System.out.println("Press any key to continue...");
+        REPORT_TIME.recordSince(start);
+        event.complete("generate", reportedEntities(reportParameters));
+    }
+
+    /** @return the courses, students and lecturers a report covers, for its Flight Recorder event */
+    private static long reportedEntities(String[] reportParameters) {
+        long entities = 0;
+        for (int i = 0; i < 3; i++) {
+            try {
+                entities += Long.parseLong(reportParameters[i].trim());
+            } catch (NumberFormatException e) {
+                // A caller-supplied label rather than a count; it covers no entities
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Exports the system report to a file instead of the console.
+     *
+     * @param reportParameters same layout as {@link #generateReport(String[])}
+     * @param file             destination file
+     * @param format           CSV or JSONL
+     * @throws IOException if the file cannot be written
+     */
+    public void exportReport(String[] reportParameters, Path file, ExportFormat format) throws IOException {
+        DataExporter.exportReport(reportParameters, file, format);
     }
 }
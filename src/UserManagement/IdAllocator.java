@@ -0,0 +1,245 @@
+package UserManagement;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * IdAllocator
+ * ---------------------------------------------------------
+ * Hands out collision-free IDs such as S00000042 that stay unique across
+ * restarts and sort in allocation order.
+ *
+ * Numbers are leased in blocks. An atomic counter hands the allocator a
+ * block of {@code ucms.ids.blockSize} numbers (default 64), which single
+ * allocations then use up under a short lock, so the counter and the ID
+ * file are touched once per block. The block belongs to the allocator, not
+ * to a thread: with a virtual thread per request, per-thread blocks would
+ * each be used for one ID and the rest thrown away. Bulk loads reserve a
+ * whole range at once with {@link #reserve}.
+ *
+ * The highest number that may have been handed out is recorded in
+ * {@code <ucms.ids.dir>/<name>.id} (default directory "ids") before any
+ * number below it is used. The record is extended 16 blocks at a time, so
+ * the file is written once every 16 leases. After a restart, numbering
+ * continues above the recorded ceiling. Numbers that were leased but
+ * never used are skipped, so IDs have gaps but are never reused.
+ *
+ * IDs have a fixed number of digits, so their text order is their number
+ * order. A later lease never gets a lower number than an earlier one, and
+ * single IDs ascend in the order they are handed out.
+ *
+ * Responsibilities:
+ *  - Lease blocks of numbers from an atomic counter
+ *  - Record the leased ceiling durably before numbers are used
+ *  - Format and parse IDs
+ *  - Move past IDs assigned elsewhere, so they are not handed out again
+ */
+public final class IdAllocator {
+
+    /** Numbers leased at once for single allocations (-Ducms.ids.blockSize) */
+    public static final int BLOCK_SIZE = Integer.getInteger("ucms.ids.blockSize", 64);
+
+    /** Blocks recorded ahead of the counter with each write of the ID file */
+    private static final int BLOCKS_AHEAD = 16;
+
+    private final String prefix;
+    private final int digits;
+    /** Highest number that fits in {@code digits} */
+    private final long capacity;
+    private final Path file;
+    private final int blockSize;
+
+    /** First number not yet leased */
+    private final AtomicLong next;
+
+    /** Numbers below this are recorded in the ID file; guarded by {@code this} for writes */
+    private volatile long durable;
+
+    /** The current block: next number to use, and the end of the block; guarded by {@code block} */
+    private final long[] block = new long[2];
+
+    /**
+     * Creates an allocator that records its ceiling in {@code file},
+     * continuing above the ceiling recorded there if the file exists.
+     *
+     * @param prefix    text before the number, e.g. "S"
+     * @param digits    digits in the number, zero padded
+     * @param file      where the ceiling is recorded
+     * @param blockSize numbers leased at once for single allocations
+     * @throws IllegalStateException if the file cannot be read or does not hold a ceiling
+     */
+    public IdAllocator(String prefix, int digits, Path file, int blockSize) {
+        if (digits < 1 || digits > 18 || blockSize < 1) {
+            throw new IllegalArgumentException("digits must be 1 to 18 and blockSize at least 1");
+        }
+        this.prefix = prefix;
+        this.digits = digits;
+        long limit = 1;
+        for (int i = 0; i < digits; i++) {
+            limit *= 10;
+        }
+        this.capacity = limit - 1;
+        this.file = file;
+        this.blockSize = blockSize;
+        long ceiling = readCeiling(file);
+        this.next = new AtomicLong(ceiling);
+        this.durable = ceiling;
+    }
+
+    /**
+     * Creates an allocator recording its ceiling in
+     * {@code <ucms.ids.dir>/<name>.id}, leasing {@link #BLOCK_SIZE} at a time.
+     */
+    public static IdAllocator open(String name, String prefix, int digits) {
+        Path directory = Paths.get(System.getProperty("ucms.ids.dir", "ids"));
+        return new IdAllocator(prefix, digits, directory.resolve(name + ".id"), BLOCK_SIZE);
+    }
+
+    private static long readCeiling(Path file) {
+        if (!Files.exists(file)) {
+            return 1;
+        }
+        try {
+            return Math.max(1, Long.parseLong(Files.readString(file, StandardCharsets.UTF_8).trim()));
+        } catch (IOException | NumberFormatException e) {
+            // Starting from 1 could hand out IDs that are already in use
+            throw new IllegalStateException("Cannot read the ID ceiling in " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    // ---------------------- ALLOCATION ----------------------
+
+    /** @return a new ID */
+    public String next() {
+        return format(nextNumber());
+    }
+
+    /**
+     * @return a new ID number, from the current block
+     * @throws IllegalStateException if every number that fits is used up
+     * @throws UncheckedIOException  if a new ceiling cannot be recorded
+     */
+    public long nextNumber() {
+        synchronized (block) {
+            if (block[0] >= block[1]) {
+                block[0] = lease(blockSize);
+                block[1] = block[0] + blockSize;
+            }
+            return block[0]++;
+        }
+    }
+
+    /**
+     * Reserves a contiguous range of numbers for a bulk load.
+     *
+     * @param count numbers wanted
+     * @return the first number; the range is {@code first} to {@code first + count - 1}
+     * @throws IllegalStateException if the range does not fit in the digits
+     * @throws UncheckedIOException  if a new ceiling cannot be recorded
+     */
+    public long reserve(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative");
+        }
+        return lease(count);
+    }
+
+    /**
+     * Moves numbering past an ID assigned by other means, such as a
+     * record carried over from another system. IDs of another form are ignored.
+     *
+     * A number below the counter is not checked against the rest of the
+     * current block; that was leased by this allocator, so such an ID
+     * was issued here or came from a copy of this system's data.
+     *
+     * @throws UncheckedIOException if a new ceiling cannot be recorded
+     */
+    public void observe(String id) {
+        long number = parse(id);
+        if (number >= next.get()) {
+            long end = next.accumulateAndGet(number + 1, Math::max);
+            record(end);
+        }
+    }
+
+    private long lease(long count) {
+        long first = next.getAndAdd(count);
+        long end = first + count;
+        if (end - 1 > capacity) {
+            throw new IllegalStateException("No " + prefix + " IDs left: they are limited to "
+                    + digits + " digits");
+        }
+        if (end > durable) {
+            record(end);
+        }
+        return first;
+    }
+
+    /**
+     * Records a new ceiling, ahead of {@code end}, before any number below
+     * {@code end} is handed out. If it cannot be written the old ceiling
+     * stays, so the lease fails rather than hand out numbers a restart
+     * could repeat; the numbers it skipped are never used.
+     *
+     * @throws UncheckedIOException if the ID file cannot be written
+     */
+    private synchronized void record(long end) {
+        if (end <= durable) {
+            return;
+        }
+        long ceiling = Math.min(capacity + 1, Math.max(end, durable + (long) blockSize * BLOCKS_AHEAD));
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(temporary, Long.toString(ceiling), StandardCharsets.UTF_8);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not record " + prefix + " IDs in " + file, e);
+        }
+        durable = ceiling;
+    }
+
+    // ---------------------- FORMAT ----------------------
+
+    /** @return the ID of a number, e.g. "S00000042" */
+    public String format(long number) {
+        return append(new StringBuilder(prefix.length() + digits), number).toString();
+    }
+
+    /**
+     * Appends the ID of a number without creating a String.
+     *
+     * @return {@code id}
+     */
+    public StringBuilder append(StringBuilder id, long number) {
+        id.append(prefix);
+        for (long divisor = (capacity + 1) / 10; divisor > 0; divisor /= 10) {
+            id.append((char) ('0' + number / divisor % 10));
+        }
+        return id;
+    }
+
+    /**
+     * @return the number in an ID of this allocator's form, or -1 for any other text
+     */
+    public long parse(String id) {
+        if (id == null || id.length() != prefix.length() + digits || !id.startsWith(prefix)) {
+            return -1;
+        }
+        long number = 0;
+        for (int i = prefix.length(); i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+}
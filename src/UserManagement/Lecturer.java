@@ -1,9 +1,18 @@
 package UserManagement;
 
 import CourseManagement.Course;
+import CourseManagement.Module;
+import Events.DomainEvent;
+import Events.EventBus;
 import Interfaces.Assignable;
+import Security.AccessControl;
+import Security.Permission;
+import Security.Role;
+import Utilities.Notifications;
+import Utilities.SharedState;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Lecturer
@@ -11,7 +20,7 @@ import java.util.List;
  * Represents a lecturer user in the UCMS system.
  * Responsibilities include:
  *  - Storing personal and departmental information
- *  - Maintaining a list of modules assigned to the lecturer
+ *  - Listing the modules assigned to the lecturer (see {@link Module#TEACHING})
  *  - Assigning modules to the lecturer
  *  - Generating reports (placeholder implementation)
  */
@@ -25,18 +34,13 @@ public class Lecturer extends User implements Assignable<Course> {
     /** Department the lecturer belongs to */
     private String department;
 
-    /** List of module names currently assigned to the lecturer */
-    private List<String> modulesTaught;
-
     /** Course assigned to the lecturer */
     private Course assignedCourse;
 
     // ---------------------- CONSTRUCTORS ----------------------
 
     /** Default constructor */
-    public Lecturer() {
-        this.modulesTaught = new ArrayList<>();
-    }
+    public Lecturer() {}
 
     /**
      * Constructs a Lecturer object with specified attributes.
@@ -55,7 +59,6 @@ public class Lecturer extends User implements Assignable<Course> {
         super(firstname, lastname, email, password, address, phone);
         this.lecturerId = lecturerId;
         this.department = department;
-        this.modulesTaught = new ArrayList<>();
     }
 
     // ---------------------- GETTERS & SETTERS ----------------------
@@ -66,7 +69,20 @@ public class Lecturer extends User implements Assignable<Course> {
     public String getDepartment() { return department; }
     public void setDepartment(String department) { this.department = department; }
 
-    public List<String> getModulesTaught() { return modulesTaught; }
+    /** @return the modules this lecturer teaches, read-only */
+    public Set<Module> getModules() { return Module.TEACHING.assignedTo(this); }
+
+    /** @return how many modules this lecturer teaches */
+    public int getModuleCount() { return Module.TEACHING.countAssignedTo(this); }
+
+    /** @return the names of the modules this lecturer teaches */
+    public List<String> getModulesTaught() {
+        List<String> names = new ArrayList<>();
+        for (Module module : getModules()) {
+            names.add(module.getModuleName());
+        }
+        return names;
+    }
 
     public Course getAssignedCourse() { return assignedCourse; }
     public void setAssignedCourse(Course assignedCourse) { this.assignedCourse = assignedCourse; }
@@ -76,18 +92,23 @@ public class Lecturer extends User implements Assignable<Course> {
     /**
      * Assigns a module to this lecturer.
      *
-     * @param moduleName name of the module to assign
+     * @param module the module to assign
      */
-    public void assignModule(String moduleName) {
-        modulesTaught.add(moduleName);
-        System.out.println(getFirstname() + " is now assigned to teach " + moduleName);
+    public void assignModule(Module module) {
+        module.assignTo(this);
+        Notifications.send(getFirstname() + " is now assigned to teach " + module.getModuleName());
     }
 
     /**
      * Displays all modules currently taught by this lecturer.
      */
     public void viewModules() {
-        System.out.println("Modules taught by " + getFirstname() + ": " + modulesTaught);
+        System.out.println("Modules taught by " + getFirstname() + ": " + getModulesTaught());
+    }
+
+    @Override
+    protected Role defaultRole() {
+        return Role.LECTURER;
     }
 
     // ---------------------- REPORTS ----------------------
@@ -109,13 +130,18 @@ public class Lecturer extends User implements Assignable<Course> {
      * Assigns this lecturer to a Course.
      *
      * @param course the course to assign this lecturer to
+     * @throws SecurityException if the acting user may not manage lecturers
      */
     @Override
     public void assignTo(Course course) {
+        AccessControl.require(Permission.MANAGE_LECTURERS);
         if (course != null) {
-            this.assignedCourse = course;
+            SharedState.update(() -> {
+                this.assignedCourse = course;
+                EventBus.publish(new DomainEvent.LecturerAssigned(this, course));
+            });
         } else {
-            System.out.println("Cannot assign null course to lecturer.");
+            Notifications.send("Cannot assign null course to lecturer.");
         }
     }
 
@@ -141,13 +167,23 @@ public class Lecturer extends User implements Assignable<Course> {
 
     /**
      * Removes the current course assignment from this lecturer.
+     *
+     * @throws SecurityException if the acting user may not manage lecturers
      */
     @Override
     public void unassign() {
-        if (isAssigned()) {
+        AccessControl.require(Permission.MANAGE_LECTURERS);
+        boolean unassigned = SharedState.write(() -> {
+            Course previous = assignedCourse;
+            if (previous == null) {
+                return false;
+            }
             this.assignedCourse = null;
-        } else {
-            System.out.println("Lecturer is not currently assigned to any course.");
+            EventBus.publish(new DomainEvent.LecturerUnassigned(this, previous));
+            return true;
+        });
+        if (!unassigned) {
+            Notifications.send("Lecturer is not currently assigned to any course.");
         }
     }
 
@@ -1,9 +1,25 @@
 package UserManagement;
 
+import Audit.AuditAction;
+import Audit.AuditLog;
 import CourseManagement.Course;
 import CourseManagement.CourseManagementModule;
+import CourseManagement.Module;
+import Events.DomainEvent;
+import Events.EventBus;
+import Metrics.Histogram;
+import Metrics.MetricsRegistry;
+import Profiling.UserChangeEvent;
+import Security.AccessControl;
+import Security.Authentication;
+import Security.Permission;
+import Utilities.Navigator.Transition;
+import Utilities.Pager;
+import Utilities.SharedState;
+import Utilities.TableLayout;
 import Utilities.Utility;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -20,13 +36,24 @@ public class LecturerManagementModule {
     /** Container to store all Lecturer objects in the system */
     public static ArrayList<Lecturer> lecturersList = new ArrayList<>();
 
+    /** Lecturer IDs: L followed by six digits, never reused */
+    public static final IdAllocator LECTURER_IDS = IdAllocator.open("lecturers", "L", 6);
+
+    private static final Histogram REMOVE_TIME = MetricsRegistry.histogram("user.remove");
+
+    /** Table layout for the lecturer list view, computed once. */
+    private static final TableLayout LECTURER_TABLE = new TableLayout("  ",
+            new String[]{"ID", "Name", "Department", "Assigned Course"},
+            new int[]{10, 26, 22, 28});
+
     /**
      * Entry point for managing lecturers.
      * Displays a menu for admin actions and routes to appropriate operations.
      *
      * @param admin the Admin object performing lecturer management
+     * @return the next navigation step
      */
-    public static void manageLecturers(Admin admin) {
+    public static Transition manageLecturers(Admin admin) {
         String[] menuOptions = {"Add Lecturer", "View Lecturers", "Assign Lecturer to Course", 
                                "Remove Lecturer", "Back"};
         
@@ -35,22 +62,21 @@ public class LecturerManagementModule {
         switch (choice) {
             case 1:
                 addLecturer(admin);
-                break;
+                return Transition.STAY;
             case 2:
                 viewLecturers(admin);
-                break;
+                return Transition.STAY;
             case 3:
                 assignLecturerToCourse(admin);
-                break;
+                return Transition.STAY;
             case 4:
                 removeLecturer(admin);
-                break;
+                return Transition.STAY;
             case 5:
-                // Return to previous menu
-                break;
+                return Transition.BACK; // Return to previous menu
             default:
                 System.out.println("Invalid selection. Try again.");
-                manageLecturers(admin);
+                return Transition.STAY;
         }
     }
     
@@ -60,16 +86,13 @@ public class LecturerManagementModule {
      * @param admin the Admin object adding lecturers
      */
     private static void addLecturer(Admin admin) {
-        Scanner scanner = new Scanner(System.in);
+        Scanner scanner = Utility.input();
         Utility.printInputPromptMenu("Add Lecturer", 60);
         
         System.out.print("How many lecturers would you like to add?: ");
-        int lecturerCount = scanner.nextInt();
-        scanner.nextLine(); // Consume newline
+        int lecturerCount = Utility.nextInt(scanner);
         
         for (int i = 1; i <= lecturerCount; i++) {
-            String lecturerId = "L" + String.format("%03d", lecturersList.size() + 1);
-            
             System.out.print("Enter First Name: ");
             String firstname = scanner.nextLine();
             
@@ -88,15 +111,12 @@ public class LecturerManagementModule {
             System.out.print("Enter Department: ");
             String department = scanner.nextLine();
             
-            Lecturer newLecturer = new Lecturer(firstname, lastname, email, "", 
-                                               address, phone, lecturerId, department);
-            admin.addUser(newLecturer, lecturersList);
+            // The ID comes from the allocator, so concurrent sessions get distinct IDs
+            createLecturer(admin, firstname, lastname, email, "", address, phone, department);
             
             System.out.println("✓ Lecturer " + firstname + " " + lastname + " added successfully!");
             System.out.println("=".repeat(60));
         }
-        
-        manageLecturers(admin);
     }
     
     /**
@@ -105,29 +125,20 @@ public class LecturerManagementModule {
      * @param admin the Admin object viewing lecturers
      */
     private static void viewLecturers(Admin admin) {
-        Utility.printInputPromptMenu("View Lecturers", 60);
-        
-        if (lecturersList.isEmpty()) {
-            System.out.println("No lecturers in the system.");
-        } else {
-            System.out.println("=".repeat(60));
-            for (Lecturer lecturer : lecturersList) {
-                System.out.println(lecturer);
-                System.out.println("Department: " + lecturer.getDepartment());
-                if (lecturer.isAssigned()) {
-                    System.out.println("Assigned Course: " + lecturer.getAssignedCourse().getCourseName());
-                } else {
-                    System.out.println("Not assigned to any course");
-                }
-                System.out.println("-".repeat(60));
-            }
-        }
+        AccessControl.require(Permission.VIEW_LECTURERS);
+        Scanner scanner = Utility.input();
+
+        Pager.page("View Lecturers", lecturersList, LECTURER_TABLE,
+                (lecturer, layout, renderer) -> layout.renderRow(renderer,
+                        lecturer.getLecturerId(),
+                        lecturer.getFirstname() + " " + lecturer.getLastname(),
+                        lecturer.getDepartment(),
+                        lecturer.isAssigned() ? lecturer.getAssignedCourse().getCourseName()
+                                              : "Not assigned"),
+                scanner);
         
         System.out.println("\nPress Enter to continue...");
-        Scanner scanner = new Scanner(System.in);
         scanner.nextLine();
-        
-        manageLecturers(admin);
     }
     
     /**
@@ -136,7 +147,7 @@ public class LecturerManagementModule {
      * @param admin the Admin object performing the assignment
      */
     private static void assignLecturerToCourse(Admin admin) {
-        Scanner scanner = new Scanner(System.in);
+        Scanner scanner = Utility.input();
         Utility.printInputPromptMenu("Assign Lecturer to Course", 60);
         
         System.out.print("Enter Lecturer ID: ");
@@ -163,8 +174,6 @@ public class LecturerManagementModule {
         
         System.out.println("\nPress Enter to continue...");
         scanner.nextLine();
-        
-        manageLecturers(admin);
     }
     
     /**
@@ -173,7 +182,7 @@ public class LecturerManagementModule {
      * @param admin the Admin object removing the lecturer
      */
     private static void removeLecturer(Admin admin) {
-        Scanner scanner = new Scanner(System.in);
+        Scanner scanner = Utility.input();
         Utility.printInputPromptMenu("Remove Lecturer", 60);
         
         System.out.print("Enter Lecturer ID: ");
@@ -187,7 +196,7 @@ public class LecturerManagementModule {
             String confirmation = scanner.nextLine();
             
             if (confirmation.equalsIgnoreCase("Y")) {
-                lecturersList.remove(lecturer);
+                removeLecturer(lecturer);
                 System.out.println("✓ Lecturer removed successfully!");
             } else {
                 System.out.println("Remove operation cancelled.");
@@ -198,22 +207,113 @@ public class LecturerManagementModule {
         
         System.out.println("\nPress Enter to continue...");
         scanner.nextLine();
-        
-        manageLecturers(admin);
     }
     
+    /**
+     * Allocates the ID for the next lecturer added to the system.
+     * Each call returns a different ID.
+     *
+     * @return a new lecturer ID
+     */
+    public static String nextLecturerId() {
+        return LECTURER_IDS.next();
+    }
+
+    /**
+     * Creates a lecturer with a new ID and adds them to the system.
+     *
+     * @param admin the Admin adding the lecturer
+     * @return the new lecturer
+     * @throws IllegalArgumentException if a detail is invalid
+     */
+    public static Lecturer createLecturer(Admin admin, String firstname, String lastname, String email,
+                                          String password, String address, String phone, String department) {
+        Lecturer lecturer = new Lecturer(firstname, lastname, email, password, address, phone,
+                nextLecturerId(), department);
+        addLecturer(admin, lecturer);
+        return lecturer;
+    }
+
+    /**
+     * Adds a lecturer to the system via the Admin's addUser method.
+     *
+     * @param admin    the Admin adding the lecturer
+     * @param lecturer the lecturer to add
+     */
+    public static void addLecturer(Admin admin, Lecturer lecturer) {
+        UserChangeEvent event = new UserChangeEvent();
+        event.begin();
+        SharedState.update(() -> {
+            admin.addUser(lecturer, lecturersList);
+            EventBus.publish(new DomainEvent.LecturerAdded(lecturer));
+        });
+        LECTURER_IDS.observe(lecturer.getLecturerId());
+        event.complete("add", "lecturer", lecturer.getLecturerId(), lecturersList.size());
+    }
+
+    /**
+     * Adds a batch of lecturers under one write lock and gives each the
+     * default password. One audit record covers the whole batch.
+     *
+     * @param lecturers the lecturers to add, in ID order
+     * @throws SecurityException if the acting user may not manage lecturers
+     */
+    public static void addAll(List<Lecturer> lecturers) {
+        AccessControl.require(Permission.MANAGE_LECTURERS);
+        if (lecturers.isEmpty()) {
+            return;
+        }
+        SharedState.update(() -> {
+            lecturersList.addAll(lecturers);
+            for (Lecturer lecturer : lecturers) {
+                LECTURER_IDS.observe(lecturer.getLecturerId());
+                EventBus.publish(new DomainEvent.LecturerAdded(lecturer));
+            }
+        });
+        for (Lecturer lecturer : lecturers) {
+            Authentication.register(lecturer, null);
+        }
+        AuditLog.record(AuditAction.USER_ADDED,
+                lecturers.get(0).getLecturerId() + ".." + lecturers.get(lecturers.size() - 1).getLecturerId(),
+                lecturers.size() + " lecturers");
+    }
+
+    /**
+     * Removes a lecturer from the system and logs them out.
+     *
+     * @param lecturer the lecturer to remove
+     */
+    public static void removeLecturer(Lecturer lecturer) {
+        AccessControl.require(Permission.MANAGE_LECTURERS);
+        long start = System.nanoTime();
+        UserChangeEvent event = new UserChangeEvent();
+        event.begin();
+        SharedState.update(() -> {
+            if (lecturersList.remove(lecturer)) {
+                Module.unassignAllFrom(lecturer);
+                EventBus.publish(new DomainEvent.LecturerRemoved(lecturer));
+            }
+        });
+        Authentication.unregister(lecturer);
+        REMOVE_TIME.recordSince(start);
+        event.complete("remove", "lecturer", lecturer.getLecturerId(), lecturersList.size());
+        AuditLog.record(AuditAction.USER_REMOVED, lecturer.getLecturerId(), null);
+    }
+
     /**
      * Finds a lecturer by their ID.
      *
      * @param lecturerId the ID to search for
      * @return the Lecturer object if found, null otherwise
      */
-    private static Lecturer findLecturerById(String lecturerId) {
-        for (Lecturer lecturer : lecturersList) {
-            if (lecturer.getLecturerId().equals(lecturerId)) {
-                return lecturer;
+    public static Lecturer findLecturerById(String lecturerId) {
+        return SharedState.read(() -> {
+            for (Lecturer lecturer : lecturersList) {
+                if (lecturer.getLecturerId().equals(lecturerId)) {
+                    return lecturer;
+                }
             }
-        }
-        return null;
+            return null;
+        });
     }
 }
@@ -1,14 +1,21 @@
 package UserManagement;
 
 import CourseManagement.Course;
-import Interfaces.Authenticatable;
+import CourseManagement.Module;
+import Security.Authentication;
+import Security.Role;
+import Utilities.Notifications;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Student
@@ -17,7 +24,7 @@ import java.util.Scanner;
  * Responsibilities include:
  *  - Storing personal and academic information
  *  - Viewing and updating profile
- *  - Managing GPA and enrolled courses
+ *  - Managing GPA, enrolled courses and completed modules
  *  - Authenticating login/logout
  *  - Generating student reports
  *
@@ -34,8 +41,11 @@ public class Student extends User {
     /** Student's Grade Point Average (GPA) */
     private int gpa;
 
+    /** Modules the student has completed, checked against prerequisites */
+    private final Set<Module> completedModules = ConcurrentHashMap.newKeySet();
+
     /** Tracks the total number of Student objects created */
-    private static int studentCount;
+    private static final AtomicInteger studentCount = new AtomicInteger();
 
     // ---------------------- CONSTRUCTORS ----------------------
 
@@ -61,14 +71,14 @@ public class Student extends User {
         this.course = null;   // Initially not enrolled in a course
         this.gpa = 4;         // Default GPA
 
-        studentCount++;       // Increment student count on object creation
+        studentCount.incrementAndGet();   // Increment student count on object creation
     }
 
     // ---------------------- STATIC METHODS ----------------------
 
     /** Returns the number of Student objects created */
     public static int getStudentCount() {
-        return studentCount;
+        return studentCount.get();
     }
 
     // ---------------------- STUDENT-SPECIFIC METHODS ----------------------
@@ -85,10 +95,10 @@ public class Student extends User {
         if (user != null) {
             this.setFirstname(user.getFirstname());
             this.setLastname(user.getLastname());
-            this.setEmail(user.getEmail());
+            Authentication.changeLoginNames(this, () -> this.setEmail(user.getEmail()));
             this.setPhone(user.getPhone());
             this.setAddress(user.getAddress());
-            System.out.println("✓ Student information updated successfully!");
+            Notifications.send("✓ Student information updated successfully!");
         }
     }
 
@@ -100,7 +110,7 @@ public class Student extends User {
     public void updateGPA(int gpa) throws ArithmeticException {
         if (gpa < 0) throw new ArithmeticException("GPA cannot be negative");
         this.gpa = gpa;
-        System.out.println("Updated GPA: " + this.gpa);
+        Notifications.send("Updated GPA: " + this.gpa);
     }
 
     /**
@@ -108,7 +118,7 @@ public class Student extends User {
      * @param courseName name of the course
      */
     public void enrollCourse(String courseName) {
-        System.out.println(getFirstname() + " has enrolled in " + courseName);
+        Notifications.send(getFirstname() + " has enrolled in " + courseName);
     }
 
     /**
@@ -150,22 +160,25 @@ public class Student extends User {
     public int getGpa() { return gpa; }
     public void setGpa(int gpa) { this.gpa = gpa; }
 
-    // ---------------------- AUTHENTICATABLE METHODS ----------------------
-
-//    @Override
-//    public boolean login(String username, String password) {
-//        System.out.println("Logging in with Username: " + username + ", Password: " + password);
-//        return true;
-//    }
+    /** @return the modules the student has completed, read-only */
+    public Set<Module> getCompletedModules() { return Collections.unmodifiableSet(completedModules); }
+    public boolean hasCompleted(Module module) { return completedModules.contains(module); }
 
-//    @Override
-//    public boolean logout() {
-//        System.out.println(getFirstname() + " has logged out successfully.");
-//        return true;
-//    }
+    /**
+     * Records that the student has completed a module;
+     * {@link StudentManagementModule#recordCompletion} is the normal way to record one.
+     *
+     * @return false if it was already recorded
+     */
+    public boolean completeModule(Module module) { return completedModules.add(module); }
 
     // ---------------------- OVERRIDE ABSTRACT METHOD ----------------------
 
+    @Override
+    protected Role defaultRole() {
+        return Role.STUDENT;
+    }
+
     /**
      * Generates a system report for the student.
      * @param reportParameters additional parameters for the report (currently unused)
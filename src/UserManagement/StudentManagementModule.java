@@ -1,8 +1,27 @@
 package UserManagement;
 
+import Audit.AuditAction;
+import Audit.AuditLog;
 import CourseManagement.Course;
+import CourseManagement.CourseManagementModule;
+import CourseManagement.Module;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
+import Events.DomainEvent;
+import Events.EventBus;
+import Metrics.Histogram;
+import Metrics.MetricsRegistry;
+import Profiling.UserChangeEvent;
+import Security.AccessControl;
+import Security.Authentication;
+import Security.Permission;
+import Utilities.Navigator.Transition;
+import Utilities.Pager;
+import Utilities.SharedState;
+import Utilities.TableLayout;
 import Utilities.Utility;
 
 /**
@@ -22,13 +41,27 @@ public class StudentManagementModule {
     /** Container to store all student objects in the system. */
     public static ArrayList<Student> studentsContainer = new ArrayList<>();
 
+    /** Student IDs: S followed by eight digits, never reused */
+    public static final IdAllocator STUDENT_IDS = IdAllocator.open("students", "S", 8);
+
+    private static final Histogram REMOVE_TIME = MetricsRegistry.histogram("user.remove");
+
+    /** Index of students by ID, kept in step by addStudent/removeStudent. */
+    private static final Map<String, Student> studentIndex = new ConcurrentHashMap<>();
+
+    /** Table layout for the student list view, computed once. */
+    private static final TableLayout STUDENT_TABLE = new TableLayout("  ",
+            new String[]{"ID", "Name", "Email", "Course", "GPA"},
+            new int[]{12, 26, 30, 10, 5});
+
     /**
      * Displays the main student management menu and routes the admin
      * to the selected student operation.
      *
      * @param admin the Admin object performing management operations
+     * @return the next navigation step
      */
-    public static void manageStudents(Admin admin) {
+    public static Transition manageStudents(Admin admin) {
 
         String[] menuOptions = {"Add Students", "Show Students", "Remove Students", "Previous"};
 
@@ -37,20 +70,151 @@ public class StudentManagementModule {
         switch (choice) {
             case 1:
                 addStudents(admin);   // Add new student(s)
-                break;
+                return Transition.STAY;
             case 2:
                 showStudents();       // Display all students
-                break;
+                return Transition.STAY;
             case 3:
                 removeStudents();     // Remove a student by ID
-                break;
+                return Transition.STAY;
             case 4:
-                System.exit(0);       // Exit menu
-                break;
+                return Transition.BACK; // Return to the admin menu
             default:
                 System.out.println("Invalid selection. Please try again.");
-                manageStudents(admin);
+                return Transition.STAY;
+        }
+    }
+
+    /**
+     * Allocates the ID for the next student added to the system.
+     * Each call returns a different ID.
+     *
+     * @return a new student ID
+     */
+    public static String nextStudentId() {
+        return STUDENT_IDS.next();
+    }
+
+    /**
+     * Finds a student by their unique student ID.
+     *
+     * @param studentId the ID to search for
+     * @return the Student if found; null otherwise
+     */
+    public static Student findStudentById(String studentId) {
+        // Fast path: the index (entries are re-checked in case an ID was changed)
+        Student indexed = studentIndex.get(studentId);
+        if (indexed != null && studentId.equals(indexed.getStudentId())) {
+            return indexed;
+        }
+
+        // Fall back to a scan for students added to the container directly
+        return SharedState.read(() -> {
+            for (Student student : studentsContainer) {
+                if (student.getStudentId().equals(studentId)) {
+                    studentIndex.put(studentId, student);
+                    return student;
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Creates a student with a new ID and adds them to the system.
+     *
+     * @param admin the Admin adding the student
+     * @return the new student
+     * @throws IllegalArgumentException if a detail is invalid
+     */
+    public static Student createStudent(Admin admin, String firstname, String lastname, String email,
+                                        String password, String address, String phone, String dateOfBirth) {
+        Student student = new Student(firstname, lastname, email, password, address, phone,
+                nextStudentId(), dateOfBirth);
+        addStudent(admin, student);
+        return student;
+    }
+
+    /**
+     * Adds a student to the system via the Admin's addUser method
+     * and indexes them by ID.
+     *
+     * @param admin   the Admin adding the student
+     * @param student the student to add
+     */
+    public static void addStudent(Admin admin, Student student) {
+        UserChangeEvent event = new UserChangeEvent();
+        event.begin();
+        SharedState.update(() -> {
+            admin.addUser(student, studentsContainer);
+            studentIndex.put(student.getStudentId(), student);
+            EventBus.publish(new DomainEvent.StudentAdded(student));
+        });
+        STUDENT_IDS.observe(student.getStudentId());
+        event.complete("add", "student", student.getStudentId(), studentsContainer.size());
+    }
+
+    /**
+     * Records that a student has completed a module.
+     *
+     * @throws SecurityException if the acting user may not manage students
+     */
+    public static void recordCompletion(Student student, Module module) {
+        AccessControl.require(Permission.MANAGE_STUDENTS);
+        if (student.completeModule(module)) {
+            AuditLog.record(AuditAction.USER_UPDATED, student.getStudentId(), "completed " + module.getModuleCode());
+        }
+    }
+
+    /**
+     * Adds a batch of students under one write lock, indexes them and gives
+     * each the default password. One audit record covers the whole batch.
+     *
+     * @param students the students to add, in ID order
+     * @throws SecurityException if the acting user may not manage students
+     */
+    public static void addAll(List<Student> students) {
+        AccessControl.require(Permission.MANAGE_STUDENTS);
+        if (students.isEmpty()) {
+            return;
+        }
+        SharedState.update(() -> {
+            studentsContainer.addAll(students);
+            for (Student student : students) {
+                studentIndex.put(student.getStudentId(), student);
+                EventBus.publish(new DomainEvent.StudentAdded(student));
+            }
+        });
+        STUDENT_IDS.observe(students.get(students.size() - 1).getStudentId());
+        for (Student student : students) {
+            Authentication.register(student, null);
         }
+        AuditLog.record(AuditAction.USER_ADDED,
+                students.get(0).getStudentId() + ".." + students.get(students.size() - 1).getStudentId(),
+                students.size() + " students");
+    }
+
+    /**
+     * Removes a student from the system and from their course roster,
+     * and logs them out.
+     *
+     * @param student the student to remove
+     */
+    public static void removeStudent(Student student) {
+        AccessControl.require(Permission.MANAGE_STUDENTS);
+        long start = System.nanoTime();
+        UserChangeEvent event = new UserChangeEvent();
+        event.begin();
+        SharedState.update(() -> {
+            CourseManagementModule.dropCourse(student);
+            studentsContainer.remove(student);
+            studentIndex.remove(student.getStudentId(), student);
+            EventBus.publish(new DomainEvent.StudentRemoved(student));
+        });
+        Authentication.unregister(student);
+        REMOVE_TIME.recordSince(start);
+        event.complete("remove", "student", student.getStudentId(), studentsContainer.size());
+        AuditLog.record(AuditAction.USER_REMOVED, student.getStudentId(), null);
     }
 
     /**
@@ -63,19 +227,15 @@ public class StudentManagementModule {
     public static void addStudents(Admin admin) {
         Utility.printInputPromptMenu("Add Students", 60);
 
-        Scanner scanner = new Scanner(System.in);
+        Scanner scanner = Utility.input();
 
         // Prompt for the number of students to add
         System.out.print("How many students would you like to add?: ");
-        int studentCount = scanner.nextInt();
-        scanner.nextLine(); // Consume the leftover newline
+        int studentCount = Utility.nextInt(scanner);
 
         // Loop to collect details for each student
         for (int i = 1; i <= studentCount; i++) {
 
-            // Generate a unique student ID
-            String studentID = "S00" + Student.getStudentCount();
-
             System.out.print("Enter Firstname: ");
             String firstname = scanner.nextLine();
 
@@ -98,20 +258,13 @@ public class StudentManagementModule {
             String course = scanner.nextLine();
 
             try {
-                // Create new Student object
-                Student newStudent = new Student(
-                        firstname, lastname, email,
-                        "", address, phone,
-                        studentID, dateOfBirth
-                );
-
-                // Add student to container via admin's addUser method
-                admin.addUser(newStudent, studentsContainer);
+                // The ID comes from the allocator, so concurrent sessions get distinct IDs
+                createStudent(admin, firstname, lastname, email, "", address, phone, dateOfBirth);
 
             } catch (IllegalArgumentException e) {
-                // Handle invalid input and allow re-entry
+                // Handle invalid input and allow re-entry of this student
                 System.out.println(e.getMessage());
-                addStudents(admin);
+                i--;
             }
 
             System.out.println("===================================================");
@@ -119,15 +272,32 @@ public class StudentManagementModule {
     }
 
     /**
-     * Displays all students currently stored in the system.
-     * Iterates over the studentsContainer and prints each student object.
+     * Displays all students currently stored in the system,
+     * one page at a time (see {@link Pager}).
      */
     public static void showStudents() {
+        showStudents("Students in the System", studentsContainer, Utility.input());
+    }
 
-        System.out.println("=====================  Students in the System =====================");
-        for (Student student : studentsContainer) {
-            System.out.println(student); // Assumes Student.toString() is overridden
-        }
+    /**
+     * Displays a list of students one page at a time.
+     *
+     * @param title    screen title
+     * @param students students to list
+     * @param scanner  input source for paging commands
+     */
+    public static void showStudents(String title, List<Student> students, Scanner scanner) {
+        AccessControl.require(Permission.VIEW_STUDENTS);
+        Pager.page(title, students, STUDENT_TABLE,
+                (student, layout, renderer) -> {
+                    Course course = student.getCourse();
+                    layout.renderRow(renderer,
+                            student.getStudentId(),
+                            student.getFirstname() + " " + student.getLastname(),
+                            student.getEmail(),
+                            course != null ? course.getCourseCode() : "-",
+                            Integer.toString(student.getGpa()));
+                }, scanner);
     }
 
     /**
@@ -135,19 +305,13 @@ public class StudentManagementModule {
      * Prompts for student ID, searches for the student, and removes them if found.
      */
     public static void removeStudents() {
-        Scanner scanner = new Scanner(System.in);
+        Scanner scanner = Utility.input();
         Utility.printInputPromptMenu("Remove Student", 60);
         
         System.out.print("Enter Student ID: ");
         String studentId = scanner.nextLine();
         
-        Student studentToRemove = null;
-        for (Student student : studentsContainer) {
-            if (student.getStudentId().equals(studentId)) {
-                studentToRemove = student;
-                break;
-            }
-        }
+        Student studentToRemove = findStudentById(studentId);
         
         if (studentToRemove != null) {
             System.out.print("Are you sure you want to remove " + studentToRemove.getFirstname() + 
@@ -155,7 +319,7 @@ public class StudentManagementModule {
             String confirmation = scanner.nextLine();
             
             if (confirmation.equalsIgnoreCase("Y")) {
-                studentsContainer.remove(studentToRemove);
+                removeStudent(studentToRemove);
                 System.out.println("✓ Student removed successfully!");
             } else {
                 System.out.println("Remove operation cancelled.");
@@ -165,70 +329,81 @@ public class StudentManagementModule {
         }
     }
 
+    /**
+     * Changes one detail of a student: their "firstname", "lastname",
+     * "email", "phone", "address" or "gpa". A new email address becomes
+     * their login name in place of the old one.
+     *
+     * @param student the student to change
+     * @param field   the detail to change
+     * @param value   its new value; a whole number of at least 0 for the GPA
+     * @throws IllegalArgumentException if the field is unknown or the GPA is not valid
+     * @throws SecurityException        if the acting user may not manage students
+     */
+    public static void updateStudent(Student student, String field, String value) {
+        AccessControl.require(Permission.MANAGE_STUDENTS);
+        int gpa = field.equals("gpa") ? gpa(value) : 0;
+        UserChangeEvent event = new UserChangeEvent();
+        event.begin();
+        SharedState.update(() -> {
+            switch (field) {
+                case "firstname": student.setFirstname(value); break;
+                case "lastname":  student.setLastname(value); break;
+                case "email":     Authentication.changeLoginNames(student, () -> student.setEmail(value)); break;
+                case "phone":     student.setPhone(value); break;
+                case "address":   student.setAddress(value); break;
+                case "gpa":       student.updateGPA(gpa); break;
+                default: throw new IllegalArgumentException("Unknown student field: " + field);
+            }
+        });
+        event.complete("update", "student", student.getStudentId(), studentsContainer.size());
+        AuditLog.record(AuditAction.USER_UPDATED, student.getStudentId(), field);
+    }
+
+    private static int gpa(String value) {
+        try {
+            int gpa = Integer.parseInt(value.trim());
+            if (gpa < 0) {
+                throw new IllegalArgumentException("GPA cannot be negative");
+            }
+            return gpa;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("GPA must be a whole number: " + value);
+        }
+    }
+
     /**
      * Updates student information in the system.
      * Prompts for student ID, finds the student, and allows updating their details.
      */
     public static void updateStudent() {
-        Scanner scanner = new Scanner(System.in);
+        Scanner scanner = Utility.input();
         Utility.printInputPromptMenu("Update Student", 60);
         
         System.out.print("Enter Student ID: ");
         String studentId = scanner.nextLine();
         
-        Student studentToUpdate = null;
-        for (Student student : studentsContainer) {
-            if (student.getStudentId().equals(studentId)) {
-                studentToUpdate = student;
-                break;
-            }
-        }
+        Student studentToUpdate = findStudentById(studentId);
         
         if (studentToUpdate != null) {
             System.out.println("Current student: " + studentToUpdate.getFirstname() + " " + studentToUpdate.getLastname());
             
             String[] updateOptions = {"Update First Name", "Update Last Name", "Update Email", 
                                      "Update Phone", "Update Address", "Update GPA", "Back"};
+            String[] fields = {"firstname", "lastname", "email", "phone", "address", "gpa"};
             int choice = Utility.printMenu("Update Student Menu", updateOptions);
-            
-            switch (choice) {
-                case 1:
-                    System.out.print("Enter new first name: ");
-                    String newFirstName = scanner.nextLine();
-                    studentToUpdate.setFirstname(newFirstName);
-                    System.out.println("✓ First name updated successfully!");
-                    break;
-                case 2:
-                    System.out.print("Enter new last name: ");
-                    String newLastName = scanner.nextLine();
-                    studentToUpdate.setLastname(newLastName);
-                    System.out.println("✓ Last name updated successfully!");
-                    break;
-                case 3:
-                    System.out.print("Enter new email: ");
-                    String newEmail = scanner.nextLine();
-                    studentToUpdate.setEmail(newEmail);
-                    System.out.println("✓ Email updated successfully!");
-                    break;
-                case 4:
-                    System.out.print("Enter new phone: ");
-                    String newPhone = scanner.nextLine();
-                    studentToUpdate.setPhone(newPhone);
-                    System.out.println("✓ Phone updated successfully!");
-                    break;
-                case 5:
-                    System.out.print("Enter new address: ");
-                    String newAddress = scanner.nextLine();
-                    studentToUpdate.setAddress(newAddress);
-                    System.out.println("✓ Address updated successfully!");
-                    break;
-                case 6:
-                    System.out.print("Enter new GPA: ");
-                    int newGPA = scanner.nextInt();
-                    studentToUpdate.updateGPA(newGPA);
-                    break;
-                case 7:
-                    break;
+            if (choice < 1 || choice > fields.length) {
+                return;
+            }
+
+            String detail = updateOptions[choice - 1].substring("Update ".length());
+            System.out.print("Enter new " + detail.toLowerCase() + ": ");
+            String value = scanner.nextLine();
+            try {
+                updateStudent(studentToUpdate, fields[choice - 1], value);
+                System.out.println("✓ " + detail + " updated successfully!");
+            } catch (IllegalArgumentException e) {
+                System.out.println("✗ " + e.getMessage());
             }
         } else {
             System.out.println("Student with ID " + studentId + " not found!");
@@ -1,5 +1,15 @@
 package UserManagement;
 
+import Audit.AuditAction;
+import Audit.AuditLog;
+import Interfaces.Authenticatable;
+import Security.AuthSession;
+import Security.AccessControl;
+import Security.Authentication;
+import Security.Permission;
+import Security.Role;
+import Utilities.Notifications;
+
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -16,9 +26,14 @@ import java.util.regex.Pattern;
  * Responsibilities:
  *  - Store basic user information (first name, last name, email, etc.)
  *  - Enforce validation on key attributes
+ *  - Log in and out through {@link Authentication}
+ *  - Carry the role that decides what the user may do
  *  - Define an abstract method for generating reports
  */
-public abstract class User {
+public abstract class User implements Authenticatable {
+
+    /** Password given to users created without one; must be changed on first login */
+    public static final String DEFAULT_PASSWORD = "ChangeMe123!";
 
     /** First name of the user */
     private String firstname;
@@ -29,9 +44,15 @@ public abstract class User {
     /** Email address of the user */
     private String email;
 
-    /** Password for authentication */
+    /** Password for authentication, until it is hashed by {@link Authentication} */
     private String password;
 
+    /** Session opened by {@link #login(String, String)} */
+    private volatile AuthSession authSession;
+
+    /** Role assigned to this user, or null for the default role of their user type */
+    private volatile Role role;
+
     /** Date of birth of the user*/
     private LocalDate dateOfBirth;
 
@@ -74,6 +95,70 @@ public abstract class User {
      */
     public abstract void generateReport(String[] reportParameters);
 
+    /**
+     * Role of users of this type unless another role is assigned.
+     *
+     * @return the built-in role for the user type
+     */
+    protected abstract Role defaultRole();
+
+    // ---------------------- ROLE ----------------------
+
+    /** @return the role deciding what the user may do */
+    public Role getRole() {
+        Role assigned = role;
+        return assigned != null ? assigned : defaultRole();
+    }
+
+    /**
+     * Assigns a role, e.g. a custom role defined with {@link Role#define}.
+     *
+     * @param role the role, or null to return to the default role
+     * @throws SecurityException if the acting user may not manage roles
+     */
+    public void setRole(Role role) {
+        AccessControl.require(Permission.MANAGE_ROLES);
+        this.role = role;
+        AuditLog.record(AuditAction.ROLE_ASSIGNED, AuditLog.nameOf(this), getRole().getName());
+    }
+
+    // ---------------------- AUTHENTICATABLE METHODS ----------------------
+
+    /**
+     * Checks the credentials against the stored password hash and opens a
+     * session if they belong to this user. Waits for the hash check, which
+     * runs on the authentication threads.
+     *
+     * @param username user ID or email address
+     * @param password plain-text password
+     * @return true if the user is now logged in
+     */
+    @Override
+    public boolean login(String username, String password) {
+        AuthSession session = Authentication.login(username, password).join();
+        if (session == null) {
+            return false;
+        }
+        if (session.getUser() != this) {
+            Authentication.logout(session.getToken());
+            return false;
+        }
+        authSession = session;
+        return true;
+    }
+
+    /**
+     * Ends the session opened by {@link #login(String, String)}.
+     *
+     * @return true if a session was open
+     */
+    @Override
+    public boolean logout() {
+        AuthSession session = authSession;
+        authSession = null;
+        return session != null && Authentication.logout(session.getToken());
+    }
+
 
     // --------------------- GETTERS & SETTERS ---------------------
 
@@ -137,17 +222,27 @@ public abstract class User {
     public void setEmail(String email) {
         // Refactored: Use conditional validation with meaningful feedback instead of exception
         if (email == null || email.trim().isEmpty()) {
-            System.out.println("Warning: Email cannot be null or empty. Using default value.");
+            Notifications.send("Warning: Email cannot be null or empty. Using default value.");
             this.email = "no-email@ucms.system";
         } else {
             this.email = email;
         }
     }
 
+    /**
+     * @return the plain-text password, or null once it has been hashed
+     */
     public String getPassword() {
         return password;
     }
 
+    /**
+     * Forgets the plain-text password once {@link Authentication} holds its hash.
+     */
+    public void discardPassword() {
+        this.password = null;
+    }
+
     /**
      * Sets the user's password.
      * REFACTORED: No exception needed here - password validation can be handled
@@ -159,8 +254,8 @@ public abstract class User {
     public void setPassword(String password) {
         // Refactored: Use conditional check instead of exception
         if (password == null || password.trim().isEmpty()) {
-            System.out.println("Warning: Password is empty. Default password set - please change on first login.");
-            this.password = "ChangeMe123!";
+            Notifications.send("Warning: Password is empty. Default password set - please change on first login.");
+            this.password = DEFAULT_PASSWORD;
         } else {
             this.password = password;
         }
@@ -246,6 +341,19 @@ public abstract class User {
         this.dateOfBirth = parsedDate;
     }
 
+    /**
+     * Sets the user's date of birth from an already parsed date.
+     *
+     * @param dateOfBirth the date of birth
+     * @throws IllegalArgumentException if dateOfBirth is null
+     */
+    public void setDateOfBirth(LocalDate dateOfBirth) {
+        if (dateOfBirth == null) {
+            throw new IllegalArgumentException("Date of birth cannot be null or empty.");
+        }
+        this.dateOfBirth = dateOfBirth;
+    }
+
     public LocalDate getDateOfBirth() {
         return dateOfBirth;
     }
@@ -0,0 +1,163 @@
+package Utilities;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AssignmentGraph
+ * ---------------------------------------------------------
+ * Two-way index of a many-to-one assignment, such as modules to the
+ * lecturers who teach them. It backs {@link Interfaces.Assignable}
+ * implementations that need to answer both "who is X assigned to" and
+ * "what is assigned to Y".
+ *
+ * Both directions hold object references in hash tables: each item maps
+ * to its assignee, and each assignee maps to the set of its items. The
+ * link survives renames, and two items with the same name stay separate.
+ * Assigning, unassigning and both lookups take constant time.
+ *
+ * Changes are synchronized, so the two directions always change together.
+ * Lookups take no lock and are safe at any time. They may see one change
+ * in one direction before the other, so callers that need a consistent
+ * view of several lookups hold the {@link SharedState} lock, as they do for
+ * the containers.
+ *
+ * Responsibilities:
+ *  - Keep each item's assignee and each assignee's items in step
+ *  - Assign and unassign one item or a batch
+ *  - Drop an assignee and everything assigned to it
+ *
+ * @param <A> type of the items assigned (e.g. Module)
+ * @param <T> type of the assignees (e.g. Lecturer)
+ */
+public final class AssignmentGraph<A, T> {
+
+    private final Map<A, T> assignees = new ConcurrentHashMap<>();
+    private final Map<T, Set<A>> assigned = new ConcurrentHashMap<>();
+
+    // ---------------------- QUERIES ----------------------
+
+    /** @return the assignee of an item, or null if it is unassigned */
+    public T assigneeOf(A item) {
+        return assignees.get(item);
+    }
+
+    /** @return true if the item has an assignee */
+    public boolean isAssigned(A item) {
+        return assignees.containsKey(item);
+    }
+
+    /**
+     * @return the items assigned to a target, read-only; iterating them
+     *         while they change never fails. Once the target has nothing
+     *         left the view stops following it, so ask again after a change
+     */
+    public Set<A> assignedTo(T target) {
+        Set<A> items = assigned.get(target);
+        return items == null ? Collections.emptySet() : Collections.unmodifiableSet(items);
+    }
+
+    /** @return how many items are assigned to a target */
+    public int countAssignedTo(T target) {
+        Set<A> items = assigned.get(target);
+        return items == null ? 0 : items.size();
+    }
+
+    /** @return how many items are assigned */
+    public int size() {
+        return assignees.size();
+    }
+
+    // ---------------------- CHANGES ----------------------
+
+    /**
+     * Assigns an item to a target, taking it from its previous assignee.
+     *
+     * @return the previous assignee, or null if there was none
+     */
+    public synchronized T assign(A item, T target) {
+        if (target == null) {
+            throw new IllegalArgumentException("Cannot assign to null");
+        }
+        T previous = assignees.put(item, target);
+        if (previous != target) {
+            detach(item, previous);
+            assigned.computeIfAbsent(target, key -> ConcurrentHashMap.newKeySet()).add(item);
+        }
+        return previous;
+    }
+
+    /**
+     * Removes an item's assignment.
+     *
+     * @return the previous assignee, or null if the item was unassigned
+     */
+    public synchronized T unassign(A item) {
+        T previous = assignees.remove(item);
+        detach(item, previous);
+        return previous;
+    }
+
+    /**
+     * Assigns a batch of items to one target.
+     *
+     * @return the previous assignee of each item that changed hands, in batch
+     *         order; the value is null for items that were unassigned
+     */
+    public synchronized Map<A, T> assignAll(Collection<? extends A> items, T target) {
+        Map<A, T> changed = new LinkedHashMap<>();
+        for (A item : items) {
+            if (assigneeOf(item) != target) {
+                changed.put(item, assign(item, target));
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Removes the assignments of a batch of items.
+     *
+     * @return the previous assignee of each item that was assigned, in batch order
+     */
+    public synchronized Map<A, T> unassignAll(Collection<? extends A> items) {
+        Map<A, T> changed = new LinkedHashMap<>();
+        for (A item : items) {
+            T previous = unassign(item);
+            if (previous != null) {
+                changed.put(item, previous);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Removes every assignment to a target, e.g. when it leaves the system.
+     *
+     * @return the items that were assigned to it
+     */
+    public synchronized Set<A> unassignAllFrom(T target) {
+        Set<A> items = assigned.remove(target);
+        if (items == null) {
+            return Collections.emptySet();
+        }
+        for (A item : items) {
+            assignees.remove(item, target);
+        }
+        return items;
+    }
+
+    /** Takes an item off its previous assignee, dropping the assignee once nothing is left; callers hold the lock */
+    private void detach(A item, T previous) {
+        if (previous == null) {
+            return;
+        }
+        Set<A> items = assigned.get(previous);
+        if (items != null && items.remove(item) && items.isEmpty()) {
+            assigned.remove(previous);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package Utilities;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * BufferedLogSink
+ * ---------------------------------------------------------
+ * {@link NotificationSink} that appends messages to a log in large blocks.
+ *
+ * Messages are collected in memory and handed to the writer only when the
+ * buffer is full or on {@link #flush()}, so a bulk operation pays for one
+ * write per few thousand messages instead of one per message.
+ *
+ * Responsibilities:
+ *  - Collect messages from any thread in arrival order
+ *  - Write them out in blocks of about {@code bufferSize} characters
+ */
+public final class BufferedLogSink implements NotificationSink {
+
+    private final Writer log;
+    private final int bufferSize;
+    private final StringBuilder buffer;
+    private long messageCount;
+
+    /**
+     * @param log        where the messages end up; closed by the caller
+     * @param bufferSize characters to collect before writing
+     */
+    public BufferedLogSink(Writer log, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        this.log = log;
+        this.bufferSize = bufferSize;
+        this.buffer = new StringBuilder(bufferSize + 256);
+    }
+
+    @Override
+    public void deliver(String message) {
+        boolean full;
+        synchronized (this) {
+            buffer.append(message).append(System.lineSeparator());
+            messageCount++;
+            full = buffer.length() >= bufferSize;
+        }
+        if (full) {
+            drain(false);
+        }
+    }
+
+    @Override
+    public void flush() {
+        drain(true);
+    }
+
+    /** @return the number of messages received so far */
+    public synchronized long getMessageCount() {
+        return messageCount;
+    }
+
+    /**
+     * Writes out the buffer. The log lock is taken first and held until the
+     * block is written, so blocks reach the log in the order they were taken;
+     * other threads only wait for it when the buffer fills up again meanwhile.
+     */
+    private void drain(boolean flushLog) {
+        synchronized (log) {
+            String block;
+            synchronized (this) {
+                block = buffer.toString();
+                buffer.setLength(0);
+            }
+            try {
+                if (!block.isEmpty()) {
+                    log.write(block);
+                }
+                if (flushLog) {
+                    log.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
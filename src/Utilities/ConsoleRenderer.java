@@ -0,0 +1,140 @@
+package Utilities;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ConsoleRenderer
+ * ---------------------------------------------------------
+ * Buffered output layer for UCMS screens.
+ * A screen is composed into one reusable StringBuilder and written
+ * to the terminal through a BufferedWriter in a single flush, instead of
+ * one System.out call (and one terminal write) per line.
+ *
+ * Responsibilities:
+ *  - Provide a reusable line builder with padding helpers (no String.format)
+ *  - Batch screen output and flush it once per screen
+ *
+ * Callers must call {@link #flush()} before reading input so prompts are visible.
+ * In full-screen mode the console renderer hands each screen to {@link TerminalScreen},
+ * which redraws only what changed.
+ */
+public class ConsoleRenderer {
+
+    /** Size of the output buffer; a full page of a list view fits comfortably */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Shared renderer for the process console */
+    private static final ConsoleRenderer CONSOLE = new ConsoleRenderer(System.out);
+
+    /** Reusable builder for the screen being composed */
+    private final StringBuilder builder = new StringBuilder(4096);
+
+    private final BufferedWriter writer;
+
+    public ConsoleRenderer(PrintStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Returns the renderer of the current {@link Session}, or the renderer
+     * attached to the console when no session is bound to this thread.
+     *
+     * @return the renderer for the current user
+     */
+    public static ConsoleRenderer get() {
+        Session session = Session.current();
+        return session != null ? session.getRenderer() : CONSOLE;
+    }
+
+    // ---------------------- COMPOSING ----------------------
+
+    /** Appends text to the current screen. */
+    public ConsoleRenderer append(CharSequence text) {
+        builder.append(text);
+        return this;
+    }
+
+    /** Appends a number to the current screen. */
+    public ConsoleRenderer append(long value) {
+        builder.append(value);
+        return this;
+    }
+
+    /** Appends text followed by a line break. */
+    public ConsoleRenderer line(CharSequence text) {
+        builder.append(text).append('\n');
+        return this;
+    }
+
+    /** Appends an empty line. */
+    public ConsoleRenderer line() {
+        builder.append('\n');
+        return this;
+    }
+
+    /** Appends a character repeated {@code count} times. */
+    public ConsoleRenderer repeat(char c, int count) {
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return this;
+    }
+
+    /**
+     * Appends text left-aligned in a column of the given width,
+     * like {@code %-Ns}; longer text is written in full.
+     */
+    public ConsoleRenderer padRight(CharSequence text, int width) {
+        CharSequence value = text == null ? "" : text;
+        builder.append(value);
+        return repeat(' ', width - value.length());
+    }
+
+    /**
+     * Appends text left-aligned in a column of the given width,
+     * cutting longer text so the following columns stay aligned.
+     */
+    public ConsoleRenderer fit(CharSequence text, int width) {
+        CharSequence value = text == null ? "" : text;
+        int length = Math.min(value.length(), width - 1);
+        builder.append(value, 0, Math.max(0, length));
+        return repeat(' ', width - Math.max(0, length));
+    }
+
+    /** Appends text centered in a line of the given width (left padding only). */
+    public ConsoleRenderer centered(CharSequence text, int width) {
+        return repeat(' ', Math.max(0, (width - text.length()) / 2)).line(text);
+    }
+
+    /** @return the builder holding the screen being composed, for custom formatting */
+    public StringBuilder builder() {
+        return builder;
+    }
+
+    // ---------------------- OUTPUT ----------------------
+
+    /**
+     * Writes the composed screen to the buffered writer and flushes it
+     * to the terminal, then resets the builder for reuse.
+     */
+    public void flush() {
+        if (this == CONSOLE && TerminalScreen.isActive()) {
+            TerminalScreen.present(builder);
+            builder.setLength(0);
+            return;
+        }
+        try {
+            writer.append(builder);
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            builder.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package Utilities;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+
+/**
+ * Navigator
+ * ---------------------------------------------------------
+ * Explicit screen state machine for the UCMS menus.
+ * Each screen shows itself once and returns a {@link Transition} telling the
+ * navigator what to do next, instead of calling the next menu (or itself) directly.
+ * The navigation stack is only as deep as the menu hierarchy, so a session
+ * uses the same amount of stack and memory however long it runs.
+ *
+ * Responsibilities:
+ *  - Keep the stack of open screens
+ *  - Run the current screen and apply the transition it returns
+ *  - Report invalid input without leaving the current screen
+ *  - End the session cleanly when input is closed
+ */
+public class Navigator {
+
+    /**
+     * A menu or page of the application.
+     */
+    @FunctionalInterface
+    public interface Screen {
+        /**
+         * Shows the screen and handles one user action.
+         *
+         * @return where to go next
+         */
+        Transition show();
+    }
+
+    /**
+     * What the navigator should do after a screen has been shown.
+     */
+    public static final class Transition {
+
+        private enum Kind { STAY, PUSH, REPLACE, BACK, EXIT }
+
+        /** Show the current screen again */
+        public static final Transition STAY = new Transition(Kind.STAY, null);
+
+        /** Return to the previous screen */
+        public static final Transition BACK = new Transition(Kind.BACK, null);
+
+        /** Close every screen and end the session */
+        public static final Transition EXIT = new Transition(Kind.EXIT, null);
+
+        private final Kind kind;
+        private final Screen screen;
+
+        private Transition(Kind kind, Screen screen) {
+            this.kind = kind;
+            this.screen = screen;
+        }
+
+        /** Opens a screen on top of the current one; BACK returns here. */
+        public static Transition push(Screen screen) {
+            return new Transition(Kind.PUSH, screen);
+        }
+
+        /** Replaces the current screen; BACK returns to the screen below it. */
+        public static Transition replace(Screen screen) {
+            return new Transition(Kind.REPLACE, screen);
+        }
+    }
+
+    private final Deque<Screen> stack = new ArrayDeque<>();
+
+    /**
+     * Runs screens starting from {@code root} until the stack is empty
+     * or a screen requests EXIT.
+     *
+     * @param root the first screen of the session
+     */
+    public void run(Screen root) {
+        stack.push(root);
+        try {
+            while (!stack.isEmpty()) {
+                Transition transition;
+                try {
+                    transition = stack.peek().show();
+                } catch (IllegalArgumentException | SecurityException e) {
+                    // Validation errors (bad names, numbers, ...) and denied operations keep the user on the same screen
+                    System.out.println("✗ " + e.getMessage());
+                    transition = Transition.STAY;
+                }
+                switch (transition.kind) {
+                    case STAY:
+                        break;
+                    case PUSH:
+                        stack.push(transition.screen);
+                        break;
+                    case REPLACE:
+                        stack.pop();
+                        stack.push(transition.screen);
+                        break;
+                    case BACK:
+                        stack.pop();
+                        break;
+                    case EXIT:
+                        stack.clear();
+                        break;
+                }
+            }
+        } catch (NoSuchElementException e) {
+            // Input was closed (end of file or disconnected terminal): end the session
+            stack.clear();
+        }
+    }
+
+    /** @return the number of open screens */
+    public int depth() {
+        return stack.size();
+    }
+}
@@ -0,0 +1,36 @@
+package Utilities;
+
+/**
+ * NotificationSink
+ * ---------------------------------------------------------
+ * Destination for the informational messages printed by the domain classes
+ * ("X has been enrolled in Y", "Updated GPA: 3", ...).
+ *
+ * Interactive sessions show them on the console. Batch scripts and the API
+ * server create thousands of objects at a time, where one console write per
+ * change would cost more than the change itself, so they log or drop them.
+ *
+ * @see Notifications
+ */
+@FunctionalInterface
+public interface NotificationSink {
+
+    /** Prints each message on System.out, i.e. the current session's terminal */
+    NotificationSink CONSOLE = message -> System.out.println(message);
+
+    /** Drops every message */
+    NotificationSink NONE = message -> { };
+
+    /**
+     * Delivers one message. May be called from several threads at once,
+     * often while the {@link SharedState} write lock is held, so it must not block for long.
+     *
+     * @param message the text to deliver, without a trailing newline
+     */
+    void deliver(String message);
+
+    /**
+     * Writes out anything the sink is still holding.
+     */
+    default void flush() { }
+}
@@ -0,0 +1,108 @@
+package Utilities;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Notifications
+ * ---------------------------------------------------------
+ * Routes the domain classes' informational messages to a {@link NotificationSink}.
+ *
+ * The process has a default sink, chosen by the entry point: the console for
+ * the interactive menus, nothing for batch scripts and the API server. The
+ * {@code ucms.notifications} system property overrides that choice with
+ * {@code console}, {@code log} or {@code none}; {@code log} appends to the
+ * file named by {@code ucms.notifications.log} (default ucms-notifications.log).
+ * A thread can also use its own sink for one operation with {@link #runWith}.
+ *
+ * Responsibilities:
+ *  - Deliver messages to the sink of the current thread or the default sink
+ *  - Select the default sink for a run mode
+ */
+public final class Notifications {
+
+    private static volatile NotificationSink defaultSink = NotificationSink.CONSOLE;
+
+    private static final ThreadLocal<NotificationSink> THREAD_SINK = new ThreadLocal<>();
+
+    private Notifications() { }
+
+    // ---------------------- SENDING ----------------------
+
+    /**
+     * Delivers a message to the current thread's sink.
+     */
+    public static void send(String message) {
+        NotificationSink sink = THREAD_SINK.get();
+        (sink != null ? sink : defaultSink).deliver(message);
+    }
+
+    /**
+     * Runs an operation with its messages going to the given sink,
+     * then restores the previous sink of the thread.
+     */
+    public static void runWith(NotificationSink sink, Runnable operation) {
+        NotificationSink previous = THREAD_SINK.get();
+        THREAD_SINK.set(sink);
+        try {
+            operation.run();
+        } finally {
+            if (previous != null) {
+                THREAD_SINK.set(previous);
+            } else {
+                THREAD_SINK.remove();
+            }
+        }
+    }
+
+    // ---------------------- CONFIGURATION ----------------------
+
+    /** @return the sink used by threads without a sink of their own */
+    public static NotificationSink getDefault() {
+        return defaultSink;
+    }
+
+    public static void setDefault(NotificationSink sink) {
+        defaultSink = sink == null ? NotificationSink.NONE : sink;
+    }
+
+    /**
+     * Sets the default sink for a run mode, unless the {@code ucms.notifications}
+     * property names another one.
+     *
+     * @param mode console, log or none
+     * @return the sink now in use; flush it before the process ends
+     * @throws IllegalArgumentException if the mode is unknown
+     */
+    public static NotificationSink configure(String mode) {
+        NotificationSink sink = forMode(System.getProperty("ucms.notifications", mode));
+        setDefault(sink);
+        return sink;
+    }
+
+    private static NotificationSink forMode(String mode) {
+        switch (mode.trim().toLowerCase()) {
+            case "console":
+                return NotificationSink.CONSOLE;
+            case "none":
+                return NotificationSink.NONE;
+            case "log":
+                String path = System.getProperty("ucms.notifications.log", "ucms-notifications.log");
+                try {
+                    Writer log = Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                    return new BufferedLogSink(log, 1 << 16);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot open notification log " + path, e);
+                }
+            default:
+                throw new IllegalArgumentException("Unknown notification mode: " + mode
+                        + " (expected console, log or none)");
+        }
+    }
+}
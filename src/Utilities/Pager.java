@@ -0,0 +1,117 @@
+package Utilities;
+
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Pager
+ * ---------------------------------------------------------
+ * Cursor-based paging for list views.
+ * Only the rows of the current page are rendered, so listing tens of thousands
+ * of records costs one page of output per request instead of the whole list.
+ *
+ * Commands at the page prompt:
+ *  - N (or Enter) : next page
+ *  - P            : previous page
+ *  - J &lt;page&gt;     : jump to a page
+ *  - Q            : leave the list
+ *
+ * The page size defaults to 20 rows and can be set with -Ducms.pageSize=N.
+ */
+public class Pager {
+
+    /** Rows per page */
+    public static final int PAGE_SIZE = Math.max(1, Integer.getInteger("ucms.pageSize", 20));
+
+    /**
+     * Renders a single item as a table row.
+     *
+     * @param <T> the item type
+     */
+    @FunctionalInterface
+    public interface RowRenderer<T> {
+        void render(T item, TableLayout layout, ConsoleRenderer renderer);
+    }
+
+    /**
+     * Displays a list one page at a time.
+     * Lists that fit on one page are printed once without a paging prompt.
+     *
+     * @param title       screen title
+     * @param items       items to list (read by index, never copied)
+     * @param layout      precomputed table layout for the screen
+     * @param rowRenderer renders one item as a row
+     * @param scanner     input source for paging commands
+     * @param <T>         the item type
+     */
+    public static <T> void page(String title, List<T> items, TableLayout layout,
+                                RowRenderer<T> rowRenderer, Scanner scanner) {
+        ConsoleRenderer renderer = ConsoleRenderer.get();
+        int cursor = 0;
+
+        while (true) {
+            int total;
+            int pages;
+            int end;
+
+            renderer.repeat('=', 60).line();
+            renderer.centered(title.toUpperCase(), 60);
+            layout.renderHeader(renderer);
+
+            // Other sessions may change the list between pages: read it under
+            // the shared read lock, but only while composing this page
+            Lock lock = SharedState.readLock();
+            lock.lock();
+            try {
+                total = items.size();
+                pages = Math.max(1, (total + PAGE_SIZE - 1) / PAGE_SIZE);
+                cursor = Math.max(0, Math.min(cursor, (pages - 1) * PAGE_SIZE));
+                end = Math.min(total, cursor + PAGE_SIZE);
+                for (int i = cursor; i < end; i++) {
+                    rowRenderer.render(items.get(i), layout, renderer);
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (total == 0) {
+                renderer.line("  (no records)");
+            }
+            layout.renderSeparator(renderer);
+
+            if (pages == 1) {
+                renderer.flush();
+                return;
+            }
+
+            renderer.append("Page ").append(cursor / PAGE_SIZE + 1).append(" of ").append(pages)
+                    .append(" (").append(total).append(" records)").line()
+                    .append("[N]ext  [P]rev  [J]ump <page>  [Q]uit: ");
+            renderer.flush();
+
+            if (!scanner.hasNextLine()) {
+                return;
+            }
+            String command = scanner.nextLine().trim();
+
+            if (command.isEmpty() || command.equalsIgnoreCase("N")) {
+                if (end < total) {
+                    cursor += PAGE_SIZE;
+                }
+            } else if (command.equalsIgnoreCase("P")) {
+                cursor -= PAGE_SIZE;
+            } else if (command.equalsIgnoreCase("Q")) {
+                return;
+            } else if (command.toUpperCase().startsWith("J")) {
+                try {
+                    int page = Integer.parseInt(command.substring(1).trim());
+                    cursor = (Math.max(1, Math.min(page, pages)) - 1) * PAGE_SIZE;
+                } catch (NumberFormatException e) {
+                    System.out.println("Usage: J <page number>");
+                }
+            } else {
+                System.out.println("Unknown command. Use N, P, J <page> or Q.");
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package Utilities;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * RingBuffer
+ * ---------------------------------------------------------
+ * Bounded lock-free queue for many producers and one consumer.
+ *
+ * Producers claim a sequence number with one atomic increment, store their
+ * element in the slot for that number and mark the slot as published. The
+ * consumer takes published elements in sequence order, in batches, and
+ * frees their slots with a single write. No locks are taken on either side.
+ *
+ * Responsibilities:
+ *  - Hand elements from producers to the consumer in claim order
+ *  - Make producers wait (spin, then park) only while the buffer is full
+ *  - Let the consumer sleep while the buffer is empty
+ *
+ * @param <E> element type
+ */
+public final class RingBuffer<E> {
+
+    private final Object[] elements;
+
+    /** Sequence number last published in each slot, -1 before the first */
+    private final AtomicLongArray published;
+
+    private final int mask;
+
+    /** Next sequence number to claim */
+    private final AtomicLong claimed = new AtomicLong();
+
+    /** Next sequence number the consumer will take; slots before it are free */
+    private volatile long consumed;
+
+    /** Consumer thread while it is parked waiting for elements, otherwise null */
+    private volatile Thread sleepingConsumer;
+
+    /**
+     * @param capacity number of slots, a power of two
+     */
+    public RingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.elements = new Object[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+        this.mask = capacity - 1;
+    }
+
+    public int capacity() { return elements.length; }
+
+    /** @return elements published and not yet taken (approximate while producers are active) */
+    public long size() {
+        return Math.max(0, claimed.get() - consumed);
+    }
+
+    // ---------------------- PRODUCERS ----------------------
+
+    /**
+     * Adds an element, waiting while the buffer is full.
+     *
+     * @return the element's sequence number
+     */
+    public long put(E element) {
+        long sequence = claimed.getAndIncrement();
+        long wrapPoint = sequence - elements.length;
+        for (int spins = 0; wrapPoint >= consumed; spins++) {
+            // Full: the slot still holds an element the consumer has not taken
+            if (spins < 100) {
+                Thread.onSpinWait();
+            } else {
+                wakeConsumer();
+                LockSupport.parkNanos(50_000);
+            }
+        }
+        int index = (int) sequence & mask;
+        elements[index] = element;
+        // Volatile write: must not be reordered with the read of sleepingConsumer below
+        published.set(index, sequence);
+        wakeConsumer();
+        return sequence;
+    }
+
+    private void wakeConsumer() {
+        Thread consumer = sleepingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    // ---------------------- CONSUMER ----------------------
+
+    /**
+     * Moves up to {@code max} published elements into the batch, in sequence order.
+     * Only one thread may call this.
+     *
+     * @return the number of elements taken
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(List<? super E> batch, int max) {
+        long next = consumed;
+        int taken = 0;
+        while (taken < max) {
+            int index = (int) next & mask;
+            if (published.getAcquire(index) != next) {
+                break;
+            }
+            batch.add((E) elements[index]);
+            elements[index] = null;
+            next++;
+            taken++;
+        }
+        if (taken > 0) {
+            consumed = next;
+        }
+        return taken;
+    }
+
+    /**
+     * Parks the consumer until an element may have been published or the timeout passes.
+     * Only the consumer thread may call this.
+     */
+    public void awaitElements(long timeoutNanos) {
+        sleepingConsumer = Thread.currentThread();
+        try {
+            if (published.get((int) consumed & mask) != consumed) {
+                LockSupport.parkNanos(this, timeoutNanos);
+            }
+        } finally {
+            sleepingConsumer = null;
+        }
+    }
+
+    /** @return the next sequence number a producer will claim */
+    public long claimedSequence() {
+        return claimed.get();
+    }
+
+    /** @return the next sequence number the consumer will take */
+    public long consumedSequence() {
+        return consumed;
+    }
+}
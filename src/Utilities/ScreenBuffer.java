@@ -0,0 +1,289 @@
+package Utilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ScreenBuffer
+ * ---------------------------------------------------------
+ * Virtual screen used by the full-screen terminal mode.
+ * Keeps the cells (character + colour) currently shown on the terminal and,
+ * given the next frame, produces only the escape codes and characters needed
+ * to turn the old frame into the new one.
+ *
+ * Responsibilities:
+ *  - Parse a composed frame (text with ANSI colour codes) into cells
+ *  - Diff it against the previous frame, row by row
+ *  - Emit cursor-positioning sequences for changed cells only
+ *
+ * Rows containing wide or combining characters (emoji, CJK) are redrawn
+ * whole, since their terminal column positions cannot be derived from cell indexes.
+ */
+public class ScreenBuffer {
+
+    private static final String ESC = "\u001B[";
+    private static final String RESET = "\u001B[0m";
+
+    /** Marks a cell whose content on the terminal is unknown */
+    private static final int UNKNOWN = -1;
+
+    private final int rows;
+    private final int columns;
+
+    /** Cells currently on the terminal (code point, 0 = blank) and their style indexes */
+    private int[] shownChars;
+    private int[] shownStyles;
+    private int shownRows;
+
+    /** Cells of the frame being composed */
+    private int[] nextChars;
+    private int[] nextStyles;
+
+    /** Interned colour sequences; index 0 is the default style */
+    private final List<String> styles = new ArrayList<>();
+    private final Map<String, Integer> styleIndex = new HashMap<>();
+
+    /** Whether the previous frame is known to be on screen */
+    private boolean valid;
+
+    /** Position of the cursor at the end of the last frame */
+    private int cursorRow;
+    private int cursorColumn;
+    private int cursorStyle;
+
+    public ScreenBuffer(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.shownChars = new int[rows * columns];
+        this.shownStyles = new int[rows * columns];
+        this.nextChars = new int[rows * columns];
+        this.nextStyles = new int[rows * columns];
+        styles.add("");
+        styleIndex.put("", 0);
+    }
+
+    public int getRows() { return rows; }
+    public int getColumns() { return columns; }
+
+    /**
+     * Forgets what is on the terminal so the next frame is drawn in full.
+     * Called whenever something else wrote to the terminal.
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Computes the output that turns the current screen into {@code frame}.
+     *
+     * @param frame the composed screen, starting at the top-left corner
+     * @param out   receives escape codes and characters to write to the terminal
+     * @return false if the frame does not fit on the screen (nothing is appended)
+     */
+    public boolean render(CharSequence frame, StringBuilder out) {
+        if (!parse(frame)) {
+            return false;
+        }
+
+        if (!valid) {
+            out.append(RESET).append(ESC).append("H").append(ESC).append("2J");
+            Arrays.fill(shownChars, 0);
+            Arrays.fill(shownStyles, 0);
+            shownRows = 0;
+        }
+
+        int emittedStyle = -1;
+        int frameRows = cursorRow + 1;
+
+        for (int row = 0; row < frameRows; row++) {
+            emittedStyle = renderRow(row, out, emittedStyle);
+        }
+
+        // Clear rows left over from a taller previous frame (or echoed input)
+        if (shownRows > frameRows) {
+            moveTo(out, frameRows, 0);
+            out.append(ESC).append("J");
+        }
+
+        // Leave the cursor where the frame text ended (after the prompt)
+        moveTo(out, cursorRow, cursorColumn);
+        if (emittedStyle != cursorStyle) {
+            out.append(RESET).append(styles.get(cursorStyle));
+        }
+
+        // Swap buffers; the prompt row and the row below it will hold the
+        // user's typed input, so treat them as unknown for the next diff
+        int[] swap = shownChars;
+        shownChars = nextChars;
+        nextChars = swap;
+        swap = shownStyles;
+        shownStyles = nextStyles;
+        nextStyles = swap;
+        shownRows = Math.min(rows, frameRows + 1);
+        for (int row = cursorRow; row < shownRows; row++) {
+            Arrays.fill(shownChars, row * columns, (row + 1) * columns, UNKNOWN);
+        }
+        valid = true;
+        return true;
+    }
+
+    // ---------------------- DIFFING ----------------------
+
+    private int renderRow(int row, StringBuilder out, int emittedStyle) {
+        int base = row * columns;
+        int first = -1;
+        int last = -1;
+        boolean simple = true;
+
+        for (int col = 0; col < columns; col++) {
+            int index = base + col;
+            if (nextChars[index] != shownChars[index] || nextStyles[index] != shownStyles[index]) {
+                if (first < 0) {
+                    first = col;
+                }
+                last = col;
+            }
+            if (!isNarrow(nextChars[index]) || !isNarrow(shownChars[index])) {
+                simple = false;
+            }
+        }
+
+        if (first < 0) {
+            return emittedStyle; // Row unchanged
+        }
+
+        int end = contentLength(nextChars, base);
+        if (!simple) {
+            // Column positions are unreliable: redraw the whole row
+            moveTo(out, row, 0);
+            out.append(ESC).append("2K");
+            return writeCells(out, base, 0, end, emittedStyle);
+        }
+
+        moveTo(out, row, first);
+        if (last >= end) {
+            // New content is shorter: write the changed part, then erase the rest
+            emittedStyle = writeCells(out, base, first, end, emittedStyle);
+            if (emittedStyle != 0) {
+                out.append(RESET);
+                emittedStyle = 0;
+            }
+            out.append(ESC).append("K");
+            return emittedStyle;
+        }
+        return writeCells(out, base, first, last + 1, emittedStyle);
+    }
+
+    private int writeCells(StringBuilder out, int base, int from, int to, int emittedStyle) {
+        for (int col = from; col < to; col++) {
+            int style = nextStyles[base + col];
+            if (style != emittedStyle) {
+                out.append(RESET).append(styles.get(style));
+                emittedStyle = style;
+            }
+            int codePoint = nextChars[base + col];
+            out.appendCodePoint(codePoint == 0 ? ' ' : codePoint);
+        }
+        return emittedStyle;
+    }
+
+    /** @return number of columns up to and including the last non-blank cell of a row */
+    private int contentLength(int[] chars, int base) {
+        for (int col = columns - 1; col >= 0; col--) {
+            if (chars[base + col] != 0) {
+                return col + 1;
+            }
+        }
+        return 0;
+    }
+
+    private void moveTo(StringBuilder out, int row, int column) {
+        out.append(ESC).append(row + 1).append(';').append(column + 1).append('H');
+    }
+
+    // ---------------------- PARSING ----------------------
+
+    /**
+     * Parses the frame into {@link #nextChars}/{@link #nextStyles} and
+     * records where the text ends.
+     */
+    private boolean parse(CharSequence frame) {
+        Arrays.fill(nextChars, 0);
+        Arrays.fill(nextStyles, 0);
+
+        int row = 0;
+        int col = 0;
+        int style = 0;
+        StringBuilder currentStyle = new StringBuilder();
+        int length = frame.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = frame.charAt(i);
+            if (c == '\n') {
+                row++;
+                col = 0;
+                if (row >= rows) {
+                    return false;
+                }
+            } else if (c == '\r') {
+                col = 0;
+            } else if (c == '\u001B' && i + 1 < length && frame.charAt(i + 1) == '[') {
+                int end = i + 2;
+                while (end < length && (frame.charAt(end) < 0x40 || frame.charAt(end) > 0x7E)) {
+                    end++;
+                }
+                if (end < length && frame.charAt(end) == 'm') {
+                    CharSequence params = frame.subSequence(i + 2, end);
+                    if (params.length() == 0 || "0".contentEquals(params)) {
+                        currentStyle.setLength(0);
+                    } else {
+                        currentStyle.append(frame, i, end + 1);
+                    }
+                    style = intern(currentStyle);
+                }
+                i = end; // Other control sequences (clear screen, ...) are ignored
+            } else {
+                int codePoint = Character.codePointAt(frame, i);
+                if (Character.isSupplementaryCodePoint(codePoint)) {
+                    i++;
+                }
+                if (col < columns) {
+                    nextChars[row * columns + col] = codePoint;
+                    nextStyles[row * columns + col] = style;
+                }
+                col++;
+            }
+        }
+
+        cursorRow = row;
+        cursorColumn = Math.min(col, columns - 1);
+        cursorStyle = style;
+        return true;
+    }
+
+    private int intern(CharSequence style) {
+        String key = style.toString();
+        Integer index = styleIndex.get(key);
+        if (index == null) {
+            index = styles.size();
+            styles.add(key);
+            styleIndex.put(key, index);
+        }
+        return index;
+    }
+
+    /**
+     * Whether a code point occupies exactly one terminal column.
+     * Conservative: anything unusual is treated as not narrow.
+     */
+    private static boolean isNarrow(int codePoint) {
+        return codePoint < 0x0300
+                || (codePoint >= 0x0370 && codePoint < 0x1100)
+                || (codePoint >= 0x2010 && codePoint <= 0x2027)
+                || (codePoint >= 0x2190 && codePoint <= 0x21FF)
+                || (codePoint >= 0x2500 && codePoint <= 0x259F);
+    }
+}
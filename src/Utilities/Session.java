@@ -0,0 +1,247 @@
+package Utilities;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Scanner;
+
+/**
+ * Session
+ * ---------------------------------------------------------
+ * Input and output of one interactive user, bound to the thread running them.
+ * While a session is bound, {@link Utility#input()}, {@link ConsoleRenderer#get()}
+ * and System.out all use the session's streams instead of the process console,
+ * so the same menus can serve many remote users at once.
+ *
+ * Responsibilities:
+ *  - Hold the session's Scanner, output stream and screen renderer
+ *  - Bind the session to the current thread while it runs
+ *  - Route System.out to the session bound to the writing thread
+ *  - Flush pending output before the session waits for input
+ */
+public final class Session {
+
+    private static final ThreadLocal<Session> CURRENT = new ThreadLocal<>();
+
+    /** Whether System.out has been replaced by the routing stream */
+    private static boolean routing;
+
+    private final String name;
+    private final OutputStream output;
+    private final PrintStream out;
+    private final Scanner input;
+    private final ConsoleRenderer renderer;
+
+    /** Title and options of the menu or form last shown, for session recording */
+    private String screen;
+    private String[] screenOptions;
+
+    /**
+     * Creates a session over a pair of streams (typically a socket's).
+     *
+     * @param name session name used in logs (e.g. the remote address)
+     * @param in   where the user's input comes from
+     * @param out  where the user's output goes
+     */
+    public Session(String name, InputStream in, OutputStream out) {
+        this.name = name;
+        this.output = new LineEndingOutputStream(new BufferedOutputStream(out, 8192));
+        this.out = new PrintStream(output, false, StandardCharsets.UTF_8);
+        this.input = new Scanner(new FlushingInputStream(in), StandardCharsets.UTF_8);
+        this.renderer = new ConsoleRenderer(this.out);
+    }
+
+    /** @return the session bound to the current thread, or null on the process console */
+    public static Session current() {
+        return CURRENT.get();
+    }
+
+    public String getName() { return name; }
+    public Scanner getInput() { return input; }
+    public PrintStream getOut() { return out; }
+    public ConsoleRenderer getRenderer() { return renderer; }
+    public String getScreen() { return screen; }
+    public String[] getScreenOptions() { return screenOptions; }
+
+    /**
+     * Notes which menu or form the current session is showing, so recorded
+     * and replayed sessions can name each operation (see LoadTest.SessionTrace).
+     * Does nothing on the process console.
+     *
+     * @param title   the screen title
+     * @param options the numbered menu options, or null for a form
+     */
+    public static void showScreen(String title, String[] options) {
+        Session session = CURRENT.get();
+        if (session != null) {
+            session.screen = title;
+            session.screenOptions = options;
+        }
+    }
+
+    /**
+     * Runs the body with this session bound to the current thread,
+     * then flushes whatever output is left.
+     *
+     * @param body the interactive work of the session
+     */
+    public void run(Runnable body) {
+        routeSystemOut();
+        CURRENT.set(this);
+        try {
+            body.run();
+        } finally {
+            renderer.flush();
+            out.flush();
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Replaces System.out with a stream that writes to the session bound to the
+     * writing thread, or to the previous System.out when no session is bound.
+     */
+    public static synchronized void routeSystemOut() {
+        if (routing) {
+            return;
+        }
+        PrintStream console = System.out;
+        System.setOut(new RoutingPrintStream(console));
+        routing = true;
+    }
+
+    // ---------------------- STREAMS ----------------------
+
+    /**
+     * System.out replacement that forwards every call to the PrintStream of the
+     * session bound to the calling thread. Each session keeps its own stream and
+     * lock, so a slow client never holds up output of the other sessions.
+     */
+    private static final class RoutingPrintStream extends PrintStream {
+        private final PrintStream console;
+
+        RoutingPrintStream(PrintStream console) {
+            super(console, true, StandardCharsets.UTF_8);
+            this.console = console;
+        }
+
+        private PrintStream target() {
+            Session session = CURRENT.get();
+            return session != null ? session.out : console;
+        }
+
+        @Override public void write(int b) { target().write(b); }
+        @Override public void write(byte[] b, int off, int len) { target().write(b, off, len); }
+        @Override public void flush() { target().flush(); }
+        @Override public boolean checkError() { return target().checkError(); }
+
+        @Override public void print(boolean b) { target().print(b); }
+        @Override public void print(char c) { target().print(c); }
+        @Override public void print(int i) { target().print(i); }
+        @Override public void print(long l) { target().print(l); }
+        @Override public void print(float f) { target().print(f); }
+        @Override public void print(double d) { target().print(d); }
+        @Override public void print(char[] s) { target().print(s); }
+        @Override public void print(String s) { target().print(s); }
+        @Override public void print(Object obj) { target().print(obj); }
+
+        @Override public void println() { target().println(); }
+        @Override public void println(boolean x) { target().println(x); }
+        @Override public void println(char x) { target().println(x); }
+        @Override public void println(int x) { target().println(x); }
+        @Override public void println(long x) { target().println(x); }
+        @Override public void println(float x) { target().println(x); }
+        @Override public void println(double x) { target().println(x); }
+        @Override public void println(char[] x) { target().println(x); }
+        @Override public void println(String x) { target().println(x); }
+        @Override public void println(Object x) { target().println(x); }
+
+        @Override public PrintStream printf(String format, Object... args) { target().printf(format, args); return this; }
+        @Override public PrintStream printf(Locale l, String format, Object... args) { target().printf(l, format, args); return this; }
+        @Override public PrintStream format(String format, Object... args) { target().format(format, args); return this; }
+        @Override public PrintStream format(Locale l, String format, Object... args) { target().format(l, format, args); return this; }
+        @Override public PrintStream append(CharSequence csq) { target().append(csq); return this; }
+        @Override public PrintStream append(CharSequence csq, int start, int end) { target().append(csq, start, end); return this; }
+        @Override public PrintStream append(char c) { target().append(c); return this; }
+    }
+
+    /**
+     * Flushes the session's output before blocking for input,
+     * so prompts written with print() are visible.
+     */
+    private final class FlushingInputStream extends FilterInputStream {
+        FlushingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            flushOutput();
+            return in.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            flushOutput();
+            return in.read(b, off, len);
+        }
+
+        private void flushOutput() throws IOException {
+            renderer.flush();
+            out.flush();
+        }
+    }
+
+    /**
+     * Writes network line endings (CR LF) for the bare LF line breaks used by the UI.
+     */
+    private static final class LineEndingOutputStream extends OutputStream {
+        private final OutputStream out;
+        private int previous;
+
+        LineEndingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (b == '\n' && previous != '\r') {
+                out.write('\r');
+            }
+            out.write(b);
+            previous = b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            int start = off;
+            int end = off + len;
+            for (int i = off; i < end; i++) {
+                if (b[i] == '\n' && (i > off ? b[i - 1] : previous) != '\r') {
+                    out.write(b, start, i - start);
+                    out.write('\r');
+                    start = i;
+                }
+            }
+            out.write(b, start, end - start);
+            if (len > 0) {
+                previous = b[end - 1];
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
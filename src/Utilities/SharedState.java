@@ -0,0 +1,99 @@
+package Utilities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * SharedState
+ * ---------------------------------------------------------
+ * Guards the in-memory UCMS containers (courses, modules, students, lecturers)
+ * when several sessions or requests use them at the same time.
+ *
+ * Responsibilities:
+ *  - Let any number of readers look at the data together
+ *  - Give writers exclusive access while they change it
+ *
+ * Usage:
+ * <pre>
+ *   Lock lock = SharedState.writeLock();
+ *   lock.lock();
+ *   try { ... change containers ... } finally { lock.unlock(); }
+ * </pre>
+ * or, for short operations, {@code SharedState.update(() -> ...)}.
+ * Both locks are reentrant, and a thread holding the write lock may also read.
+ * Hold the lock only while touching the containers - never while waiting
+ * for user input or writing to a slow client.
+ */
+public final class SharedState {
+
+    private static final ReentrantReadWriteLock LOCK = new ReentrantReadWriteLock();
+
+    private SharedState() { }
+
+    /** @return the lock for operations that only read the containers */
+    public static Lock readLock() {
+        return LOCK.readLock();
+    }
+
+    /** @return the lock for operations that change the containers */
+    public static Lock writeLock() {
+        return LOCK.writeLock();
+    }
+
+    /**
+     * Runs a read-only operation under the read lock.
+     *
+     * @return the operation's result
+     */
+    public static <T> T read(Supplier<T> operation) {
+        Lock lock = LOCK.readLock();
+        lock.lock();
+        try {
+            return operation.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs a change under the write lock.
+     *
+     * @return the operation's result
+     */
+    public static <T> T write(Supplier<T> operation) {
+        Lock lock = LOCK.writeLock();
+        lock.lock();
+        try {
+            return operation.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs a change that returns nothing under the write lock.
+     */
+    public static void update(Runnable change) {
+        Lock lock = LOCK.writeLock();
+        lock.lock();
+        try {
+            change.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copies a container under the read lock, for views that
+     * walk it while waiting for user input.
+     *
+     * @return a private copy of the items
+     */
+    public static <T> List<T> snapshot(Collection<? extends T> items) {
+        return read(() -> new ArrayList<T>(items));
+    }
+}
@@ -0,0 +1,85 @@
+package Utilities;
+
+/**
+ * TableLayout
+ * ---------------------------------------------------------
+ * Precomputed column layout for a tabular screen.
+ * Created once per screen (typically as a static constant) so rendering a row
+ * is just padding each cell into the renderer's builder.
+ *
+ * Responsibilities:
+ *  - Hold column headers and widths
+ *  - Render the header, separator and rows into a {@link ConsoleRenderer}
+ *
+ * Cells longer than their column are cut, keeping one space between columns.
+ */
+public class TableLayout {
+
+    private final String[] headers;
+    private final int[] widths;
+
+    /** Left margin printed before every row */
+    private final String indent;
+
+    /** Separator line, built once from the total width */
+    private final String separator;
+
+    /**
+     * Creates a layout with explicit column widths.
+     *
+     * @param indent  left margin printed before every row
+     * @param headers column titles
+     * @param widths  column widths, one per header
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public TableLayout(String indent, String[] headers, int[] widths) {
+        if (headers.length != widths.length) {
+            throw new IllegalArgumentException("Each column needs exactly one width");
+        }
+        this.indent = indent;
+        this.headers = headers.clone();
+        this.widths = widths.clone();
+
+        int total = 0;
+        for (int width : widths) {
+            total += width;
+        }
+        this.separator = indent + "-".repeat(total);
+    }
+
+    /**
+     * Creates a layout in which every column has the same width.
+     */
+    public static TableLayout uniform(String indent, int width, String... headers) {
+        int[] widths = new int[headers.length];
+        java.util.Arrays.fill(widths, width);
+        return new TableLayout(indent, headers, widths);
+    }
+
+    public int getColumnCount() { return headers.length; }
+
+    // ---------------------- RENDERING ----------------------
+
+    /** Renders the header row framed by separators. */
+    public void renderHeader(ConsoleRenderer renderer) {
+        renderer.line(separator);
+        renderRow(renderer, headers);
+        renderer.line(separator);
+    }
+
+    /** Renders a separator line. */
+    public void renderSeparator(ConsoleRenderer renderer) {
+        renderer.line(separator);
+    }
+
+    /**
+     * Renders one row; missing cells are left blank, extra cells are ignored.
+     */
+    public void renderRow(ConsoleRenderer renderer, CharSequence... cells) {
+        renderer.append(indent);
+        for (int i = 0; i < widths.length; i++) {
+            renderer.fit(i < cells.length ? cells[i] : "", widths[i]);
+        }
+        renderer.line();
+    }
+}
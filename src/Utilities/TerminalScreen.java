@@ -0,0 +1,218 @@
+package Utilities;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TerminalScreen
+ * ---------------------------------------------------------
+ * Optional full-screen terminal mode with differential redraw.
+ * When active, every screen composed through the console {@link ConsoleRenderer}
+ * is drawn from the top-left corner and only the cells that changed since
+ * the previous screen are sent to the terminal (see {@link ScreenBuffer}).
+ *
+ * Responsibilities:
+ *  - Decide whether full-screen mode can be used (opt-in, and only on a TTY)
+ *  - Detect other console output so the next screen is redrawn in full
+ *  - Count bytes written per screen against what line mode would have written
+ *
+ * Enable with the {@code --fullscreen} argument, {@code -Ducms.fullscreen=true}
+ * or {@code UCMS_FULLSCREEN=1}. Set {@code -Ducms.screen.stats=<file>} to
+ * append per-screen byte counts to a file.
+ */
+public class TerminalScreen {
+
+    private static ScreenBuffer screen;
+    private static OutputStream terminal;
+
+    /** Set when anything other than a frame was written to the console */
+    private static volatile boolean foreignOutput;
+
+    /** Per-screen statistics */
+    private static long screens;
+    private static long bytesWritten;
+    private static long lineModeBytes;
+
+    private static final StringBuilder output = new StringBuilder(8192);
+
+    /**
+     * Enables full-screen mode if it was requested and the console is a TTY.
+     * Otherwise the current line mode is kept.
+     *
+     * @param args command line arguments of the application
+     * @return true if full-screen mode is now active
+     */
+    public static synchronized boolean enable(String[] args) {
+        boolean requested = Boolean.getBoolean("ucms.fullscreen")
+                || "1".equals(System.getenv("UCMS_FULLSCREEN"));
+        for (String arg : args) {
+            if (arg.equals("--fullscreen")) {
+                requested = true;
+            }
+        }
+        if (!requested || !isTerminal()) {
+            return false;
+        }
+
+        int[] size = terminalSize();
+        screen = new ScreenBuffer(size[0], size[1]);
+        terminal = new FileOutputStream(FileDescriptor.out);
+
+        // Route everything else through a watcher so stray output forces a full redraw
+        System.setOut(new PrintStream(new ForeignOutputWatcher(terminal), true, StandardCharsets.UTF_8));
+        return true;
+    }
+
+    /** @return true if full-screen mode is active */
+    public static boolean isActive() {
+        return screen != null;
+    }
+
+    /**
+     * Draws a composed screen, sending only what changed since the previous one.
+     * Screens taller than the terminal are written in line mode instead.
+     *
+     * @param frame the composed screen
+     */
+    public static synchronized void present(CharSequence frame) {
+        if (foreignOutput) {
+            screen.invalidate();
+            foreignOutput = false;
+        }
+
+        output.setLength(0);
+        if (!screen.render(frame, output)) {
+            output.setLength(0);
+            output.append(frame);
+            screen.invalidate();
+        }
+
+        byte[] bytes = output.toString().getBytes(StandardCharsets.UTF_8);
+        long lineBytes = utf8Length(frame);
+        try {
+            terminal.write(bytes);
+            terminal.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        screens++;
+        bytesWritten += bytes.length;
+        lineModeBytes += lineBytes;
+        logScreen(bytes.length, lineBytes);
+    }
+
+    /**
+     * Returns a one-line summary of bytes written by full-screen mode.
+     *
+     * @return the summary, or null if the mode was never active
+     */
+    public static synchronized String getStatistics() {
+        if (screen == null) {
+            return null;
+        }
+        long saved = lineModeBytes == 0 ? 0 : 100 - (bytesWritten * 100 / lineModeBytes);
+        return String.format("Full-screen mode: %d screens, %d bytes written (line mode: %d bytes, %d%% saved)",
+                screens, bytesWritten, lineModeBytes, saved);
+    }
+
+    // ---------------------- HELPERS ----------------------
+
+    private static boolean isTerminal() {
+        String term = System.getenv("TERM");
+        return System.console() != null && term != null && !term.equals("dumb");
+    }
+
+    /**
+     * Asks stty for the terminal size, falling back to LINES/COLUMNS or 24x80.
+     *
+     * @return {rows, columns}
+     */
+    private static int[] terminalSize() {
+        try {
+            Process process = new ProcessBuilder("sh", "-c", "stty size < /dev/tty").start();
+            if (process.waitFor(1, TimeUnit.SECONDS) && process.exitValue() == 0) {
+                String[] parts = new String(process.getInputStream().readAllBytes(), StandardCharsets.US_ASCII)
+                        .trim().split("\\s+");
+                if (parts.length == 2) {
+                    return new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Fall through to the environment
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new int[]{envInt("LINES", 24), envInt("COLUMNS", 80)};
+    }
+
+    private static int envInt(String name, int fallback) {
+        try {
+            return Integer.parseInt(System.getenv(name));
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static long utf8Length(CharSequence text) {
+        long bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static void logScreen(long written, long lineBytes) {
+        String file = System.getProperty("ucms.screen.stats");
+        if (file == null) {
+            return;
+        }
+        String line = "screen " + screens + ": " + written + " bytes (line mode " + lineBytes + " bytes)\n";
+        try {
+            Files.writeString(Paths.get(file), line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException ignored) {
+            // Statistics are best effort and must never break the UI
+        }
+    }
+
+    /**
+     * Passes console output through and records that the screen changed.
+     */
+    private static class ForeignOutputWatcher extends FilterOutputStream {
+        ForeignOutputWatcher(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            foreignOutput = true;
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            foreignOutput = true;
+            out.write(b, off, len);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package Utilities;
 
-import java.util.InputMismatchException;
 import java.util.Scanner;
 
 /**
@@ -13,13 +12,42 @@ import java.util.Scanner;
  *  - Print formatted menus with borders and centered titles.
  *  - Collect user input for menu selections.
  *  - Provide consistent input prompt formatting.
+ *  - Share one Scanner for console input.
+ *  - Format durations for display.
  */
 public class Utility {
 
+    /** The one Scanner reading console input; never closed. */
+    private static final Scanner INPUT = new Scanner(System.in);
+
+    /**
+     * Returns the Scanner of the current {@link Session}, or the shared console
+     * Scanner when no session is bound to this thread.
+     * All prompts read through it so no input is lost in per-call buffers.
+     *
+     * @return the Scanner for the current user
+     */
+    public static Scanner input() {
+        Session session = Session.current();
+        return session != null ? session.getInput() : INPUT;
+    }
+
+    /**
+     * Reads a whole line and parses it as an integer, so no newline is left
+     * behind for the next prompt.
+     *
+     * @param scanner the input source
+     * @return the parsed integer
+     * @throws NumberFormatException if the line is not an integer
+     */
+    public static int nextInt(Scanner scanner) {
+        return Integer.parseInt(scanner.nextLine().trim());
+    }
+
     /**
      * Prints a formatted menu with a title and a list of options.
      * Prompts the user to select an option by entering a number.
-     * Handles invalid input gracefully by catching InputMismatchException
+     * Handles invalid input gracefully by catching NumberFormatException
      * and prompting the user to retry.
      *
      * @param title   the menu title to display at the top
@@ -28,39 +56,36 @@ public class Utility {
      */
     public static int printMenu(String title, String[] options) {
         int menuWidth = 60; // Total width of menu border
-        Scanner scanner = new Scanner(System.in);
+        Scanner scanner = input();
         int choice = -1;
         boolean validInput = false;
 
+        ConsoleRenderer renderer = ConsoleRenderer.get();
+        Session.showScreen(title, options);
+
         while (!validInput) {
             try {
-                // Print top border
-                System.out.println("=".repeat(menuWidth));
-
-                // Center and print the title
-                int padding = (menuWidth - title.length()) / 2;
-                System.out.printf("%" + padding + "s%s%n", "", title.toUpperCase());
+                // Compose the whole menu and write it in one flush
+                renderer.repeat('=', menuWidth).line();
+                renderer.centered(title.toUpperCase(), menuWidth);
+                renderer.repeat('=', menuWidth).line();
 
-                // Print bottom border
-                System.out.println("=".repeat(menuWidth));
-
-                // Print menu options numbered starting from 1
+                // Menu options numbered starting from 1
                 for (int i = 0; i < options.length; i++) {
-                    System.out.printf("    %d. %s%n", i + 1, options[i]);
+                    renderer.append("    ").append(i + 1).append(". ").line(options[i]);
                 }
 
-                // Print bottom border again for separation
-                System.out.println("*".repeat(menuWidth));
+                // Bottom border for separation, followed by the prompt
+                renderer.repeat('*', menuWidth).line();
+                renderer.append("Enter your choice: ");
+                renderer.flush();
 
-                // Prompt the user for input
-                System.out.print("Enter your choice: ");
-                choice = scanner.nextInt();
+                choice = nextInt(scanner);
                 validInput = true; // Input was valid, exit loop
 
-            } catch (InputMismatchException e) {
+            } catch (NumberFormatException e) {
                 // Handle invalid input (non-integer)
                 System.out.println("\nInvalid selection. Please enter a valid number.\n");
-                scanner.nextLine(); // Clear the invalid input from scanner buffer
             }
         }
 
@@ -75,14 +100,29 @@ public class Utility {
      * @param menuWidth the width of the menu border
      */
     public static void printInputPromptMenu(String title, int menuWidth) {
-        // Print top border
-        System.out.println("=".repeat(menuWidth));
+        ConsoleRenderer renderer = ConsoleRenderer.get();
+        Session.showScreen(title, null);
 
-        // Center and print the title
-        int padding = (menuWidth - title.length()) / 2;
-        System.out.printf("%" + padding + "s%s%n", "", title.toUpperCase());
+        // Top border, centered title and bottom border
+        renderer.repeat('=', menuWidth).line();
+        renderer.centered(title.toUpperCase(), menuWidth);
+        renderer.repeat('=', menuWidth).line();
+        renderer.flush();
+    }
 
-        // Print bottom border
-        System.out.println("=".repeat(menuWidth));
+    /**
+     * @return a duration in the largest unit that keeps it readable, e.g. "850ns", "12.4µs", "3.1ms"
+     */
+    public static String formatNanos(long nanos) {
+        if (nanos < 1_000) {
+            return nanos + "ns";
+        }
+        if (nanos < 1_000_000) {
+            return String.format("%.1fµs", nanos / 1e3);
+        }
+        if (nanos < 1_000_000_000) {
+            return String.format("%.1fms", nanos / 1e6);
+        }
+        return String.format("%.2fs", nanos / 1e9);
     }
 }
@@ -0,0 +1,226 @@
+package CourseManagement;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * PrerequisiteGraphTest
+ * ---------------------------------------------------------
+ * The cached closure matches one recomputed by walking the direct
+ * prerequisites, after every kind of change: adding, removing a
+ * prerequisite and removing a module.
+ */
+class PrerequisiteGraphTest {
+
+    private static Module module(String code) {
+        return new Module(code, code, "C", 1, 1, 5);
+    }
+
+    @Test
+    void closureFollowsChains() {
+        PrerequisiteGraph graph = new PrerequisiteGraph();
+        Module a = module("A"), b = module("B"), c = module("C");
+        assertTrue(graph.addPrerequisite(c, b));
+        assertTrue(graph.addPrerequisite(b, a));
+        assertFalse(graph.addPrerequisite(b, a));
+
+        assertTrue(graph.requires(c, a));
+        assertFalse(graph.requires(a, c));
+        assertEquals(List.of(b), graph.prerequisitesOf(c));
+        assertEquals(identitySet(a, b), identitySet(graph.allPrerequisitesOf(c)));
+        assertEquals(identitySet(b, c), identitySet(graph.unlockedBy(a)));
+        assertEquals(2, graph.countUnlockedBy(a));
+        assertEquals(2, graph.getEdgeCount());
+    }
+
+    @Test
+    void cyclesAreRefused() {
+        PrerequisiteGraph graph = new PrerequisiteGraph();
+        Module a = module("A"), b = module("B"), c = module("C");
+        graph.addPrerequisite(c, b);
+        graph.addPrerequisite(b, a);
+
+        assertThrows(IllegalArgumentException.class, () -> graph.addPrerequisite(a, a));
+        assertThrows(IllegalArgumentException.class, () -> graph.addPrerequisite(a, c));
+        assertThrows(IllegalArgumentException.class, () -> graph.addPrerequisite(b, c));
+        assertEquals(2, graph.getEdgeCount());
+        assertFalse(graph.requires(a, c));
+    }
+
+    @Test
+    void removingAPrerequisiteKeepsOtherPaths() {
+        PrerequisiteGraph graph = new PrerequisiteGraph();
+        Module a = module("A"), b = module("B"), c = module("C"), d = module("D");
+        // D needs A directly and through B; C needs only B
+        graph.addPrerequisite(d, a);
+        graph.addPrerequisite(d, b);
+        graph.addPrerequisite(b, a);
+        graph.addPrerequisite(c, b);
+
+        assertFalse(graph.removePrerequisite(d, c));
+        assertFalse(graph.removePrerequisite(c, a));
+        assertTrue(graph.removePrerequisite(d, a));
+        assertTrue(graph.requires(d, a));
+
+        assertTrue(graph.removePrerequisite(b, a));
+        assertFalse(graph.requires(d, a));
+        assertFalse(graph.requires(c, a));
+        assertTrue(graph.requires(c, b));
+        assertEquals(0, graph.countUnlockedBy(a));
+        assertEquals(2, graph.getEdgeCount());
+    }
+
+    @Test
+    void removingAModuleBridgesItsDependents() {
+        PrerequisiteGraph graph = new PrerequisiteGraph();
+        Module a = module("A"), b = module("B"), c = module("C"), d = module("D");
+        graph.addPrerequisite(c, b);
+        graph.addPrerequisite(d, b);
+        graph.addPrerequisite(b, a);
+        graph.addPrerequisite(d, a);
+
+        graph.remove(b);
+        assertEquals(List.of(a), graph.prerequisitesOf(c));
+        assertEquals(List.of(a), graph.prerequisitesOf(d));
+        assertTrue(graph.requires(c, a));
+        assertFalse(graph.requires(c, b));
+        assertEquals(identitySet(c, d), identitySet(graph.unlockedBy(a)));
+        assertEquals(2, graph.getEdgeCount());
+
+        // Its index is reused without carrying anything over
+        Module e = module("E");
+        graph.addPrerequisite(e, c);
+        assertEquals(identitySet(a, c), identitySet(graph.allPrerequisitesOf(e)));
+        assertEquals(0, graph.countUnlockedBy(e));
+    }
+
+    @Test
+    void randomChangesMatchABruteForceClosure() {
+        Random random = new Random(1);
+        PrerequisiteGraph graph = new PrerequisiteGraph();
+        List<Module> live = new ArrayList<>();
+        Map<Module, Set<Module>> direct = new IdentityHashMap<>();
+        int next = 0;
+        for (int step = 0; step < 4_000; step++) {
+            int op = random.nextInt(10);
+            if (live.size() < 80 || op < 1 && live.size() < 150) {
+                Module module = module("M" + next++);
+                live.add(module);
+                direct.put(module, identitySet());
+            } else if (op < 7) {
+                Module module = live.get(random.nextInt(live.size()));
+                Module prerequisite = live.get(random.nextInt(live.size()));
+                boolean cycle = module == prerequisite || reaches(direct, prerequisite, module);
+                if (cycle) {
+                    assertThrows(IllegalArgumentException.class, () -> graph.addPrerequisite(module, prerequisite));
+                } else {
+                    assertEquals(direct.get(module).add(prerequisite), graph.addPrerequisite(module, prerequisite));
+                }
+            } else if (op < 9) {
+                Module module = live.get(random.nextInt(live.size()));
+                List<Module> prerequisites = new ArrayList<>(direct.get(module));
+                if (!prerequisites.isEmpty()) {
+                    Module prerequisite = prerequisites.get(random.nextInt(prerequisites.size()));
+                    assertTrue(graph.removePrerequisite(module, prerequisite));
+                    direct.get(module).remove(prerequisite);
+                    assertClosureMatches(graph, live, direct);
+                }
+            } else {
+                Module archived = live.remove(random.nextInt(live.size()));
+                Set<Module> before = direct.remove(archived);
+                for (Set<Module> prerequisites : direct.values()) {
+                    if (prerequisites.remove(archived)) {
+                        prerequisites.addAll(before);
+                    }
+                }
+                graph.remove(archived);
+                assertClosureMatches(graph, live, direct);
+            }
+        }
+        assertClosureMatches(graph, live, direct);
+    }
+
+    // ---------------------- BRUTE FORCE ----------------------
+
+    private static void assertClosureMatches(PrerequisiteGraph graph, List<Module> live, Map<Module, Set<Module>> direct) {
+        Map<Module, Set<Module>> all = new IdentityHashMap<>();
+        Map<Module, Set<Module>> unlocked = new IdentityHashMap<>();
+        for (Module module : live) {
+            all.put(module, reachable(direct, module));
+            unlocked.put(module, identitySet());
+        }
+        int edges = 0;
+        for (Module module : live) {
+            for (Module prerequisite : all.get(module)) {
+                unlocked.get(prerequisite).add(module);
+            }
+            edges += direct.get(module).size();
+        }
+        for (Module module : live) {
+            String code = module.getModuleCode();
+            assertEquals(direct.get(module), identitySet(graph.prerequisitesOf(module)), code);
+            assertEquals(all.get(module), identitySet(graph.allPrerequisitesOf(module)), code);
+            assertEquals(unlocked.get(module), identitySet(graph.unlockedBy(module)), code);
+            assertEquals(unlocked.get(module).size(), graph.countUnlockedBy(module), code);
+            for (Module other : live) {
+                assertEquals(all.get(module).contains(other), graph.requires(module, other), code);
+            }
+        }
+        assertEquals(edges, graph.getEdgeCount());
+    }
+
+    /** @return every module {@code from} needs, walking direct prerequisites */
+    private static Set<Module> reachable(Map<Module, Set<Module>> direct, Module from) {
+        Deque<Module> pending = new ArrayDeque<>(direct.get(from));
+        Set<Module> seen = identitySet();
+        while (!pending.isEmpty()) {
+            Module module = pending.pop();
+            if (seen.add(module)) {
+                pending.addAll(direct.get(module));
+            }
+        }
+        return seen;
+    }
+
+    /** @return true if {@code from} needs {@code to}, walking direct prerequisites */
+    private static boolean reaches(Map<Module, Set<Module>> direct, Module from, Module to) {
+        Deque<Module> pending = new ArrayDeque<>(direct.get(from));
+        Set<Module> seen = identitySet();
+        while (!pending.isEmpty()) {
+            Module module = pending.pop();
+            if (module == to) {
+                return true;
+            }
+            if (seen.add(module)) {
+                pending.addAll(direct.get(module));
+            }
+        }
+        return false;
+    }
+
+    private static Set<Module> identitySet(Module... modules) {
+        Set<Module> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        Collections.addAll(set, modules);
+        return set;
+    }
+
+    private static Set<Module> identitySet(List<Module> modules) {
+        Set<Module> set = identitySet();
+        set.addAll(modules);
+        return set;
+    }
+}
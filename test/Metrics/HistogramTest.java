@@ -0,0 +1,121 @@
+package Metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * HistogramTest
+ * ---------------------------------------------------------
+ * Buckets cover every non-negative long without gaps or overlaps, none is
+ * wider than 1/32 of its values, and percentiles land within one bucket
+ * above the exact answer.
+ */
+class HistogramTest {
+
+    @Test
+    void smallValuesHaveOneBucketEach() {
+        for (int value = 0; value < 64; value++) {
+            assertEquals(value, Histogram.index(value));
+            assertEquals(value, Histogram.highestValue(value));
+        }
+        // From 64 buckets are two wide, from 128 four wide, and so on
+        assertEquals(64, Histogram.index(64));
+        assertEquals(64, Histogram.index(65));
+        assertEquals(65, Histogram.index(66));
+        assertEquals(96, Histogram.index(131));
+        assertEquals(97, Histogram.index(132));
+    }
+
+    @Test
+    void bucketsAreContiguous() {
+        for (int i = 0; i < Histogram.BUCKETS - 1; i++) {
+            long highest = Histogram.highestValue(i);
+            assertEquals(i, Histogram.index(highest), "highest value of bucket " + i);
+            assertEquals(i + 1, Histogram.index(highest + 1), "value after bucket " + i);
+        }
+        assertEquals(Histogram.BUCKETS - 1, Histogram.index(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, Histogram.highestValue(Histogram.BUCKETS - 1));
+    }
+
+    @Test
+    void powersOfTwoStartABucket() {
+        for (int bit = 5; bit < 63; bit++) {
+            long power = 1L << bit;
+            assertEquals(Histogram.index(power - 1) + 1, Histogram.index(power), "2^" + bit);
+            assertEquals(power - 1, Histogram.highestValue(Histogram.index(power - 1)), "2^" + bit + " - 1");
+        }
+    }
+
+    @Test
+    void bucketsAreAtMostOneThirtySecondOfTheirValues() {
+        for (int i = 32; i < Histogram.BUCKETS; i++) {
+            long lowest = Histogram.highestValue(i - 1) + 1;
+            long width = Histogram.highestValue(i) - lowest + 1;
+            assertTrue(width <= Math.max(1, lowest / 32), "bucket " + i + " is " + width + " wide from " + lowest);
+        }
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        Histogram.Snapshot snapshot = new Histogram("empty").snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMean());
+        assertEquals(0, snapshot.getPercentile(50));
+        assertEquals(0, snapshot.getPercentile(100));
+    }
+
+    @Test
+    void percentilesOfOneToAThousand() {
+        Histogram histogram = new Histogram("sequence");
+        for (int value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1000, snapshot.getMax());
+        assertEquals(500.5, snapshot.getMean(), 1e-9);
+        assertEquals(1, snapshot.getPercentile(0));
+        // 500 is in bucket 496..503 and 990 in 976..991; the report is the top of the bucket
+        assertEquals(503, snapshot.getPercentile(50));
+        assertEquals(991, snapshot.getPercentile(99));
+        // Capped at the largest value recorded, not the top of its bucket (992..1007)
+        assertEquals(1000, snapshot.getPercentile(100));
+    }
+
+    @Test
+    void negativeValuesAreRecordedAsZero() {
+        Histogram histogram = new Histogram("negative");
+        histogram.record(-5);
+        histogram.record(-1);
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(2, snapshot.getCount());
+        assertEquals(0, snapshot.getMax());
+        assertEquals(0, snapshot.getPercentile(100));
+    }
+
+    @Test
+    void percentilesAreWithinOneBucketOfTheExactValue() {
+        Random random = new Random(7);
+        Histogram histogram = new Histogram("random");
+        long[] values = new long[50_000];
+        for (int i = 0; i < values.length; i++) {
+            // Log-uniform from 1 ns to about 17 minutes
+            values[i] = (long) Math.exp(random.nextDouble() * Math.log(1e12));
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        for (double percentile : new double[] {1, 10, 25, 50, 75, 90, 99, 99.9, 100}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long reported = snapshot.getPercentile(percentile);
+            assertTrue(reported >= exact, "p" + percentile + " " + reported + " below " + exact);
+            assertEquals(Histogram.index(exact), Histogram.index(reported), "p" + percentile);
+        }
+        assertEquals(values[values.length - 1], snapshot.getMax());
+    }
+}
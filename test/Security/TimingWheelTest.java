@@ -0,0 +1,177 @@
+package Security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TimingWheelTest
+ * ---------------------------------------------------------
+ * Deadlines on every level of the wheel fire on their own tick, after
+ * cascading down, and rescheduled or cancelled entries fire only where
+ * they were last put.
+ */
+class TimingWheelTest {
+
+    /** Ticks covered by levels 0 to 3 (64^4) */
+    private static final long WHEEL_TICKS = 1L << 24;
+
+    private static final class Timer extends TimingWheel.Entry {
+        final String name;
+
+        Timer(String name) {
+            this.name = name;
+        }
+    }
+
+    /** Advances one tick at a time and records the tick each entry fired on */
+    private static Map<Timer, Long> run(TimingWheel wheel, long from, long to) {
+        Map<Timer, Long> fired = new HashMap<>();
+        for (long now = from + 1; now <= to; now++) {
+            long tick = now;
+            wheel.advanceTo(now, entry -> {
+                Long before = fired.put((Timer) entry, tick);
+                assertEquals(null, before, ((Timer) entry).name + " fired twice");
+            });
+        }
+        return fired;
+    }
+
+    @Test
+    void firesOnEveryLevelAfterCascading() {
+        long start = 1_000_003;
+        TimingWheel wheel = new TimingWheel(1, start);
+        long[] deltas = {1, 63, 64, 65, 4095, 4096, 4097, 100_000, 262_143, 262_144, 262_145, 5_000_000};
+        List<Timer> timers = new ArrayList<>();
+        for (long delta : deltas) {
+            Timer timer = new Timer("+" + delta);
+            wheel.schedule(timer, start + delta);
+            timers.add(timer);
+        }
+        assertEquals(deltas.length, wheel.size());
+
+        Map<Timer, Long> fired = run(wheel, start, start + 5_000_000);
+        for (int i = 0; i < deltas.length; i++) {
+            assertEquals(start + deltas[i], fired.get(timers.get(i)), timers.get(i).name);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void deadlinesBeyondTheWheelAreRescheduledWhenTheLastSlotFires() {
+        TimingWheel wheel = new TimingWheel(1, 0);
+        Timer far = new Timer("far");
+        long deadline = WHEEL_TICKS + 12_345;
+        wheel.schedule(far, deadline);
+
+        Map<Timer, Long> fired = run(wheel, 0, deadline + 10);
+        assertEquals(deadline, fired.get(far));
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextTick() {
+        TimingWheel wheel = new TimingWheel(1000, 50_000);
+        Timer late = new Timer("late");
+        wheel.schedule(late, 10_000);
+
+        List<TimingWheel.Entry> fired = new ArrayList<>();
+        wheel.advanceTo(50_999, fired::add);
+        assertTrue(fired.isEmpty());
+        wheel.advanceTo(51_000, fired::add);
+        assertEquals(List.of(late), fired);
+    }
+
+    @Test
+    void reschedulingMovesTheEntry() {
+        long start = 0;
+        TimingWheel wheel = new TimingWheel(1, start);
+        Timer earlier = new Timer("earlier");
+        Timer later = new Timer("later");
+        wheel.schedule(earlier, 300_000);
+        wheel.schedule(later, 70);
+        assertEquals(2, wheel.size());
+
+        // Move one entry from level 3 to level 0 and the other from level 1 to level 2
+        wheel.schedule(earlier, 10);
+        wheel.schedule(later, 5_000);
+        assertEquals(2, wheel.size());
+
+        Map<Timer, Long> fired = run(wheel, start, 400_000);
+        assertEquals(10L, fired.get(earlier));
+        assertEquals(5_000L, fired.get(later));
+    }
+
+    @Test
+    void entriesCanBeRescheduledFromTheCallback() {
+        TimingWheel wheel = new TimingWheel(1, 0);
+        Timer periodic = new Timer("periodic");
+        wheel.schedule(periodic, 100);
+
+        List<Long> ticks = new ArrayList<>();
+        for (long now = 1; now <= 1_000; now++) {
+            long tick = now;
+            wheel.advanceTo(now, entry -> {
+                ticks.add(tick);
+                wheel.schedule(entry, tick + 100);
+            });
+        }
+        assertEquals(List.of(100L, 200L, 300L, 400L, 500L, 600L, 700L, 800L, 900L, 1_000L), ticks);
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void cancelledEntriesNeverFire() {
+        TimingWheel wheel = new TimingWheel(1, 0);
+        Timer kept = new Timer("kept");
+        Timer cancelled = new Timer("cancelled");
+        wheel.schedule(kept, 5_000);
+        wheel.schedule(cancelled, 5_000);
+        wheel.cancel(cancelled);
+        wheel.cancel(cancelled);
+        assertEquals(1, wheel.size());
+
+        Map<Timer, Long> fired = run(wheel, 0, 6_000);
+        assertEquals(5_000L, fired.get(kept));
+        assertFalse(fired.containsKey(cancelled));
+    }
+
+    @Test
+    void randomSchedulesMatchTheirDeadlines() {
+        Random random = new Random(42);
+        long start = random.nextInt(1 << 20);
+        long end = start + 300_000;
+        TimingWheel wheel = new TimingWheel(1, start);
+        Map<Timer, Long> expected = new HashMap<>();
+        List<Timer> timers = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            Timer timer = new Timer("t" + i);
+            timers.add(timer);
+            long deadline = start + 1 + random.nextInt(300_000);
+            wheel.schedule(timer, deadline);
+            expected.put(timer, deadline);
+        }
+        // Reschedule or cancel a share of them before time moves
+        for (int i = 0; i < 500; i++) {
+            Timer timer = timers.get(random.nextInt(timers.size()));
+            if (random.nextBoolean()) {
+                long deadline = start + 1 + random.nextInt(300_000);
+                wheel.schedule(timer, deadline);
+                expected.put(timer, deadline);
+            } else {
+                wheel.cancel(timer);
+                expected.remove(timer);
+            }
+        }
+        assertEquals(expected.size(), wheel.size());
+
+        assertEquals(expected, run(wheel, start, end));
+    }
+}
@@ -0,0 +1,140 @@
+package Utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RingBufferTest
+ * ---------------------------------------------------------
+ * Elements come out in claim order across many wrap-arounds, drains stop
+ * at their limit, and a producer facing a full buffer waits until the
+ * consumer frees a slot.
+ */
+class RingBufferTest {
+
+    @Test
+    void capacityMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<String>(0));
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<String>(1));
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<String>(6));
+        assertEquals(8, new RingBuffer<String>(8).capacity());
+    }
+
+    @Test
+    void keepsOrderAcrossWrapAround() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        List<Integer> taken = new ArrayList<>();
+        int next = 0;
+        // Uneven put and drain sizes move the slot boundary on every lap
+        int[] puts = {3, 1, 4, 2, 3, 4, 1};
+        for (int round = 0; round < 100; round++) {
+            int count = puts[round % puts.length];
+            for (int i = 0; i < count; i++) {
+                assertEquals(next, buffer.put(next));
+                next++;
+            }
+            assertEquals(count, buffer.size());
+            assertEquals(count, buffer.drainTo(taken, Integer.MAX_VALUE));
+            assertEquals(0, buffer.size());
+        }
+        assertEquals(next, taken.size());
+        for (int i = 0; i < taken.size(); i++) {
+            assertEquals(i, taken.get(i));
+        }
+        assertEquals(next, buffer.claimedSequence());
+        assertEquals(next, buffer.consumedSequence());
+    }
+
+    @Test
+    void drainStopsAtItsLimit() {
+        RingBuffer<String> buffer = new RingBuffer<>(8);
+        for (String element : new String[] {"a", "b", "c", "d", "e"}) {
+            buffer.put(element);
+        }
+        List<String> batch = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(batch, 2));
+        assertEquals(List.of("a", "b"), batch);
+        assertEquals(3, buffer.size());
+        assertEquals(3, buffer.drainTo(batch, 10));
+        assertEquals(List.of("a", "b", "c", "d", "e"), batch);
+        assertEquals(0, buffer.drainTo(batch, 10));
+    }
+
+    @Test
+    void producerWaitsWhileTheBufferIsFull() throws InterruptedException {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            buffer.put(i);
+        }
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            started.countDown();
+            buffer.put(4);
+            done.countDown();
+        });
+        producer.start();
+        started.await();
+
+        assertFalse(done.await(200, TimeUnit.MILLISECONDS), "put returned while the buffer was full");
+        List<Integer> taken = new ArrayList<>();
+        assertEquals(4, buffer.drainTo(taken, 4));
+        assertTrue(done.await(5, TimeUnit.SECONDS), "put did not return after a slot was freed");
+        producer.join();
+
+        assertEquals(1, buffer.drainTo(taken, 4));
+        assertEquals(List.of(0, 1, 2, 3, 4), taken);
+    }
+
+    @Test
+    void manyProducersOneConsumer() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 20_000;
+        RingBuffer<long[]> buffer = new RingBuffer<>(64);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                for (long i = 0; i < perProducer; i++) {
+                    buffer.put(new long[] {producer, i});
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        long[] nextOf = new long[producers];
+        List<long[]> batch = new ArrayList<>();
+        int received = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received < producers * perProducer) {
+            assertTrue(System.nanoTime() < deadline, "consumer timed out after " + received);
+            if (buffer.drainTo(batch, 256) == 0) {
+                buffer.awaitElements(TimeUnit.MILLISECONDS.toNanos(10));
+                continue;
+            }
+            for (long[] element : batch) {
+                // Each producer's elements arrive in the order it put them
+                assertEquals(nextOf[(int) element[0]]++, element[1]);
+            }
+            received += batch.size();
+            batch.clear();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (long next : nextOf) {
+            assertEquals(perProducer, next);
+        }
+        assertEquals(0, buffer.size());
+    }
+}